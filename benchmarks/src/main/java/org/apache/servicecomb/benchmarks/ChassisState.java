@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.benchmarks;
+
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.SCBEngine;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.core.invocation.InvocationFactory;
+import org.apache.servicecomb.core.provider.consumer.ReferenceConfig;
+import org.apache.servicecomb.foundation.common.utils.BeanUtils;
+import org.apache.servicecomb.serviceregistry.RegistryUtils;
+import org.apache.servicecomb.serviceregistry.client.LocalServiceRegistryClientImpl;
+import org.apache.servicecomb.serviceregistry.definition.DefinitionConst;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * boot a producer and a consumer of the same microservice in the benchmark process<br>
+ * registry is replaced by {@link LocalServiceRegistryClientImpl}, and invocations go through loopback vertx
+ */
+@State(Scope.Benchmark)
+public class ChassisState {
+  @Param({"highway", "rest"})
+  public String transport;
+
+  @Param({"16", "65536"})
+  public int payloadSize;
+
+  private ReferenceConfig referenceConfig;
+
+  private OperationMeta operationMeta;
+
+  private BenchmarkModel model;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    initEngine();
+
+    String microserviceName = RegistryUtils.getMicroservice().getServiceName();
+    referenceConfig = SCBEngine.getInstance()
+        .createReferenceConfigForInvoke(microserviceName, DefinitionConst.VERSION_RULE_ALL, transport);
+    operationMeta = referenceConfig.getMicroserviceMeta()
+        .ensureFindSchemaMeta(BenchmarkSchema.SCHEMA_ID)
+        .ensureFindOperation(BenchmarkSchema.OPERATION_ECHO);
+    model = BenchmarkModel.create(payloadSize);
+  }
+
+  private static synchronized void initEngine() {
+    if (BeanUtils.getContext() != null) {
+      return;
+    }
+
+    System.setProperty(LocalServiceRegistryClientImpl.LOCAL_REGISTRY_FILE_KEY, "notExistJustForceLocal");
+    BeanUtils.init();
+    SCBEngine.getInstance().ensureStatusUp();
+  }
+
+  public Invocation createInvocation() {
+    return InvocationFactory.forConsumer(referenceConfig, operationMeta, new Object[] {model});
+  }
+}
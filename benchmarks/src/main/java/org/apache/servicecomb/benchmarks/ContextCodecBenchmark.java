@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.servicecomb.common.rest.codec.CompactContextCodec;
+import org.apache.servicecomb.core.Const;
+import org.apache.servicecomb.foundation.common.utils.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * invocation context header codec of rest transport: json vs compact
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextCodecBenchmark {
+  private Map<String, String> context = new HashMap<>();
+
+  private String json;
+
+  private String compact;
+
+  @Setup
+  public void setup() throws Exception {
+    context.put(Const.SRC_MICROSERVICE, "benchmark-consumer");
+    context.put(Const.TRACE_ID_NAME, "5c1f3bd2a1e2a0f3");
+
+    json = JsonUtils.writeValueAsString(context);
+    compact = CompactContextCodec.encode(context);
+  }
+
+  @Benchmark
+  public String encodeJson() throws Exception {
+    return JsonUtils.writeValueAsString(context);
+  }
+
+  @Benchmark
+  public String encodeCompact() {
+    return CompactContextCodec.encode(context);
+  }
+
+  @Benchmark
+  public Object decodeJson() throws Exception {
+    return JsonUtils.readValue(json.getBytes(StandardCharsets.UTF_8), Map.class);
+  }
+
+  @Benchmark
+  public Object decodeCompact() {
+    Map<String, String> result = new HashMap<>();
+    CompactContextCodec.decode(compact, result);
+    return result;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.servicecomb.qps.strategy.QpsStrategy;
+import org.apache.servicecomb.qps.strategy.QpsStrategyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * cost of qps strategies when all threads share one strategy, like requests of one operation<br>
+ * qpsLimit decides whether most requests are accepted or rejected
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class QpsStrategyBenchmark {
+  @Param({"FixedWindow", "SlidingWindow", "TokenBucket"})
+  public String strategyType;
+
+  @Param({"1000", "2147483647"})
+  public int qpsLimit;
+
+  private QpsStrategy strategy;
+
+  @Setup
+  public void setup() {
+    strategy = QpsStrategyType.parse(strategyType).createStrategy();
+  }
+
+  @Benchmark
+  public boolean isLimitNewRequest() {
+    return strategy.isLimitNewRequest(qpsLimit, qpsLimit);
+  }
+}
@@ -38,6 +38,10 @@ import javassist.CtField;
 import javassist.CtMethod;
 import javassist.scopedpool.ScopedClassPoolRepositoryImpl;
 
+/**
+ * ClassPool and CtClass are not thread safe, all modifications of a ClassPool are done under the lock of the ClassPool,
+ * so that classes can be generated by multiple threads, eg: producer schemas are initialized in parallel.
+ */
 public final class JavassistUtils {
   private static final Logger LOGGER = LoggerFactory.getLogger(JavassistUtils.class);
 
@@ -94,18 +98,20 @@ public final class JavassistUtils {
     classLoader = JvmUtils.correctClassLoader(classLoader);
 
     ClassPool classPool = getOrCreateClassPool(classLoader);
-    CtClass ctClass = classPool.makeClass(clsName);
-    ctClass.setModifiers(ctClass.getModifiers() | javassist.Modifier.ENUM);
+    synchronized (classPool) {
+      CtClass ctClass = classPool.makeClass(clsName);
+      ctClass.setModifiers(ctClass.getModifiers() | javassist.Modifier.ENUM);
 
-    try {
-      ctClass.setSuperclass(classPool.get(Enum.class.getName()));
+      try {
+        ctClass.setSuperclass(classPool.get(Enum.class.getName()));
 
-      addEnumConstructor(classPool, ctClass);
-      addEnumValuesMethod(ctClass, values);
+        addEnumConstructor(classPool, ctClass);
+        addEnumValuesMethod(ctClass, values);
 
-      return ctClass.toClass(classLoader, null);
-    } catch (Throwable e) {
-      throw new Error(e);
+        return ctClass.toClass(classLoader, null);
+      } catch (Throwable e) {
+        throw new Error(e);
+      }
     }
   }
 
@@ -142,6 +148,12 @@ public final class JavassistUtils {
     classLoader = JvmUtils.correctClassLoader(classLoader);
 
     ClassPool classPool = getOrCreateClassPool(classLoader);
+    synchronized (classPool) {
+      return createCtClass(classLoader, classPool, config);
+    }
+  }
+
+  private static CtClass createCtClass(ClassLoader classLoader, ClassPool classPool, ClassConfig config) {
     CtClass ctClass = classPool.getOrNull(config.getClassName());
     if (ctClass == null) {
       if (config.isIntf()) {
@@ -194,13 +206,22 @@ public final class JavassistUtils {
   public static Class<?> createClass(ClassLoader classLoader, ClassConfig config) {
     classLoader = JvmUtils.correctClassLoader(classLoader);
 
-    CtClass ctClass = createCtClass(classLoader, config);
-    return createClass(classLoader, ctClass);
+    ClassPool classPool = getOrCreateClassPool(classLoader);
+    synchronized (classPool) {
+      CtClass ctClass = createCtClass(classLoader, classPool, config);
+      return createClass(classLoader, ctClass);
+    }
   }
 
   public static Class<?> createClass(ClassLoader classLoader, CtClass ctClass) {
     classLoader = JvmUtils.correctClassLoader(classLoader);
 
+    synchronized (ctClass.getClassPool()) {
+      return doCreateClass(classLoader, ctClass);
+    }
+  }
+
+  private static Class<?> doCreateClass(ClassLoader classLoader, CtClass ctClass) {
     String clsName = ctClass.getName();
     try {
       // must try load from classloader first
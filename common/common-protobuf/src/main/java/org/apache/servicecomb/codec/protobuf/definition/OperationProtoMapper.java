@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.codec.protobuf.definition;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.Response.Status.Family;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.servicecomb.codec.protobuf.internal.converter.ProtoMethod;
+import org.apache.servicecomb.codec.protobuf.internal.converter.ProtoResponse;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.foundation.protobuf.ProtoMapper;
+import org.apache.servicecomb.foundation.protobuf.RootDeserializer;
+import org.apache.servicecomb.foundation.protobuf.RootSerializer;
+import org.apache.servicecomb.foundation.protobuf.internal.ProtoConst;
+import org.apache.servicecomb.foundation.protobuf.internal.ProtoUtils;
+import org.apache.servicecomb.swagger.invocation.context.HttpStatus;
+
+import io.protostuff.ProtobufOutputEx;
+import io.protostuff.compiler.model.Message;
+
+/**
+ * encode/decode arguments and responses of an operation by foundation-protobuf<br>
+ * the proto is generated from swagger, so the data is standard protobuf, not protostuff runtime format
+ */
+public class OperationProtoMapper {
+  private static final Object[] EMPTY_ARGS = new Object[0];
+
+  private final OperationMeta operationMeta;
+
+  // null means no argument
+  private RootSerializer requestSerializer;
+
+  // only one argument, and it's a message, not wrapped
+  private RootDeserializer<Object> argumentDeserializer;
+
+  // arguments wrapped to a message, field name is parameter name
+  private RootDeserializer<Map<String, Object>> argumentsDeserializer;
+
+  private String[] paramNames;
+
+  // key is status code
+  // status not in this map is not supported, eg: response type is java.lang.Object
+  private final Map<Integer, ResponseMapper> responseMappers = new HashMap<>();
+
+  public OperationProtoMapper(ProtoMapper protoMapper, ProtoMethod protoMethod, OperationMeta operationMeta) {
+    this.operationMeta = operationMeta;
+
+    initRequest(protoMapper, protoMethod);
+    initResponses(protoMapper, protoMethod);
+  }
+
+  private void initRequest(ProtoMapper protoMapper, ProtoMethod protoMethod) {
+    if (ProtoConst.EMPTY.getCanonicalName().equals(protoMethod.getArgTypeName())) {
+      return;
+    }
+
+    Message message = findMessage(protoMapper, protoMethod.getArgTypeName());
+    if (message == null) {
+      throw new IllegalStateException(String.format("not support arguments of operation %s, proto type=%s.",
+          operationMeta.getMicroserviceQualifiedName(), protoMethod.getArgTypeName()));
+    }
+
+    Type[] paramTypes = operationMeta.getMethod().getGenericParameterTypes();
+    if (!ProtoUtils.isWrapArguments(message)) {
+      requestSerializer = protoMapper.createRootSerializer(message, paramTypes[0]);
+      argumentDeserializer = protoMapper.createRootDeserializer(message, paramTypes[0]);
+      return;
+    }
+
+    paramNames = new String[paramTypes.length];
+    Map<String, Type> types = new HashMap<>();
+    for (int idx = 0; idx < paramTypes.length; idx++) {
+      paramNames[idx] = operationMeta.getParamName(idx);
+      types.put(paramNames[idx], paramTypes[idx]);
+    }
+    requestSerializer = protoMapper.createRootSerializer(message.getName(), types);
+    argumentsDeserializer = protoMapper.createRootDeserializer(message.getName(), types);
+  }
+
+  private void initResponses(ProtoMapper protoMapper, ProtoMethod protoMethod) {
+    Method method = operationMeta.getMethod();
+    for (Entry<Integer, ProtoResponse> entry : protoMethod.getResponses().entrySet()) {
+      int statusCode = entry.getKey();
+      String typeName = entry.getValue().getTypeName();
+      if (ProtoConst.EMPTY.getCanonicalName().equals(typeName)) {
+        responseMappers.put(statusCode, new ResponseMapper(null, null));
+        continue;
+      }
+
+      Message message = findMessage(protoMapper, typeName);
+      if (message == null) {
+        continue;
+      }
+
+      Type type = Family.SUCCESSFUL.equals(Family.familyOf(statusCode)) ?
+          method.getGenericReturnType() : operationMeta.findResponseMeta(statusCode).getJavaType();
+      if (type instanceof Class && ((Class<?>) type).isPrimitive()) {
+        type = ClassUtils.primitiveToWrapper((Class<?>) type);
+      }
+      responseMappers.put(statusCode, new ResponseMapper(
+          protoMapper.createRootSerializer(message, type),
+          protoMapper.createPropertyRootDeserializer(message.getName(), type)));
+    }
+  }
+
+  // only message defined in the generated proto is supported
+  // google.protobuf.Any can not be a root message
+  private Message findMessage(ProtoMapper protoMapper, String typeName) {
+    return protoMapper.getProto().getMessage(typeName);
+  }
+
+  public OperationMeta getOperationMeta() {
+    return operationMeta;
+  }
+
+  public void encodeRequest(ProtobufOutputEx output, Object[] args) throws IOException {
+    if (requestSerializer == null) {
+      return;
+    }
+
+    if (paramNames == null) {
+      requestSerializer.serialize(output, args[0]);
+      return;
+    }
+
+    // keep fields in the same order with proto
+    Map<String, Object> map = new LinkedHashMap<>(paramNames.length * 2);
+    for (int idx = 0; idx < paramNames.length; idx++) {
+      map.put(paramNames[idx], args[idx]);
+    }
+    requestSerializer.serialize(output, map);
+  }
+
+  public Object[] decodeRequest(byte[] bytes, int offset, int length) throws IOException {
+    if (requestSerializer == null) {
+      return EMPTY_ARGS;
+    }
+
+    if (paramNames == null) {
+      return new Object[] {argumentDeserializer.deserialize(bytes, offset, length)};
+    }
+
+    Map<String, Object> map = argumentsDeserializer.deserialize(bytes, offset, length);
+    Object[] args = new Object[paramNames.length];
+    for (int idx = 0; idx < paramNames.length; idx++) {
+      args[idx] = map.get(paramNames[idx]);
+    }
+    return args;
+  }
+
+  /**
+   * @return null if not supported
+   */
+  public ResponseMapper findResponseMapper(int statusCode) {
+    ResponseMapper responseMapper = responseMappers.get(statusCode);
+    if (responseMapper == null && HttpStatus.isSuccess(statusCode)) {
+      return responseMappers.get(Status.OK.getStatusCode());
+    }
+
+    return responseMapper;
+  }
+
+  public static class ResponseMapper {
+    // both null means response is google.protobuf.Empty
+    private final RootSerializer serializer;
+
+    private final RootDeserializer<Object> deserializer;
+
+    ResponseMapper(RootSerializer serializer, RootDeserializer<Object> deserializer) {
+      this.serializer = serializer;
+      this.deserializer = deserializer;
+    }
+
+    public void encode(ProtobufOutputEx output, Object body) throws IOException {
+      if (serializer != null) {
+        serializer.serialize(output, body);
+      }
+    }
+
+    public Object decode(byte[] bytes, int offset, int length) throws IOException {
+      if (deserializer == null) {
+        return null;
+      }
+
+      return deserializer.deserialize(bytes, offset, length);
+    }
+  }
+}
@@ -17,16 +17,34 @@
 
 package org.apache.servicecomb.codec.protobuf.definition;
 
+import java.util.Map;
+
+import org.apache.servicecomb.codec.protobuf.internal.converter.ProtoMethod;
+import org.apache.servicecomb.codec.protobuf.internal.converter.SwaggerToProtoGenerator;
 import org.apache.servicecomb.codec.protobuf.utils.ScopedProtobufSchemaManager;
 import org.apache.servicecomb.core.definition.MicroserviceMeta;
 import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.core.definition.SchemaMeta;
 import org.apache.servicecomb.foundation.common.utils.JvmUtils;
+import org.apache.servicecomb.foundation.protobuf.ProtoMapper;
+import org.apache.servicecomb.foundation.protobuf.ProtoMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public final class ProtobufManager {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProtobufManager.class);
+
   private static ProtobufManager instance = new ProtobufManager();
 
   public static final String EXT_ID = "protobuf";
 
+  public static final String EXT_ID_PROTO_MAPPER = "protoMapper";
+
+  // mark operations that can not be encoded by ProtoMapper
+  private static final Object PROTO_MAPPER_NOT_SUPPORTED = new Object();
+
+  private static ProtoMapperFactory protoMapperFactory = new ProtoMapperFactory();
+
   private static final Object LOCK = new Object();
 
   private static ScopedProtobufSchemaManager defaultScopedProtobufSchemaManager = new ScopedProtobufSchemaManager(
@@ -65,6 +83,54 @@ public final class ProtobufManager {
     return operationProtobuf;
   }
 
+  /**
+   * proto is generated from swagger, and all operations of the schema are created together
+   * @return null if the operation can not be encoded by ProtoMapper
+   */
+  public static OperationProtoMapper findOperationProtoMapper(OperationMeta operationMeta) {
+    Object operationProtoMapper = operationMeta.getExtData(EXT_ID_PROTO_MAPPER);
+    if (operationProtoMapper == null) {
+      synchronized (LOCK) {
+        operationProtoMapper = operationMeta.getExtData(EXT_ID_PROTO_MAPPER);
+        if (operationProtoMapper == null) {
+          createOperationProtoMappers(operationMeta.getSchemaMeta());
+          operationProtoMapper = operationMeta.getExtData(EXT_ID_PROTO_MAPPER);
+        }
+      }
+    }
+
+    return operationProtoMapper == PROTO_MAPPER_NOT_SUPPORTED ? null : (OperationProtoMapper) operationProtoMapper;
+  }
+
+  private static void createOperationProtoMappers(SchemaMeta schemaMeta) {
+    ProtoMapper protoMapper = null;
+    Map<String, ProtoMethod> protoMethods = null;
+    try {
+      // java package of schema maybe contains '$', that is not allowed in proto package
+      String protoPackage = schemaMeta.getPackageName().replaceAll("[^\\w.]", "_");
+      SwaggerToProtoGenerator generator = new SwaggerToProtoGenerator(protoPackage, schemaMeta.getSwagger());
+      protoMapper = protoMapperFactory.create(generator.convert());
+      protoMethods = generator.getProtoMethods();
+    } catch (Throwable e) {
+      LOGGER.warn("failed to convert schema {} to proto, ProtoMapper is not supported, cause={}.",
+          schemaMeta.getMicroserviceQualifiedName(), e.getMessage());
+    }
+
+    for (OperationMeta operationMeta : schemaMeta.getOperations()) {
+      Object operationProtoMapper = PROTO_MAPPER_NOT_SUPPORTED;
+      if (protoMapper != null) {
+        try {
+          operationProtoMapper = new OperationProtoMapper(protoMapper,
+              protoMethods.get(operationMeta.getOperationId()), operationMeta);
+        } catch (Throwable e) {
+          LOGGER.warn("failed to create ProtoMapper for operation {}, cause={}.",
+              operationMeta.getMicroserviceQualifiedName(), e.getMessage());
+        }
+      }
+      operationMeta.putExtData(EXT_ID_PROTO_MAPPER, operationProtoMapper);
+    }
+  }
+
   public static ProtobufManager getInstance() {
     return instance;
   }
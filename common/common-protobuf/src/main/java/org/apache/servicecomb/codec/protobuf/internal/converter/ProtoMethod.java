@@ -56,6 +56,10 @@ public class ProtoMethod {
     }
   }
 
+  public Map<Integer, ProtoResponse> getResponses() {
+    return responses;
+  }
+
   public ProtoResponse findResponse(int statusCode) {
     ProtoResponse response = responses.get(statusCode);
     if (response != null) {
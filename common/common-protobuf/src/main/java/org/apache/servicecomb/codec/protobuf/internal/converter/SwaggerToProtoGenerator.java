@@ -21,6 +21,7 @@ import static org.apache.servicecomb.foundation.common.utils.StringBuilderUtils.
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -63,6 +64,9 @@ public class SwaggerToProtoGenerator {
 
   private List<Runnable> pending = new ArrayList<>();
 
+  // key is operationId
+  private final Map<String, ProtoMethod> protoMethods = new HashMap<>();
+
   // not java package
   // better to be: app_${app}.mid_{microservice}.sid_{schemaId}
   public SwaggerToProtoGenerator(String protoPackage, Swagger swagger) {
@@ -70,6 +74,10 @@ public class SwaggerToProtoGenerator {
     this.swagger = swagger;
   }
 
+  public Map<String, ProtoMethod> getProtoMethods() {
+    return protoMethods;
+  }
+
   public Proto convert() {
     convertDefinitions();
     convertOperations();
@@ -294,6 +302,7 @@ public class SwaggerToProtoGenerator {
     ProtoMethod protoMethod = new ProtoMethod();
     fillRequestType(operation, protoMethod);
     fillResponseType(operation, protoMethod);
+    protoMethods.put(operation.getOperationId(), protoMethod);
 
     appendLine(serviceBuilder, "  //%s%s", ProtoConst.ANNOTATION_RPC, Json.encode(protoMethod));
     appendLine(serviceBuilder, "  rpc %s (%s) returns (%s);\n", operation.getOperationId(),
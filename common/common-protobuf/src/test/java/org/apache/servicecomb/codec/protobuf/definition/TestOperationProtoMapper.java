@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.codec.protobuf.definition;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.servicecomb.codec.protobuf.definition.OperationProtoMapper.ResponseMapper;
+import org.apache.servicecomb.core.definition.SchemaMeta;
+import org.apache.servicecomb.core.unittest.UnitTestMeta;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import io.protostuff.ProtobufOutputEx;
+import io.protostuff.runtime.model.User;
+import io.swagger.annotations.ApiResponse;
+
+public class TestOperationProtoMapper {
+  class PojoImpl {
+    public User user(User user) {
+      return user;
+    }
+
+    public void noArgs() {
+    }
+
+    public Object obj(Object value) {
+      return value;
+    }
+  }
+
+  @RequestMapping(path = "/")
+  class SpringmvcImpl {
+    @ApiResponse(code = 300, response = String.class, message = "")
+    @GetMapping(path = "/add")
+    public int add(@RequestParam("x") int x, @RequestParam("y") int y) {
+      return x + y;
+    }
+
+    @PostMapping(path = "/users")
+    public List<User> users(@RequestBody List<User> users, @RequestParam("name") String name) {
+      return users;
+    }
+  }
+
+  static SchemaMeta pojoSchemaMeta;
+
+  static SchemaMeta springmvcSchemaMeta;
+
+  @BeforeClass
+  public static void setup() {
+    UnitTestMeta meta = new UnitTestMeta();
+    pojoSchemaMeta = meta.getOrCreateSchemaMeta(PojoImpl.class);
+    springmvcSchemaMeta = meta.getOrCreateSchemaMeta(SpringmvcImpl.class);
+  }
+
+  private byte[] encodeRequest(OperationProtoMapper mapper, Object[] args) throws IOException {
+    ProtobufOutputEx output = new ProtobufOutputEx();
+    mapper.encodeRequest(output, args);
+    return output.toByteArray();
+  }
+
+  private byte[] encodeResponse(ResponseMapper responseMapper, Object body) throws IOException {
+    ProtobufOutputEx output = new ProtobufOutputEx();
+    responseMapper.encode(output, body);
+    return output.toByteArray();
+  }
+
+  @Test
+  public void wrapArguments() throws Exception {
+    OperationProtoMapper mapper = ProtobufManager.findOperationProtoMapper(springmvcSchemaMeta.findOperation("add"));
+    Assert.assertSame(mapper, ProtobufManager.findOperationProtoMapper(springmvcSchemaMeta.findOperation("add")));
+
+    byte[] bytes = encodeRequest(mapper, new Object[] {1, 2});
+    Object[] args = mapper.decodeRequest(bytes, 0, bytes.length);
+    Assert.assertArrayEquals(new Object[] {1, 2}, args);
+
+    ResponseMapper responseMapper = mapper.findResponseMapper(200);
+    bytes = encodeResponse(responseMapper, 3);
+    Assert.assertEquals(3, responseMapper.decode(bytes, 0, bytes.length));
+    Assert.assertSame(responseMapper, mapper.findResponseMapper(202));
+
+    responseMapper = mapper.findResponseMapper(300);
+    bytes = encodeResponse(responseMapper, "abc");
+    Assert.assertEquals("abc", responseMapper.decode(bytes, 0, bytes.length));
+
+    Assert.assertNull(mapper.findResponseMapper(490));
+  }
+
+  @Test
+  public void wrapTypedArguments() throws Exception {
+    OperationProtoMapper mapper = ProtobufManager.findOperationProtoMapper(springmvcSchemaMeta.findOperation("users"));
+
+    byte[] bytes = encodeRequest(mapper, new Object[] {Arrays.asList(new User("n1"), new User("n2")), "name"});
+    Object[] args = mapper.decodeRequest(bytes, 0, bytes.length);
+    @SuppressWarnings("unchecked")
+    List<User> users = (List<User>) args[0];
+    Assert.assertEquals("n2", users.get(1).getName());
+    Assert.assertEquals("name", args[1]);
+
+    ResponseMapper responseMapper = mapper.findResponseMapper(200);
+    bytes = encodeResponse(responseMapper, users);
+    @SuppressWarnings("unchecked")
+    List<User> result = (List<User>) responseMapper.decode(bytes, 0, bytes.length);
+    Assert.assertEquals("n1", result.get(0).getName());
+  }
+
+  @Test
+  public void notWrapArguments() throws Exception {
+    OperationProtoMapper mapper = ProtobufManager.findOperationProtoMapper(pojoSchemaMeta.findOperation("user"));
+
+    byte[] bytes = encodeRequest(mapper, new Object[] {new User("n")});
+    // decode from the middle of a buffer
+    byte[] buffer = new byte[bytes.length + 2];
+    System.arraycopy(bytes, 0, buffer, 1, bytes.length);
+    Object[] args = mapper.decodeRequest(buffer, 1, bytes.length);
+    Assert.assertEquals("n", ((User) args[0]).getName());
+
+    ResponseMapper responseMapper = mapper.findResponseMapper(200);
+    bytes = encodeResponse(responseMapper, new User("r"));
+    Assert.assertEquals("r", ((User) responseMapper.decode(bytes, 0, bytes.length)).getName());
+  }
+
+  @Test
+  public void empty() throws Exception {
+    OperationProtoMapper mapper = ProtobufManager.findOperationProtoMapper(pojoSchemaMeta.findOperation("noArgs"));
+
+    byte[] bytes = encodeRequest(mapper, new Object[] {});
+    Assert.assertEquals(0, bytes.length);
+    Assert.assertEquals(0, mapper.decodeRequest(bytes, 0, bytes.length).length);
+
+    ResponseMapper responseMapper = mapper.findResponseMapper(200);
+    Assert.assertEquals(0, encodeResponse(responseMapper, null).length);
+    Assert.assertNull(responseMapper.decode(bytes, 0, 0));
+  }
+
+  @Test
+  public void objectResponseNotSupported() {
+    OperationProtoMapper mapper = ProtobufManager.findOperationProtoMapper(pojoSchemaMeta.findOperation("obj"));
+
+    Assert.assertNull(mapper.findResponseMapper(200));
+  }
+}
@@ -19,6 +19,7 @@ package org.apache.servicecomb.common.rest;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -29,6 +30,7 @@ import javax.ws.rs.core.Response.Status;
 import javax.xml.ws.Holder;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.servicecomb.common.rest.codec.CompactContextCodec;
 import org.apache.servicecomb.common.rest.codec.produce.ProduceProcessor;
 import org.apache.servicecomb.common.rest.codec.produce.ProduceProcessorManager;
 import org.apache.servicecomb.common.rest.definition.RestOperationMeta;
@@ -68,6 +70,9 @@ public abstract class AbstractRestInvocation {
 
   protected List<HttpServerFilter> httpServerFilters = Collections.emptyList();
 
+  // request carried invocation context, tell the consumer that compact context is supported
+  protected boolean contextAcceptHeaderRequired;
+
   public AbstractRestInvocation() {
     this.start = System.nanoTime();
   }
@@ -97,6 +102,15 @@ public abstract class AbstractRestInvocation {
   }
 
   protected void setContext() throws Exception {
+    String compactContext = requestEx.getHeader(Const.CSE_CONTEXT_COMPACT);
+    if (compactContext != null) {
+      Map<String, String> cseContext = new HashMap<>();
+      CompactContextCodec.decode(compactContext, cseContext);
+      invocation.mergeContext(cseContext);
+      contextAcceptHeaderRequired = true;
+      return;
+    }
+
     String strCseContext = requestEx.getHeader(Const.CSE_CONTEXT);
     if (StringUtils.isEmpty(strCseContext)) {
       return;
@@ -106,6 +120,7 @@ public abstract class AbstractRestInvocation {
     Map<String, String> cseContext =
         JsonUtils.readValue(strCseContext.getBytes(StandardCharsets.UTF_8), Map.class);
     invocation.mergeContext(cseContext);
+    contextAcceptHeaderRequired = true;
   }
 
   public String getContext(String key) {
@@ -136,8 +151,7 @@ public abstract class AbstractRestInvocation {
       return;
     }
 
-    Holder<Boolean> qpsFlowControlReject = checkQpsFlowControl(operationMeta);
-    if (qpsFlowControlReject.value) {
+    if (checkQpsFlowControl(operationMeta).value || checkConcurrencyLimit(operationMeta).value) {
       return;
     }
 
@@ -154,6 +168,10 @@ public abstract class AbstractRestInvocation {
               LOGGER.error("Rest request already timeout, abandon execute, method {}, operation {}.",
                   operationMeta.getHttpMethod(),
                   operationMeta.getMicroserviceQualifiedName());
+              // response is already sent by web container, but still need to finish the invocation
+              // so that invocation listeners can release what they hold, eg: concurrency limit permit
+              invocation.onFinish(Response.createFail(
+                  new InvocationException(Status.INTERNAL_SERVER_ERROR, "Timeout when processing the request.")));
               return;
             }
 
@@ -171,23 +189,33 @@ public abstract class AbstractRestInvocation {
   }
 
   private Holder<Boolean> checkQpsFlowControl(OperationMeta operationMeta) {
-    Holder<Boolean> qpsFlowControlReject = new Holder<>(false);
     @SuppressWarnings("deprecation")
     Handler providerQpsFlowControlHandler = operationMeta.getProviderQpsFlowControlHandler();
-    if (null != providerQpsFlowControlHandler) {
+    return checkFlowControl(providerQpsFlowControlHandler);
+  }
+
+  private Holder<Boolean> checkConcurrencyLimit(OperationMeta operationMeta) {
+    @SuppressWarnings("deprecation")
+    Handler providerConcurrencyLimitHandler = operationMeta.getProviderConcurrencyLimitHandler();
+    return checkFlowControl(providerConcurrencyLimitHandler);
+  }
+
+  private Holder<Boolean> checkFlowControl(Handler flowControlHandler) {
+    Holder<Boolean> flowControlReject = new Holder<>(false);
+    if (null != flowControlHandler) {
       try {
-        providerQpsFlowControlHandler.handle(invocation, response -> {
-          qpsFlowControlReject.value = true;
+        flowControlHandler.handle(invocation, response -> {
+          flowControlReject.value = true;
           produceProcessor = ProduceProcessorManager.JSON_PROCESSOR;
           sendResponse(response);
         });
       } catch (Throwable e) {
-        LOGGER.error("failed to execute ProviderQpsFlowControlHandler", e);
-        qpsFlowControlReject.value = true;
+        LOGGER.error("failed to execute {}", flowControlHandler.getClass().getSimpleName(), e);
+        flowControlReject.value = true;
         sendFailResponse(e);
       }
     }
-    return qpsFlowControlReject;
+    return flowControlReject;
   }
 
   private boolean isInQueueTimeout() {
@@ -276,6 +304,9 @@ public abstract class AbstractRestInvocation {
         }
       }
     }
+    if (contextAcceptHeaderRequired) {
+      responseEx.setHeader(Const.CSE_CONTEXT_ACCEPT, Const.CSE_CONTEXT_ACCEPT_COMPACT);
+    }
     responseEx.setStatus(response.getStatusCode(), response.getReasonPhrase());
     responseEx.setAttribute(RestConst.INVOCATION_HANDLER_RESPONSE, response);
     responseEx.setAttribute(RestConst.INVOCATION_HANDLER_PROCESSOR, produceProcessor);
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.common.rest.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Compact form of invocation context, used by header {@link org.apache.servicecomb.core.Const#CSE_CONTEXT_COMPACT}.
+ * <p>
+ * Format is "k1=v1&amp;k2=v2", chars out of printable ASCII and "%", "&amp;", "=" are percent encoded by UTF-8 bytes.<br>
+ * Most context keys and values are plain ASCII, so both encode and decode are only a char scan, no Jackson involved.
+ * </p>
+ */
+public final class CompactContextCodec {
+  private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+  private CompactContextCodec() {
+  }
+
+  public static String encode(Map<String, String> context) {
+    if (context == null || context.isEmpty()) {
+      return "";
+    }
+
+    StringBuilder sb = new StringBuilder(64);
+    for (Entry<String, String> entry : context.entrySet()) {
+      // same to json, null value is not meaningful for context
+      if (entry.getKey() == null || entry.getValue() == null) {
+        continue;
+      }
+
+      if (sb.length() != 0) {
+        sb.append('&');
+      }
+      appendEscaped(sb, entry.getKey());
+      sb.append('=');
+      appendEscaped(sb, entry.getValue());
+    }
+    return sb.toString();
+  }
+
+  static boolean needEscape(char c) {
+    return c <= ' ' || c >= 0x7f || c == '%' || c == '&' || c == '=';
+  }
+
+  static void appendEscaped(StringBuilder sb, String value) {
+    int len = value.length();
+    int idx = 0;
+    while (idx < len && !needEscape(value.charAt(idx))) {
+      idx++;
+    }
+    if (idx == len) {
+      sb.append(value);
+      return;
+    }
+
+    sb.append(value, 0, idx);
+    byte[] bytes = value.substring(idx).getBytes(StandardCharsets.UTF_8);
+    for (byte b : bytes) {
+      char c = (char) (b & 0xff);
+      if (needEscape(c)) {
+        sb.append('%').append(HEX[c >> 4]).append(HEX[c & 0xf]);
+        continue;
+      }
+      sb.append(c);
+    }
+  }
+
+  /**
+   * decode compact context into the target map
+   * @throws IllegalArgumentException if the value is not a valid compact context
+   */
+  public static void decode(String value, Map<String, String> context) {
+    int len = value.length();
+    int start = 0;
+    while (start < len) {
+      int end = value.indexOf('&', start);
+      if (end < 0) {
+        end = len;
+      }
+
+      int eqIdx = value.indexOf('=', start);
+      if (eqIdx < 0 || eqIdx > end) {
+        throw new IllegalArgumentException("invalid compact context, missing \"=\", value=" + value);
+      }
+      context.put(unescape(value, start, eqIdx), unescape(value, eqIdx + 1, end));
+      start = end + 1;
+    }
+  }
+
+  static String unescape(String value, int start, int end) {
+    int pctIdx = value.indexOf('%', start);
+    if (pctIdx < 0 || pctIdx >= end) {
+      return value.substring(start, end);
+    }
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream(end - start);
+    for (int idx = start; idx < end; idx++) {
+      char c = value.charAt(idx);
+      if (c != '%') {
+        os.write(c);
+        continue;
+      }
+
+      if (idx + 2 >= end) {
+        throw new IllegalArgumentException("invalid compact context, incomplete escape, value=" + value);
+      }
+      os.write((hexValue(value, idx + 1) << 4) | hexValue(value, idx + 2));
+      idx += 2;
+    }
+    return new String(os.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static int hexValue(String value, int idx) {
+    int digit = Character.digit(value.charAt(idx), 16);
+    if (digit < 0) {
+      throw new IllegalArgumentException("invalid compact context, bad escape, value=" + value);
+    }
+    return digit;
+  }
+}
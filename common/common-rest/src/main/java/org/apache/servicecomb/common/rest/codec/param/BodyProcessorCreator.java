@@ -31,6 +31,7 @@ import org.apache.servicecomb.common.rest.RestConst;
 import org.apache.servicecomb.common.rest.codec.RestClientRequest;
 import org.apache.servicecomb.common.rest.codec.RestObjectMapperFactory;
 import org.apache.servicecomb.foundation.vertx.stream.BufferOutputStream;
+import org.apache.servicecomb.foundation.vertx.stream.BufferSizeHint;
 import org.apache.servicecomb.swagger.generator.core.utils.ClassUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,6 +63,10 @@ public class BodyProcessorCreator implements ParamValueProcessorCreator {
 
     protected boolean isRequired;
 
+    // body buffers are held by vertx http client after write, can not be pooled
+    // but initial size learned from previous bodies still can avoid resize and copy
+    protected BufferSizeHint bodySizeHint = new BufferSizeHint();
+
     public BodyProcessor(JavaType targetType, boolean isRequired) {
       this.targetType = targetType;
       this.isRequired = isRequired;
@@ -139,8 +144,10 @@ public class BodyProcessorCreator implements ParamValueProcessorCreator {
         return new BufferImpl().appendBytes(((String) arg).getBytes());
       }
 
-      try (BufferOutputStream output = new BufferOutputStream()) {
+      try (BufferOutputStream output = new BufferOutputStream(
+          Buffer.buffer(bodySizeHint.getSizeHint()).getByteBuf())) {
         RestObjectMapperFactory.getConsumerWriterMapper().writeValue(output, arg);
+        bodySizeHint.record(output.length());
         return output.getBuffer();
       }
     }
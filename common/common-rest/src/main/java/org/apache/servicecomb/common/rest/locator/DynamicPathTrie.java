@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.common.rest.locator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.servicecomb.common.rest.definition.RestOperationMeta;
+import org.apache.servicecomb.common.rest.definition.path.PathRegExp;
+
+/**
+ * Segment based trie of dynamic path operations, built from the sorted dynamic operation list.
+ * <p>
+ * Operations only contain static segments and simple variables like {id} are put into the trie,
+ * locating them only walks the segments of the request path, no regular expression is involved.<br>
+ * Operations contain custom regular expressions, or segments mixed static chars and variables,
+ * or static segments with regular expression meta chars, are still matched by {@link PathRegExp}.
+ * </p>
+ * <p>
+ * Candidates are ordered by the index in the source list, so the priority of
+ * {@link org.apache.servicecomb.common.rest.definition.RestOperationComparator} is not changed.
+ * </p>
+ */
+public class DynamicPathTrie {
+  private static final String REG_EXP_META_CHARS = ".[]()*+?^$|\\";
+
+  private static final String DEFAULT_REG_EXP = "[^/]+?";
+
+  static class Node {
+    Map<String, Node> staticChildren;
+
+    Node varChild;
+
+    // operations end at this node
+    List<Entry> entries;
+
+    Node getOrCreateStaticChild(String segment) {
+      if (staticChildren == null) {
+        staticChildren = new HashMap<>();
+      }
+      return staticChildren.computeIfAbsent(segment, key -> new Node());
+    }
+
+    Node getOrCreateVarChild() {
+      if (varChild == null) {
+        varChild = new Node();
+      }
+      return varChild;
+    }
+
+    void addEntry(Entry entry) {
+      if (entries == null) {
+        entries = new ArrayList<>();
+      }
+      entries.add(entry);
+    }
+  }
+
+  static class Entry {
+    final int rank;
+
+    final RestOperationMeta operation;
+
+    // null means match by PathRegExp
+    final String[] varNames;
+
+    Entry(int rank, RestOperationMeta operation, String[] varNames) {
+      this.rank = rank;
+      this.operation = operation;
+      this.varNames = varNames;
+    }
+  }
+
+  public static class Candidate implements Comparable<Candidate> {
+    private final Entry entry;
+
+    private final String[] varValues;
+
+    private final Map<String, String> regExpVars;
+
+    Candidate(Entry entry, String[] varValues, Map<String, String> regExpVars) {
+      this.entry = entry;
+      this.varValues = varValues;
+      this.regExpVars = regExpVars;
+    }
+
+    public RestOperationMeta getOperation() {
+      return entry.operation;
+    }
+
+    public void fillPathVars(Map<String, String> pathVarMap) {
+      if (regExpVars != null) {
+        pathVarMap.putAll(regExpVars);
+        return;
+      }
+
+      // same to PathRegExp, the latter one override the former one if variable names are duplicated
+      for (int idx = 0; idx < varValues.length; idx++) {
+        pathVarMap.put(entry.varNames[idx], varValues[idx]);
+      }
+    }
+
+    @Override
+    public int compareTo(Candidate other) {
+      return Integer.compare(entry.rank, other.entry.rank);
+    }
+  }
+
+  private final Node root = new Node();
+
+  private final List<Entry> regExpEntries = new ArrayList<>();
+
+  public DynamicPathTrie(List<RestOperationMeta> sortedOperations) {
+    for (int idx = 0; idx < sortedOperations.size(); idx++) {
+      addOperation(idx, sortedOperations.get(idx));
+    }
+  }
+
+  protected void addOperation(int rank, RestOperationMeta operation) {
+    List<String> segments = splitTemplate(operation.getAbsolutePath());
+    List<String> varNames = new ArrayList<>();
+    Node node = root;
+    for (String segment : segments) {
+      if (segment.indexOf('{') < 0) {
+        if (containsRegExpMetaChar(segment)) {
+          regExpEntries.add(new Entry(rank, operation, null));
+          return;
+        }
+        node = node.getOrCreateStaticChild(segment);
+        continue;
+      }
+
+      String varName = parseSimpleVarName(segment);
+      if (varName == null) {
+        regExpEntries.add(new Entry(rank, operation, null));
+        return;
+      }
+      varNames.add(varName);
+      node = node.getOrCreateVarChild();
+    }
+
+    node.addEntry(new Entry(rank, operation, varNames.toArray(new String[0])));
+  }
+
+  // "/a/{id}/" and "/a/{id}" both to ["", "a", "{id}"], "/" inside variables is not a separator
+  static List<String> splitTemplate(String template) {
+    int end = template.length();
+    if (template.endsWith(PathRegExp.SLASH)) {
+      end--;
+    }
+
+    List<String> segments = new ArrayList<>();
+    int depth = 0;
+    int start = 0;
+    for (int idx = 0; idx < end; idx++) {
+      char c = template.charAt(idx);
+      if (c == '{') {
+        depth++;
+      } else if (c == '}') {
+        depth--;
+      } else if (c == '/' && depth == 0) {
+        segments.add(template.substring(start, idx));
+        start = idx + 1;
+      }
+    }
+    segments.add(template.substring(start, end));
+    return segments;
+  }
+
+  static boolean containsRegExpMetaChar(String segment) {
+    for (int idx = 0; idx < segment.length(); idx++) {
+      if (REG_EXP_META_CHARS.indexOf(segment.charAt(idx)) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // {id} or {id : [^/]+?} is a simple variable, others must be matched by regular expression
+  static String parseSimpleVarName(String segment) {
+    if (segment.charAt(0) != '{' || segment.indexOf('}') != segment.length() - 1) {
+      return null;
+    }
+
+    String content = segment.substring(1, segment.length() - 1);
+    int colonIdx = content.indexOf(':');
+    if (colonIdx < 0) {
+      return content.trim();
+    }
+
+    if (!DEFAULT_REG_EXP.equals(content.substring(colonIdx + 1).trim())) {
+      return null;
+    }
+    return content.substring(0, colonIdx).trim();
+  }
+
+  /**
+   * @param path standard path, must end with "/"
+   * @return candidates whose path template matched, ordered by priority
+   */
+  public List<Candidate> match(String path) {
+    List<Candidate> candidates = null;
+    if (path.endsWith(PathRegExp.SLASH)) {
+      candidates = collect(root, path, 0, path.length() - 1, new ArrayList<>(), candidates);
+    }
+
+    for (Entry entry : regExpEntries) {
+      Map<String, String> vars = new HashMap<>();
+      if ("".equals(entry.operation.getAbsolutePathRegExp().match(path, vars))) {
+        candidates = addCandidate(candidates, new Candidate(entry, null, vars));
+      }
+    }
+
+    if (candidates == null) {
+      return Collections.emptyList();
+    }
+    if (candidates.size() > 1) {
+      Collections.sort(candidates);
+    }
+    return candidates;
+  }
+
+  // path[start, end) is the remained path without the last "/"
+  private List<Candidate> collect(Node node, String path, int start, int end, List<String> varValues,
+      List<Candidate> candidates) {
+    int slashIdx = path.indexOf('/', start);
+    if (slashIdx < 0 || slashIdx > end) {
+      slashIdx = end;
+    }
+    boolean last = slashIdx == end;
+
+    if (node.staticChildren != null) {
+      Node child = node.staticChildren.get(path.substring(start, slashIdx));
+      if (child != null) {
+        candidates = last ? addEntries(child, varValues, candidates)
+            : collect(child, path, slashIdx + 1, end, varValues, candidates);
+      }
+    }
+
+    // variable can not be empty
+    if (node.varChild != null && slashIdx > start) {
+      varValues.add(path.substring(start, slashIdx));
+      candidates = last ? addEntries(node.varChild, varValues, candidates)
+          : collect(node.varChild, path, slashIdx + 1, end, varValues, candidates);
+      varValues.remove(varValues.size() - 1);
+    }
+    return candidates;
+  }
+
+  private List<Candidate> addEntries(Node node, List<String> varValues, List<Candidate> candidates) {
+    if (node.entries == null) {
+      return candidates;
+    }
+
+    String[] values = varValues.toArray(new String[0]);
+    for (Entry entry : node.entries) {
+      candidates = addCandidate(candidates, new Candidate(entry, values, null));
+    }
+    return candidates;
+  }
+
+  private List<Candidate> addCandidate(List<Candidate> candidates, Candidate candidate) {
+    if (candidates == null) {
+      candidates = new ArrayList<>(1);
+    }
+    candidates.add(candidate);
+    return candidates;
+  }
+}
@@ -41,6 +41,9 @@ public class MicroservicePaths {
   // 运行阶段,以path优先级,从高到低排列的operation列表
   protected List<RestOperationMeta> dynamicPathOperationsList = new ArrayList<>();
 
+  // built from dynamicPathOperationsList, reset when dynamicPathOperationsList changed
+  protected volatile DynamicPathTrie dynamicPathTrie;
+
   public void cloneTo(MicroservicePaths other) {
     other.staticPathOperations.putAll(staticPathOperations);
     other.dynamicPathOperationsList.addAll(dynamicPathOperationsList);
@@ -49,6 +52,7 @@ public class MicroservicePaths {
   public void sortPath() {
     RestOperationComparator comparator = new RestOperationComparator();
     Collections.sort(this.dynamicPathOperationsList, comparator);
+    dynamicPathTrie = new DynamicPathTrie(dynamicPathOperationsList);
   }
 
   public void addResource(RestOperationMeta swaggerRestOperation) {
@@ -59,6 +63,7 @@ public class MicroservicePaths {
     }
 
     dynamicPathOperationsList.add(swaggerRestOperation);
+    dynamicPathTrie = null;
   }
 
   protected void addStaticPathResource(RestOperationMeta operation) {
@@ -89,6 +94,15 @@ public class MicroservicePaths {
     return dynamicPathOperationsList;
   }
 
+  public DynamicPathTrie getDynamicPathTrie() {
+    DynamicPathTrie trie = dynamicPathTrie;
+    if (trie == null) {
+      trie = new DynamicPathTrie(dynamicPathOperationsList);
+      dynamicPathTrie = trie;
+    }
+    return trie;
+  }
+
   public void printPaths() {
     for (Entry<String, OperationGroup> entry : staticPathOperations.entrySet()) {
       OperationGroup operationGroup = entry.getValue();
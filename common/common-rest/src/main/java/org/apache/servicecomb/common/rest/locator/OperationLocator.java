@@ -17,7 +17,6 @@
 
 package org.apache.servicecomb.common.rest.locator;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -60,7 +59,7 @@ public class OperationLocator {
     }
 
     // 在动态路径中查找
-    operation = locateDynamicPathOperation(path, microservicePaths.getDynamicPathOperationList(), httpMethod);
+    operation = locateDynamicPathOperation(path, microservicePaths.getDynamicPathTrie(), httpMethod);
     if (operation != null) {
       return;
     }
@@ -88,16 +87,14 @@ public class OperationLocator {
     return group.findValue(httpMethod);
   }
 
-  protected RestOperationMeta locateDynamicPathOperation(String path, Collection<RestOperationMeta> resourceList,
+  protected RestOperationMeta locateDynamicPathOperation(String path, DynamicPathTrie dynamicPathTrie,
       String httpMethod) {
-    for (RestOperationMeta resource : resourceList) {
-      String remainPath = resource.getAbsolutePathRegExp().match(path, pathVarMap);
-      // 刚好匹配，不多也不少
-      if ("".equals(remainPath)) {
-        resourceFound = true;
-        if (checkHttpMethod(resource, httpMethod)) {
-          return resource;
-        }
+    // candidates are ordered by priority, and all of them matched the whole path
+    for (DynamicPathTrie.Candidate candidate : dynamicPathTrie.match(path)) {
+      resourceFound = true;
+      if (checkHttpMethod(candidate.getOperation(), httpMethod)) {
+        candidate.fillPathVars(pathVarMap);
+        return candidate.getOperation();
       }
     }
     return null;
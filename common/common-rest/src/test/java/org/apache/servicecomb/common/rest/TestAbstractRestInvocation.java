@@ -151,6 +151,13 @@ public class TestAbstractRestInvocation {
 
   @Before
   public void setup() {
+    new Expectations() {
+      {
+        operationMeta.getMicroserviceQualifiedName();
+        result = "ms.schema.op";
+        minTimes = 0;
+      }
+    };
     invocation = new Invocation(endpoint, operationMeta, swaggerArguments);
 
     initRestInvocation();
@@ -283,6 +290,36 @@ public class TestAbstractRestInvocation {
     Assert.assertThat(invocation.getContext(), Matchers.hasEntry("X-B3-traceId", "value2"));
   }
 
+  @Test
+  public void setContextCompact() throws Exception {
+    new Expectations() {
+      {
+        requestEx.getHeader(Const.CSE_CONTEXT_COMPACT);
+        result = "name=value&X-B3-traceId=v%201";
+      }
+    };
+
+    restInvocation.setContext();
+    Assert.assertThat(invocation.getContext().size(), Matchers.is(2));
+    Assert.assertThat(invocation.getContext(), Matchers.hasEntry("name", "value"));
+    Assert.assertThat(invocation.getContext(), Matchers.hasEntry("X-B3-traceId", "v 1"));
+    Assert.assertTrue(restInvocation.contextAcceptHeaderRequired);
+  }
+
+  @Test
+  public void setContextJsonRequireAcceptHeader() throws Exception {
+    new Expectations() {
+      {
+        requestEx.getHeader(Const.CSE_CONTEXT);
+        result = "{}";
+      }
+    };
+
+    Assert.assertFalse(restInvocation.contextAcceptHeaderRequired);
+    restInvocation.setContext();
+    Assert.assertTrue(restInvocation.contextAcceptHeaderRequired);
+  }
+
   @Test
   public void getContext() {
     invocation.addContext("key", "test");
@@ -695,6 +732,45 @@ public class TestAbstractRestInvocation {
     }
   }
 
+  @Test
+  public void testDoSendResponseContextAcceptHeader(@Mocked Response response) {
+    new Expectations() {
+      {
+        response.getResult();
+        result = new RuntimeExceptionWithoutStackTrace("stop");
+      }
+    };
+
+    Map<String, String> resultHeaders = new HashMap<>();
+    responseEx = new MockUp<HttpServletResponseEx>() {
+      private Map<String, Object> attributes = new HashMap<>();
+
+      @Mock
+      public void setAttribute(String key, Object value) {
+        this.attributes.put(key, value);
+      }
+
+      @Mock
+      public Object getAttribute(String key) {
+        return this.attributes.get(key);
+      }
+
+      @Mock
+      void setHeader(String name, String value) {
+        resultHeaders.put(name, value);
+      }
+    }.getMockInstance();
+    initRestInvocation();
+    restInvocation.contextAcceptHeaderRequired = true;
+
+    try {
+      restInvocation.sendResponse(response);
+      Assert.fail("must throw exception");
+    } catch (Error e) {
+      assertEquals(Const.CSE_CONTEXT_ACCEPT_COMPACT, resultHeaders.get(Const.CSE_CONTEXT_ACCEPT));
+    }
+  }
+
   @Test
   public void testDoSendResponseResultOK(@Mocked Response response) {
     new Expectations() {
@@ -876,6 +952,8 @@ public class TestAbstractRestInvocation {
         result = executor;
         operationMeta.getMicroserviceQualifiedName();
         result = "sayHi";
+        TestAbstractRestInvocation.this.operationMeta.getMicroserviceQualifiedName();
+        result = "ms.schema.op";
       }
     };
 
@@ -894,6 +972,49 @@ public class TestAbstractRestInvocation {
     restInvocation.scheduleInvocation();
   }
 
+  @Test
+  public void scheduleInvocationTimeoutFinishInvocation(@Mocked OperationMeta operationMeta) {
+    Holder<InvocationFinishEvent> eventHolder = new Holder<>();
+    Object subscriber = new Object() {
+      @Subscribe
+      public void onFinished(InvocationFinishEvent event) {
+        eventHolder.value = event;
+      }
+    };
+    EventManager.register(subscriber);
+
+    Executor executor = Runnable::run;
+    new Expectations() {
+      {
+        restOperation.getOperationMeta();
+        result = operationMeta;
+        operationMeta.getExecutor();
+        result = executor;
+      }
+    };
+
+    // REST_REQUEST attribute is not set, means already timeout
+    requestEx = new AbstractHttpServletRequestForTest();
+
+    Holder<Boolean> executed = new Holder<>(false);
+    restInvocation = new AbstractRestInvocationForTest() {
+      @Override
+      protected void runOnExecutor() {
+        executed.value = true;
+      }
+    };
+    restInvocation.requestEx = requestEx;
+    restInvocation.restOperationMeta = restOperation;
+
+    restInvocation.scheduleInvocation();
+    EventManager.unregister(subscriber);
+
+    Assert.assertFalse(executed.value);
+    Assert.assertTrue(invocation.isFinished());
+    Assert.assertSame(invocation, eventHolder.value.getInvocation());
+    assertEquals(Status.INTERNAL_SERVER_ERROR.getStatusCode(), eventHolder.value.getResponse().getStatusCode());
+  }
+
   @Test
   public void threadPoolReject(@Mocked OperationMeta operationMeta) {
     RejectedExecutionException rejectedExecutionException = new RejectedExecutionException("reject");
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.common.rest.codec;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCompactContextCodec {
+  private Map<String, String> decode(String value) {
+    Map<String, String> context = new HashMap<>();
+    CompactContextCodec.decode(value, context);
+    return context;
+  }
+
+  @Test
+  public void encodeEmpty() {
+    Assert.assertEquals("", CompactContextCodec.encode(null));
+    Assert.assertEquals("", CompactContextCodec.encode(Collections.emptyMap()));
+    Assert.assertTrue(decode("").isEmpty());
+  }
+
+  @Test
+  public void encodePlain() {
+    Map<String, String> context = new LinkedHashMap<>();
+    context.put("x-cse-src-microservice", "consumer");
+    context.put("X-B3-TraceId", "5c1f3bd2a1e2a0f3");
+    context.put("nullValue", null);
+
+    String value = CompactContextCodec.encode(context);
+    Assert.assertEquals("x-cse-src-microservice=consumer&X-B3-TraceId=5c1f3bd2a1e2a0f3", value);
+
+    context.remove("nullValue");
+    Assert.assertEquals(context, decode(value));
+  }
+
+  @Test
+  public void encodeEscaped() {
+    Map<String, String> context = new LinkedHashMap<>();
+    context.put("k=1&", "v 100%");
+    context.put("name", "中文");
+    context.put("empty", "");
+
+    String value = CompactContextCodec.encode(context);
+    Assert.assertEquals("k%3D1%26=v%20100%25&name=%E4%B8%AD%E6%96%87&empty=", value);
+    Assert.assertEquals(context, decode(value));
+  }
+
+  @Test
+  public void decodeInvalid() {
+    for (String value : new String[] {"k", "k=v&k2", "k=%4", "k=%zz"}) {
+      try {
+        decode(value);
+        Assert.fail("must throw exception, value=" + value);
+      } catch (IllegalArgumentException e) {
+        Assert.assertTrue(e.getMessage().startsWith("invalid compact context"));
+      }
+    }
+  }
+}
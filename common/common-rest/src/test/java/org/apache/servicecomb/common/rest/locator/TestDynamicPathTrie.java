@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.common.rest.locator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.servicecomb.common.rest.definition.RestOperationMeta;
+import org.apache.servicecomb.common.rest.definition.UnitTestRestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestDynamicPathTrie {
+  MicroservicePaths paths = new MicroservicePaths();
+
+  private RestOperationMeta addRestOperationMeta(String httpMethod, String path) {
+    RestOperationMeta rom = UnitTestRestUtils.createRestOperationMeta(httpMethod, path);
+    paths.addResource(rom);
+    return rom;
+  }
+
+  private List<DynamicPathTrie.Candidate> match(String path) {
+    paths.sortPath();
+    return paths.getDynamicPathTrie().match(path);
+  }
+
+  @Test
+  public void splitTemplate() {
+    Assert.assertEquals(Arrays.asList("", "a", "{id}"), DynamicPathTrie.splitTemplate("/a/{id}"));
+    Assert.assertEquals(Arrays.asList("", "a", "{id}"), DynamicPathTrie.splitTemplate("/a/{id}/"));
+    Assert.assertEquals(Arrays.asList("", "a", "{id : [^/]+?}", ""),
+        DynamicPathTrie.splitTemplate("/a/{id : [^/]+?}//"));
+  }
+
+  @Test
+  public void parseSimpleVarName() {
+    Assert.assertEquals("id", DynamicPathTrie.parseSimpleVarName("{id}"));
+    Assert.assertEquals("id", DynamicPathTrie.parseSimpleVarName("{ id : [^/]+? }"));
+    Assert.assertNull(DynamicPathTrie.parseSimpleVarName("{id:.+}"));
+    Assert.assertNull(DynamicPathTrie.parseSimpleVarName("{id}.json"));
+    Assert.assertNull(DynamicPathTrie.parseSimpleVarName("prefix{id}"));
+    Assert.assertNull(DynamicPathTrie.parseSimpleVarName("{a}{b}"));
+  }
+
+  @Test
+  public void matchByPriority() {
+    RestOperationMeta lessStatic = addRestOperationMeta("GET", "/customers/{id}/{name}");
+    RestOperationMeta moreStatic = addRestOperationMeta("GET", "/customers/{id}/address");
+
+    List<DynamicPathTrie.Candidate> candidates = match("/customers/1/address/");
+    Assert.assertEquals(2, candidates.size());
+    Assert.assertSame(moreStatic, candidates.get(0).getOperation());
+    Assert.assertSame(lessStatic, candidates.get(1).getOperation());
+
+    candidates = match("/customers/1/other/");
+    Assert.assertEquals(1, candidates.size());
+    Assert.assertSame(lessStatic, candidates.get(0).getOperation());
+  }
+
+  @Test
+  public void matchMixedWithRegExp() {
+    RestOperationMeta regExp = addRestOperationMeta("GET", "/customers/{id : .+}/address");
+    RestOperationMeta simple = addRestOperationMeta("GET", "/customers/{id}/address");
+    RestOperationMeta mixed = addRestOperationMeta("GET", "/customers/{id}.json");
+
+    List<DynamicPathTrie.Candidate> candidates = match("/customers/1/address/");
+    Assert.assertEquals(2, candidates.size());
+    Assert.assertSame(regExp, candidates.get(0).getOperation());
+    Assert.assertSame(simple, candidates.get(1).getOperation());
+
+    Map<String, String> vars = new HashMap<>();
+    candidates = match("/customers/1/2/address/");
+    Assert.assertEquals(1, candidates.size());
+    candidates.get(0).fillPathVars(vars);
+    Assert.assertEquals("1/2", vars.get("id"));
+
+    vars.clear();
+    candidates = match("/customers/1.json/");
+    Assert.assertEquals(1, candidates.size());
+    Assert.assertSame(mixed, candidates.get(0).getOperation());
+    candidates.get(0).fillPathVars(vars);
+    Assert.assertEquals("1", vars.get("id"));
+  }
+
+  @Test
+  public void matchStaticWithRegExpMetaChar() {
+    RestOperationMeta rom = addRestOperationMeta("GET", "/v1.0/{id}");
+
+    // keep compatible with regular expression, "." matches any char
+    List<DynamicPathTrie.Candidate> candidates = match("/v1x0/1/");
+    Assert.assertEquals(1, candidates.size());
+    Assert.assertSame(rom, candidates.get(0).getOperation());
+  }
+
+  @Test
+  public void matchDuplicatedVarName() {
+    addRestOperationMeta("GET", "/customers/{id}/address/{id}");
+
+    Map<String, String> vars = new HashMap<>();
+    match("/customers/1/address/2/").get(0).fillPathVars(vars);
+    Assert.assertEquals("2", vars.get("id"));
+  }
+
+  @Test
+  public void matchNothing() {
+    addRestOperationMeta("GET", "/customers/{id}");
+
+    Assert.assertTrue(match("/customers//").isEmpty());
+    Assert.assertTrue(match("/customers/1/2/").isEmpty());
+    Assert.assertTrue(match("/customers/1").isEmpty());
+    Assert.assertTrue(match("/other/1/").isEmpty());
+  }
+
+  @Test
+  public void resetByAddResource() {
+    addRestOperationMeta("GET", "/customers/{id}");
+    DynamicPathTrie trie = paths.getDynamicPathTrie();
+    Assert.assertSame(trie, paths.getDynamicPathTrie());
+
+    addRestOperationMeta("GET", "/orders/{id}");
+    Assert.assertNotSame(trie, paths.getDynamicPathTrie());
+    Assert.assertEquals(1, paths.getDynamicPathTrie().match("/orders/1/").size());
+  }
+}
@@ -96,4 +96,17 @@ public class TestOperationLocator {
     Assert.assertSame(rom, locator.getOperation());
     Assert.assertEquals("1", locator.getPathVarMap().get("id"));
   }
+
+  @Test
+  public void testLocateDynamicByPriorityAndMethod() {
+    RestOperationMeta lessStatic = addRestOperationMeta("GET", "/dynamic/{id}/{name}");
+    addRestOperationMeta("POST", "/dynamic/{id}/name");
+    paths.sortPath();
+
+    locator.locate("ms", "/dynamic/1/name/", "GET", paths);
+
+    Assert.assertSame(lessStatic, locator.getOperation());
+    Assert.assertEquals("1", locator.getPathVarMap().get("id"));
+    Assert.assertEquals("name", locator.getPathVarMap().get("name"));
+  }
 }
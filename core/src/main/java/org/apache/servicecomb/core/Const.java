@@ -25,6 +25,13 @@ public final class Const {
 
   public static final String CSE_CONTEXT = "x-cse-context";
 
+  // invocation context in compact form, only sent to providers which declared support by CSE_CONTEXT_ACCEPT
+  public static final String CSE_CONTEXT_COMPACT = "x-cse-ctx-compact";
+
+  public static final String CSE_CONTEXT_ACCEPT = "x-cse-ctx-accept";
+
+  public static final String CSE_CONTEXT_ACCEPT_COMPACT = "compact";
+
   public static final String RESTFUL = "rest";
 
   public static final String HIGHWAY = "highway";
@@ -46,4 +53,7 @@ public final class Const {
   public static final String AUTH_TOKEN = "x-cse-auth-rsatoken";
 
   public static final String TRACE_ID_NAME = "X-B3-TraceId";
+
+  // key of handler context, set to true when the request can not be sent again, eg: body is streamed from client
+  public static final String RETRY_DISABLED = "scb-retry-disabled";
 }
@@ -29,6 +29,7 @@ import org.apache.servicecomb.core.definition.SchemaMeta;
 import org.apache.servicecomb.core.event.InvocationBusinessMethodFinishEvent;
 import org.apache.servicecomb.core.event.InvocationBusinessMethodStartEvent;
 import org.apache.servicecomb.core.event.InvocationFinishEvent;
+import org.apache.servicecomb.core.event.InvocationListener;
 import org.apache.servicecomb.core.event.InvocationStartEvent;
 import org.apache.servicecomb.core.invocation.InvocationStageTrace;
 import org.apache.servicecomb.core.provider.consumer.ReferenceConfig;
@@ -278,7 +279,12 @@ public class Invocation extends SwaggerInvocation {
   public void onStart(long start) {
     invocationStageTrace.start(start);
     initTraceId();
-    EventManager.post(new InvocationStartEvent(this));
+    for (InvocationListener listener : SCBEngine.getInstance().getInvocationListeners()) {
+      listener.onInvocationStart(this);
+    }
+    if (EventManager.hasSubscriber(InvocationStartEvent.class)) {
+      EventManager.post(new InvocationStartEvent(this));
+    }
   }
 
   public void onStart(HttpServletRequestEx requestEx, long start) {
@@ -293,12 +299,22 @@ public class Invocation extends SwaggerInvocation {
   @Override
   public void onBusinessMethodStart() {
     invocationStageTrace.startBusinessMethod();
-    EventManager.post(new InvocationBusinessMethodStartEvent(this));
+    for (InvocationListener listener : SCBEngine.getInstance().getInvocationListeners()) {
+      listener.onBusinessMethodStart(this);
+    }
+    if (EventManager.hasSubscriber(InvocationBusinessMethodStartEvent.class)) {
+      EventManager.post(new InvocationBusinessMethodStartEvent(this));
+    }
   }
 
   @Override
   public void onBusinessMethodFinish() {
-    EventManager.post(new InvocationBusinessMethodFinishEvent(this));
+    for (InvocationListener listener : SCBEngine.getInstance().getInvocationListeners()) {
+      listener.onBusinessMethodFinish(this);
+    }
+    if (EventManager.hasSubscriber(InvocationBusinessMethodFinishEvent.class)) {
+      EventManager.post(new InvocationBusinessMethodFinishEvent(this));
+    }
   }
 
   @Override
@@ -313,7 +329,12 @@ public class Invocation extends SwaggerInvocation {
     }
 
     invocationStageTrace.finish();
-    EventManager.post(new InvocationFinishEvent(this, response));
+    for (InvocationListener listener : SCBEngine.getInstance().getInvocationListeners()) {
+      listener.onInvocationFinish(this, response);
+    }
+    if (EventManager.hasSubscriber(InvocationFinishEvent.class)) {
+      EventManager.post(new InvocationFinishEvent(this, response));
+    }
     finished = true;
   }
 
@@ -17,12 +17,14 @@
 package org.apache.servicecomb.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicLong;
 
 import javax.ws.rs.core.Response.Status;
 
@@ -33,9 +35,9 @@ import org.apache.servicecomb.core.definition.MicroserviceMeta;
 import org.apache.servicecomb.core.definition.loader.SchemaListenerManager;
 import org.apache.servicecomb.core.definition.schema.StaticSchemaFactory;
 import org.apache.servicecomb.core.endpoint.AbstractEndpointsCache;
-import org.apache.servicecomb.core.event.InvocationFinishEvent;
-import org.apache.servicecomb.core.event.InvocationStartEvent;
+import org.apache.servicecomb.core.event.InvocationListener;
 import org.apache.servicecomb.core.handler.HandlerConfigUtils;
+import org.apache.servicecomb.core.invocation.InflightInvocationTracker;
 import org.apache.servicecomb.core.provider.consumer.ConsumerProviderManager;
 import org.apache.servicecomb.core.provider.consumer.ReferenceConfig;
 import org.apache.servicecomb.core.provider.producer.ProducerProviderManager;
@@ -48,9 +50,9 @@ import org.apache.servicecomb.serviceregistry.task.MicroserviceInstanceRegisterT
 import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.StopWatch;
 import org.springframework.util.StringUtils;
 
-import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.netflix.config.DynamicPropertyFactory;
@@ -63,6 +65,10 @@ public class SCBEngine {
 
   static final long DEFAULT_WAIT_UP_TIMEOUT = 10_000;
 
+  static final String CFG_KEY_DRAIN_TIMEOUT = "servicecomb.boot.drain.timeoutInMilliseconds";
+
+  static final long DEFAULT_DRAIN_TIMEOUT = 30_000;
+
   private ProducerProviderManager producerProviderManager;
 
   private ConsumerProviderManager consumerProviderManager;
@@ -75,12 +81,16 @@ public class SCBEngine {
 
   private Collection<BootListener> bootListenerList;
 
-  private final AtomicLong invocationStartedCounter = new AtomicLong();
+  // so that can wait for invocations in flight finished when drain
+  private final InflightInvocationTracker inflightTracker = new InflightInvocationTracker();
 
-  private final AtomicLong invocationFinishedCounter = new AtomicLong();
+  private volatile InvocationListener[] invocationListeners = {inflightTracker};
 
   private volatile SCBStatus status = SCBStatus.DOWN;
 
+  // instance already unregistered and invocations in flight already waited by drain, destroy not do them again
+  private volatile boolean drained;
+
   private EventBus eventBus = EventManager.getEventBus();
 
   private StaticSchemaFactory staticSchemaFactory;
@@ -188,16 +198,39 @@ public class SCBEngine {
     });
   }
 
-  @AllowConcurrentEvents
-  @Subscribe
-  public void onInvocationStart(InvocationStartEvent event) {
-    invocationStartedCounter.incrementAndGet();
+  public InflightInvocationTracker getInflightTracker() {
+    return inflightTracker;
+  }
+
+  public InvocationListener[] getInvocationListeners() {
+    return invocationListeners;
   }
 
-  @AllowConcurrentEvents
-  @Subscribe
-  public void onInvocationFinish(InvocationFinishEvent event) {
-    invocationFinishedCounter.incrementAndGet();
+  /**
+   * copy on write, listeners are added rarely, but read by every invocation
+   */
+  public synchronized void addInvocationListener(InvocationListener listener) {
+    List<InvocationListener> listeners = new ArrayList<>(Arrays.asList(invocationListeners));
+    listeners.add(listener);
+    listeners.sort(Comparator.comparingInt(InvocationListener::getOrder));
+    invocationListeners = listeners.toArray(new InvocationListener[listeners.size()]);
+  }
+
+  private void initInvocationListeners() {
+    // SPI instances are cached, make sure not add repeatedly when init again
+    List<InvocationListener> listeners = Arrays.asList(invocationListeners);
+    for (InvocationListener listener : SPIServiceUtils.getSortedService(InvocationListener.class)) {
+      if (!listeners.contains(listener)) {
+        addInvocationListener(listener);
+      }
+    }
+  }
+
+  public synchronized void removeInvocationListener(InvocationListener listener) {
+    List<InvocationListener> listeners = new ArrayList<>(Arrays.asList(invocationListeners));
+    if (listeners.remove(listener)) {
+      invocationListeners = listeners.toArray(new InvocationListener[listeners.size()]);
+    }
   }
 
   public synchronized void init() {
@@ -222,34 +255,50 @@ public class SCBEngine {
   private void doInit() throws Exception {
     status = SCBStatus.STARTING;
 
-    eventBus.register(this);
+    initInvocationListeners();
 
     consumerProviderManager.setAppManager(RegistryUtils.getServiceRegistry().getAppManager());
     AbstractEndpointsCache.init(RegistryUtils.getInstanceCacheManager(), transportManager);
 
+    // cost of every phase, include boot listeners of the phase
+    StopWatch stopWatch = new StopWatch("ServiceComb init");
+
+    stopWatch.start("handler");
     triggerEvent(EventType.BEFORE_HANDLER);
     HandlerConfigUtils.init();
     triggerEvent(EventType.AFTER_HANDLER);
+    stopWatch.stop();
 
+    stopWatch.start("producer provider");
     triggerEvent(EventType.BEFORE_PRODUCER_PROVIDER);
     producerProviderManager.init();
     triggerEvent(EventType.AFTER_PRODUCER_PROVIDER);
+    stopWatch.stop();
 
+    stopWatch.start("consumer provider");
     triggerEvent(EventType.BEFORE_CONSUMER_PROVIDER);
     consumerProviderManager.init();
     triggerEvent(EventType.AFTER_CONSUMER_PROVIDER);
+    stopWatch.stop();
 
+    stopWatch.start("transport");
     triggerEvent(EventType.BEFORE_TRANSPORT);
     transportManager.init();
     triggerEvent(EventType.AFTER_TRANSPORT);
+    stopWatch.stop();
 
+    stopWatch.start("schema listener");
     schemaListenerManager.notifySchemaListener();
+    stopWatch.stop();
 
+    stopWatch.start("registry");
     triggerEvent(EventType.BEFORE_REGISTRY);
 
     triggerAfterRegistryEvent();
 
     RegistryUtils.run();
+    stopWatch.stop();
+    LOGGER.info(stopWatch.prettyPrint());
 
     Runtime.getRuntime().addShutdownHook(new Thread(this::destroy));
   }
@@ -259,10 +308,12 @@ public class SCBEngine {
    * even some step throw exception, must catch it and go on, otherwise shutdown process will be broken.
    */
   public synchronized void destroy() {
-    if (SCBStatus.UP.equals(status) || SCBStatus.STARTING.equals(status)) {
+    // STOPPING means drained but not destroyed
+    if (SCBStatus.UP.equals(status) || SCBStatus.STARTING.equals(status) || SCBStatus.STOPPING.equals(status)) {
       LOGGER.info("ServiceComb is closing now...");
       doDestroy();
       status = SCBStatus.DOWN;
+      drained = false;
       LOGGER.info("ServiceComb had closed");
     }
   }
@@ -276,14 +327,19 @@ public class SCBEngine {
 
     //Step 3: Unregister microservice instance from Service Center and close vertx
     // Forbidden other consumers find me
-    RegistryUtils.destroy();
+    if (!drained) {
+      RegistryUtils.destroy();
+    }
     VertxUtils.blockCloseVertxByName("registry");
 
     //Step 4: wait all invocation finished
-    try {
-      validAllInvocationFinished();
-    } catch (InterruptedException e) {
-      LOGGER.error("wait all invocation finished interrupted", e);
+    if (!drained) {
+      try {
+        waitInflightFinished(
+            DynamicPropertyFactory.getInstance().getLongProperty(CFG_KEY_DRAIN_TIMEOUT, DEFAULT_DRAIN_TIMEOUT).get());
+      } catch (InterruptedException e) {
+        LOGGER.error("wait all invocation finished interrupted", e);
+      }
     }
 
     //Step 5: Stop vertx to prevent blocking exit
@@ -297,19 +353,38 @@ public class SCBEngine {
     safeTriggerEvent(EventType.AFTER_CLOSE);
   }
 
-  private void validAllInvocationFinished() throws InterruptedException {
-    long start = System.currentTimeMillis();
-    while (true) {
-      long remaining = invocationStartedCounter.get() - invocationFinishedCounter.get();
-      if (remaining == 0) {
-        return;
-      }
+  /**
+   * the first step of shutdown, can be invoked before it, eg: by a pre-stop hook of rolling deploy:<br>
+   * 1.unregister the instance from service center, so that consumers stop to find this instance<br>
+   * 2.reject new invocations, consumers still use stale instance cache will get 503<br>
+   * 3.wait for invocations in flight finished<br>
+   * destroy will not unregister or wait again after drained.<br>
+   * only works when status is UP, otherwise do nothing.
+   * @param msTimeout max time to wait
+   * @return operations still have invocations in flight when timeout, value is count, empty means all finished
+   */
+  public synchronized Map<String, Long> drain(long msTimeout) throws InterruptedException {
+    if (!SCBStatus.UP.equals(status)) {
+      LOGGER.warn("ignore drain request, status is {}.", status);
+      return Collections.emptyMap();
+    }
 
-      if (System.currentTimeMillis() - start > TimeUnit.SECONDS.toMillis(30)) {
-        LOGGER.error("wait for all requests timeout, abandon waiting, remaining requests: {}.", remaining);
-      }
-      TimeUnit.SECONDS.sleep(1);
+    RegistryUtils.destroy();
+    status = SCBStatus.STOPPING;
+    Map<String, Long> remaining = waitInflightFinished(msTimeout);
+    drained = true;
+    return remaining;
+  }
+
+  private Map<String, Long> waitInflightFinished(long msTimeout) throws InterruptedException {
+    long start = System.currentTimeMillis();
+    Map<String, Long> remaining = inflightTracker.awaitDrained(msTimeout);
+    if (remaining.isEmpty()) {
+      LOGGER.info("all invocations finished, cost {} ms.", System.currentTimeMillis() - start);
+    } else {
+      LOGGER.error("wait for all invocations timeout, abandon waiting, remaining invocations: {}.", remaining);
     }
+    return remaining;
   }
 
   public void ensureStatusUp() {
@@ -78,6 +78,13 @@ public class OperationConfig {
 
   private long nanoRestRequestWaitInPoolTimeout;
 
+  /**
+   * whether highway compress body of this operation, only works when compression is negotiated by login
+   */
+  @InjectProperty(keys = {"highway.compression.${op-any-priority}.enabled", "highway.compression.enabled"},
+      defaultValue = "true")
+  private boolean highwayCompressionEnabled;
+
   public boolean isSlowInvocationEnabled() {
     return slowInvocationEnabled;
   }
@@ -132,4 +139,12 @@ public class OperationConfig {
   public long getNanoRestRequestWaitInPoolTimeout() {
     return nanoRestRequestWaitInPoolTimeout;
   }
+
+  public boolean isHighwayCompressionEnabled() {
+    return highwayCompressionEnabled;
+  }
+
+  public void setHighwayCompressionEnabled(boolean highwayCompressionEnabled) {
+    this.highwayCompressionEnabled = highwayCompressionEnabled;
+  }
 }
@@ -67,6 +67,12 @@ public class OperationMeta {
   // providerQpsFlowControlHandlerSearched is a temporary filed, only for internal usage
   private boolean providerQpsFlowControlHandlerSearched;
 
+  // providerConcurrencyLimitHandler is a temporary filed, only for internal usage
+  private Handler providerConcurrencyLimitHandler;
+
+  // providerConcurrencyLimitHandlerSearched is a temporary filed, only for internal usage
+  private boolean providerConcurrencyLimitHandlerSearched;
+
   private String transport = null;
 
   private OperationConfig config;
@@ -204,15 +210,34 @@ public class OperationMeta {
       return providerQpsFlowControlHandler;
     }
 
+    providerQpsFlowControlHandler = findProviderHandler("org.apache.servicecomb.qps.ProviderQpsFlowControlHandler");
+    providerQpsFlowControlHandlerSearched = true;
+    return providerQpsFlowControlHandler;
+  }
+
+  /**
+   * Only for JavaChassis internal usage.
+   */
+  @Deprecated
+  public Handler getProviderConcurrencyLimitHandler() {
+    if (providerConcurrencyLimitHandlerSearched) {
+      return providerConcurrencyLimitHandler;
+    }
+
+    providerConcurrencyLimitHandler = findProviderHandler(
+        "org.apache.servicecomb.concurrency.ProviderConcurrencyLimitHandler");
+    providerConcurrencyLimitHandlerSearched = true;
+    return providerConcurrencyLimitHandler;
+  }
+
+  private Handler findProviderHandler(String className) {
     final List<Handler> providerHandlerChain = getSchemaMeta().getProviderHandlerChain();
     for (Handler handler : providerHandlerChain) {
       // matching by class name is more or less better than importing an extra maven dependency
-      if ("org.apache.servicecomb.qps.ProviderQpsFlowControlHandler".equals(handler.getClass().getName())) {
-        providerQpsFlowControlHandler = handler;
-        break;
+      if (className.equals(handler.getClass().getName())) {
+        return handler;
       }
     }
-    providerQpsFlowControlHandlerSearched = true;
-    return providerQpsFlowControlHandler;
+    return null;
   }
 }
@@ -103,7 +103,8 @@ public class SchemaLoader {
     }
   }
 
-  void putSelfBasePathIfAbsent(String microserviceName, String basePath) {
+  // producer schemas maybe registered in parallel
+  synchronized void putSelfBasePathIfAbsent(String microserviceName, String basePath) {
     if (basePath == null || basePath.length() == 0) {
       return;
     }
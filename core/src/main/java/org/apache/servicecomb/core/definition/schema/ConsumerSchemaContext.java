@@ -22,6 +22,9 @@ import org.apache.servicecomb.serviceregistry.api.registry.Microservice;
 public class ConsumerSchemaContext extends SchemaContext {
   protected Microservice microservice;
 
+  // summary registered in service center, null if unknown
+  protected String schemaSummary;
+
   public Microservice getMicroservice() {
     return microservice;
   }
@@ -29,4 +32,12 @@ public class ConsumerSchemaContext extends SchemaContext {
   public void setMicroservice(Microservice microservice) {
     this.microservice = microservice;
   }
+
+  public String getSchemaSummary() {
+    return schemaSummary;
+  }
+
+  public void setSchemaSummary(String schemaSummary) {
+    this.schemaSummary = schemaSummary;
+  }
 }
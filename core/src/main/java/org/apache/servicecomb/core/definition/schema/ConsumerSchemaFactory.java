@@ -17,12 +17,22 @@
 
 package org.apache.servicecomb.core.definition.schema;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.core.Response.Status;
+
 import org.apache.servicecomb.core.definition.MicroserviceMeta;
 import org.apache.servicecomb.core.definition.SchemaMeta;
 import org.apache.servicecomb.core.definition.SchemaUtils;
 import org.apache.servicecomb.serviceregistry.RegistryUtils;
 import org.apache.servicecomb.serviceregistry.api.registry.Microservice;
+import org.apache.servicecomb.serviceregistry.api.response.GetSchemaResponse;
 import org.apache.servicecomb.serviceregistry.client.ServiceRegistryClient;
+import org.apache.servicecomb.serviceregistry.client.http.Holder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -34,15 +44,25 @@ import io.swagger.models.Swagger;
 public class ConsumerSchemaFactory extends AbstractSchemaFactory<ConsumerSchemaContext> {
   private static final Logger LOGGER = LoggerFactory.getLogger(ConsumerSchemaFactory.class);
 
+  private SchemaFileCache schemaFileCache = SchemaFileCache.createFromConfig();
+
+  private final AtomicBoolean schemaFileCachePruned = new AtomicBoolean();
+
+  public void setSchemaFileCache(SchemaFileCache schemaFileCache) {
+    this.schemaFileCache = schemaFileCache;
+  }
+
   // 允许consumerIntf与schemaId对应的interface原型不同，用于支持context类型的参数
   // consumerIntf为null，表示原型与契约相同
   public void createConsumerSchema(MicroserviceMeta microserviceMeta, Microservice microservice) {
     long start = System.currentTimeMillis();
+    Map<String, String> schemaSummaries = findSchemaSummaries(microservice);
     for (String schemaId : microservice.getSchemas()) {
       ConsumerSchemaContext context = new ConsumerSchemaContext();
       context.setMicroserviceMeta(microserviceMeta);
       context.setMicroservice(microservice);
       context.setSchemaId(schemaId);
+      context.setSchemaSummary(schemaSummaries.get(schemaId));
       context.setProviderClass(null);
 
       getOrCreateSchema(context);
@@ -52,6 +72,54 @@ public class ConsumerSchemaFactory extends AbstractSchemaFactory<ConsumerSchemaC
         (System.currentTimeMillis() - start));
   }
 
+  /**
+   * summaries are used as key of the schema file cache, query them by one light request without schema content
+   */
+  protected Map<String, String> findSchemaSummaries(Microservice microservice) {
+    if (!schemaFileCache.isEnabled(microservice)) {
+      return Collections.emptyMap();
+    }
+
+    pruneSchemaFileCache();
+
+    Map<String, String> summaries = new HashMap<>();
+    try {
+      Holder<List<GetSchemaResponse>> holder = RegistryUtils.getServiceRegistryClient()
+          .getSchemas(microservice.getServiceId());
+      if (holder.getStatusCode() == Status.OK.getStatusCode() && holder.getValue() != null) {
+        for (GetSchemaResponse response : holder.getValue()) {
+          summaries.put(response.getSchemaId(), response.getSummary());
+        }
+      }
+    } catch (Throwable e) {
+      LOGGER.warn("failed to query schema summaries of {}, cause: {}.", microservice.getServiceId(), e.getMessage());
+    }
+    return summaries;
+  }
+
+  /**
+   * run once in background, because it queries service center for every cached microservice
+   */
+  protected void pruneSchemaFileCache() {
+    if (!schemaFileCachePruned.compareAndSet(false, true)) {
+      return;
+    }
+
+    Thread thread = new Thread(() -> schemaFileCache.prune(this::isMicroserviceExists), "schema-cache-prune");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  protected boolean isMicroserviceExists(String microserviceId) {
+    try {
+      int statusCode = RegistryUtils.getServiceRegistryClient().getSchemas(microserviceId).getStatusCode();
+      // only answered by service center means not exists, keep the cache when service center is not available
+      return statusCode != Status.BAD_REQUEST.getStatusCode() && statusCode != Status.NOT_FOUND.getStatusCode();
+    } catch (Throwable e) {
+      return true;
+    }
+  }
+
   @Override
   protected SchemaMeta createSchema(ConsumerSchemaContext context) {
     // 尝试从规划的目录或服务中心加载契约
@@ -68,8 +136,19 @@ public class ConsumerSchemaFactory extends AbstractSchemaFactory<ConsumerSchemaC
       return swagger;
     }
 
+    String schemaContent = schemaFileCache
+        .load(context.getMicroservice(), context.getSchemaId(), context.getSchemaSummary());
+    if (schemaContent != null) {
+      LOGGER.info("load schema from cache, microservice={}:{}:{}, schemaId={}",
+          context.getMicroservice().getAppId(),
+          context.getMicroservice().getServiceName(),
+          context.getMicroservice().getVersion(),
+          context.getSchemaId());
+      return SchemaUtils.parseSwagger(schemaContent);
+    }
+
     ServiceRegistryClient client = RegistryUtils.getServiceRegistryClient();
-    String schemaContent = client.getAggregatedSchema(context.getMicroservice().getServiceId(), context.getSchemaId());
+    schemaContent = client.getAggregatedSchema(context.getMicroservice().getServiceId(), context.getSchemaId());
     LOGGER.info("load schema from service center, microservice={}:{}:{}, schemaId={}, result={}",
         context.getMicroservice().getAppId(),
         context.getMicroservice().getServiceName(),
@@ -78,7 +157,10 @@ public class ConsumerSchemaFactory extends AbstractSchemaFactory<ConsumerSchemaC
         !StringUtils.isEmpty(schemaContent));
     LOGGER.debug(schemaContent);
     if (schemaContent != null) {
-      return SchemaUtils.parseSwagger(schemaContent);
+      swagger = SchemaUtils.parseSwagger(schemaContent);
+      // only save after parsed successfully
+      schemaFileCache.save(context.getMicroservice(), context.getSchemaId(), schemaContent);
+      return swagger;
     }
 
     throw new Error(
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.core.definition.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.servicecomb.core.BootListener;
+import org.apache.servicecomb.core.SCBEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.netflix.config.DynamicPropertyFactory;
+
+/**
+ * Create consumer meta of configured dependencies after registry in background,
+ * so that the first requests not pay for schema loading and class generation.
+ * <p>
+ * configuration: servicecomb.consumer.schema.prewarm=ms1,ms2
+ * </p>
+ */
+@Component
+public class ConsumerSchemaPrewarmer implements BootListener {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConsumerSchemaPrewarmer.class);
+
+  public static final String CONFIG_PREWARM = "servicecomb.consumer.schema.prewarm";
+
+  @Override
+  public void onBootEvent(BootEvent event) {
+    if (!EventType.AFTER_REGISTRY.equals(event.getEventType())) {
+      return;
+    }
+
+    List<String> microserviceNames = readMicroserviceNames();
+    if (microserviceNames.isEmpty()) {
+      return;
+    }
+
+    Thread thread = new Thread(() -> prewarm(event.getScbEngine(), microserviceNames), "consumer-schema-prewarm");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  protected List<String> readMicroserviceNames() {
+    String names = DynamicPropertyFactory.getInstance().getStringProperty(CONFIG_PREWARM, null).get();
+    List<String> result = new ArrayList<>();
+    for (String name : StringUtils.commaDelimitedListToSet(names)) {
+      if (!name.trim().isEmpty()) {
+        result.add(name.trim());
+      }
+    }
+    return result;
+  }
+
+  protected void prewarm(SCBEngine scbEngine, List<String> microserviceNames) {
+    for (String microserviceName : microserviceNames) {
+      long start = System.currentTimeMillis();
+      try {
+        scbEngine.getReferenceConfigForInvoke(microserviceName);
+        LOGGER.info("prewarm consumer schema of {} finished, cost {}ms.", microserviceName,
+            System.currentTimeMillis() - start);
+      } catch (Throwable e) {
+        // not registered yet, will be created again when invoke
+        LOGGER.warn("failed to prewarm consumer schema of {}, cause: {}.", microserviceName, e.getMessage());
+      }
+    }
+  }
+}
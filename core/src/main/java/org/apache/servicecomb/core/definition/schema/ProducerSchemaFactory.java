@@ -21,10 +21,13 @@ import static org.apache.servicecomb.serviceregistry.api.Const.REGISTER_URL_PREF
 import static org.apache.servicecomb.serviceregistry.api.Const.URL_PREFIX;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.inject.Inject;
 
@@ -34,6 +37,7 @@ import org.apache.servicecomb.core.definition.MicroserviceMeta;
 import org.apache.servicecomb.core.definition.OperationMeta;
 import org.apache.servicecomb.core.definition.SchemaMeta;
 import org.apache.servicecomb.core.executor.ExecutorManager;
+import org.apache.servicecomb.core.provider.producer.ProducerMeta;
 import org.apache.servicecomb.foundation.common.utils.BeanUtils;
 import org.apache.servicecomb.serviceregistry.RegistryUtils;
 import org.apache.servicecomb.swagger.SwaggerUtils;
@@ -55,6 +59,8 @@ import io.swagger.models.Swagger;
 public class ProducerSchemaFactory extends AbstractSchemaFactory<ProducerSchemaContext> {
   private static final Logger LOGGER = LoggerFactory.getLogger(ProducerSchemaFactory.class);
 
+  public static final String CONFIG_INIT_PARALLELISM = "servicecomb.producer.schema.init.parallelism";
+
   @Inject
   private SwaggerEnvironment swaggerEnv;
 
@@ -90,6 +96,66 @@ public class ProducerSchemaFactory extends AbstractSchemaFactory<ProducerSchemaC
     return schemaMeta;
   }
 
+  /**
+   * only invoked in boot procedure
+   * <p>
+   * schemas are independent of each other, so create them on a bounded fork join pool,
+   * boot time scales with cores but not schema count.<br>
+   * parallelism default to available processors, 1 means create them in the boot thread.
+   * </p>
+   */
+  public void getOrCreateProducerSchemas(List<? extends ProducerMeta> producerMetas) {
+    int parallelism = Math.min(producerMetas.size(), DynamicPropertyFactory.getInstance()
+        .getIntProperty(CONFIG_INIT_PARALLELISM, Runtime.getRuntime().availableProcessors())
+        .get());
+    long start = System.currentTimeMillis();
+    if (parallelism <= 1) {
+      producerMetas.forEach(this::getOrCreateProducerSchema);
+    } else {
+      createProducerSchemasInParallel(producerMetas, parallelism);
+    }
+    LOGGER.info("create {} producer schemas, parallelism={}, cost {}ms.",
+        producerMetas.size(),
+        Math.max(parallelism, 1),
+        System.currentTimeMillis() - start);
+  }
+
+  private void createProducerSchemasInParallel(List<? extends ProducerMeta> producerMetas, int parallelism) {
+    // classes are generated in the classLoader of boot thread
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      CompletableFuture<?>[] futures = producerMetas.stream()
+          .map(producerMeta -> CompletableFuture.runAsync(() -> {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            getOrCreateProducerSchema(producerMeta);
+          }, pool))
+          .toArray(CompletableFuture[]::new);
+      CompletableFuture.allOf(futures).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private void getOrCreateProducerSchema(ProducerMeta producerMeta) {
+    try {
+      getOrCreateProducerSchema(producerMeta.getSchemaId(),
+          producerMeta.getInstanceClass(),
+          producerMeta.getInstance());
+    } catch (Throwable e) {
+      throw new IllegalArgumentException(
+          "create producer schema failed, class=" + producerMeta.getInstanceClass().getName(), e);
+    }
+  }
+
   private Map<String, Operation> convertSwaggerOperationMap(SchemaMeta schemaMeta) {
     Map<String, Operation> operationMap = new LinkedHashMap<>(schemaMeta.getOperations().size());
     schemaMeta.getOperations().forEach(
@@ -114,12 +180,14 @@ public class ProducerSchemaFactory extends AbstractSchemaFactory<ProducerSchemaC
     if (swagger == null) {
       SwaggerGenerator generator = generateSwagger(context);
       swagger = generator.getSwagger();
-      String swaggerContent = SwaggerUtils.swaggerToString(swagger);
-      LOGGER.info("generate swagger for {}/{}/{}, swagger: {}",
+      LOGGER.info("generate swagger for {}/{}/{}",
           context.getMicroserviceMeta().getAppId(),
           context.getMicroserviceName(),
-          context.getSchemaId(),
-          swaggerContent);
+          context.getSchemaId());
+      // serialize the whole contract only when really output it
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("swagger: {}", SwaggerUtils.swaggerToString(swagger));
+      }
     }
 
     String urlPrefix = System.getProperty(URL_PREFIX);
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.core.definition.schema;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Predicate;
+
+import org.apache.servicecomb.foundation.common.base.ServiceCombConstants;
+import org.apache.servicecomb.serviceregistry.RegistryUtils;
+import org.apache.servicecomb.serviceregistry.api.registry.Microservice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import com.netflix.config.DynamicPropertyFactory;
+
+/**
+ * Persist schemas downloaded from service center, key is microserviceId + schemaId + summary,
+ * file is {dir}/{microserviceId}/{schemaId}.{summary}.yaml.
+ * <p>
+ * Summary comes from service center, so a changed schema is never loaded from an old file,
+ * and it is verified with the content when load, a broken file is ignored and deleted.<br>
+ * Old versions of a schema are deleted when save a new version,
+ * and directories of microservices that not exist any more are deleted by {@link #prune(Predicate)}.
+ * </p>
+ */
+public class SchemaFileCache {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaFileCache.class);
+
+  public static final String CONFIG_DIR = "servicecomb.consumer.schema.cache.dir";
+
+  private static final String FILE_SUFFIX = ".yaml";
+
+  // null means disabled
+  private final File dir;
+
+  public SchemaFileCache(File dir) {
+    this.dir = dir;
+  }
+
+  public static SchemaFileCache createFromConfig() {
+    String dir = DynamicPropertyFactory.getInstance().getStringProperty(CONFIG_DIR, null).get();
+    return new SchemaFileCache(StringUtils.isEmpty(dir) ? null : new File(dir));
+  }
+
+  public boolean isEnabled() {
+    return dir != null;
+  }
+
+  /**
+   * schemas are allowed to change in development environment, not cache them
+   */
+  public boolean isEnabled(Microservice microservice) {
+    return dir != null
+        && !ServiceCombConstants.DEVELOPMENT_SERVICECOMB_ENV.equalsIgnoreCase(microservice.getEnvironment());
+  }
+
+  /**
+   * @param summary summary of the schema registered in service center
+   * @return null if not cached or the cached file is not valid
+   */
+  public String load(Microservice microservice, String schemaId, String summary) {
+    File file = findFile(microservice, schemaId, summary);
+    if (file == null || !file.isFile()) {
+      return null;
+    }
+
+    try {
+      String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+      if (summary.equals(RegistryUtils.calcSchemaSummary(content))) {
+        return content;
+      }
+
+      LOGGER.warn("schema cache file is broken, delete it, file={}.", file.getAbsolutePath());
+      Files.deleteIfExists(file.toPath());
+    } catch (IOException e) {
+      LOGGER.warn("failed to read schema cache file {}, cause: {}.", file.getAbsolutePath(), e.getMessage());
+    }
+    return null;
+  }
+
+  public void save(Microservice microservice, String schemaId, String content) {
+    File file = findFile(microservice, schemaId, RegistryUtils.calcSchemaSummary(content));
+    if (file == null) {
+      return;
+    }
+
+    // write to temp file and then move, make sure that never load a half written file
+    File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp");
+    try {
+      Files.createDirectories(file.getParentFile().toPath());
+      Files.write(tmpFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+      try {
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+      LOGGER.info("saved schema to cache, file={}.", file.getAbsolutePath());
+    } catch (IOException e) {
+      LOGGER.warn("failed to save schema cache file {}, cause: {}.", file.getAbsolutePath(), e.getMessage());
+      return;
+    }
+
+    deleteOldVersions(file, schemaId);
+  }
+
+  private void deleteOldVersions(File file, String schemaId) {
+    File[] files = file.getParentFile().listFiles();
+    if (files == null) {
+      return;
+    }
+
+    String prefix = schemaId + ".";
+    for (File oldFile : files) {
+      String name = oldFile.getName();
+      if (oldFile.equals(file) || !name.startsWith(prefix) || !name.endsWith(FILE_SUFFIX)) {
+        continue;
+      }
+
+      // summary not contains '.', so this excludes other schemaIds that start with the same prefix
+      String summary = name.substring(prefix.length(), name.length() - FILE_SUFFIX.length());
+      if (!summary.contains(".")) {
+        deleteFile(oldFile);
+      }
+    }
+  }
+
+  /**
+   * delete directories of microservices that not exist any more
+   * @param microserviceExists test by microserviceId
+   */
+  public void prune(Predicate<String> microserviceExists) {
+    File[] serviceDirs = dir == null ? null : dir.listFiles(File::isDirectory);
+    if (serviceDirs == null) {
+      return;
+    }
+
+    for (File serviceDir : serviceDirs) {
+      if (microserviceExists.test(serviceDir.getName())) {
+        continue;
+      }
+
+      File[] files = serviceDir.listFiles();
+      if (files != null) {
+        for (File file : files) {
+          deleteFile(file);
+        }
+      }
+      deleteFile(serviceDir);
+      LOGGER.info("microservice not exists, deleted schema cache directory {}.", serviceDir.getAbsolutePath());
+    }
+  }
+
+  private static void deleteFile(File file) {
+    try {
+      Files.deleteIfExists(file.toPath());
+    } catch (IOException e) {
+      LOGGER.warn("failed to delete schema cache file {}, cause: {}.", file.getAbsolutePath(), e.getMessage());
+    }
+  }
+
+  protected File findFile(Microservice microservice, String schemaId, String summary) {
+    if (!isEnabled(microservice)) {
+      return null;
+    }
+
+    String serviceId = microservice.getServiceId();
+    if (!isValidName(serviceId) || !isValidName(schemaId) || !isValidName(summary) || summary.contains(".")) {
+      return null;
+    }
+    return new File(new File(dir, serviceId), schemaId + "." + summary + FILE_SUFFIX);
+  }
+
+  private static boolean isValidName(String name) {
+    return !StringUtils.isEmpty(name)
+        && !name.contains("/")
+        && !name.contains("\\")
+        && !name.contains("..");
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.core.event;
+
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.SCBEngine;
+import org.apache.servicecomb.swagger.invocation.Response;
+
+/**
+ * Listener of invocation lifecycle, invoked directly by invocation, no event is allocated and no EventBus dispatch.
+ * <p>
+ * implementations declared by SPI are loaded when SCBEngine init,
+ * others can be added by {@link SCBEngine#addInvocationListener(InvocationListener)}.<br>
+ * methods are invoked in the thread of the invocation, maybe an event loop, so must be thread safe and never block.
+ * </p>
+ * <p>
+ * events of invocation are still posted to EventBus, if there are subscribers of them.
+ * </p>
+ */
+public interface InvocationListener {
+  default int getOrder() {
+    return 0;
+  }
+
+  default void onInvocationStart(Invocation invocation) {
+  }
+
+  default void onBusinessMethodStart(Invocation invocation) {
+  }
+
+  default void onBusinessMethodFinish(Invocation invocation) {
+  }
+
+  default void onInvocationFinish(Invocation invocation, Response response) {
+  }
+}
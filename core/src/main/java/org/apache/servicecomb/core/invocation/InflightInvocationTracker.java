@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.core.invocation;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.event.InvocationListener;
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
+import org.apache.servicecomb.swagger.invocation.Response;
+
+/**
+ * Count invocations in flight, globally and per operation.
+ * <p>
+ * counters are striped by {@link LongAdder}, threads update them without contention on the same cache line,
+ * and only sum them when query, that is rare, eg: when drain.
+ * </p>
+ */
+public class InflightInvocationTracker implements InvocationListener {
+  private static final long DRAIN_CHECK_INTERVAL = 10;
+
+  private final LongAdder total = new LongAdder();
+
+  // key is qualified name of operations ever invoked, including both consumer and producer
+  // not keyed by OperationMeta, to not hold meta of destroyed microservice versions
+  private final Map<String, LongAdder> operations = new ConcurrentHashMapEx<>();
+
+  @Override
+  public void onInvocationStart(Invocation invocation) {
+    total.increment();
+    findOperationCounter(invocation).increment();
+  }
+
+  @Override
+  public void onInvocationFinish(Invocation invocation, Response response) {
+    total.decrement();
+    findOperationCounter(invocation).decrement();
+  }
+
+  private LongAdder findOperationCounter(Invocation invocation) {
+    return operations.computeIfAbsent(invocation.getOperationMeta().getMicroserviceQualifiedName(),
+        qualifiedName -> new LongAdder());
+  }
+
+  public long getInflight() {
+    return total.sum();
+  }
+
+  /**
+   * @return key is qualified name of operation, only contains operations that have invocations in flight
+   */
+  public Map<String, Long> collectInflightOperations() {
+    Map<String, Long> result = new TreeMap<>();
+    operations.forEach((qualifiedName, counter) -> {
+      long count = counter.sum();
+      if (count > 0) {
+        result.put(qualifiedName, count);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * wait until no invocation in flight, or timeout
+   * @return operations still have invocations in flight, empty if all finished
+   */
+  public Map<String, Long> awaitDrained(long msTimeout) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + msTimeout;
+    while (getInflight() > 0 && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(DRAIN_CHECK_INTERVAL);
+    }
+    return collectInflightOperations();
+  }
+}
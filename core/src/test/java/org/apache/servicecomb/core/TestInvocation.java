@@ -16,7 +16,9 @@
  */
 package org.apache.servicecomb.core;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import javax.xml.ws.Holder;
 
@@ -25,6 +27,7 @@ import org.apache.servicecomb.core.event.InvocationBaseEvent;
 import org.apache.servicecomb.core.event.InvocationBusinessMethodFinishEvent;
 import org.apache.servicecomb.core.event.InvocationBusinessMethodStartEvent;
 import org.apache.servicecomb.core.event.InvocationFinishEvent;
+import org.apache.servicecomb.core.event.InvocationListener;
 import org.apache.servicecomb.core.event.InvocationStartEvent;
 import org.apache.servicecomb.core.provider.consumer.ReferenceConfig;
 import org.apache.servicecomb.core.tracing.BraveTraceIdGenerator;
@@ -36,6 +39,7 @@ import org.apache.servicecomb.swagger.invocation.Response;
 import org.hamcrest.Matchers;
 import org.junit.AfterClass;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -75,6 +79,17 @@ public class TestInvocation {
     };
   }
 
+  @Before
+  public void setup() {
+    new Expectations() {
+      {
+        operationMeta.getMicroserviceQualifiedName();
+        result = "ms.schema.op";
+        minTimes = 0;
+      }
+    };
+  }
+
   @AfterClass
   public static void classTeardown() {
     EventManager.eventBus = new EventBus();
@@ -102,6 +117,47 @@ public class TestInvocation {
     EventManager.unregister(subscriber);
   }
 
+  @Test
+  public void invocationListener() {
+    mockNonaTime();
+
+    List<String> calls = new ArrayList<>();
+    InvocationListener listener = new InvocationListener() {
+      @Override
+      public void onInvocationStart(Invocation invocation) {
+        calls.add("start");
+      }
+
+      @Override
+      public void onBusinessMethodStart(Invocation invocation) {
+        calls.add("businessStart");
+      }
+
+      @Override
+      public void onBusinessMethodFinish(Invocation invocation) {
+        calls.add("businessFinish");
+      }
+
+      @Override
+      public void onInvocationFinish(Invocation invocation, Response response) {
+        calls.add("finish:" + response.getStatusCode());
+      }
+    };
+    SCBEngine.getInstance().addInvocationListener(listener);
+
+    Invocation invocation = new Invocation(endpoint, operationMeta, swaggerArguments);
+    invocation.onStart(nanoTime);
+    invocation.onBusinessMethodStart();
+    invocation.onBusinessMethodFinish();
+    invocation.onFinish(Response.ok(null));
+    // not notify again
+    invocation.onFinish(Response.ok(null));
+
+    SCBEngine.getInstance().removeInvocationListener(listener);
+
+    Assert.assertThat(calls, Matchers.contains("start", "businessStart", "businessFinish", "finish:200"));
+  }
+
   @Test
   public void onStartExecute() {
     mockNonaTime();
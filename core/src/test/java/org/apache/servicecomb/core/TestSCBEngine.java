@@ -25,6 +25,7 @@ import javax.xml.ws.Holder;
 
 import org.apache.servicecomb.config.ConfigUtil;
 import org.apache.servicecomb.core.BootListener.EventType;
+import org.apache.servicecomb.core.definition.OperationMeta;
 import org.apache.servicecomb.core.definition.loader.SchemaListenerManager;
 import org.apache.servicecomb.core.provider.consumer.ConsumerProviderManager;
 import org.apache.servicecomb.core.provider.consumer.ReferenceConfig;
@@ -48,6 +49,7 @@ import mockit.Injectable;
 import mockit.Mock;
 import mockit.MockUp;
 import mockit.Mocked;
+import mockit.Verifications;
 
 public class TestSCBEngine {
   @Rule
@@ -171,4 +173,71 @@ public class TestSCBEngine {
 
     Assert.assertNotNull(eventEngine.value);
   }
+
+  @Test
+  public void drain(@Mocked RegistryUtils registryUtils) throws InterruptedException {
+    OperationMeta operationMeta = Mockito.mock(OperationMeta.class);
+    Mockito.when(operationMeta.getMicroserviceQualifiedName()).thenReturn("ms.calc.add");
+    Invocation invocation = Mockito.mock(Invocation.class);
+    Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+
+    SCBEngine engine = new SCBEngine();
+    engine.setStatus(SCBStatus.UP);
+    engine.getInflightTracker().onInvocationStart(invocation);
+
+    Assert.assertEquals(1, engine.drain(0).size());
+    Assert.assertEquals(SCBStatus.STOPPING, engine.getStatus());
+    new Verifications() {
+      {
+        RegistryUtils.destroy();
+        times = 1;
+      }
+    };
+
+    // not UP, do nothing
+    Assert.assertTrue(engine.drain(0).isEmpty());
+    engine.getInflightTracker().onInvocationFinish(invocation, null);
+    Assert.assertTrue(engine.getInflightTracker().awaitDrained(0).isEmpty());
+  }
+
+  @Test
+  public void drain_notUp(@Mocked RegistryUtils registryUtils) throws InterruptedException {
+    SCBEngine engine = new SCBEngine();
+
+    Assert.assertTrue(engine.drain(0).isEmpty());
+    Assert.assertEquals(SCBStatus.DOWN, engine.getStatus());
+    new Verifications() {
+      {
+        RegistryUtils.destroy();
+        times = 0;
+      }
+    };
+  }
+
+  @Test
+  public void destroy_afterDrain(@Mocked RegistryUtils registryUtils, @Mocked VertxUtils vertxUtils,
+      @Mocked ConfigUtil configUtil) throws InterruptedException {
+    OperationMeta operationMeta = Mockito.mock(OperationMeta.class);
+    Mockito.when(operationMeta.getMicroserviceQualifiedName()).thenReturn("ms.calc.add");
+    Invocation invocation = Mockito.mock(Invocation.class);
+    Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+
+    SCBEngine engine = new SCBEngine();
+    engine.setBootListenerList(new ArrayList<>());
+    engine.setStatus(SCBStatus.UP);
+    engine.getInflightTracker().onInvocationStart(invocation);
+    engine.drain(0);
+
+    // must not wait for the remaining invocation again
+    long start = System.currentTimeMillis();
+    engine.destroy();
+    Assert.assertTrue(System.currentTimeMillis() - start < SCBEngine.DEFAULT_DRAIN_TIMEOUT);
+    Assert.assertEquals(SCBStatus.DOWN, engine.getStatus());
+    new Verifications() {
+      {
+        RegistryUtils.destroy();
+        times = 1;
+      }
+    };
+  }
 }
@@ -16,17 +16,34 @@
  */
 package org.apache.servicecomb.core.definition.schema;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.servicecomb.core.definition.MicroserviceMeta;
 import org.apache.servicecomb.core.definition.MicroserviceVersionMeta;
 import org.apache.servicecomb.core.definition.OperationMeta;
 import org.apache.servicecomb.core.unittest.UnitTestMeta;
+import org.apache.servicecomb.serviceregistry.RegistryUtils;
+import org.apache.servicecomb.serviceregistry.api.registry.Microservice;
+import org.apache.servicecomb.serviceregistry.api.response.GetSchemaResponse;
+import org.apache.servicecomb.serviceregistry.client.ServiceRegistryClient;
+import org.apache.servicecomb.serviceregistry.client.http.Holder;
 import org.apache.servicecomb.serviceregistry.consumer.MicroserviceVersionRule;
 import org.apache.servicecomb.serviceregistry.definition.DefinitionConst;
 import org.apache.servicecomb.swagger.generator.pojo.PojoSwaggerGeneratorContext;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import mockit.Expectations;
+import mockit.Mocked;
 
 public class TestConsumerSchemaFactory {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   class TestConsumerSchemaFactoryImpl {
     public int add(int x, int y) {
       return x + y;
@@ -47,4 +64,55 @@ public class TestConsumerSchemaFactory {
         .ensureFindOperation(TestConsumerSchemaFactoryImpl.class.getName() + ".add");
     Assert.assertEquals("add", operationMeta.getOperationId());
   }
+
+  @Test
+  public void findSchemaSummaries(@Mocked ServiceRegistryClient client) {
+    GetSchemaResponse response = new GetSchemaResponse();
+    response.setSchemaId("schema");
+    response.setSummary("summary");
+    Holder<List<GetSchemaResponse>> holder = new Holder<>();
+    holder.setStatusCode(200).setValue(Collections.singletonList(response));
+    new Expectations(RegistryUtils.class) {
+      {
+        RegistryUtils.getServiceRegistryClient();
+        result = client;
+        client.getSchemas("sid");
+        result = holder;
+      }
+    };
+    Microservice microservice = new Microservice();
+    microservice.setServiceId("sid");
+    ConsumerSchemaFactory factory = new ConsumerSchemaFactory();
+
+    factory.setSchemaFileCache(new SchemaFileCache(null));
+    Assert.assertTrue(factory.findSchemaSummaries(microservice).isEmpty());
+
+    factory.setSchemaFileCache(new SchemaFileCache(folder.getRoot()));
+    Map<String, String> summaries = factory.findSchemaSummaries(microservice);
+    Assert.assertEquals(Collections.singletonMap("schema", "summary"), summaries);
+  }
+
+  @Test
+  public void isMicroserviceExists(@Mocked ServiceRegistryClient client) {
+    new Expectations(RegistryUtils.class) {
+      {
+        RegistryUtils.getServiceRegistryClient();
+        result = client;
+        client.getSchemas(anyString);
+        returns(new Holder<>().setStatusCode(400),
+            new Holder<>().setStatusCode(404),
+            new Holder<>().setStatusCode(200),
+            new Holder<>().setStatusCode(0));
+        result = new IllegalStateException("not available");
+      }
+    };
+    ConsumerSchemaFactory factory = new ConsumerSchemaFactory();
+
+    Assert.assertFalse(factory.isMicroserviceExists("sid"));
+    Assert.assertFalse(factory.isMicroserviceExists("sid"));
+    Assert.assertTrue(factory.isMicroserviceExists("sid"));
+    // service center not available
+    Assert.assertTrue(factory.isMicroserviceExists("sid"));
+    Assert.assertTrue(factory.isMicroserviceExists("sid"));
+  }
 }
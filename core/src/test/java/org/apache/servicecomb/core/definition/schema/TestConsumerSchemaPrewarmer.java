@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.core.definition.schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.servicecomb.core.SCBEngine;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import mockit.Expectations;
+import mockit.Mocked;
+
+public class TestConsumerSchemaPrewarmer {
+  ConsumerSchemaPrewarmer prewarmer = new ConsumerSchemaPrewarmer();
+
+  @After
+  public void teardown() {
+    ArchaiusUtils.resetConfig();
+  }
+
+  @Test
+  public void readMicroserviceNames() {
+    Assert.assertTrue(prewarmer.readMicroserviceNames().isEmpty());
+
+    ArchaiusUtils.setProperty(ConsumerSchemaPrewarmer.CONFIG_PREWARM, "ms1, ms2,,");
+    Assert.assertThat(prewarmer.readMicroserviceNames(), Matchers.contains("ms1", "ms2"));
+  }
+
+  @Test
+  public void prewarm(@Mocked SCBEngine scbEngine) {
+    List<String> invoked = new ArrayList<>();
+    new Expectations() {
+      {
+        scbEngine.getReferenceConfigForInvoke(anyString);
+        result = new mockit.Delegate<Object>() {
+          @SuppressWarnings("unused")
+          Object getReferenceConfigForInvoke(String microserviceName) {
+            invoked.add(microserviceName);
+            if ("ms1".equals(microserviceName)) {
+              throw new IllegalStateException("not registered");
+            }
+            return null;
+          }
+        };
+      }
+    };
+
+    prewarmer.prewarm(scbEngine, Arrays.asList("ms1", "ms2"));
+    Assert.assertThat(invoked, Matchers.contains("ms1", "ms2"));
+  }
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.servicecomb.core.definition.schema;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
@@ -25,11 +27,13 @@ import javax.xml.ws.Holder;
 import org.apache.servicecomb.core.Const;
 import org.apache.servicecomb.core.Endpoint;
 import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.SCBEngine;
 import org.apache.servicecomb.core.definition.OperationMeta;
 import org.apache.servicecomb.core.definition.SchemaMeta;
 import org.apache.servicecomb.core.definition.loader.SchemaLoader;
 import org.apache.servicecomb.core.executor.ExecutorManager;
 import org.apache.servicecomb.core.executor.ReactiveExecutor;
+import org.apache.servicecomb.core.provider.producer.ProducerMeta;
 import org.apache.servicecomb.core.unittest.UnitTestMeta;
 import org.apache.servicecomb.foundation.common.utils.BeanUtils;
 import org.apache.servicecomb.foundation.common.utils.ReflectUtils;
@@ -78,6 +82,16 @@ public class TestProducerSchemaFactory {
     }
   }
 
+  public static class TestProducerSchemaFactoryOverloadImpl {
+    public int add(int x, int y) {
+      return x + y;
+    }
+
+    public String add(String x, String y) {
+      return x + y;
+    }
+  }
+
   static long nanoTime = 123;
 
   @BeforeClass
@@ -176,6 +190,49 @@ public class TestProducerSchemaFactory {
     Assert.assertEquals(nanoTime, invocation.getInvocationStageTrace().getFinishBusiness());
   }
 
+  @Test
+  public void getOrCreateProducerSchemas() {
+    ArchaiusUtils.setProperty(ProducerSchemaFactory.CONFIG_INIT_PARALLELISM, 4);
+    List<ProducerMeta> producerMetas = new ArrayList<>();
+    for (int idx = 0; idx < 8; idx++) {
+      producerMetas.add(new ProducerMeta("parallel" + idx, new TestProducerSchemaFactoryImpl(),
+          TestProducerSchemaFactoryImpl.class));
+    }
+
+    try {
+      producerSchemaFactory.getOrCreateProducerSchemas(producerMetas);
+    } finally {
+      ArchaiusUtils.resetConfig();
+    }
+
+    for (int idx = 0; idx < 8; idx++) {
+      SchemaMeta schemaMeta = SCBEngine.getInstance().getProducerMicroserviceMeta()
+          .ensureFindSchemaMeta("parallel" + idx);
+      Assert.assertNotNull(schemaMeta.ensureFindOperation("add").getExtData(Const.PRODUCER_OPERATION));
+    }
+  }
+
+  @Test
+  public void getOrCreateProducerSchemasFailed() {
+    ArchaiusUtils.setProperty(ProducerSchemaFactory.CONFIG_INIT_PARALLELISM, 2);
+    List<ProducerMeta> producerMetas = new ArrayList<>();
+    producerMetas.add(new ProducerMeta("parallelOk", new TestProducerSchemaFactoryImpl(),
+        TestProducerSchemaFactoryImpl.class));
+    producerMetas.add(new ProducerMeta("parallelFailed", new TestProducerSchemaFactoryOverloadImpl(),
+        TestProducerSchemaFactoryOverloadImpl.class));
+
+    try {
+      producerSchemaFactory.getOrCreateProducerSchemas(producerMetas);
+      Assert.fail("must throw exception");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals(
+          "create producer schema failed, class=" + TestProducerSchemaFactoryOverloadImpl.class.getName(),
+          e.getMessage());
+    } finally {
+      ArchaiusUtils.resetConfig();
+    }
+  }
+
   @Test
   public void testGetOrCreateProducerWithPrefix() {
     ArchaiusUtils.setProperty(org.apache.servicecomb.serviceregistry.api.Const.REGISTER_URL_PREFIX, "true");
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.core.definition.schema;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.servicecomb.foundation.common.base.ServiceCombConstants;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.apache.servicecomb.serviceregistry.RegistryUtils;
+import org.apache.servicecomb.serviceregistry.api.registry.Microservice;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestSchemaFileCache {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  Microservice microservice = new Microservice();
+
+  SchemaFileCache cache;
+
+  String content = "swagger: \"2.0\"\ninfo:\n  title: \"中文\"\n";
+
+  String summary = RegistryUtils.calcSchemaSummary(content);
+
+  String newContent = content + "\n";
+
+  String newSummary = RegistryUtils.calcSchemaSummary(newContent);
+
+  @Before
+  public void setup() {
+    microservice.setServiceId("sid");
+    cache = new SchemaFileCache(folder.getRoot());
+  }
+
+  @After
+  public void teardown() {
+    ArchaiusUtils.resetConfig();
+  }
+
+  @Test
+  public void createFromConfig() {
+    Assert.assertFalse(SchemaFileCache.createFromConfig().isEnabled());
+
+    ArchaiusUtils.setProperty(SchemaFileCache.CONFIG_DIR, folder.getRoot().getAbsolutePath());
+    Assert.assertTrue(SchemaFileCache.createFromConfig().isEnabled());
+  }
+
+  @Test
+  public void saveAndLoad() {
+    Assert.assertNull(cache.load(microservice, "schema", summary));
+
+    cache.save(microservice, "schema", content);
+    Assert.assertTrue(new File(folder.getRoot(), "sid/schema." + summary + ".yaml").isFile());
+    Assert.assertFalse(new File(folder.getRoot(), "sid/schema." + summary + ".yaml.tmp").exists());
+    Assert.assertEquals(content, cache.load(microservice, "schema", summary));
+
+    // unknown summary
+    Assert.assertNull(cache.load(microservice, "schema", null));
+  }
+
+  @Test
+  public void schemaChanged() {
+    cache.save(microservice, "schema", content);
+    cache.save(microservice, "schema.v2", content);
+
+    // changed schema is not loaded from the old file
+    Assert.assertNull(cache.load(microservice, "schema", newSummary));
+
+    // old version is deleted, other schemas are kept
+    cache.save(microservice, "schema", newContent);
+    Assert.assertEquals(newContent, cache.load(microservice, "schema", newSummary));
+    Assert.assertFalse(new File(folder.getRoot(), "sid/schema." + summary + ".yaml").exists());
+    Assert.assertEquals(content, cache.load(microservice, "schema.v2", summary));
+  }
+
+  @Test
+  public void loadBroken() throws Exception {
+    cache.save(microservice, "schema", content);
+    File file = new File(folder.getRoot(), "sid/schema." + summary + ".yaml");
+    Files.write(file.toPath(), "swagger: \"2.0\"".getBytes(StandardCharsets.UTF_8));
+
+    Assert.assertNull(cache.load(microservice, "schema", summary));
+    Assert.assertFalse(file.exists());
+  }
+
+  @Test
+  public void prune() {
+    cache.save(microservice, "schema", content);
+    microservice.setServiceId("sid2");
+    cache.save(microservice, "schema", content);
+
+    cache.prune("sid"::equals);
+
+    Assert.assertArrayEquals(new String[] {"sid"}, folder.getRoot().list());
+  }
+
+  @Test
+  public void disabled() {
+    cache = new SchemaFileCache(null);
+    cache.save(microservice, "schema", content);
+    cache.prune(microserviceId -> false);
+
+    Assert.assertNull(cache.load(microservice, "schema", summary));
+    Assert.assertEquals(0, folder.getRoot().list().length);
+  }
+
+  @Test
+  public void developmentEnvironment() {
+    microservice.setEnvironment(ServiceCombConstants.DEVELOPMENT_SERVICECOMB_ENV);
+    Assert.assertFalse(cache.isEnabled(microservice));
+    cache.save(microservice, "schema", content);
+
+    Assert.assertNull(cache.load(microservice, "schema", summary));
+    Assert.assertEquals(0, folder.getRoot().list().length);
+  }
+
+  @Test
+  public void invalidName() {
+    Assert.assertNull(cache.findFile(microservice, "../schema", summary));
+    Assert.assertNull(cache.findFile(microservice, "a/b", summary));
+    Assert.assertNull(cache.findFile(microservice, "schema", "../x"));
+    Assert.assertNull(cache.findFile(microservice, "schema", "a.b"));
+
+    microservice.setServiceId(null);
+    Assert.assertNull(cache.findFile(microservice, "schema", summary));
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.core.invocation;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import mockit.Deencapsulation;
+
+public class TestInflightInvocationTracker {
+  InflightInvocationTracker tracker = new InflightInvocationTracker();
+
+  private Invocation mockInvocation(OperationMeta operationMeta) {
+    Invocation invocation = Mockito.mock(Invocation.class);
+    Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+    return invocation;
+  }
+
+  private OperationMeta mockOperationMeta(String name) {
+    OperationMeta operationMeta = Mockito.mock(OperationMeta.class);
+    Mockito.when(operationMeta.getMicroserviceQualifiedName()).thenReturn(name);
+    return operationMeta;
+  }
+
+  @Test
+  public void track() {
+    Invocation add1 = mockInvocation(mockOperationMeta("ms.calc.add"));
+    Invocation add2 = mockInvocation(add1.getOperationMeta());
+    Invocation sub = mockInvocation(mockOperationMeta("ms.calc.sub"));
+
+    tracker.onInvocationStart(add1);
+    tracker.onInvocationStart(add2);
+    tracker.onInvocationStart(sub);
+    Assert.assertEquals(3, tracker.getInflight());
+
+    tracker.onInvocationFinish(sub, null);
+    Assert.assertEquals(2, tracker.getInflight());
+    Assert.assertEquals(Collections.singletonMap("ms.calc.add", 2L), tracker.collectInflightOperations());
+
+    tracker.onInvocationFinish(add1, null);
+    tracker.onInvocationFinish(add2, null);
+    Assert.assertEquals(0, tracker.getInflight());
+    Assert.assertTrue(tracker.collectInflightOperations().isEmpty());
+  }
+
+  @Test
+  public void trackByQualifiedName() {
+    // meta of new microservice version, for the same operation
+    Invocation oldVersion = mockInvocation(mockOperationMeta("ms.calc.add"));
+    Invocation newVersion = mockInvocation(mockOperationMeta("ms.calc.add"));
+
+    tracker.onInvocationStart(oldVersion);
+    tracker.onInvocationStart(newVersion);
+    Assert.assertEquals(Collections.singletonMap("ms.calc.add", 2L), tracker.collectInflightOperations());
+
+    tracker.onInvocationFinish(oldVersion, null);
+    Assert.assertEquals(Collections.singletonMap("ms.calc.add", 1L), tracker.collectInflightOperations());
+    Map<?, ?> operations = Deencapsulation.getField(tracker, "operations");
+    Assert.assertEquals(1, operations.size());
+  }
+
+  @Test
+  public void awaitDrained() throws InterruptedException {
+    Invocation invocation = mockInvocation(mockOperationMeta("ms.calc.add"));
+    tracker.onInvocationStart(invocation);
+
+    new Thread(() -> tracker.onInvocationFinish(invocation, null)).start();
+
+    Assert.assertTrue(tracker.awaitDrained(10_000).isEmpty());
+  }
+
+  @Test
+  public void awaitDrainedTimeout() throws InterruptedException {
+    tracker.onInvocationStart(mockInvocation(mockOperationMeta("ms.calc.add")));
+
+    Assert.assertThat(tracker.awaitDrained(0).entrySet(),
+        Matchers.contains(Matchers.hasToString("ms.calc.add=1")));
+  }
+}
@@ -96,6 +96,9 @@ public class TestInvokerUtils {
       {
         operationMeta.getSchemaMeta();
         result = schemaMeta;
+        operationMeta.getMicroserviceQualifiedName();
+        result = "ms.schema.op";
+        minTimes = 0;
         schemaMeta.getConsumerHandlerChain();
         result = Arrays.asList((Handler) (i, ar) -> {
           System.out.println(invokeResult);
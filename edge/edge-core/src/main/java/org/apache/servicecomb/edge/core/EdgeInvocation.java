@@ -35,13 +35,18 @@ import org.apache.servicecomb.foundation.vertx.http.VertxServerResponseToHttpSer
 import org.apache.servicecomb.serviceregistry.RegistryUtils;
 import org.apache.servicecomb.serviceregistry.consumer.MicroserviceVersionRule;
 import org.apache.servicecomb.serviceregistry.definition.DefinitionConst;
+import org.apache.servicecomb.swagger.invocation.Response;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RoutingContext;
 
 public class EdgeInvocation extends AbstractRestInvocation {
   public static final String EDGE_INVOCATION_CONTEXT = "edgeInvocationContext";
 
+  // raw vertx request of pass through mode, body not read yet
+  public static final String EDGE_PASS_THROUGH = "edgePassThrough";
+
   protected String microserviceName;
 
   protected MicroserviceVersionRule microserviceVersionRule;
@@ -54,11 +59,13 @@ public class EdgeInvocation extends AbstractRestInvocation {
 
   protected RoutingContext routingContext;
 
+  protected boolean passThrough;
+
   public void init(String microserviceName, RoutingContext context, String path,
       List<HttpServerFilter> httpServerFilters) {
     this.microserviceName = microserviceName;
     this.requestEx = new VertxServerRequestToHttpServletRequest(context, path);
-    this.responseEx = new VertxServerResponseToHttpServletResponse(context.response());
+    this.responseEx = new VertxServerResponseToHttpServletResponse(context.request());
     this.routingContext = context;
     this.httpServerFilters = httpServerFilters;
     requestEx.setAttribute(RestConst.REST_REQUEST, requestEx);
@@ -72,32 +79,56 @@ public class EdgeInvocation extends AbstractRestInvocation {
   }
 
   protected void findMicroserviceVersionMeta() {
-    String versionRule = chooseVersionRule();
-
-    String appId = RegistryUtils.getAppId();
-    int idxAt = microserviceName.indexOf(org.apache.servicecomb.serviceregistry.api.Const.APP_SERVICE_SEPARATOR);
-    if (idxAt != -1) {
-      appId = microserviceName.substring(0, idxAt);
+    if (microserviceVersionRule == null || microserviceVersionRule.isDestroyed()) {
+      microserviceVersionRule = RegistryUtils.getServiceRegistry()
+          .getAppManager()
+          .getOrCreateMicroserviceVersionRule(findAppId(), microserviceName, chooseVersionRule());
     }
-
-    microserviceVersionRule = RegistryUtils.getServiceRegistry()
-        .getAppManager()
-        .getOrCreateMicroserviceVersionRule(appId, microserviceName, versionRule);
     latestMicroserviceVersionMeta = microserviceVersionRule.getLatestMicroserviceVersion();
 
     if (latestMicroserviceVersionMeta == null) {
       throw new ServiceCombException(
           String.format("Failed to find latest MicroserviceVersionMeta, appId=%s, microserviceName=%s, versionRule=%s.",
-              appId,
+              findAppId(),
               microserviceName,
-              versionRule));
+              chooseVersionRule()));
+    }
+  }
+
+  protected String findAppId() {
+    String appId = RegistryUtils.getAppId();
+    int idxAt = microserviceName.indexOf(org.apache.servicecomb.serviceregistry.api.Const.APP_SERVICE_SEPARATOR);
+    if (idxAt != -1) {
+      appId = microserviceName.substring(0, idxAt);
     }
+    return appId;
+  }
+
+  public MicroserviceVersionRule getMicroserviceVersionRule() {
+    return microserviceVersionRule;
+  }
+
+  /**
+   * reuse the rule resolved by previous invocation of the same mapping,
+   * the rule must match microserviceName and version rule of this invocation.
+   */
+  public void setMicroserviceVersionRule(MicroserviceVersionRule microserviceVersionRule) {
+    this.microserviceVersionRule = microserviceVersionRule;
   }
 
   public void setVersionRule(String versionRule) {
     this.versionRule = versionRule;
   }
 
+  /**
+   * pass through mode: still locate operation and run handlers, but body of request and response
+   * are piped between client and target, without decode/encode and without HttpServerFilters.<br>
+   * only works for rest transport.
+   */
+  public void setPassThrough(boolean passThrough) {
+    this.passThrough = passThrough;
+  }
+
   // another possible rule:
   // path is: /msName/version/.....
   // version in path is v1 or v2 and so on
@@ -121,7 +152,7 @@ public class EdgeInvocation extends AbstractRestInvocation {
   protected void createInvocation() {
     ReferenceConfig referenceConfig = new ReferenceConfig();
     referenceConfig.setMicroserviceVersionRule(microserviceVersionRule);
-    referenceConfig.setTransport(Const.ANY_TRANSPORT);
+    referenceConfig.setTransport(passThrough ? Const.RESTFUL : Const.ANY_TRANSPORT);
 
     this.invocation = InvocationFactory.forConsumer(referenceConfig,
         restOperationMeta.getOperationMeta(),
@@ -131,5 +162,52 @@ public class EdgeInvocation extends AbstractRestInvocation {
     this.invocation.getHandlerContext().put(EDGE_INVOCATION_CONTEXT, Vertx.currentContext());
     this.invocation.setResponseExecutor(new ReactiveResponseExecutor());
     this.routingContext.put(RestConst.REST_INVOCATION_CONTEXT, invocation);
+
+    if (passThrough) {
+      String path = requestEx.getQueryString() == null ?
+          requestEx.getRequestURI() : requestEx.getRequestURI() + "?" + requestEx.getQueryString();
+      this.invocation.getHandlerContext().put(RestConst.REST_CLIENT_REQUEST_PATH, path);
+      this.invocation.getHandlerContext().put(EDGE_PASS_THROUGH, routingContext.request());
+      // body of client request can only be read once
+      this.invocation.getHandlerContext().put(Const.RETRY_DISABLED, true);
+    }
+  }
+
+  @Override
+  protected Response prepareInvoke() throws Throwable {
+    if (!passThrough) {
+      return super.prepareInvoke();
+    }
+
+    // body is not read, so no arguments, and HttpServerFilters can not work
+    this.initProduceProcessor();
+    invocation.getHandlerContext().put(RestConst.REST_REQUEST, requestEx);
+    invocation.getInvocationStageTrace().startServerFiltersRequest();
+    invocation.setSwaggerArguments(new Object[invocation.getOperationMeta().getParamSize()]);
+    return null;
+  }
+
+  @Override
+  protected void sendResponse(Response response) {
+    if (!passThrough) {
+      super.sendResponse(response);
+      return;
+    }
+
+    if (routingContext.response().headWritten()) {
+      // response of target already piped to client
+      invocation.getInvocationStageTrace().finishServerFiltersResponse();
+      invocation.onFinish(response);
+      return;
+    }
+
+    // failed before or during send to target, discard the rest of request body
+    HttpServerRequest request = routingContext.request();
+    if (!request.isEnded()) {
+      request.handler(null);
+      request.endHandler(null);
+      request.resume();
+    }
+    super.sendResponse(response);
   }
 }
@@ -19,11 +19,27 @@ package org.apache.servicecomb.edge.core;
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.foundation.vertx.client.ClientPoolManager;
 import org.apache.servicecomb.foundation.vertx.client.http.HttpClientWithContext;
+import org.apache.servicecomb.swagger.invocation.AsyncResponse;
 import org.apache.servicecomb.transport.rest.client.RestTransportClient;
 
 import io.vertx.core.Context;
 
 public class EdgeRestTransportClient extends RestTransportClient {
+  @Override
+  public void send(Invocation invocation, AsyncResponse asyncResp) {
+    if (!invocation.getHandlerContext().containsKey(EdgeInvocation.EDGE_PASS_THROUGH)) {
+      super.send(invocation, asyncResp);
+      return;
+    }
+
+    try {
+      HttpClientWithContext httpClientWithContext = findHttpClientPool(findClientMgr(invocation), invocation);
+      new PassThroughClientInvocation(httpClientWithContext).invoke(invocation, asyncResp);
+    } catch (Throwable e) {
+      asyncResp.fail(invocation.getInvocationType(), e);
+    }
+  }
+
   @Override
   protected HttpClientWithContext findHttpClientPool(ClientPoolManager<HttpClientWithContext> clientMgr,
       Invocation invocation) {
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.edge.core;
+
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.servicecomb.common.rest.RestConst;
+import org.apache.servicecomb.core.Const;
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.invocation.InvocationStageTrace;
+import org.apache.servicecomb.foundation.common.net.URIEndpointObject;
+import org.apache.servicecomb.foundation.common.utils.JsonUtils;
+import org.apache.servicecomb.foundation.vertx.client.http.HttpClientWithContext;
+import org.apache.servicecomb.foundation.vertx.metrics.metric.DefaultHttpSocketMetric;
+import org.apache.servicecomb.swagger.invocation.AsyncResponse;
+import org.apache.servicecomb.swagger.invocation.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.net.impl.ConnectionBase;
+import io.vertx.core.streams.Pump;
+
+/**
+ * Send the raw request of edge to the target, and send the raw response back,
+ * bodies are piped with backpressure, never aggregated, decoded or encoded.
+ * <p>
+ * the server request is paused by dispatcher, and resumed when the client request is created.<br>
+ * HttpClientFilters are not executed, because there is no decoded request or response.
+ * </p>
+ */
+public class PassThroughClientInvocation {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PassThroughClientInvocation.class);
+
+  // hop-by-hop headers, see https://tools.ietf.org/html/rfc7230#section-6.1
+  // host and context are set by this invocation
+  private static final Set<String> SKIP_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+  static {
+    SKIP_HEADERS.addAll(Arrays.asList("Connection", "Keep-Alive", "Proxy-Authenticate", "Proxy-Authorization",
+        "TE", "Trailer", "Transfer-Encoding", "Upgrade", "Host",
+        Const.CSE_CONTEXT, Const.CSE_CONTEXT_COMPACT, Const.CSE_CONTEXT_ACCEPT));
+  }
+
+  private HttpClientWithContext httpClientWithContext;
+
+  private Invocation invocation;
+
+  private AsyncResponse asyncResp;
+
+  private HttpServerRequest serverRequest;
+
+  private HttpServerResponse serverResponse;
+
+  private HttpClientRequest clientRequest;
+
+  private boolean finished;
+
+  public PassThroughClientInvocation(HttpClientWithContext httpClientWithContext) {
+    this.httpClientWithContext = httpClientWithContext;
+  }
+
+  public void invoke(Invocation invocation, AsyncResponse asyncResp) {
+    this.invocation = invocation;
+    this.asyncResp = asyncResp;
+    this.serverRequest = (HttpServerRequest) invocation.getHandlerContext().get(EdgeInvocation.EDGE_PASS_THROUGH);
+    this.serverResponse = serverRequest.response();
+
+    URIEndpointObject endpoint = (URIEndpointObject) invocation.getEndpoint().getAddress();
+    RequestOptions requestOptions = new RequestOptions()
+        .setHost(endpoint.getHostOrIp())
+        .setPort(endpoint.getPort())
+        .setSsl(endpoint.isSslEnabled())
+        .setURI(createRequestPath(endpoint));
+
+    invocation.getInvocationStageTrace().startClientFiltersRequest();
+    invocation.getInvocationStageTrace().startSend();
+    httpClientWithContext.runOnContext(httpClient -> {
+      try {
+        createRequest(httpClient, requestOptions);
+        clientRequest.setTimeout(invocation.getOperationMeta().getConfig().getMsRequestTimeout());
+        clientRequest.exceptionHandler(this::fail);
+        serverResponse.closeHandler(v -> fail(new IllegalStateException("client closed the connection.")));
+
+        copyHeaders(serverRequest.headers(), clientRequest.headers());
+        clientRequest.putHeader(Const.TARGET_MICROSERVICE, invocation.getMicroserviceName());
+        clientRequest.putHeader(Const.CSE_CONTEXT, JsonUtils.writeValueAsString(invocation.getContext()));
+        pipeRequestBody();
+      } catch (Throwable e) {
+        fail(e);
+      }
+    });
+  }
+
+  @SuppressWarnings("deprecation")
+  void createRequest(HttpClient httpClient, RequestOptions requestOptions) {
+    clientRequest = httpClient.request(serverRequest.method(), requestOptions, this::handleResponse);
+  }
+
+  protected String createRequestPath(URIEndpointObject endpoint) {
+    String path = (String) invocation.getHandlerContext().get(RestConst.REST_CLIENT_REQUEST_PATH);
+    String urlPrefix = endpoint.getFirst(org.apache.servicecomb.serviceregistry.api.Const.URL_PREFIX);
+    if (StringUtils.isEmpty(urlPrefix) || path.startsWith(urlPrefix)) {
+      return path;
+    }
+
+    return urlPrefix + path;
+  }
+
+  static void copyHeaders(MultiMap from, MultiMap to) {
+    for (Entry<String, String> entry : from) {
+      if (!SKIP_HEADERS.contains(entry.getKey())) {
+        to.add(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  // not Pump, because whether chunked is unknown until the first buffer, eg: request of http2 without content-length
+  private void pipeRequestBody() {
+    boolean chunked = !clientRequest.headers().contains(HttpHeaders.CONTENT_LENGTH);
+    serverRequest.handler(buffer -> writeRequestBody(buffer, chunked));
+    serverRequest.exceptionHandler(this::fail);
+    serverRequest.endHandler(v -> clientRequest.end());
+    serverRequest.resume();
+  }
+
+  private void writeRequestBody(Buffer buffer, boolean chunked) {
+    if (chunked && !clientRequest.isChunked()) {
+      clientRequest.setChunked(true);
+    }
+    clientRequest.write(buffer);
+    if (clientRequest.writeQueueFull()) {
+      serverRequest.pause();
+      clientRequest.drainHandler(v -> serverRequest.resume());
+    }
+  }
+
+  protected void handleResponse(HttpClientResponse clientResponse) {
+    if (finished) {
+      clientResponse.request().connection().close();
+      return;
+    }
+
+    clientResponse.exceptionHandler(this::fail);
+
+    serverResponse.setStatusCode(clientResponse.statusCode());
+    serverResponse.setStatusMessage(clientResponse.statusMessage());
+    copyHeaders(clientResponse.headers(), serverResponse.headers());
+    if (!serverResponse.headers().contains(HttpHeaders.CONTENT_LENGTH)) {
+      serverResponse.setChunked(true);
+    }
+
+    Pump.pump(clientResponse, serverResponse).start();
+    clientResponse.endHandler(v -> {
+      serverResponse.end();
+      complete(Response.create(clientResponse.statusCode(), clientResponse.statusMessage(), null));
+    });
+  }
+
+  private void finishStageTrace() {
+    InvocationStageTrace stageTrace = invocation.getInvocationStageTrace();
+    Object metric = clientRequest == null || clientRequest.connection() == null ?
+        null : ((ConnectionBase) clientRequest.connection()).metric();
+    if (metric instanceof DefaultHttpSocketMetric) {
+      stageTrace.finishGetConnection(((DefaultHttpSocketMetric) metric).getRequestBeginTime());
+      stageTrace.finishWriteToBuffer(((DefaultHttpSocketMetric) metric).getRequestEndTime());
+    }
+    stageTrace.finishReceiveResponse();
+    stageTrace.startClientFiltersResponse();
+    stageTrace.finishClientFiltersResponse();
+  }
+
+  protected void complete(Response response) {
+    if (finished) {
+      return;
+    }
+    finished = true;
+
+    finishStageTrace();
+    asyncResp.complete(response);
+  }
+
+  protected void fail(Throwable e) {
+    if (finished) {
+      return;
+    }
+    finished = true;
+
+    LOGGER.error(invocation.getMarker(), "failed to pass through, operation={}, endpoint={}.",
+        invocation.getMicroserviceQualifiedName(), invocation.getEndpoint().getEndpoint(), e);
+    if (clientRequest != null) {
+      clientRequest.reset();
+    }
+    if (serverResponse.headWritten()) {
+      // part of the response already sent, can only break it to tell the client
+      serverResponse.reset();
+    } else {
+      // headers of the target, not match the error response
+      serverResponse.headers().clear();
+      serverResponse.setChunked(false);
+    }
+
+    finishStageTrace();
+    asyncResp.fail(invocation.getInvocationType(), e);
+  }
+}
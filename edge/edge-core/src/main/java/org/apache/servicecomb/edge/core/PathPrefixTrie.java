@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.edge.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Values indexed by literal path prefix, not thread safe when build, but can be shared after build.
+ * <p>
+ * find walks the path char by char, candidates of longer prefix are tried first,
+ * candidates of the same prefix are tried by the order they are added.
+ * </p>
+ */
+public class PathPrefixTrie<T> {
+  private static class Node<T> {
+    Map<Character, Node<T>> children = new HashMap<>();
+
+    List<T> values = new ArrayList<>();
+  }
+
+  private final Node<T> root = new Node<>();
+
+  private int size;
+
+  public void add(String prefix, T value) {
+    Node<T> node = root;
+    for (int idx = 0; idx < prefix.length(); idx++) {
+      node = node.children.computeIfAbsent(prefix.charAt(idx), c -> new Node<>());
+    }
+    node.values.add(value);
+    size++;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the first candidate accepted by matcher, or null
+   */
+  public T find(String path, Predicate<T> matcher) {
+    return find(root, path, 0, matcher);
+  }
+
+  private T find(Node<T> node, String path, int idx, Predicate<T> matcher) {
+    if (idx < path.length()) {
+      Node<T> child = node.children.get(path.charAt(idx));
+      if (child != null) {
+        T value = find(child, path, idx + 1, matcher);
+        if (value != null) {
+          return value;
+        }
+      }
+    }
+
+    for (T value : node.values) {
+      if (matcher.test(value)) {
+        return value;
+      }
+    }
+    return null;
+  }
+}
@@ -20,9 +20,11 @@ package org.apache.servicecomb.edge.core;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.servicecomb.serviceregistry.consumer.MicroserviceVersionRule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,10 +33,15 @@ import com.netflix.config.DynamicPropertyFactory;
 
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CookieHandler;
 
 /**
  * Provide a URL mapping based dispatcher. Users configure witch URL patterns dispatch to a target service.
+ * <p>
+ * Mappings are indexed by the literal prefix of their patterns, when more than one mapping matches a path,
+ * the one with longer literal prefix wins, and then the one with smaller key.
+ * </p>
  */
 public class URLMappedEdgeDispatcher extends AbstractEdgeDispatcher {
   class ConfigurationItem {
@@ -47,11 +54,26 @@ public class URLMappedEdgeDispatcher extends AbstractEdgeDispatcher {
     Pattern pattern;
 
     String stringPattern;
+
+    // pattern without any regex meta char, no need to run the regex
+    boolean literal;
+
+    boolean passThrough;
+
+    // resolved when first request arrived, refreshed if the owner microservice is removed from AppManager
+    volatile MicroserviceVersionRule microserviceVersionRule;
+
+    boolean matches(String path) {
+      return literal ? stringPattern.equals(path) : pattern.matcher(path).matches();
+    }
   }
 
   private static final Logger LOG = LoggerFactory.getLogger(URLMappedEdgeDispatcher.class);
 
-  private static final String PATTERN_ANY = "/(.*)";
+  private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+
+  // previous char is optional or repeatable
+  private static final String REGEX_QUANTIFIER_CHARS = "?*{";
 
   private static final String KEY_ENABLED = "servicecomb.http.dispatcher.edge.url.enabled";
 
@@ -65,7 +87,15 @@ public class URLMappedEdgeDispatcher extends AbstractEdgeDispatcher {
 
   private static final String KEY_MAPPING_PREFIX_SEGMENT_COUNT = "servicecomb.http.dispatcher.edge.url.mappings.%s.prefixSegmentCount";
 
-  private Map<String, ConfigurationItem> configurations = new HashMap<>();
+  private static final String KEY_MAPPING_PASS_THROUGH = "servicecomb.http.dispatcher.edge.url.mappings.%s.passThrough";
+
+  // found in body handler, reused by onRequest
+  private static final String CONTEXT_CONFIGURATION_ITEM = "edgeUrlMappingItem";
+
+  private volatile Map<String, ConfigurationItem> configurations = new HashMap<>();
+
+  // rebuilt together with configurations, requests only use this
+  private volatile PathPrefixTrie<ConfigurationItem> configurationTrie = new PathPrefixTrie<>();
 
   public URLMappedEdgeDispatcher() {
     if(this.enabled()) {
@@ -85,9 +115,25 @@ public class URLMappedEdgeDispatcher extends AbstractEdgeDispatcher {
 
   @Override
   public void init(Router router) {
-    router.routeWithRegex(PATTERN_ANY).handler(CookieHandler.create());
-    router.routeWithRegex(PATTERN_ANY).handler(createBodyHandler());
-    router.routeWithRegex(PATTERN_ANY).failureHandler(this::onFailure).handler(this::onRequest);
+    router.route().handler(CookieHandler.create());
+    BodyHandler bodyHandler = createBodyHandler();
+    router.route().handler(context -> handleBody(context, bodyHandler));
+    router.route().failureHandler(this::onFailure).handler(this::onRequest);
+  }
+
+  protected void handleBody(RoutingContext context, BodyHandler bodyHandler) {
+    ConfigurationItem configurationItem = findConfigurationItem(context.request().path());
+    if (configurationItem != null) {
+      context.put(CONTEXT_CONFIGURATION_ITEM, configurationItem);
+    }
+    if (configurationItem == null || !configurationItem.passThrough) {
+      bodyHandler.handle(context);
+      return;
+    }
+
+    // body will be piped to target directly, keep it in socket until then
+    context.request().pause();
+    context.next();
   }
 
   private void loadConfigurations() {
@@ -103,7 +149,7 @@ public class URLMappedEdgeDispatcher extends AbstractEdgeDispatcher {
   }
 
   private void loadConfigurations(ConcurrentCompositeConfiguration config) {
-    Map<String, ConfigurationItem> configurations = new HashMap<>();
+    Map<String, ConfigurationItem> configurations = new TreeMap<>();
     Iterator<String> configsItems = config.getKeys(KEY_MAPPING_PREIX);
     while (configsItems.hasNext()) {
       String pathKey = configsItems.next();
@@ -116,6 +162,7 @@ public class URLMappedEdgeDispatcher extends AbstractEdgeDispatcher {
         }
         configurationItem.pattern = Pattern.compile(pattern);
         configurationItem.stringPattern = pattern;
+        configurationItem.literal = findLiteralPrefix(pattern).length() == pattern.length();
         String pathKeyItem = pathKey
             .substring(KEY_MAPPING_PREIX.length() + 1, pathKey.length() - KEY_MAPPING_PATH.length());
         configurationItem.microserviceName = DynamicPropertyFactory.getInstance()
@@ -127,23 +174,54 @@ public class URLMappedEdgeDispatcher extends AbstractEdgeDispatcher {
             .getIntProperty(String.format(KEY_MAPPING_PREFIX_SEGMENT_COUNT, pathKeyItem), 0).get();
         configurationItem.versionRule = DynamicPropertyFactory.getInstance()
             .getStringProperty(String.format(KEY_MAPPING_VERSION_RULE, pathKeyItem), "0.0.0+").get();
+        configurationItem.passThrough = DynamicPropertyFactory.getInstance()
+            .getBooleanProperty(String.format(KEY_MAPPING_PASS_THROUGH, pathKeyItem), false).get();
         configurations.put(pathKeyItem, configurationItem);
       }
     }
+    PathPrefixTrie<ConfigurationItem> configurationTrie = new PathPrefixTrie<>();
+    for (ConfigurationItem item : configurations.values()) {
+      configurationTrie.add(findLiteralPrefix(item.stringPattern), item);
+    }
     this.configurations = configurations;
+    this.configurationTrie = configurationTrie;
     logConfigurations();
   }
 
+  /**
+   * @return the part of pattern that any matched path must starts with, maybe empty
+   */
+  static String findLiteralPrefix(String pattern) {
+    if (pattern.indexOf('|') >= 0) {
+      // alternation maybe in the top level, no common prefix
+      return "";
+    }
+
+    for (int idx = 0; idx < pattern.length(); idx++) {
+      char c = pattern.charAt(idx);
+      if (REGEX_META_CHARS.indexOf(c) >= 0) {
+        if (REGEX_QUANTIFIER_CHARS.indexOf(c) >= 0 && idx > 0) {
+          return pattern.substring(0, idx - 1);
+        }
+        return pattern.substring(0, idx);
+      }
+    }
+    return pattern;
+  }
+
   private void logConfigurations() {
     for (String key : this.configurations.keySet()) {
       ConfigurationItem item = this.configurations.get(key);
       LOG.info("config item: key=" + key + ";pattern=" + item.stringPattern + ";service=" + item.microserviceName
-          + ";versionRule=" + item.versionRule);
+          + ";versionRule=" + item.versionRule + ";passThrough=" + item.passThrough);
     }
   }
 
   protected void onRequest(RoutingContext context) {
-    ConfigurationItem configurationItem = findConfigurationItem(context.request().path());
+    ConfigurationItem configurationItem = context.get(CONTEXT_CONFIGURATION_ITEM);
+    if (configurationItem == null) {
+      configurationItem = findConfigurationItem(context.request().path());
+    }
     if (configurationItem == null) {
       context.next();
       return;
@@ -155,16 +233,17 @@ public class URLMappedEdgeDispatcher extends AbstractEdgeDispatcher {
     if (configurationItem.versionRule != null) {
       edgeInvocation.setVersionRule(configurationItem.versionRule);
     }
+    edgeInvocation.setPassThrough(configurationItem.passThrough);
+    edgeInvocation.setMicroserviceVersionRule(configurationItem.microserviceVersionRule);
     edgeInvocation.init(configurationItem.microserviceName, context, path, httpServerFilters);
     edgeInvocation.edgeInvoke();
+    configurationItem.microserviceVersionRule = edgeInvocation.getMicroserviceVersionRule();
   }
 
   private ConfigurationItem findConfigurationItem(String path) {
-    for (ConfigurationItem item : configurations.values()) {
-      if (item.pattern.matcher(path).matches()) {
-        return item;
-      }
+    if (path == null) {
+      return null;
     }
-    return null;
+    return configurationTrie.find(path, item -> item.matches(path));
   }
 }
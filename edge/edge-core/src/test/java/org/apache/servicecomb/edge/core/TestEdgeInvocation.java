@@ -22,10 +22,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.servicecomb.common.rest.RestConst;
 import org.apache.servicecomb.common.rest.definition.RestOperationMeta;
 import org.apache.servicecomb.common.rest.filter.HttpServerFilter;
 import org.apache.servicecomb.common.rest.locator.OperationLocator;
 import org.apache.servicecomb.common.rest.locator.ServicePathManager;
+import org.apache.servicecomb.core.Const;
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.definition.MicroserviceMeta;
 import org.apache.servicecomb.core.definition.MicroserviceVersionMeta;
@@ -48,6 +50,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import io.vertx.core.Context;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.impl.VertxImpl;
 import io.vertx.ext.web.RoutingContext;
 import mockit.Deencapsulation;
@@ -190,6 +193,56 @@ public class TestEdgeInvocation {
     Assert.assertSame(latestMicroserviceVersionMeta, edgeInvocation.latestMicroserviceVersionMeta);
   }
 
+  @Test
+  public void findMicroserviceVersionMetaCached(@Mocked MicroserviceVersionRule microserviceVersionRule,
+      @Mocked MicroserviceVersionMeta latestMicroserviceVersionMeta) {
+    new Expectations(RegistryUtils.class) {
+      {
+        microserviceVersionRule.isDestroyed();
+        result = false;
+        microserviceVersionRule.getLatestMicroserviceVersion();
+        result = latestMicroserviceVersionMeta;
+        RegistryUtils.getServiceRegistry();
+        times = 0;
+      }
+    };
+
+    edgeInvocation.setMicroserviceVersionRule(microserviceVersionRule);
+    edgeInvocation.findMicroserviceVersionMeta();
+
+    Assert.assertSame(microserviceVersionRule, edgeInvocation.getMicroserviceVersionRule());
+    Assert.assertSame(latestMicroserviceVersionMeta, edgeInvocation.latestMicroserviceVersionMeta);
+  }
+
+  @Test
+  public void findMicroserviceVersionMetaCachedDestroyed(@Mocked AppManager appManager,
+      @Mocked MicroserviceVersionRule microserviceVersionRule,
+      @Mocked MicroserviceVersionRule newMicroserviceVersionRule,
+      @Mocked MicroserviceVersionMeta latestMicroserviceVersionMeta,
+      @Mocked ServiceRegistry serviceRegistry) {
+    new Expectations(RegistryUtils.class) {
+      {
+        microserviceVersionRule.isDestroyed();
+        result = true;
+        RegistryUtils.getServiceRegistry();
+        result = serviceRegistry;
+        serviceRegistry.getAppManager();
+        result = appManager;
+        RegistryUtils.getAppId();
+        result = "app";
+        appManager.getOrCreateMicroserviceVersionRule("app", microserviceName, DefinitionConst.VERSION_RULE_ALL);
+        result = newMicroserviceVersionRule;
+        newMicroserviceVersionRule.getLatestMicroserviceVersion();
+        result = latestMicroserviceVersionMeta;
+      }
+    };
+
+    edgeInvocation.setMicroserviceVersionRule(microserviceVersionRule);
+    edgeInvocation.findMicroserviceVersionMeta();
+
+    Assert.assertSame(newMicroserviceVersionRule, edgeInvocation.getMicroserviceVersionRule());
+  }
+
   @Test
   public void chooseVersionRule_default() {
     Assert.assertEquals(DefinitionConst.VERSION_RULE_ALL, edgeInvocation.chooseVersionRule());
@@ -239,6 +292,35 @@ public class TestEdgeInvocation {
     Assert.assertSame(context, invocation.getHandlerContext().get(EdgeInvocation.EDGE_INVOCATION_CONTEXT));
   }
 
+  @Test
+  public void createInvocation_passThrough(@Mocked MicroserviceVersionMeta microserviceVersionMeta,
+      @Mocked MicroserviceVersionRule microserviceVersionRule, @Mocked RestOperationMeta restOperationMeta,
+      @Mocked Microservice microservice, @Mocked HttpServerRequest request) {
+    edgeInvocation.latestMicroserviceVersionMeta = microserviceVersionMeta;
+    edgeInvocation.microserviceVersionRule = microserviceVersionRule;
+    edgeInvocation.setPassThrough(true);
+    Deencapsulation.setField(edgeInvocation, "restOperationMeta", restOperationMeta);
+    Deencapsulation.setField(requestEx, "vertxRequest", request);
+
+    new Expectations(RegistryUtils.class) {
+      {
+        RegistryUtils.getMicroservice();
+        result = microservice;
+        routingContext.request();
+        result = request;
+        request.query();
+        result = "a=1";
+      }
+    };
+
+    edgeInvocation.createInvocation();
+    Invocation invocation = Deencapsulation.getField(edgeInvocation, "invocation");
+    Assert.assertEquals(Const.RESTFUL, invocation.getConfigTransportName());
+    Assert.assertEquals("/base?a=1", invocation.getHandlerContext().get(RestConst.REST_CLIENT_REQUEST_PATH));
+    Assert.assertSame(request, invocation.getHandlerContext().get(EdgeInvocation.EDGE_PASS_THROUGH));
+    Assert.assertEquals(true, invocation.getHandlerContext().get(Const.RETRY_DISABLED));
+  }
+
   @Test
   public void testSetRoutingContext() {
     Assert.assertSame(this.routingContext, edgeInvocation.routingContext);
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.edge.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.servicecomb.common.rest.RestConst;
+import org.apache.servicecomb.core.Const;
+import org.apache.servicecomb.core.Endpoint;
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.foundation.common.net.URIEndpointObject;
+import org.apache.servicecomb.foundation.vertx.client.http.HttpClientWithContext;
+import org.apache.servicecomb.foundation.vertx.client.http.HttpClientWithContext.RunHandler;
+import org.apache.servicecomb.swagger.invocation.InvocationType;
+import org.apache.servicecomb.swagger.invocation.Response;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.RequestOptions;
+import mockit.Deencapsulation;
+import mockit.Expectations;
+import mockit.Mocked;
+
+public class TestPassThroughClientInvocation {
+  PassThroughClientInvocation passThroughClientInvocation = new PassThroughClientInvocation(null);
+
+  Invocation invocation = Mockito.mock(Invocation.class, Mockito.RETURNS_DEEP_STUBS);
+
+  HttpClient httpClient = Mockito.mock(HttpClient.class);
+
+  HttpClientRequest clientRequest = Mockito.mock(HttpClientRequest.class);
+
+  MultiMap clientRequestHeaders = MultiMap.caseInsensitiveMultiMap();
+
+  HttpServerRequest serverRequest = Mockito.mock(HttpServerRequest.class);
+
+  MultiMap serverRequestHeaders = MultiMap.caseInsensitiveMultiMap();
+
+  HttpServerResponse serverResponse = Mockito.mock(HttpServerResponse.class);
+
+  MultiMap serverResponseHeaders = MultiMap.caseInsensitiveMultiMap();
+
+  List<Response> responses = new ArrayList<>();
+
+  Handler<HttpClientResponse> responseHandler;
+
+  @SuppressWarnings({"deprecation", "unchecked"})
+  @Before
+  public void setup() {
+    Map<String, Object> handlerContext = new HashMap<>();
+    handlerContext.put(RestConst.REST_CLIENT_REQUEST_PATH, "/a");
+    handlerContext.put(EdgeInvocation.EDGE_PASS_THROUGH, serverRequest);
+    Endpoint endpoint = Mockito.mock(Endpoint.class);
+    Mockito.when(endpoint.getAddress()).thenReturn(new URIEndpointObject("rest://127.0.0.1:8080"));
+    Mockito.when(invocation.getEndpoint()).thenReturn(endpoint);
+    Mockito.when(invocation.getHandlerContext()).thenReturn(handlerContext);
+    Mockito.when(invocation.getContext()).thenReturn(new HashMap<>());
+    Mockito.when(invocation.getMicroserviceName()).thenReturn("ms");
+    Mockito.when(invocation.getInvocationType()).thenReturn(InvocationType.CONSUMER);
+
+    Mockito.when(serverRequest.response()).thenReturn(serverResponse);
+    Mockito.when(serverRequest.method()).thenReturn(HttpMethod.POST);
+    Mockito.when(serverRequest.headers()).thenReturn(serverRequestHeaders);
+    Mockito.when(serverResponse.headers()).thenReturn(serverResponseHeaders);
+    Mockito.when(clientRequest.headers()).thenReturn(clientRequestHeaders);
+    Mockito.when(clientRequest.putHeader(Mockito.anyString(), Mockito.anyString())).thenAnswer(invocationOnMock -> {
+      clientRequestHeaders.set((String) invocationOnMock.getArguments()[0],
+          (String) invocationOnMock.getArguments()[1]);
+      return clientRequest;
+    });
+    Mockito.when(httpClient.request(Mockito.eq(HttpMethod.POST), Mockito.any(RequestOptions.class),
+        Mockito.any(Handler.class))).thenAnswer(invocationOnMock -> {
+      responseHandler = (Handler<HttpClientResponse>) invocationOnMock.getArguments()[2];
+      return clientRequest;
+    });
+
+    HttpClientWithContext httpClientWithContext = Mockito.mock(HttpClientWithContext.class);
+    Mockito.doAnswer(invocationOnMock -> {
+      ((RunHandler) invocationOnMock.getArguments()[0]).run(httpClient);
+      return null;
+    }).when(httpClientWithContext).runOnContext(Mockito.any(RunHandler.class));
+    passThroughClientInvocation = new PassThroughClientInvocation(httpClientWithContext);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static <T> ArgumentCaptor<Handler<T>> handlerCaptor() {
+    return ArgumentCaptor.forClass((Class) Handler.class);
+  }
+
+  @Test
+  public void pipeRequestBody_backpressure() {
+    Mockito.when(clientRequest.writeQueueFull()).thenReturn(true);
+    passThroughClientInvocation.invoke(invocation, responses::add);
+
+    ArgumentCaptor<Handler<Buffer>> bodyCaptor = handlerCaptor();
+    Mockito.verify(serverRequest).handler(bodyCaptor.capture());
+    Buffer buffer = Buffer.buffer("abc");
+    bodyCaptor.getValue().handle(buffer);
+
+    // no content-length, must be chunked
+    Mockito.verify(clientRequest).setChunked(true);
+    Mockito.verify(clientRequest).write(buffer);
+    Mockito.verify(serverRequest).pause();
+    Mockito.verify(serverRequest, Mockito.times(1)).resume();
+
+    ArgumentCaptor<Handler<Void>> drainCaptor = handlerCaptor();
+    Mockito.verify(clientRequest).drainHandler(drainCaptor.capture());
+    drainCaptor.getValue().handle(null);
+    Mockito.verify(serverRequest, Mockito.times(2)).resume();
+
+    ArgumentCaptor<Handler<Void>> endCaptor = handlerCaptor();
+    Mockito.verify(serverRequest).endHandler(endCaptor.capture());
+    endCaptor.getValue().handle(null);
+    Mockito.verify(clientRequest).end();
+    Assert.assertEquals("ms", clientRequestHeaders.get(Const.TARGET_MICROSERVICE));
+    Assert.assertTrue(responses.isEmpty());
+  }
+
+  @Test
+  public void pipeRequestBody_contentLength() {
+    serverRequestHeaders.add(HttpHeaders.CONTENT_LENGTH, "3");
+    passThroughClientInvocation.invoke(invocation, responses::add);
+
+    ArgumentCaptor<Handler<Buffer>> bodyCaptor = handlerCaptor();
+    Mockito.verify(serverRequest).handler(bodyCaptor.capture());
+    bodyCaptor.getValue().handle(Buffer.buffer("abc"));
+
+    Mockito.verify(clientRequest, Mockito.never()).setChunked(Mockito.anyBoolean());
+    Mockito.verify(serverRequest, Mockito.never()).pause();
+    Assert.assertEquals("3", clientRequestHeaders.get(HttpHeaders.CONTENT_LENGTH));
+  }
+
+  @Test
+  public void fail_beforeHeadWritten() {
+    serverResponseHeaders.add("x-target", "v");
+    passThroughClientInvocation.invoke(invocation, responses::add);
+
+    passThroughClientInvocation.fail(new IllegalStateException("failed"));
+    passThroughClientInvocation.fail(new IllegalStateException("failed again"));
+
+    Mockito.verify(clientRequest).reset();
+    Mockito.verify(serverResponse, Mockito.never()).reset();
+    Mockito.verify(serverResponse).setChunked(false);
+    Assert.assertTrue(serverResponseHeaders.isEmpty());
+    Assert.assertEquals(1, responses.size());
+    Assert.assertTrue(responses.get(0).isFailed());
+  }
+
+  @Test
+  public void fail_afterHeadWritten() {
+    Mockito.when(serverResponse.headWritten()).thenReturn(true);
+    passThroughClientInvocation.invoke(invocation, responses::add);
+
+    passThroughClientInvocation.fail(new IllegalStateException("failed"));
+
+    Mockito.verify(serverResponse).reset();
+    Mockito.verify(serverResponse, Mockito.never()).setChunked(false);
+    Assert.assertEquals(1, responses.size());
+    Assert.assertTrue(responses.get(0).isFailed());
+  }
+
+  @Test
+  public void complete_targetResponseEnded() {
+    passThroughClientInvocation.invoke(invocation, responses::add);
+
+    HttpClientResponse clientResponse = Mockito.mock(HttpClientResponse.class);
+    Mockito.when(clientResponse.statusCode()).thenReturn(201);
+    Mockito.when(clientResponse.statusMessage()).thenReturn("Created");
+    Mockito.when(clientResponse.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap()
+        .add(HttpHeaders.CONTENT_LENGTH, "3")
+        .add("Connection", "close"));
+    responseHandler.handle(clientResponse);
+
+    Mockito.verify(serverResponse).setStatusCode(201);
+    Mockito.verify(serverResponse).setStatusMessage("Created");
+    Mockito.verify(serverResponse, Mockito.never()).setChunked(true);
+    Assert.assertEquals("3", serverResponseHeaders.get(HttpHeaders.CONTENT_LENGTH));
+    Assert.assertFalse(serverResponseHeaders.contains("Connection"));
+    Assert.assertTrue(responses.isEmpty());
+
+    ArgumentCaptor<Handler<Void>> endCaptor = handlerCaptor();
+    Mockito.verify(clientResponse).endHandler(endCaptor.capture());
+    endCaptor.getValue().handle(null);
+    Mockito.verify(serverResponse).end();
+    Assert.assertEquals(1, responses.size());
+    Assert.assertEquals(201, responses.get(0).getStatusCode());
+
+    // finished, later failure is ignored
+    passThroughClientInvocation.fail(new IllegalStateException("failed"));
+    Mockito.verify(clientRequest, Mockito.never()).reset();
+    Assert.assertEquals(1, responses.size());
+  }
+
+  @Test
+  public void handleResponse_chunked() {
+    passThroughClientInvocation.invoke(invocation, responses::add);
+
+    HttpClientResponse clientResponse = Mockito.mock(HttpClientResponse.class);
+    Mockito.when(clientResponse.statusCode()).thenReturn(200);
+    Mockito.when(clientResponse.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    responseHandler.handle(clientResponse);
+
+    Mockito.verify(serverResponse).setChunked(true);
+  }
+
+  @Test
+  public void copyHeaders() {
+    MultiMap from = MultiMap.caseInsensitiveMultiMap()
+        .add("Connection", "keep-alive")
+        .add("transfer-encoding", "chunked")
+        .add("Host", "edge:8080")
+        .add(Const.CSE_CONTEXT, "{}")
+        .add("Content-Type", "application/json")
+        .add("x-custom", "v1")
+        .add("x-custom", "v2");
+    MultiMap to = MultiMap.caseInsensitiveMultiMap();
+
+    PassThroughClientInvocation.copyHeaders(from, to);
+
+    Assert.assertEquals(2, to.names().size());
+    Assert.assertEquals("application/json", to.get("content-type"));
+    Assert.assertEquals("[v1, v2]", to.getAll("x-custom").toString());
+  }
+
+  @Test
+  public void createRequestPath(@Mocked Invocation invocation) {
+    Map<String, Object> handlerContext = new HashMap<>();
+    handlerContext.put(RestConst.REST_CLIENT_REQUEST_PATH, "/a/b?q=1");
+    new Expectations() {
+      {
+        invocation.getHandlerContext();
+        result = handlerContext;
+      }
+    };
+    Deencapsulation.setField(passThroughClientInvocation, "invocation", invocation);
+
+    Assert.assertEquals("/a/b?q=1",
+        passThroughClientInvocation.createRequestPath(new URIEndpointObject("rest://127.0.0.1:8080")));
+    Assert.assertEquals("/root/a/b?q=1",
+        passThroughClientInvocation.createRequestPath(new URIEndpointObject("rest://127.0.0.1:8080?urlPrefix=%2Froot")));
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.edge.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestPathPrefixTrie {
+  PathPrefixTrie<String> trie = new PathPrefixTrie<>();
+
+  @Test
+  public void find_longerPrefixFirst() {
+    trie.add("", "any");
+    trie.add("/a/", "a");
+    trie.add("/a/b/", "ab");
+    trie.add("/a/b/", "ab2");
+    Assert.assertEquals(4, trie.size());
+
+    Assert.assertEquals("ab", trie.find("/a/b/c", v -> true));
+    Assert.assertEquals("ab2", trie.find("/a/b/c", v -> !v.equals("ab")));
+    Assert.assertEquals("a", trie.find("/a/b/c", v -> v.length() == 1));
+    Assert.assertEquals("a", trie.find("/a/c", v -> true));
+    Assert.assertEquals("any", trie.find("/b", v -> true));
+    Assert.assertNull(trie.find("/b", v -> false));
+  }
+
+  @Test
+  public void find_empty() {
+    Assert.assertNull(trie.find("/a", v -> true));
+  }
+}
@@ -29,9 +29,11 @@ import org.junit.Test;
 
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
 import mockit.Deencapsulation;
 import mockit.Expectations;
 import mockit.Mocked;
+import mockit.Verifications;
 
 public class TestURLMappedEdgeDispatcher {
   @Before
@@ -57,6 +59,8 @@ public class TestURLMappedEdgeDispatcher {
 
     new Expectations() {
       {
+        context.get(anyString);
+        result = null;
         context.next();
       }
     };
@@ -86,6 +90,8 @@ public class TestURLMappedEdgeDispatcher {
 
     new Expectations() {
       {
+        context.get(anyString);
+        result = null;
         context.request();
         result = requst;
         requst.path();
@@ -98,4 +104,98 @@ public class TestURLMappedEdgeDispatcher {
     };
     dispatcher.onRequest(context);
   }
+
+  @Test
+  public void testPassThrough(@Mocked RoutingContext context
+      , @Mocked HttpServerRequest requst
+      , @Mocked BodyHandler bodyHandler) {
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.enabled", true);
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.service1.path", "/a/.*");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.service1.microserviceName", "serviceName");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.service1.passThrough", true);
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.service2.path", "/b/.*");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.service2.microserviceName", "serviceName");
+
+    URLMappedEdgeDispatcher dispatcher = new URLMappedEdgeDispatcher();
+    Map<String, ConfigurationItem> items = Deencapsulation.getField(dispatcher, "configurations");
+    Assert.assertTrue(items.get("service1").passThrough);
+    Assert.assertFalse(items.get("service2").passThrough);
+
+    new Expectations() {
+      {
+        context.request();
+        result = requst;
+        requst.path();
+        returns("/a/b", "/b/c");
+      }
+    };
+    dispatcher.handleBody(context, bodyHandler);
+    new Verifications() {
+      {
+        requst.pause();
+        times = 1;
+        context.put(anyString, items.get("service1"));
+        times = 1;
+        context.next();
+        times = 1;
+        bodyHandler.handle(context);
+        times = 0;
+      }
+    };
+
+    dispatcher.handleBody(context, bodyHandler);
+    new Verifications() {
+      {
+        bodyHandler.handle(context);
+        times = 1;
+      }
+    };
+  }
+
+  @Test
+  public void findLiteralPrefix() {
+    Assert.assertEquals("/a/b", URLMappedEdgeDispatcher.findLiteralPrefix("/a/b"));
+    Assert.assertEquals("/a/b/", URLMappedEdgeDispatcher.findLiteralPrefix("/a/b/.*"));
+    Assert.assertEquals("/a/", URLMappedEdgeDispatcher.findLiteralPrefix("/a/b?/.*"));
+    Assert.assertEquals("/a/b", URLMappedEdgeDispatcher.findLiteralPrefix("/a/b+/.*"));
+    Assert.assertEquals("/a/", URLMappedEdgeDispatcher.findLiteralPrefix("/a/[bc]/.*"));
+    Assert.assertEquals("/a/", URLMappedEdgeDispatcher.findLiteralPrefix("/a/\\d+"));
+    Assert.assertEquals("", URLMappedEdgeDispatcher.findLiteralPrefix("/a/.*|/b/.*"));
+    Assert.assertEquals("", URLMappedEdgeDispatcher.findLiteralPrefix("(?i)/a/.*"));
+  }
+
+  @Test
+  public void findConfigurationItem_priority() {
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.enabled", true);
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.z.path", "/.*");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.z.microserviceName", "z");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.b.path", "/a/b/.*");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.b.microserviceName", "b");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.a.path", "/a/.*");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.a.microserviceName", "a");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.a2.path", "/a/c.*");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.a2.microserviceName", "a2");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.e.path", "/a/exact");
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.e.microserviceName", "e");
+
+    URLMappedEdgeDispatcher dispatcher = new URLMappedEdgeDispatcher();
+    Map<String, ConfigurationItem> items = Deencapsulation.getField(dispatcher, "configurations");
+    Assert.assertTrue(items.get("e").literal);
+    Assert.assertFalse(items.get("a").literal);
+
+    Assert.assertEquals("b", findMicroserviceName(dispatcher, "/a/b/c"));
+    Assert.assertEquals("a2", findMicroserviceName(dispatcher, "/a/c/d"));
+    Assert.assertEquals("e", findMicroserviceName(dispatcher, "/a/exact"));
+    Assert.assertEquals("a", findMicroserviceName(dispatcher, "/a/exact/x"));
+    Assert.assertEquals("a", findMicroserviceName(dispatcher, "/a/x"));
+    Assert.assertEquals("z", findMicroserviceName(dispatcher, "/x"));
+
+    ArchaiusUtils.setProperty("servicecomb.http.dispatcher.edge.url.mappings.z.path", "/b/.*");
+    Assert.assertNull(findMicroserviceName(dispatcher, "/x"));
+  }
+
+  private String findMicroserviceName(URLMappedEdgeDispatcher dispatcher, String path) {
+    ConfigurationItem item = Deencapsulation.invoke(dispatcher, "findConfigurationItem", path);
+    return item == null ? null : item.microserviceName;
+  }
 }
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.foundation.common.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * bounded lock-free ring buffer, multiple producers and single consumer.
+ * <p>
+ * based on the bounded queue of Dmitry Vyukov, every slot has a sequence:<br>
+ * producer claims a slot by CAS on tail, and publishes it by set sequence to pos + 1;<br>
+ * consumer takes a published slot, and releases it for next round by set sequence to pos + capacity.<br>
+ * no allocation when offer and poll, offer fails immediately when full, so producer never blocks.
+ * </p>
+ */
+public class MpscRingBuffer<E> {
+  // round up of a larger capacity overflows int
+  public static final int MAX_CAPACITY = 1 << 30;
+
+  private final int capacity;
+
+  private final int mask;
+
+  private final AtomicReferenceArray<E> elements;
+
+  private final AtomicLongArray sequences;
+
+  private final AtomicLong tail = new AtomicLong();
+
+  // only accessed by the consumer thread
+  private long head;
+
+  /**
+   * @param capacity will be rounded up to power of 2, and at least 2,
+   * because sequence of a published slot must not equal to the free state of next round<br>
+   * must not greater than {@link #MAX_CAPACITY}
+   */
+  public MpscRingBuffer(int capacity) {
+    if (capacity <= 0 || capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException(
+          String.format("capacity must be in range [1, %d], but is %d", MAX_CAPACITY, capacity));
+    }
+
+    this.capacity = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = this.capacity - 1;
+    this.elements = new AtomicReferenceArray<>(this.capacity);
+    this.sequences = new AtomicLongArray(this.capacity);
+    for (int idx = 0; idx < this.capacity; idx++) {
+      sequences.set(idx, idx);
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * can be invoked by any thread
+   * @return false if full
+   */
+  public boolean offer(E element) {
+    long pos = tail.get();
+    for (; ; ) {
+      int idx = (int) pos & mask;
+      long diff = sequences.get(idx) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          elements.lazySet(idx, element);
+          // publish, make element visible to consumer
+          sequences.set(idx, pos + 1);
+          return true;
+        }
+        pos = tail.get();
+        continue;
+      }
+
+      if (diff < 0) {
+        // slot of previous round not consumed yet
+        return false;
+      }
+
+      // claimed by other producer
+      pos = tail.get();
+    }
+  }
+
+  /**
+   * must be invoked by only one thread
+   * @return null if empty
+   */
+  public E poll() {
+    int idx = (int) head & mask;
+    if (sequences.get(idx) != head + 1) {
+      return null;
+    }
+
+    E element = elements.get(idx);
+    elements.lazySet(idx, null);
+    sequences.set(idx, head + capacity);
+    head++;
+    return element;
+  }
+
+  /**
+   * not accurate when there are concurrent producers
+   */
+  public int size() {
+    return (int) (tail.get() - head);
+  }
+}
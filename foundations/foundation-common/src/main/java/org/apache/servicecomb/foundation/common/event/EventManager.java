@@ -44,6 +44,14 @@ public class EventManager {
     eventBus.post(event);
   }
 
+  /**
+   * caller can skip creating event if there is no subscriber.
+   * always true if not {@link SimpleEventBus}, because subscribers of guava EventBus are unknown.
+   */
+  public static boolean hasSubscriber(Class<?> eventClass) {
+    return !(eventBus instanceof SimpleEventBus) || ((SimpleEventBus) eventBus).hasSubscriber(eventClass);
+  }
+
   /**
    * Unregistering listener.
    */
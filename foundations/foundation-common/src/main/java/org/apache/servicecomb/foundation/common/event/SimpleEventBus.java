@@ -73,6 +73,10 @@ public class SimpleEventBus extends EventBus {
     }
   }
 
+  public boolean hasSubscriber(Class<?> eventClass) {
+    return !subscribersCache.computeIfAbsent(eventClass, this::collectSubscriberForEvent).isEmpty();
+  }
+
   /**
    * subscribersMap almost stable<br>
    * so we not care for performance of collectSubscriberForEvent
@@ -31,6 +31,10 @@ public class ResourcePart extends AbstractPart {
     this.setSubmittedFileName(resource.getFilename());
   }
 
+  public Resource getResource() {
+    return resource;
+  }
+
   @Override
   public InputStream getInputStream() throws IOException {
     return resource.getInputStream();
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.foundation.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestMpscRingBuffer {
+  @Test
+  public void capacity() {
+    Assert.assertEquals(2, new MpscRingBuffer<>(1).getCapacity());
+    Assert.assertEquals(4, new MpscRingBuffer<>(3).getCapacity());
+    Assert.assertEquals(4, new MpscRingBuffer<>(4).getCapacity());
+    Assert.assertEquals(8, new MpscRingBuffer<>(5).getCapacity());
+
+    try {
+      new MpscRingBuffer<>(0);
+      Assert.fail("must throw exception");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals("capacity must be in range [1, 1073741824], but is 0", e.getMessage());
+    }
+
+    try {
+      new MpscRingBuffer<>(MpscRingBuffer.MAX_CAPACITY + 1);
+      Assert.fail("must throw exception");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals("capacity must be in range [1, 1073741824], but is 1073741825", e.getMessage());
+    }
+  }
+
+  @Test
+  public void offerAndPoll() {
+    MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(2);
+    Assert.assertNull(buffer.poll());
+
+    // several rounds
+    for (int round = 0; round < 3; round++) {
+      Assert.assertTrue(buffer.offer(1));
+      Assert.assertTrue(buffer.offer(2));
+      Assert.assertFalse(buffer.offer(3));
+      Assert.assertEquals(2, buffer.size());
+
+      Assert.assertEquals(1, (int) buffer.poll());
+      Assert.assertTrue(buffer.offer(3));
+      Assert.assertEquals(2, (int) buffer.poll());
+      Assert.assertEquals(3, (int) buffer.poll());
+      Assert.assertNull(buffer.poll());
+      Assert.assertEquals(0, buffer.size());
+    }
+  }
+
+  @Test
+  public void multipleProducers() throws InterruptedException {
+    int producerCount = 4;
+    int countPerProducer = 10000;
+    MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(64);
+    CountDownLatch latch = new CountDownLatch(producerCount);
+    for (int producer = 0; producer < producerCount; producer++) {
+      int base = producer * countPerProducer;
+      new Thread(() -> {
+        for (int idx = 0; idx < countPerProducer; idx++) {
+          while (!buffer.offer(base + idx)) {
+            Thread.yield();
+          }
+        }
+        latch.countDown();
+      }).start();
+    }
+
+    // values from the same producer must keep order
+    List<Integer> lastValues = new ArrayList<>();
+    for (int producer = 0; producer < producerCount; producer++) {
+      lastValues.add(-1);
+    }
+    int received = 0;
+    while (received < producerCount * countPerProducer) {
+      Integer value = buffer.poll();
+      if (value == null) {
+        Thread.yield();
+        continue;
+      }
+
+      int producer = value / countPerProducer;
+      Assert.assertTrue(value > lastValues.get(producer));
+      lastValues.set(producer, value);
+      received++;
+    }
+
+    latch.await();
+    Assert.assertNull(buffer.poll());
+  }
+}
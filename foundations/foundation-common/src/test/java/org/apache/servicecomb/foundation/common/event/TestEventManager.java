@@ -70,6 +70,21 @@ public class TestEventManager {
     collector.teardown();
   }
 
+  @Test
+  public void hasSubscriber() {
+    Object listener = new Object() {
+      @Subscribe
+      void onInt(Integer obj) {
+      }
+    };
+    EventManager.register(listener);
+    Assert.assertTrue(EventManager.hasSubscriber(Integer.class));
+    Assert.assertFalse(EventManager.hasSubscriber(String.class));
+
+    EventManager.unregister(listener);
+    Assert.assertFalse(EventManager.hasSubscriber(Integer.class));
+  }
+
   @Subscribe
   public void onObject(Object obj) {
     objCount++;
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.metrics.meter;
+
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class PercentileConfig {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PercentileConfig.class);
+
+  private double[] percentiles = new double[0];
+
+  private String[] tagValues = new String[0];
+
+  /**
+   *
+   * @param config percentiles, eg:50,90,99,99.9
+   */
+  public PercentileConfig(String config) {
+    if (StringUtils.isBlank(config)) {
+      return;
+    }
+
+    TreeSet<Double> sorted = new TreeSet<>();
+    try {
+      for (String value : config.trim().split("\\s*,+\\s*")) {
+        double percentile = Double.parseDouble(value);
+        if (percentile <= 0 || percentile > 100) {
+          throw new IllegalStateException(String.format("invalid percentile, value=%s.", value));
+        }
+        sorted.add(percentile);
+      }
+    } catch (Throwable e) {
+      LOGGER.error("Failed to parse percentileConfig, value={}", config, e);
+      throw e;
+    }
+
+    percentiles = new double[sorted.size()];
+    tagValues = new String[sorted.size()];
+    int idx = 0;
+    for (double percentile : sorted) {
+      percentiles[idx] = percentile;
+      tagValues[idx] = percentile == (long) percentile ? String.valueOf((long) percentile) : String.valueOf(percentile);
+      idx++;
+    }
+  }
+
+  public boolean isEnabled() {
+    return percentiles.length != 0;
+  }
+
+  public double[] getPercentiles() {
+    return percentiles;
+  }
+
+  // 50 for 50.0, 99.9 for 99.9
+  public String[] getTagValues() {
+    return tagValues;
+  }
+}
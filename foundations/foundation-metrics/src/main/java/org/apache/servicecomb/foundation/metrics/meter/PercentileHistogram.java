@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.metrics.meter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * a fixed memory, lock free log-linear histogram, simplified from the idea of HdrHistogram<br>
+ * values are recorded in microseconds, [0, 64) are recorded exactly, after that every power of 2 range is
+ * divided into 32 linear sub buckets, so the relative error of a percentile is less than 1/64 (bucket middle
+ * value is returned)<br>
+ * values not less than 2^31 microseconds (about 35 minutes) are all recorded into the last bucket
+ */
+public class PercentileHistogram {
+  static final int SUB_BUCKET_BITS = 5;
+
+  static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  static final int MAX_VALUE_BITS = 31;
+
+  static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  private final AtomicIntegerArray buckets = new AtomicIntegerArray(BUCKET_COUNT);
+
+  public void record(long nanoAmount) {
+    if (nanoAmount < 0) {
+      return;
+    }
+
+    buckets.incrementAndGet(indexOf(TimeUnit.NANOSECONDS.toMicros(nanoAmount)));
+  }
+
+  static int indexOf(long value) {
+    if (value < 2 * SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    int highestBit = 63 - Long.numberOfLeadingZeros(value);
+    if (highestBit >= MAX_VALUE_BITS) {
+      return BUCKET_COUNT - 1;
+    }
+
+    int shift = highestBit - SUB_BUCKET_BITS;
+    return ((shift + 1) << SUB_BUCKET_BITS) + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+  }
+
+  static long lowestValueOf(int index) {
+    if (index < 2 * SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    int shift = (index >> SUB_BUCKET_BITS) - 1;
+    return (long) ((index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT) << shift;
+  }
+
+  static double middleValueOf(int index) {
+    return (lowestValueOf(index) + lowestValueOf(index + 1)) / 2.0;
+  }
+
+  /**
+   * get percentiles of values recorded since last poll, and then reset the histogram<br>
+   * every bucket is reset atomically, so values recorded concurrently will not lost, just belong to next period
+   * @param percentiles sorted percentiles, eg: 50, 90, 99, 99.9
+   * @return nanoseconds of each percentile, all are 0 if nothing recorded
+   */
+  public double[] pollPercentiles(double[] percentiles) {
+    int[] counts = new int[BUCKET_COUNT];
+    long total = 0;
+    for (int idx = 0; idx < BUCKET_COUNT; idx++) {
+      counts[idx] = buckets.getAndSet(idx, 0);
+      total += counts[idx];
+    }
+
+    double[] result = new double[percentiles.length];
+    if (total == 0) {
+      return result;
+    }
+
+    long count = 0;
+    int idx = 0;
+    for (int pIdx = 0; pIdx < percentiles.length; pIdx++) {
+      long rank = Math.max(1, (long) Math.ceil(percentiles[pIdx] / 100 * total));
+      while (count + counts[idx] < rank) {
+        count += counts[idx];
+        idx++;
+      }
+      result[pIdx] = middleValueOf(idx) * TimeUnit.MICROSECONDS.toNanos(1);
+    }
+    return result;
+  }
+}
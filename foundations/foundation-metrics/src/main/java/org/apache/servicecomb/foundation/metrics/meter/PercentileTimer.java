@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.metrics.meter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Measurement;
+import com.netflix.spectator.api.Statistic;
+
+/**
+ * besides measurements of {@link SimpleTimer}, output percentiles of every period<br>
+ * id of percentile measurements: id.withTag(Statistic.percentile).withTag("percentile", "99.9")
+ */
+public class PercentileTimer extends SimpleTimer {
+  public static final String TAG_PERCENTILE = "percentile";
+
+  private final PercentileHistogram histogram = new PercentileHistogram();
+
+  private final double[] percentiles;
+
+  private final Id[] percentileIds;
+
+  public PercentileTimer(Id id, PercentileConfig config) {
+    super(id);
+    this.percentiles = config.getPercentiles();
+    this.percentileIds = new Id[percentiles.length];
+    Id idPercentile = id.withTag(Statistic.percentile);
+    for (int idx = 0; idx < percentiles.length; idx++) {
+      percentileIds[idx] = idPercentile.withTag(TAG_PERCENTILE, config.getTagValues()[idx]);
+    }
+  }
+
+  @Override
+  public void record(long nanoAmount) {
+    super.record(nanoAmount);
+    histogram.record(nanoAmount);
+  }
+
+  @Override
+  public void calcMeasurements(long msNow, long secondInterval) {
+    List<Measurement> measurements = new ArrayList<>(3 + percentiles.length);
+    calcMeasurements(measurements, msNow, secondInterval);
+    allMeasurements = measurements;
+  }
+
+  @Override
+  public void calcMeasurements(List<Measurement> measurements, long msNow, long secondInterval) {
+    super.calcMeasurements(measurements, msNow, secondInterval);
+
+    double[] values = histogram.pollPercentiles(percentiles);
+    for (int idx = 0; idx < values.length; idx++) {
+      measurements.add(new Measurement(percentileIds[idx], msNow, values[idx] * CNV_SECONDS));
+    }
+  }
+}
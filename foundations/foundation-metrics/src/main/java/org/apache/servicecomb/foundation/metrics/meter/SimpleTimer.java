@@ -31,7 +31,7 @@ import com.netflix.spectator.impl.AtomicDouble;
  * this is a faster timer
  */
 public class SimpleTimer extends AbstractPeriodMeter {
-  private static final double CNV_SECONDS = 1.0 / TimeUnit.SECONDS.toNanos(1L);
+  protected static final double CNV_SECONDS = 1.0 / TimeUnit.SECONDS.toNanos(1L);
 
   private final Id idCount;
 
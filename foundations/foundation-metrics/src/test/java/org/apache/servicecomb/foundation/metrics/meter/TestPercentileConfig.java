@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.metrics.meter;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class TestPercentileConfig {
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  @Test
+  public void empty() {
+    PercentileConfig config = new PercentileConfig("  ");
+
+    Assert.assertFalse(config.isEnabled());
+    Assert.assertEquals(0, config.getPercentiles().length);
+  }
+
+  @Test
+  public void sortAndDistinct() {
+    PercentileConfig config = new PercentileConfig("99.9, 50,90 ,,99,50");
+
+    Assert.assertTrue(config.isEnabled());
+    Assert.assertArrayEquals(new double[] {50, 90, 99, 99.9}, config.getPercentiles(), 0);
+    Assert.assertArrayEquals(new String[] {"50", "90", "99", "99.9"}, config.getTagValues());
+  }
+
+  @Test
+  public void invalid() {
+    expectedException.expect(IllegalStateException.class);
+    expectedException.expectMessage(Matchers.is("invalid percentile, value=101."));
+
+    new PercentileConfig("50,101");
+  }
+}
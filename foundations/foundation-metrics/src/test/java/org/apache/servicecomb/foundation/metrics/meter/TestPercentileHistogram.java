@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.metrics.meter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestPercentileHistogram {
+  PercentileHistogram histogram = new PercentileHistogram();
+
+  double[] percentiles = {50, 90, 99, 99.9};
+
+  @Test
+  public void indexOf_continuous() {
+    for (int idx = 0; idx < PercentileHistogram.BUCKET_COUNT - 1; idx++) {
+      long lowest = PercentileHistogram.lowestValueOf(idx);
+      long next = PercentileHistogram.lowestValueOf(idx + 1);
+      Assert.assertTrue(lowest < next);
+      Assert.assertEquals(idx, PercentileHistogram.indexOf(lowest));
+      Assert.assertEquals(idx, PercentileHistogram.indexOf(next - 1));
+    }
+  }
+
+  @Test
+  public void indexOf_overflow() {
+    Assert.assertEquals(PercentileHistogram.BUCKET_COUNT - 1, PercentileHistogram.indexOf(1L << 31));
+    Assert.assertEquals(PercentileHistogram.BUCKET_COUNT - 1, PercentileHistogram.indexOf(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void pollPercentiles_empty() {
+    Assert.assertArrayEquals(new double[] {0, 0, 0, 0}, histogram.pollPercentiles(percentiles), 0);
+  }
+
+  @Test
+  public void pollPercentiles() {
+    // 1ms - 1000ms
+    for (int ms = 1; ms <= 1000; ms++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+    histogram.record(-1);
+
+    double[] values = histogram.pollPercentiles(percentiles);
+    double[] expects = {500, 900, 990, 999};
+    for (int idx = 0; idx < expects.length; idx++) {
+      double ms = values[idx] / TimeUnit.MILLISECONDS.toNanos(1);
+      Assert.assertEquals(expects[idx], ms, expects[idx] / 64);
+    }
+
+    // reset after poll
+    Assert.assertArrayEquals(new double[] {0, 0, 0, 0}, histogram.pollPercentiles(percentiles), 0);
+  }
+
+  @Test
+  public void pollPercentiles_exactSmallValue() {
+    histogram.record(TimeUnit.MICROSECONDS.toNanos(10));
+    histogram.record(TimeUnit.MICROSECONDS.toNanos(20));
+
+    double[] values = histogram.pollPercentiles(new double[] {50, 100});
+    Assert.assertArrayEquals(new double[] {10_500, 20_500}, values, 0);
+  }
+}
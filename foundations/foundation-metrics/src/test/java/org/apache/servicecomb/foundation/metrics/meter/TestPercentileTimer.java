@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.metrics.meter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.netflix.spectator.api.Measurement;
+import com.netflix.spectator.api.SpectatorUtils;
+
+public class TestPercentileTimer {
+  PercentileTimer timer = new PercentileTimer(SpectatorUtils.createDefaultId("name"), new PercentileConfig("50,99"));
+
+  @Test
+  public void measure() {
+    timer.record(TimeUnit.MICROSECONDS.toNanos(2));
+    timer.record(TimeUnit.MICROSECONDS.toNanos(4));
+
+    timer.calcMeasurements(1, 2);
+    List<Measurement> measurements = Lists.newArrayList(timer.measure());
+    Assert.assertEquals(5, measurements.size());
+    Assert.assertEquals("name:statistic=count", measurements.get(0).id().toString());
+    Assert.assertEquals("name:percentile=50:statistic=percentile", measurements.get(3).id().toString());
+    Assert.assertEquals(2.5E-6, measurements.get(3).value(), 1E-12);
+    Assert.assertEquals("name:percentile=99:statistic=percentile", measurements.get(4).id().toString());
+    Assert.assertEquals(4.5E-6, measurements.get(4).value(), 1E-12);
+
+    // reset after calc
+    timer.calcMeasurements(2, 2);
+    measurements = Lists.newArrayList(timer.measure());
+    Assert.assertEquals(0, measurements.get(3).value(), 0);
+    Assert.assertEquals(0, measurements.get(4).value(), 0);
+  }
+}
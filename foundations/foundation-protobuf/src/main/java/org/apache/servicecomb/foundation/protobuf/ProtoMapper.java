@@ -110,6 +110,19 @@ public class ProtoMapper {
     return serializerSchemaManager.createRootSerializer(message, type);
   }
 
+  /**
+   * serialize from a map, value of each field is serialized as the type in types
+   * @param types key is field name
+   */
+  public synchronized RootSerializer createRootSerializer(String shortMessageName, Map<String, Type> types) {
+    Message message = proto.getMessage(shortMessageName);
+    if (message == null) {
+      throw new IllegalStateException("can not find proto message to create serializer, name=" + shortMessageName);
+    }
+
+    return serializerSchemaManager.createRootSerializer(message, types);
+  }
+
   public synchronized <T> RootDeserializer<T> createRootDeserializer(String shortMessageName, Type type) {
     Message message = proto.getMessage(shortMessageName);
     if (message == null) {
@@ -123,6 +136,20 @@ public class ProtoMapper {
     return deserializerSchemaManager.createRootDeserializer(message, type);
   }
 
+  /**
+   * deserialize to a map, value of each field is deserialized to the type in types
+   * @param types key is field name
+   */
+  public synchronized RootDeserializer<Map<String, Object>> createRootDeserializer(String shortMessageName,
+      Map<String, Type> types) {
+    Message message = proto.getMessage(shortMessageName);
+    if (message == null) {
+      throw new IllegalStateException("can not find proto message to create deserializer, name=" + shortMessageName);
+    }
+
+    return deserializerSchemaManager.createRootDeserializer(message, types);
+  }
+
   public synchronized <T> RootDeserializer<T> createPropertyRootDeserializer(String shortMessageName,
       Type propertyType) {
     Message message = proto.getMessage(shortMessageName);
@@ -37,9 +37,12 @@ public class RootDeserializer<T> {
     this.schema = schema;
   }
 
-  @SuppressWarnings("unchecked")
   public T deserialize(byte[] bytes) throws IOException {
-    InputEx input = new ByteArrayInputEx(bytes);
+    return deserialize(bytes, 0, bytes.length);
+  }
+
+  public T deserialize(byte[] bytes, int offset, int length) throws IOException {
+    InputEx input = new ByteArrayInputEx(bytes, offset, length);
     T instance = schema.newMessage();
     schema.mergeFrom(input, instance);
     return instance;
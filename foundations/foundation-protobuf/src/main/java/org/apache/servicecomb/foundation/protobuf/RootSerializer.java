@@ -37,6 +37,15 @@ public class RootSerializer {
     return output.toByteArray();
   }
 
+  /**
+   * caller can get size from output before write it to the target
+   */
+  public void serialize(ProtobufOutputEx output, Object value) throws IOException {
+    if (value != null) {
+      schema.writeTo(output, value);
+    }
+  }
+
   public void serialize(OutputStream outputStream, Object value) throws IOException {
     ProtobufOutputEx output = new ProtobufOutputEx();
     if (value != null) {
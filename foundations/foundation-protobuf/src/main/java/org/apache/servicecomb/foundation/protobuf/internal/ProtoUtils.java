@@ -36,6 +36,10 @@ public final class ProtoUtils {
     return fieldContainer.getCommentLines().contains(ProtoConst.ANNOTATION_WRAP_PROPERTY);
   }
 
+  public static boolean isWrapArguments(FieldContainer fieldContainer) {
+    return fieldContainer.getCommentLines().contains(ProtoConst.ANNOTATION_WRAP_ARGUMENTS);
+  }
+
   /**
    * all supported type, default to packed
    * @param protoField
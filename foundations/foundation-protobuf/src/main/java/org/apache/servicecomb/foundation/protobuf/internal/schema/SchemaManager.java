@@ -19,6 +19,7 @@ package org.apache.servicecomb.foundation.protobuf.internal.schema;
 import static org.apache.servicecomb.foundation.protobuf.internal.ProtoUtils.isAnyField;
 import static org.apache.servicecomb.foundation.protobuf.internal.ProtoUtils.isWrapProperty;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,7 @@ import org.apache.servicecomb.foundation.protobuf.internal.schema.map.MapSchema;
 
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.ClassUtil;
 
 import io.protostuff.SchemaEx;
 import io.protostuff.compiler.model.Field;
@@ -136,6 +138,33 @@ public abstract class SchemaManager {
     return FieldMapEx.createFieldMap(fieldSchemas);
   }
 
+  /**
+   * normal message read to a map, but value of each field is typed<br>
+   * eg: read arguments of an operation to a map, key is parameter name, value is parameter type<br>
+   * field not exists in types will be treated as Object
+   */
+  public FieldMapEx<Map<Object, Object>> createMapFields(Message message, Map<String, Type> types) {
+    List<FieldSchema<Map<Object, Object>>> fieldSchemas = new ArrayList<>();
+    for (Field protoField : message.getFields()) {
+      Type type = types.get(protoField.getName());
+      JavaType javaType = type == null ? ProtoConst.OBJECT_TYPE : TypeFactory.defaultInstance().constructType(type);
+      if (javaType.isPrimitive()) {
+        // map values are always boxed
+        javaType = TypeFactory.defaultInstance().constructType(ClassUtil.wrapperType(javaType.getRawClass()));
+      }
+
+      PropertyDescriptor propertyDescriptor = new PropertyDescriptor();
+      propertyDescriptor.setJavaType(javaType);
+      propertyDescriptor.setGetter(new MapGetter<>(protoField.getName()));
+      propertyDescriptor.setSetter(new MapSetter<>(protoField.getName()));
+
+      FieldSchema<Map<Object, Object>> fieldSchema = createSchemaField(protoField, propertyDescriptor);
+      fieldSchemas.add(fieldSchema);
+    }
+
+    return FieldMapEx.createFieldMap(fieldSchemas);
+  }
+
   public <T> FieldSchema<T> createSchemaField(Field protoField, PropertyDescriptor propertyDescriptor) {
     // map is a special repeated
     if (protoField.isMap()) {
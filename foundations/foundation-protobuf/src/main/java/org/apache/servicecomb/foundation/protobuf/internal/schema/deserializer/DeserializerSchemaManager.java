@@ -19,6 +19,7 @@ package org.apache.servicecomb.foundation.protobuf.internal.schema.deserializer;
 import static org.apache.servicecomb.foundation.protobuf.internal.ProtoUtils.isWrapProperty;
 
 import java.lang.reflect.Type;
+import java.util.Map;
 
 import org.apache.servicecomb.foundation.protobuf.ProtoMapper;
 import org.apache.servicecomb.foundation.protobuf.RootDeserializer;
@@ -98,6 +99,15 @@ public class DeserializerSchemaManager extends SchemaManager {
     return new RootDeserializer<>(messageSchema);
   }
 
+  /**
+   * not cached, the caller should hold the result
+   */
+  public RootDeserializer<Map<String, Object>> createRootDeserializer(Message message, Map<String, Type> types) {
+    MessageReadSchema<Map<String, Object>> messageSchema = new MessageReadSchema<>(protoMapper, message, types);
+    messageSchema.init();
+    return new RootDeserializer<>(messageSchema);
+  }
+
   @Override
   protected <T> SchemaEx<T> newMessageSchema(Message message, JavaType javaType) {
     if (ProtoUtils.isWrapProperty(message) && javaType.getRawClass() != PropertyWrapper.class) {
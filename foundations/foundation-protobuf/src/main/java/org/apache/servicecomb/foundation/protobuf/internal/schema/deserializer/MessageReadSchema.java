@@ -18,6 +18,7 @@
 package org.apache.servicecomb.foundation.protobuf.internal.schema.deserializer;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +62,17 @@ public class MessageReadSchema<T> implements SchemaEx<T> {
 
   private JavaType javaType;
 
+  // not null when read to a map with typed values, key is field name
+  private Map<String, Type> types;
+
+  /**
+   * read to a map, and value of each field is deserialized to the specified type
+   */
+  public MessageReadSchema(ProtoMapper protoMapper, Message message, Map<String, Type> types) {
+    this(protoMapper, message, ProtoConst.MAP_TYPE);
+    this.types = types;
+  }
+
   @SuppressWarnings("unchecked")
   public MessageReadSchema(ProtoMapper protoMapper, Message message, JavaType javaType) {
     this.protoMapper = protoMapper;
@@ -93,6 +105,12 @@ public class MessageReadSchema<T> implements SchemaEx<T> {
   @SuppressWarnings("unchecked")
   @Override
   public void init() {
+    if (types != null) {
+      this.fieldMap = (FieldMapEx<T>) protoMapper.getDeserializerSchemaManager()
+          .createMapFields(message, types);
+      return;
+    }
+
     if (Map.class.isAssignableFrom(javaType.getRawClass())) {
       this.fieldMap = (FieldMapEx<T>) protoMapper.getDeserializerSchemaManager()
           .createMapFields(message);
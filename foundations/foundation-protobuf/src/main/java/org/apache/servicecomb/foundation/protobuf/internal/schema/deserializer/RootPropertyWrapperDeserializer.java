@@ -30,8 +30,8 @@ public class RootPropertyWrapperDeserializer<T> extends RootDeserializer<T> {
   }
 
   @Override
-  public T deserialize(byte[] bytes) throws IOException {
-    PropertyWrapper<T> propertyWrapper = deserializer.deserialize(bytes);
+  public T deserialize(byte[] bytes, int offset, int length) throws IOException {
+    PropertyWrapper<T> propertyWrapper = deserializer.deserialize(bytes, offset, length);
     return propertyWrapper.getValue();
   }
 }
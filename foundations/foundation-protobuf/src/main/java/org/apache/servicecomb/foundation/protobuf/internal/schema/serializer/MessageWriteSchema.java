@@ -27,6 +27,7 @@ import java.util.Map.Entry;
 
 import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
 import org.apache.servicecomb.foundation.protobuf.ProtoMapper;
+import org.apache.servicecomb.foundation.protobuf.internal.ProtoConst;
 import org.apache.servicecomb.foundation.protobuf.internal.ProtoUtils;
 import org.apache.servicecomb.foundation.protobuf.internal.bean.BeanDescriptor;
 import org.apache.servicecomb.foundation.protobuf.internal.bean.PropertyDescriptor;
@@ -65,6 +66,17 @@ public class MessageWriteSchema<T> implements SchemaEx<T> {
   // if not equals to mainPojoCls, then will find from pojoFieldMaps
   private final Map<Class<?>, FieldMapEx<?>> pojoFieldMaps = new ConcurrentHashMapEx<>();
 
+  // not null when write from a map with typed values, key is field name
+  private Map<String, Type> types;
+
+  /**
+   * write from a map, and value of each field is serialized as the specified type
+   */
+  public MessageWriteSchema(ProtoMapper protoMapper, Message message, Map<String, Type> types) {
+    this(protoMapper, message, ProtoConst.MAP_TYPE);
+    this.types = types;
+  }
+
   @SuppressWarnings("unchecked")
   public MessageWriteSchema(ProtoMapper protoMapper, Message message, JavaType javaType) {
     this.protoMapper = protoMapper;
@@ -101,6 +113,11 @@ public class MessageWriteSchema<T> implements SchemaEx<T> {
 
   @Override
   public void init() {
+    if (types != null) {
+      this.mapFieldMaps = protoMapper.getSerializerSchemaManager().createMapFields(message, types);
+      return;
+    }
+
     if (ProtoUtils.isWrapProperty(message)) {
       this.mainPojoFieldMaps = createPropertyWrapperFields(javaType);
       return;
@@ -19,6 +19,7 @@ package org.apache.servicecomb.foundation.protobuf.internal.schema.serializer;
 import static org.apache.servicecomb.foundation.protobuf.internal.ProtoUtils.isWrapProperty;
 
 import java.lang.reflect.Type;
+import java.util.Map;
 
 import org.apache.servicecomb.foundation.protobuf.ProtoMapper;
 import org.apache.servicecomb.foundation.protobuf.RootSerializer;
@@ -102,6 +103,15 @@ public class SerializerSchemaManager extends SchemaManager {
     return new RootSerializer(messageSchema);
   }
 
+  /**
+   * not cached, the caller should hold the result
+   */
+  public RootSerializer createRootSerializer(Message message, Map<String, Type> types) {
+    MessageWriteSchema<Object> messageSchema = new MessageWriteSchema<>(protoMapper, message, types);
+    messageSchema.init();
+    return new RootSerializer(messageSchema);
+  }
+
   @Override
   protected <T> SchemaEx<T> newMessageSchema(Message message, JavaType javaType) {
     return new MessageWriteSchema<>(protoMapper, message, javaType);
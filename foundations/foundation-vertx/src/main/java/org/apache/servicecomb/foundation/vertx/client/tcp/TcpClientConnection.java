@@ -130,8 +130,9 @@ public class TcpClientConnection extends TcpConnection {
     // just optimize for main scenes
     if (Status.WORKING.equals(status)) {
       // encode in sender thread
+      // the buffer will be released by the connection after write completed
       try (TcpOutputStream os = tcpClientPackage.createStream()) {
-        write(os.getByteBuf());
+        write(os.transferByteBuf());
         tcpClientPackage.finishWriteToBuffer();
       }
       return true;
@@ -155,8 +156,7 @@ public class TcpClientConnection extends TcpConnection {
       }
 
       try (TcpOutputStream os = pkg.createStream()) {
-        Buffer buf = os.getBuffer();
-        netSocket.write(buf);
+        writeToSocket(os.transferByteBuf());
         pkg.finishWriteToBuffer();
       }
     }
@@ -237,7 +237,7 @@ public class TcpClientConnection extends TcpConnection {
     try (TcpOutputStream os = createLogin()) {
       requestMap.put(os.getMsgId(),
           new TcpRequest(clientConfig.getMsLoginTimeout(), this::onLoginResponse));
-      netSocket.write(os.getBuffer());
+      writeToSocket(os.transferByteBuf());
     }
   }
 
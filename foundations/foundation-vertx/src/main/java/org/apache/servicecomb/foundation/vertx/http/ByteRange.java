@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.foundation.vertx.http;
+
+/**
+ * single byte range of http Range header, see https://tools.ietf.org/html/rfc7233
+ * <p>
+ * multiple ranges are not supported, and treated as no range, the whole content will be sent,
+ * this is allowed by rfc7233.
+ * </p>
+ */
+public final class ByteRange {
+  private static final String BYTES_UNIT = "bytes=";
+
+  // start is beyond the content
+  public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+  private final long start;
+
+  // inclusive
+  private final long end;
+
+  private ByteRange(long start, long end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  public long getStart() {
+    return start;
+  }
+
+  public long getEnd() {
+    return end;
+  }
+
+  public long getLength() {
+    return end - start + 1;
+  }
+
+  public String toContentRange(long total) {
+    if (this == UNSATISFIABLE) {
+      return "bytes */" + total;
+    }
+    return "bytes " + start + "-" + end + "/" + total;
+  }
+
+  /**
+   * @return null if no range or range is not supported, means send the whole content
+   */
+  public static ByteRange parse(String range, long total) {
+    if (range == null || !range.startsWith(BYTES_UNIT) || range.indexOf(',') >= 0) {
+      return null;
+    }
+
+    String spec = range.substring(BYTES_UNIT.length()).trim();
+    int dashIdx = spec.indexOf('-');
+    if (dashIdx < 0) {
+      return null;
+    }
+
+    try {
+      if (dashIdx == 0) {
+        // suffix range: last N bytes
+        long suffixLength = Long.parseLong(spec.substring(1).trim());
+        if (suffixLength <= 0) {
+          return UNSATISFIABLE;
+        }
+        return total == 0 ? UNSATISFIABLE : new ByteRange(Math.max(0, total - suffixLength), total - 1);
+      }
+
+      long start = Long.parseLong(spec.substring(0, dashIdx).trim());
+      String strEnd = spec.substring(dashIdx + 1).trim();
+      long end = strEnd.isEmpty() ? total - 1 : Math.min(Long.parseLong(strEnd), total - 1);
+      if (start >= total) {
+        return UNSATISFIABLE;
+      }
+      if (end < start) {
+        return null;
+      }
+      return new ByteRange(start, end);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -16,14 +16,19 @@
  */
 package org.apache.servicecomb.foundation.vertx.http;
 
+import java.io.File;
 import java.io.IOException;
 
 import javax.servlet.http.Part;
 
 import org.apache.servicecomb.foundation.common.http.HttpUtils;
 import org.apache.servicecomb.foundation.common.part.FilePartForSend;
+import org.apache.servicecomb.foundation.common.part.ResourcePart;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ResourceUtils;
 
 import io.vertx.core.http.HttpHeaders;
 
@@ -63,4 +68,30 @@ public final class DownloadUtils {
       }
     }
   }
+
+  /**
+   * @return null if the part is not backed by a readable local file, then can only be sent as stream
+   */
+  public static File findLocalFile(Part part) {
+    File file = null;
+    if (FilePartForSend.class.isInstance(part)) {
+      file = new File(((FilePartForSend) part).getAbsolutePath());
+    } else if (ResourcePart.class.isInstance(part)) {
+      file = findLocalFile(((ResourcePart) part).getResource());
+    }
+
+    return file != null && file.isFile() && file.canRead() ? file : null;
+  }
+
+  private static File findLocalFile(Resource resource) {
+    try {
+      if (resource instanceof FileSystemResource || ResourceUtils.isFileURL(resource.getURL())) {
+        return resource.getFile();
+      }
+    } catch (IOException e) {
+      // not a file resource, eg: ByteArrayResource
+      LOGGER.debug("resource {} is not a local file.", resource.getDescription());
+    }
+    return null;
+  }
 }
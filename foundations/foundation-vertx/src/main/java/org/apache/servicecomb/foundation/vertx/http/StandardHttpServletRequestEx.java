@@ -52,6 +52,9 @@ public class StandardHttpServletRequestEx extends HttpServletRequestWrapper impl
 
   private ServletInputStream inputStream;
 
+  // body already read by servlet non-blocking io, container will not parse form of post request any more
+  private boolean bodyPreloaded;
+
   // by servlet specification
   // only parse application/x-www-form-urlencoded of post request automatically
   // we will parse this even not post method
@@ -65,6 +68,21 @@ public class StandardHttpServletRequestEx extends HttpServletRequestWrapper impl
     this.cacheRequest = cacheRequest;
   }
 
+  /**
+   * body is read by servlet non-blocking io before invocation,
+   * getInputStream and form parameters are served from it.
+   */
+  public void setPreloadedBody(Buffer body) {
+    ByteBuf byteBuf = body.getByteBuf();
+    this.inputStream = new BufferInputStream(byteBuf);
+    setBodyBuffer(Buffer.buffer(Unpooled.wrappedBuffer(byteBuf)));
+    this.bodyPreloaded = true;
+  }
+
+  public boolean isBodyPreloaded() {
+    return bodyPreloaded;
+  }
+
   @Override
   public ServletInputStream getInputStream() throws IOException {
     if (this.inputStream == null) {
@@ -101,9 +119,9 @@ public class StandardHttpServletRequestEx extends HttpServletRequestWrapper impl
   }
 
   private Map<String, String[]> parseParameterMap() {
-    // 1.post method already parsed by servlet
+    // 1.post method already parsed by servlet, except that body is preloaded
     // 2.not APPLICATION_FORM_URLENCODED, no need to enhance
-    if (getMethod().equalsIgnoreCase(HttpMethod.POST)
+    if ((getMethod().equalsIgnoreCase(HttpMethod.POST) && !bodyPreloaded)
         || !StringUtils.startsWithIgnoreCase(getContentType(), MediaType.APPLICATION_FORM_URLENCODED)) {
       return super.getParameterMap();
     }
@@ -130,21 +148,29 @@ public class StandardHttpServletRequestEx extends HttpServletRequestWrapper impl
   }
 
   private Map<String, List<String>> parseUrlEncodedBody() {
+    if (bodyPreloaded) {
+      // not read by the stream, close it will release the body
+      return parseUrlEncodedBody(getBodyBuffer().toString());
+    }
+
     try (InputStream inputStream = getInputStream()) {
-      Map<String, List<String>> listMap = new HashMap<>();
-      String body = IOUtils.toString(inputStream);
-      List<NameValuePair> pairs = URLEncodedUtils
-          .parse(body, getCharacterEncoding() == null ? null : Charset.forName(getCharacterEncoding()));
-      for (NameValuePair pair : pairs) {
-        List<String> values = listMap.computeIfAbsent(pair.getName(), k -> new ArrayList<>());
-        values.add(pair.getValue());
-      }
-      return listMap;
+      return parseUrlEncodedBody(IOUtils.toString(inputStream));
     } catch (IOException e) {
       throw new IllegalStateException("", e);
     }
   }
 
+  private Map<String, List<String>> parseUrlEncodedBody(String body) {
+    Map<String, List<String>> listMap = new HashMap<>();
+    List<NameValuePair> pairs = URLEncodedUtils
+        .parse(body, getCharacterEncoding() == null ? null : Charset.forName(getCharacterEncoding()));
+    for (NameValuePair pair : pairs) {
+      List<String> values = listMap.computeIfAbsent(pair.getName(), k -> new ArrayList<>());
+      values.add(pair.getValue());
+    }
+    return listMap;
+  }
+
   @Override
   public String[] getParameterValues(String name) {
     return getParameterMap().get(name);
@@ -17,12 +17,14 @@
 
 package org.apache.servicecomb.foundation.vertx.http;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 import javax.servlet.http.Part;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.Response.StatusType;
 
 import org.apache.servicecomb.foundation.common.http.HttpStatus;
@@ -30,13 +32,23 @@ import org.apache.servicecomb.foundation.vertx.stream.PumpFromPart;
 
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 
 public class VertxServerResponseToHttpServletResponse extends AbstractHttpServletResponse {
+  private static final String ACCEPT_RANGES = "Accept-Ranges";
+
+  private static final String CONTENT_RANGE = "Content-Range";
+
+  private static final String RANGE = "Range";
+
   private Context context;
 
   private HttpServerResponse serverResponse;
 
+  // used to support range request of file download, can be null
+  private HttpServerRequest serverRequest;
+
   private StatusType statusType;
 
   public VertxServerResponseToHttpServletResponse(HttpServerResponse serverResponse) {
@@ -46,6 +58,11 @@ public class VertxServerResponseToHttpServletResponse extends AbstractHttpServle
     Objects.requireNonNull(context, "must run in vertx context.");
   }
 
+  public VertxServerResponseToHttpServletResponse(HttpServerRequest serverRequest) {
+    this(serverRequest.response());
+    this.serverRequest = serverRequest;
+  }
+
   @Override
   public void setContentType(String type) {
     serverResponse.headers().set(HttpHeaders.CONTENT_TYPE, type);
@@ -114,6 +131,11 @@ public class VertxServerResponseToHttpServletResponse extends AbstractHttpServle
   }
 
   public void internalFlushBuffer() {
+    // file is sent by sendFile, response already ended
+    if (serverResponse.ended()) {
+      return;
+    }
+
     if (bodyBuffer == null) {
       serverResponse.end();
       return;
@@ -124,11 +146,76 @@ public class VertxServerResponseToHttpServletResponse extends AbstractHttpServle
 
   @Override
   public CompletableFuture<Void> sendPart(Part part) {
+    File file = DownloadUtils.findLocalFile(part);
+    if (file != null) {
+      return sendFile(part, file);
+    }
+
     DownloadUtils.prepareDownloadHeader(this, part);
 
     return new PumpFromPart(context, part).toWriteStream(serverResponse);
   }
 
+  /**
+   * send by kernel sendfile, file data will not be read into heap, and no worker thread is used
+   */
+  protected CompletableFuture<Void> sendFile(Part part, File file) {
+    long total = file.length();
+    ByteRange range = null;
+    if (serverRequest != null && serverResponse.getStatusCode() == Status.OK.getStatusCode()) {
+      range = ByteRange.parse(serverRequest.getHeader(RANGE), total);
+    }
+
+    serverResponse.putHeader(ACCEPT_RANGES, "bytes");
+    if (range == ByteRange.UNSATISFIABLE) {
+      updateStatus(Status.REQUESTED_RANGE_NOT_SATISFIABLE);
+      serverResponse.putHeader(CONTENT_RANGE, range.toContentRange(total));
+      serverResponse.putHeader(HttpHeaders.CONTENT_LENGTH, "0");
+      DownloadUtils.clearPartResource(part);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    long offset = 0;
+    long length = total;
+    if (range != null) {
+      updateStatus(Status.PARTIAL_CONTENT);
+      serverResponse.putHeader(CONTENT_RANGE, range.toContentRange(total));
+      offset = range.getStart();
+      length = range.getLength();
+    }
+    // content length is known, so not chunked
+    serverResponse.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(length));
+    DownloadUtils.prepareDownloadHeader(this, part);
+
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    long sendOffset = offset;
+    long sendLength = length;
+    runOnContext(() -> serverResponse.sendFile(file.getAbsolutePath(), sendOffset, sendLength, ar -> {
+      DownloadUtils.clearPartResource(part);
+      if (ar.failed()) {
+        future.completeExceptionally(ar.cause());
+        return;
+      }
+      future.complete(null);
+    }));
+    return future;
+  }
+
+  private void updateStatus(Status status) {
+    serverResponse.setStatusCode(status.getStatusCode());
+    serverResponse.setStatusMessage(status.getReasonPhrase());
+    statusType = null;
+  }
+
+  private void runOnContext(Runnable runnable) {
+    if (context == Vertx.currentContext()) {
+      runnable.run();
+      return;
+    }
+
+    context.runOnContext(v -> runnable.run());
+  }
+
   @Override
   public void setChunked(boolean chunked) {
     serverResponse.setChunked(chunked);
@@ -21,6 +21,7 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.vertx.core.buffer.Buffer;
 
 /**
@@ -36,22 +37,18 @@ public class BufferOutputStream extends OutputStream {
   private boolean needReleaseBuffer;
 
   public BufferOutputStream() {
-    // TODO:默认大小加配置项
-    // TODO:如何与pool配合起来，vertx中默认都是unpool的，我们的阻塞模式下，申请与释放也不在一个线程，估计更用不上？
-    //        后续通道没问题了，再来验证这个问题
-    //        this(PooledByteBufAllocator.DEFAULT.directBuffer());
-
-    //        this(PooledByteBufAllocator.DEFAULT.directBuffer(DIRECT_BUFFER_SIZE));
-
-    //        this(UnpooledByteBufAllocator.DEFAULT.directBuffer(DIRECT_BUFFER_SIZE));
-    //        needReleaseBuffer = false;
-
-    //                this(UnpooledByteBufAllocator.DEFAULT.heapBuffer(DIRECT_BUFFER_SIZE));
-
     this(Buffer.buffer(DIRECT_BUFFER_SIZE).getByteBuf());
     needReleaseBuffer = false;
   }
 
+  /**
+   * allocate a direct buffer from the allocator, usually PooledByteBufAllocator<br>
+   * the buffer must be released, so must call {@link #close()} or {@link #transferByteBuf()}
+   */
+  public BufferOutputStream(ByteBufAllocator allocator, int initialCapacity) {
+    this(allocator.directBuffer(initialCapacity));
+    needReleaseBuffer = true;
+  }
 
   public BufferOutputStream(ByteBuf buffer) {
     this.byteBuf = buffer;
@@ -65,6 +62,15 @@ public class BufferOutputStream extends OutputStream {
     return Buffer.buffer(byteBuf);
   }
 
+  /**
+   * transfer ownership of the buffer to the caller, {@link #close()} will not release it any more<br>
+   * usually the buffer will be written to netty, and netty will release it after write completed
+   */
+  public ByteBuf transferByteBuf() {
+    needReleaseBuffer = false;
+    return byteBuf;
+  }
+
   public int length() {
     return byteBuf.readableBytes();
   }
@@ -116,6 +122,7 @@ public class BufferOutputStream extends OutputStream {
   @Override
   public void close() {
     if (needReleaseBuffer && byteBuf != null) {
+      needReleaseBuffer = false;
       byteBuf.release();
     }
   }
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.foundation.vertx.stream;
+
+/**
+ * learn initial capacity of buffers from sizes of previous messages, usually one instance for one operation<br>
+ * grow to a bigger size immediately, but shrink slowly, to avoid resize and copy when writing later messages<br>
+ * not strictly thread safe, lost updates between threads do not matter for a hint
+ */
+public class BufferSizeHint {
+  public static final int MIN_SIZE = 256;
+
+  public static final int DEFAULT_SIZE = 1024;
+
+  // bigger messages are rare, not worth to hold so much memory for every message
+  public static final int MAX_SIZE = 4 * 1024 * 1024;
+
+  // shrink 1/8 of the difference every time
+  private static final int SHRINK_SHIFT = 3;
+
+  private volatile int size = DEFAULT_SIZE;
+
+  public int getSizeHint() {
+    // reserve some space for changeable parts, eg: invocation context
+    int hint = size + (size >> 4);
+    return Math.min(hint, MAX_SIZE);
+  }
+
+  public void record(int messageSize) {
+    int current = size;
+    if (messageSize >= current) {
+      size = Math.min(messageSize, MAX_SIZE);
+      return;
+    }
+
+    size = Math.max(current - ((current - messageSize) >> SHRINK_SHIFT), MIN_SIZE);
+  }
+}
@@ -56,6 +56,9 @@ public class InputStreamToReadStream implements ReadStream<Buffer> {
 
   private boolean autoCloseInputStream;
 
+  // read buffer which is not handed over to data handler, can be reused by next read
+  private byte[] reusableReadBuffer;
+
   public InputStreamToReadStream(Context context, InputStream inputStream,
       boolean autoCloseInputStream) {
     this.context = context;
@@ -99,13 +102,20 @@ public class InputStreamToReadStream implements ReadStream<Buffer> {
   class ReadResult {
     int readed;
 
-    byte[] bytes = new byte[readBufferSize];
+    byte[] bytes;
 
     void doRead() throws IOException {
+      bytes = reusableReadBuffer != null ? reusableReadBuffer : new byte[readBufferSize];
+      reusableReadBuffer = null;
       readed = inputStream.read(bytes);
     }
 
     Buffer toBuffer() {
+      // short read, eg: socket or decompress stream, do not hold the whole read buffer until written
+      if (readed < bytes.length / 2) {
+        reusableReadBuffer = bytes;
+        return Buffer.buffer(Unpooled.copiedBuffer(bytes, 0, readed));
+      }
       return Buffer.buffer(Unpooled.wrappedBuffer(bytes).writerIndex(readed));
     }
   }
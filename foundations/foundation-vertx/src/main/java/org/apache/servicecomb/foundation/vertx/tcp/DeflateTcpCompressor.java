@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.vertx.tcp;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * deflate of jdk, compress ratio is better than snappy, but cost more cpu
+ */
+public class DeflateTcpCompressor implements TcpCompressor {
+  public static final String NAME = "deflate";
+
+  private static final int CHUNK_SIZE = 4096;
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public void compress(ByteBuf input, ByteBuf output) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      setInput(deflater, input);
+      deflater.finish();
+
+      byte[] chunk = new byte[CHUNK_SIZE];
+      while (!deflater.finished()) {
+        int len = deflater.deflate(chunk);
+        output.writeBytes(chunk, 0, len);
+      }
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private void setInput(Deflater deflater, ByteBuf input) {
+    if (input.hasArray()) {
+      deflater.setInput(input.array(), input.arrayOffset() + input.readerIndex(), input.readableBytes());
+    } else {
+      byte[] bytes = new byte[input.readableBytes()];
+      input.getBytes(input.readerIndex(), bytes);
+      deflater.setInput(bytes);
+    }
+    input.skipBytes(input.readableBytes());
+  }
+
+  @Override
+  public void decompress(ByteBuf input, ByteBuf output) throws IOException {
+    Inflater inflater = new Inflater();
+    try {
+      if (input.hasArray()) {
+        inflater.setInput(input.array(), input.arrayOffset() + input.readerIndex(), input.readableBytes());
+      } else {
+        byte[] bytes = new byte[input.readableBytes()];
+        input.getBytes(input.readerIndex(), bytes);
+        inflater.setInput(bytes);
+      }
+      input.skipBytes(input.readableBytes());
+
+      byte[] chunk = new byte[CHUNK_SIZE];
+      while (!inflater.finished()) {
+        int len = inflater.inflate(chunk);
+        if (len == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IOException("incomplete deflate data.");
+        }
+        output.writeBytes(chunk, 0, len);
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("invalid deflate data.", e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
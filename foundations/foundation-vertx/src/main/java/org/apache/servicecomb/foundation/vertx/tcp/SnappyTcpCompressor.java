@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.vertx.tcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.compression.Snappy;
+
+/**
+ * snappy block format, implemented by netty, no native library required
+ */
+public class SnappyTcpCompressor implements TcpCompressor {
+  public static final String NAME = "snappy";
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public void compress(ByteBuf input, ByteBuf output) {
+    // Snappy holds decode state, so not share it between threads
+    new Snappy().encode(input, output, input.readableBytes());
+  }
+
+  @Override
+  public void decompress(ByteBuf input, ByteBuf output) {
+    new Snappy().decode(input, output);
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.vertx.tcp;
+
+import java.io.IOException;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * compress algorithm negotiated by tcp login, name of it is saved in {@link TcpConnection#getZipName()}
+ */
+public interface TcpCompressor {
+  String getName();
+
+  /**
+   * compress all readable bytes of input, and append the result to output
+   */
+  void compress(ByteBuf input, ByteBuf output) throws IOException;
+
+  /**
+   * decompress all readable bytes of input, and append the result to output<br>
+   * caller already make sure that output is able to hold the whole result
+   */
+  void decompress(ByteBuf input, ByteBuf output) throws IOException;
+}
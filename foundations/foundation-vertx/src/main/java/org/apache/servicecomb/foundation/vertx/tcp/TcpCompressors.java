@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.vertx.tcp;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * all supported compress algorithms
+ */
+public final class TcpCompressors {
+  private static final Map<String, TcpCompressor> COMPRESSORS = new LinkedHashMap<>();
+
+  static {
+    register(new SnappyTcpCompressor());
+    register(new DeflateTcpCompressor());
+  }
+
+  private TcpCompressors() {
+  }
+
+  private static void register(TcpCompressor compressor) {
+    COMPRESSORS.put(compressor.getName(), compressor);
+  }
+
+  /**
+   * @return null if name is null or not supported
+   */
+  public static TcpCompressor findCompressor(String name) {
+    if (name == null) {
+      return null;
+    }
+    return COMPRESSORS.get(name);
+  }
+
+  /**
+   * @param candidates names separated by ",", ordered by the preference of the client
+   * @return the first supported name, null if none of them supported
+   */
+  public static String negotiate(String candidates) {
+    if (StringUtils.isEmpty(candidates)) {
+      return null;
+    }
+
+    for (String name : candidates.split(",")) {
+      TcpCompressor compressor = findCompressor(name.trim());
+      if (compressor != null) {
+        return compressor.getName();
+      }
+    }
+    return null;
+  }
+}
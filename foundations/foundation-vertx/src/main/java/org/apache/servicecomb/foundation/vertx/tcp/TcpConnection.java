@@ -26,6 +26,7 @@ import io.netty.buffer.CompositeByteBuf;
 import io.vertx.core.Context;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.impl.ConnectionBase;
 import io.vertx.core.net.impl.NetSocketImpl;
 import io.vertx.core.net.impl.VertxHelper;
 
@@ -35,6 +36,9 @@ public class TcpConnection {
   // 压缩算法名字
   protected String zipName;
 
+  // null means not compress
+  protected TcpCompressor compressor;
+
   protected NetSocket netSocket;
 
   // context of netSocket
@@ -68,6 +72,11 @@ public class TcpConnection {
 
   public void setZipName(String zipName) {
     this.zipName = zipName;
+    this.compressor = TcpCompressors.findCompressor(zipName);
+  }
+
+  public TcpCompressor getCompressor() {
+    return compressor;
   }
 
   public void setContext(Context context) {
@@ -111,12 +120,29 @@ public class TcpConnection {
       cbb.addComponent(true, buf);
 
       if (cbb.numComponents() == cbb.maxNumComponents()) {
-        netSocket.write(Buffer.buffer(cbb));
+        writeToSocket(cbb);
         cbb = ByteBufAllocator.DEFAULT.compositeBuffer();
       }
     }
     if (cbb.isReadable()) {
-      netSocket.write(Buffer.buffer(cbb));
+      writeToSocket(cbb);
+      return;
+    }
+
+    // nothing to write, but maybe still hold empty components
+    cbb.release();
+  }
+
+  /**
+   * must be invoked in context thread<br>
+   * ownership of buf is transferred to this method, buf will be released after write completed or failed<br>
+   * vertx Buffer wrap buf as an unreleasable buffer, so netty will not release it, must release it by ourselves
+   */
+  protected void writeToSocket(ByteBuf buf) {
+    if (netSocket instanceof ConnectionBase) {
+      // write with completion handler not report metrics in vertx
+      ((ConnectionBase) netSocket).reportBytesWritten(buf.readableBytes());
     }
+    netSocket.write(Buffer.buffer(buf), ar -> buf.release());
   }
 }
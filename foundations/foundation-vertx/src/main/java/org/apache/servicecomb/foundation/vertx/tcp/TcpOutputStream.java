@@ -20,6 +20,8 @@ package org.apache.servicecomb.foundation.vertx.tcp;
 import org.apache.servicecomb.foundation.vertx.server.TcpParser;
 import org.apache.servicecomb.foundation.vertx.stream.BufferOutputStream;
 
+import io.netty.buffer.ByteBufAllocator;
+
 /**
  * TcpOutputStream
  *
@@ -31,6 +33,16 @@ public class TcpOutputStream extends BufferOutputStream {
   public TcpOutputStream(long msgId) {
     super();
 
+    init(msgId);
+  }
+
+  public TcpOutputStream(long msgId, ByteBufAllocator allocator, int initialCapacity) {
+    super(allocator, initialCapacity);
+
+    init(msgId);
+  }
+
+  private void init(long msgId) {
     this.msgId = msgId;
     write(TcpParser.TCP_MAGIC);
     writeLong(msgId);
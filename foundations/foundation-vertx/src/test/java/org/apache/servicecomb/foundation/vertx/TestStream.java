@@ -23,6 +23,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.vertx.core.buffer.Buffer;
 
 public class TestStream {
@@ -54,4 +55,33 @@ public class TestStream {
     oBufferOutputStream.write(true);
     Assert.assertEquals(true, (1 < oBufferOutputStream.length()));
   }
+
+  @Test
+  public void testPooledBufferOutputStream_close() {
+    BufferOutputStream output = new BufferOutputStream(PooledByteBufAllocator.DEFAULT, 16);
+    ByteBuf byteBuf = output.getByteBuf();
+    output.writeString("test");
+
+    Assert.assertTrue(byteBuf.isDirect());
+    Assert.assertEquals(1, byteBuf.refCnt());
+
+    output.close();
+    Assert.assertEquals(0, byteBuf.refCnt());
+
+    // close again will not release again
+    output.close();
+  }
+
+  @Test
+  public void testPooledBufferOutputStream_transfer() {
+    ByteBuf byteBuf;
+    try (BufferOutputStream output = new BufferOutputStream(PooledByteBufAllocator.DEFAULT, 16)) {
+      output.writeString("test");
+      byteBuf = output.transferByteBuf();
+    }
+
+    Assert.assertEquals(1, byteBuf.refCnt());
+    Assert.assertEquals(8, byteBuf.readableBytes());
+    byteBuf.release();
+  }
 }
@@ -97,7 +97,7 @@ public class TestTcpClientConnection {
         result = msgId;
         tcpClientPackage.createStream();
         result = tcpOutputStream;
-        tcpOutputStream.getByteBuf();
+        tcpOutputStream.transferByteBuf();
         result = byteBuf;
       }
     };
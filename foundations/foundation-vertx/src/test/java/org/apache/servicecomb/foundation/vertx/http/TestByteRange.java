@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.foundation.vertx.http;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestByteRange {
+  private void checkRange(String header, long total, String expectContentRange) {
+    ByteRange range = ByteRange.parse(header, total);
+    Assert.assertEquals(expectContentRange, range == null ? null : range.toContentRange(total));
+  }
+
+  @Test
+  public void parseNormal() {
+    checkRange("bytes=0-9", 100, "bytes 0-9/100");
+    checkRange("bytes=90-", 100, "bytes 90-99/100");
+    checkRange("bytes=90-200", 100, "bytes 90-99/100");
+    checkRange("bytes=-10", 100, "bytes 90-99/100");
+    checkRange("bytes=-200", 100, "bytes 0-99/100");
+
+    Assert.assertEquals(10, ByteRange.parse("bytes=0-9", 100).getLength());
+  }
+
+  @Test
+  public void parseUnsatisfiable() {
+    Assert.assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=100-", 100));
+    Assert.assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 100));
+    Assert.assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-10", 0));
+    checkRange("bytes=100-", 100, "bytes */100");
+  }
+
+  @Test
+  public void parseIgnored() {
+    checkRange(null, 100, null);
+    checkRange("items=0-9", 100, null);
+    checkRange("bytes=0-9,20-29", 100, null);
+    checkRange("bytes=9-0", 100, null);
+    checkRange("bytes=a-b", 100, null);
+    checkRange("bytes=10", 100, null);
+  }
+}
@@ -134,6 +134,30 @@ public class TestStandardHttpServletRequestEx {
     Assert.assertEquals("v1-1", requestEx.getParameter("p1"));
   }
 
+  @Test
+  public void parameterMap_preloadedPost() throws IOException {
+    Map<String, String[]> inherited = new HashMap<>();
+    inherited.put("p1", new String[] {"v1-1"});
+
+    new Expectations() {
+      {
+        request.getParameterMap();
+        result = inherited;
+        request.getMethod();
+        result = HttpMethod.POST;
+        request.getContentType();
+        result = MediaType.APPLICATION_FORM_URLENCODED;
+      }
+    };
+    requestEx.setPreloadedBody(Buffer.buffer("p1=v1-2&p2=v2"));
+
+    Assert.assertTrue(requestEx.isBodyPreloaded());
+    Assert.assertThat(requestEx.getParameterValues("p1"), Matchers.arrayContaining("v1-1", "v1-2"));
+    Assert.assertEquals("v2", requestEx.getParameter("p2"));
+    Assert.assertEquals("p1=v1-2&p2=v2", requestEx.getBodyBuffer().toString());
+    Assert.assertEquals("p1=v1-2&p2=v2", IOUtils.toString(requestEx.getInputStream()));
+  }
+
   @Test
   public void setParameter() {
     Map<String, String[]> parameterMap = new HashMap<>();
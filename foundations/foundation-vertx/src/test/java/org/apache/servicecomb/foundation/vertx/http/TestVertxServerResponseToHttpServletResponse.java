@@ -31,6 +31,7 @@ import javax.ws.rs.core.Response.StatusType;
 import org.apache.commons.io.FileUtils;
 import org.apache.servicecomb.foundation.common.http.HttpStatus;
 import org.apache.servicecomb.foundation.common.part.FilePart;
+import org.apache.servicecomb.foundation.common.part.ResourcePart;
 import org.apache.servicecomb.foundation.vertx.stream.PumpFromPart;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
@@ -38,6 +39,8 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
@@ -46,6 +49,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.impl.SyncContext;
 import io.vertx.core.impl.VertxImpl;
@@ -80,6 +84,10 @@ public class TestVertxServerResponseToHttpServletResponse {
 
   boolean chunked;
 
+  String sentFile;
+
+  boolean ended;
+
   @Before
   public void setup() {
     serverResponse = new MockUp<HttpServerResponse>() {
@@ -136,6 +144,19 @@ public class TestVertxServerResponseToHttpServletResponse {
       boolean isChunked() {
         return chunked;
       }
+
+      @Mock
+      boolean ended() {
+        return ended;
+      }
+
+      @Mock
+      HttpServerResponse sendFile(String filename, long offset, long length,
+          Handler<AsyncResult<Void>> resultHandler) {
+        sentFile = filename + ":" + offset + ":" + length;
+        resultHandler.handle(Future.succeededFuture());
+        return serverResponse;
+      }
     }.getMockInstance();
 
     new Expectations(VertxImpl.class) {
@@ -287,6 +308,15 @@ public class TestVertxServerResponseToHttpServletResponse {
     Assert.assertFalse(flushWithBody);
   }
 
+  @Test
+  public void internalFlushBufferEnded() throws IOException {
+    ended = true;
+    flushWithBody = true;
+    response.internalFlushBuffer();
+
+    Assert.assertTrue(flushWithBody);
+  }
+
   @Test
   public void internalFlushBufferWithBody() throws IOException {
     response.setBodyBuffer(Buffer.buffer());
@@ -420,4 +450,76 @@ public class TestVertxServerResponseToHttpServletResponse {
 
     file.delete();
   }
+
+  private File createFile(String content) throws IOException {
+    File file = new File("target", UUID.randomUUID().toString() + ".txt");
+    FileUtils.write(file, content);
+    return file;
+  }
+
+  private void setRange(String range) {
+    HttpServerRequest serverRequest = new MockUp<HttpServerRequest>() {
+      @Mock
+      String getHeader(String name) {
+        return "Range".equals(name) ? range : null;
+      }
+    }.getMockInstance();
+    Deencapsulation.setField(response, "serverRequest", serverRequest);
+    Deencapsulation.setField(httpStatus, "statusCode", 200);
+  }
+
+  @Test
+  public void sendPart_file() throws Exception {
+    File file = createFile("0123456789");
+    FilePart part = new FilePart(null, file).setDeleteAfterFinished(true);
+
+    response.sendPart(part).get();
+
+    Assert.assertEquals(file.getAbsolutePath() + ":0:10", sentFile);
+    Assert.assertEquals("10", headers.get(HttpHeaders.CONTENT_LENGTH));
+    Assert.assertEquals("bytes", headers.get("Accept-Ranges"));
+    Assert.assertFalse(chunked);
+    Assert.assertFalse(file.exists());
+  }
+
+  @Test
+  public void sendPart_fileRange() throws Exception {
+    File file = createFile("0123456789");
+    FilePart part = new FilePart(null, file).setDeleteAfterFinished(true);
+    setRange("bytes=2-5");
+
+    response.sendPart(part).get();
+
+    Assert.assertEquals(206, response.getStatus());
+    Assert.assertEquals(file.getAbsolutePath() + ":2:4", sentFile);
+    Assert.assertEquals("4", headers.get(HttpHeaders.CONTENT_LENGTH));
+    Assert.assertEquals("bytes 2-5/10", headers.get("Content-Range"));
+  }
+
+  @Test
+  public void sendPart_fileRangeUnsatisfiable() throws Exception {
+    File file = createFile("0123456789");
+    FilePart part = new FilePart(null, file).setDeleteAfterFinished(true);
+    setRange("bytes=10-");
+
+    response.sendPart(part).get();
+
+    Assert.assertEquals(416, response.getStatus());
+    Assert.assertNull(sentFile);
+    Assert.assertEquals("0", headers.get(HttpHeaders.CONTENT_LENGTH));
+    Assert.assertEquals("bytes */10", headers.get("Content-Range"));
+    Assert.assertFalse(file.exists());
+  }
+
+  @Test
+  public void findLocalFile() throws IOException {
+    File file = createFile("content");
+
+    Assert.assertEquals(file.getAbsoluteFile(),
+        DownloadUtils.findLocalFile(new ResourcePart(null, new FileSystemResource(file))).getAbsoluteFile());
+    Assert.assertNull(DownloadUtils.findLocalFile(new ResourcePart(null, new ByteArrayResource(new byte[0]))));
+    Assert.assertNull(DownloadUtils.findLocalFile(new FilePart(null, new File("target", "notExist.txt"))));
+
+    file.delete();
+  }
 }
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.foundation.vertx.stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestBufferSizeHint {
+  BufferSizeHint sizeHint = new BufferSizeHint();
+
+  @Test
+  public void defaultSize() {
+    Assert.assertEquals(1088, sizeHint.getSizeHint());
+  }
+
+  @Test
+  public void growImmediately() {
+    sizeHint.record(8192);
+
+    Assert.assertEquals(8704, sizeHint.getSizeHint());
+  }
+
+  @Test
+  public void shrinkSlowly() {
+    sizeHint.record(8192);
+    sizeHint.record(0);
+
+    // 8192 - 8192 / 8
+    Assert.assertEquals(7168 + 448, sizeHint.getSizeHint());
+  }
+
+  @Test
+  public void shrinkNotLessThanMin() {
+    for (int idx = 0; idx < 100; idx++) {
+      sizeHint.record(0);
+    }
+
+    Assert.assertEquals(BufferSizeHint.MIN_SIZE + 16, sizeHint.getSizeHint());
+  }
+
+  @Test
+  public void notMoreThanMax() {
+    sizeHint.record(Integer.MAX_VALUE);
+
+    Assert.assertEquals(BufferSizeHint.MAX_SIZE, sizeHint.getSizeHint());
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.foundation.vertx.tcp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class TestTcpCompressors {
+  byte[] data = String.join(",", Collections.nCopies(10000, "servicecomb")).getBytes(StandardCharsets.UTF_8);
+
+  private void checkCompress(TcpCompressor compressor) throws IOException {
+    ByteBuf compressed = Unpooled.buffer();
+    compressor.compress(Unpooled.wrappedBuffer(data), compressed);
+    Assert.assertTrue(compressed.readableBytes() < data.length / 10);
+
+    ByteBuf decompressed = Unpooled.buffer(data.length, data.length);
+    compressor.decompress(compressed, decompressed);
+    Assert.assertArrayEquals(data, decompressed.array());
+
+    // input is a direct buffer
+    ByteBuf direct = Unpooled.directBuffer();
+    direct.writeBytes(data);
+    compressed = Unpooled.buffer();
+    compressor.compress(direct, compressed);
+    direct.release();
+
+    decompressed = Unpooled.buffer(data.length, data.length);
+    compressor.decompress(compressed, decompressed);
+    Assert.assertArrayEquals(data, decompressed.array());
+  }
+
+  @Test
+  public void snappy() throws IOException {
+    checkCompress(TcpCompressors.findCompressor(SnappyTcpCompressor.NAME));
+  }
+
+  @Test
+  public void deflate() throws IOException {
+    checkCompress(TcpCompressors.findCompressor(DeflateTcpCompressor.NAME));
+  }
+
+  @Test
+  public void deflateInvalidData() {
+    try {
+      new DeflateTcpCompressor().decompress(Unpooled.wrappedBuffer(data), Unpooled.buffer());
+      Assert.fail("must throw exception");
+    } catch (IOException e) {
+      Assert.assertEquals("invalid deflate data.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void findCompressor() {
+    Assert.assertNull(TcpCompressors.findCompressor(null));
+    Assert.assertNull(TcpCompressors.findCompressor("notExist"));
+  }
+
+  @Test
+  public void negotiate() {
+    Assert.assertNull(TcpCompressors.negotiate(null));
+    Assert.assertNull(TcpCompressors.negotiate(""));
+    Assert.assertNull(TcpCompressors.negotiate("lz4,zstd"));
+    Assert.assertEquals("snappy", TcpCompressors.negotiate("lz4, snappy,deflate"));
+    Assert.assertEquals("deflate", TcpCompressors.negotiate("deflate,snappy"));
+  }
+
+  @Test
+  public void connectionCompressor() {
+    TcpConnection connection = new TcpConnection();
+    connection.setZipName("snappy");
+    Assert.assertEquals("snappy", connection.getCompressor().getName());
+
+    connection.setZipName(null);
+    Assert.assertNull(connection.getCompressor());
+  }
+}
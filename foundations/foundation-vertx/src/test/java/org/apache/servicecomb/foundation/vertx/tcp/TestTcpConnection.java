@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.foundation.vertx.tcp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.NetSocket;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+
+public class TestTcpConnection {
+  TcpConnection connection = new TcpConnection();
+
+  List<Buffer> written = new ArrayList<>();
+
+  List<Handler<AsyncResult<Void>>> completionHandlers = new ArrayList<>();
+
+  @SuppressWarnings("unchecked")
+  private void mockSocket(NetSocket netSocket, Context context) {
+    connection.netSocket = netSocket;
+    connection.setContext(context);
+
+    new MockUp<Context>(context) {
+      @Mock
+      void runOnContext(Handler<Void> action) {
+        action.handle(null);
+      }
+    };
+    new Expectations() {
+      {
+        netSocket.write((Buffer) any, (Handler<AsyncResult<Void>>) any);
+        result = new Delegate<NetSocket>() {
+          @SuppressWarnings("unused")
+          NetSocket write(Buffer buffer, Handler<AsyncResult<Void>> handler) {
+            written.add(buffer);
+            completionHandlers.add(handler);
+            return netSocket;
+          }
+        };
+        minTimes = 0;
+      }
+    };
+  }
+
+  @Test
+  public void write_releaseAfterWriteCompleted(@Mocked NetSocket netSocket, @Mocked Context context) {
+    mockSocket(netSocket, context);
+
+    try (TcpOutputStream os = new TcpOutputStream(1, PooledByteBufAllocator.DEFAULT, 64)) {
+      ByteBuf byteBuf = os.transferByteBuf();
+      connection.write(byteBuf);
+
+      Assert.assertEquals(1, written.size());
+      // magic + msgId
+      Assert.assertEquals(15, written.get(0).length());
+      Assert.assertEquals(1, byteBuf.refCnt());
+
+      // release after write completed
+      completionHandlers.get(0).handle(Future.succeededFuture());
+      Assert.assertEquals(0, byteBuf.refCnt());
+    }
+  }
+
+  @Test
+  public void writeInContext_emptyQueue(@Mocked NetSocket netSocket, @Mocked Context context) {
+    mockSocket(netSocket, context);
+
+    connection.writeInContext();
+
+    Assert.assertTrue(written.isEmpty());
+  }
+
+  @Test
+  public void writeInContext_releaseEmptyBuffer(@Mocked NetSocket netSocket, @Mocked Context context) {
+    mockSocket(netSocket, context);
+    ByteBuf byteBuf = PooledByteBufAllocator.DEFAULT.directBuffer(16);
+
+    connection.write(byteBuf);
+
+    Assert.assertTrue(written.isEmpty());
+    Assert.assertEquals(0, byteBuf.refCnt());
+  }
+
+  @Test
+  public void writeInContext_unpooled(@Mocked NetSocket netSocket, @Mocked Context context) {
+    mockSocket(netSocket, context);
+
+    connection.write(Unpooled.wrappedBuffer(new byte[] {1, 2}));
+
+    Assert.assertEquals(1, written.size());
+    Assert.assertArrayEquals(new byte[] {1, 2}, written.get(0).getBytes());
+  }
+
+  @Test
+  public void writeInContext_releaseWhenWriteFailed(@Mocked NetSocket netSocket, @Mocked Context context) {
+    mockSocket(netSocket, context);
+    ByteBuf byteBuf = PooledByteBufAllocator.DEFAULT.directBuffer(16).writeInt(1);
+
+    connection.write(byteBuf);
+    completionHandlers.get(0).handle(Future.failedFuture(new IOException("closed")));
+
+    Assert.assertEquals(0, byteBuf.refCnt());
+  }
+}
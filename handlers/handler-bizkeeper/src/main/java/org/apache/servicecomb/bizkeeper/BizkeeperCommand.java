@@ -19,6 +19,7 @@ package org.apache.servicecomb.bizkeeper;
 
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.swagger.invocation.Response;
+import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,4 +100,17 @@ public abstract class BizkeeperCommand extends HystrixObservableCommand<Response
   }
 
   protected abstract boolean isFailedResponse(Response resp);
+
+  protected static boolean isFailedResponse(Response resp, int innerStatusCode) {
+    if (resp.isFailed()) {
+      if (InvocationException.class.isInstance(resp.getResult())) {
+        InvocationException e = (InvocationException) resp.getResult();
+        return e.getStatusCode() == innerStatusCode;
+      } else {
+        return true;
+      }
+    } else {
+      return false;
+    }
+  }
 }
@@ -25,6 +25,8 @@ import org.apache.servicecomb.swagger.invocation.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.netflix.config.DynamicPropertyFactory;
+import com.netflix.config.DynamicStringProperty;
 import com.netflix.hystrix.HystrixCommandProperties;
 import com.netflix.hystrix.HystrixInvokable;
 import com.netflix.hystrix.HystrixObservable;
@@ -63,15 +65,51 @@ public abstract class BizkeeperHandler implements Handler {
 
   private BizkeeperHandlerDelegate delegate;
 
+  private NativeBizkeeperEngine nativeEngine;
+
+  // engine can be changed dynamically, hold the properties to avoid lookup for every invocation
+  private final DynamicStringProperty engineProperty;
+
+  private final DynamicStringProperty defaultEngineProperty;
+
   public BizkeeperHandler(String groupname) {
     this.groupname = groupname;
     delegate = new BizkeeperHandlerDelegate(this);
+    nativeEngine = new NativeBizkeeperEngine(this);
+    engineProperty = DynamicPropertyFactory.getInstance()
+        .getStringProperty(Configuration.INSTANCE.getEngineKey(groupname), null);
+    defaultEngineProperty = DynamicPropertyFactory.getInstance()
+        .getStringProperty(Configuration.INSTANCE.getDefaultEngineKey(), Configuration.BIZKEEPER_ENGINE_HYSTRIX);
   }
 
   protected abstract BizkeeperCommand createBizkeeperCommand(Invocation invocation);
 
+  NativeBizkeeperEngine getNativeEngine() {
+    return nativeEngine;
+  }
+
+  protected boolean isNativeEngine() {
+    String engine = engineProperty.get();
+    if (engine == null) {
+      engine = defaultEngineProperty.get();
+    }
+    return Configuration.BIZKEEPER_ENGINE_NATIVE.equalsIgnoreCase(engine);
+  }
+
+  /**
+   * used by native engine, whether the response should be treated as failure by circuit breaker
+   */
+  protected boolean isFailedResponse(Response resp) {
+    return resp.isFailed();
+  }
+
   @Override
   public void handle(Invocation invocation, AsyncResponse asyncResp) {
+    if (isNativeEngine()) {
+      nativeEngine.handle(invocation, asyncResp);
+      return;
+    }
+
     HystrixObservable<Response> command = delegate.createBizkeeperCommand(invocation);
 
     Observable<Response> observable = command.toObservable();
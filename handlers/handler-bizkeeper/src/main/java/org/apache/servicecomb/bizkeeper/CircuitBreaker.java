@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.bizkeeper;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.servicecomb.bizkeeper.event.CircutBreakerEvent;
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.foundation.common.event.AlarmEvent.Type;
+import org.apache.servicecomb.foundation.common.event.EventManager;
+
+/**
+ * circuit breaker and semaphore isolation of an operation, used by {@link NativeBizkeeperEngine}.<br>
+ * CLOSED to OPEN: error percentage in the rolling window reaches the threshold<br>
+ * OPEN to HALF_OPEN: after sleep window, only one test request is allowed every sleep window<br>
+ * HALF_OPEN to CLOSED: all test requests in flight succeed, any of them fails means back to OPEN
+ */
+public class CircuitBreaker {
+  // same to default of hystrix: 10 buckets in 10 seconds
+  static final int WINDOW_BUCKETS = 10;
+
+  static final long WINDOW_BUCKET_SIZE_IN_MILLISECONDS = 1000;
+
+  static final long SETTINGS_REFRESH_INTERVAL_IN_MILLISECONDS = 1000;
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String type;
+
+  private final String microserviceName;
+
+  private final String qualifiedOperationName;
+
+  private final RollingWindow window = new RollingWindow(WINDOW_BUCKETS, WINDOW_BUCKET_SIZE_IN_MILLISECONDS);
+
+  private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+  // time of opened or latest test request
+  private final AtomicLong openedTime = new AtomicLong();
+
+  // test requests in flight, more than one only when previous test request not completed in sleep window
+  private final Set<Invocation> testRequests = ConcurrentHashMap.newKeySet();
+
+  private final AtomicInteger concurrentRequests = new AtomicInteger();
+
+  private final AtomicInteger concurrentFallbacks = new AtomicInteger();
+
+  private volatile CircuitBreakerSettings settings;
+
+  public CircuitBreaker(String type, String microserviceName, String qualifiedOperationName) {
+    this.type = type;
+    this.microserviceName = microserviceName;
+    this.qualifiedOperationName = qualifiedOperationName;
+    this.settings = new CircuitBreakerSettings(type, microserviceName, qualifiedOperationName,
+        System.currentTimeMillis());
+  }
+
+  public CircuitBreakerSettings getSettings(long now) {
+    CircuitBreakerSettings current = settings;
+    if (now - current.getCreateTime() >= SETTINGS_REFRESH_INTERVAL_IN_MILLISECONDS) {
+      // concurrent refresh is harmless, just create the same settings
+      current = new CircuitBreakerSettings(type, microserviceName, qualifiedOperationName, now);
+      settings = current;
+    }
+    return current;
+  }
+
+  State getState() {
+    return state.get();
+  }
+
+  RollingWindow getWindow() {
+    return window;
+  }
+
+  public boolean allowRequest(Invocation invocation, CircuitBreakerSettings settings, long now) {
+    if (!settings.isCircuitBreakerEnabled()) {
+      return true;
+    }
+    if (settings.isCircuitBreakerForceOpen()) {
+      return false;
+    }
+    if (settings.isCircuitBreakerForceClosed() || state.get() == State.CLOSED) {
+      return true;
+    }
+
+    // OPEN or HALF_OPEN, allow a test request every sleep window
+    // test request may never complete, so HALF_OPEN is not blocked forever
+    long opened = openedTime.get();
+    if (now - opened < settings.getSleepWindowInMilliseconds() || !openedTime.compareAndSet(opened, now)) {
+      return false;
+    }
+    testRequests.add(invocation);
+    state.set(State.HALF_OPEN);
+    return true;
+  }
+
+  public void markSuccess(Invocation invocation, CircuitBreakerSettings settings, long now) {
+    window.markSuccess(now);
+    // requests allowed before OPEN may complete in HALF_OPEN, only test requests can close the circuit
+    if (testRequests.remove(invocation)
+        && testRequests.isEmpty()
+        && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+      window.reset();
+      postEvent(Type.CLOSE, invocation, settings, now);
+    }
+  }
+
+  public void markFailure(Invocation invocation, CircuitBreakerSettings settings, long now) {
+    window.markFailure(now);
+    if (!settings.isCircuitBreakerEnabled()) {
+      return;
+    }
+
+    if (testRequests.remove(invocation)) {
+      // test request failed, maybe already CLOSED by another test request
+      openedTime.set(now);
+      if (state.getAndSet(State.OPEN) == State.CLOSED) {
+        postEvent(Type.OPEN, invocation, settings, now);
+      }
+      return;
+    }
+
+    State current = state.get();
+    if (current == State.HALF_OPEN) {
+      // request allowed before OPEN still fails
+      openedTime.set(now);
+      state.compareAndSet(State.HALF_OPEN, State.OPEN);
+      return;
+    }
+
+    if (current == State.CLOSED
+        && window.isErrorThresholdReached(now, settings.getRequestVolumeThreshold(),
+        settings.getErrorThresholdPercentage())
+        && state.compareAndSet(State.CLOSED, State.OPEN)) {
+      openedTime.set(now);
+      postEvent(Type.OPEN, invocation, settings, now);
+    }
+  }
+
+  private void postEvent(Type eventType, Invocation invocation, CircuitBreakerSettings settings, long now) {
+    EventManager.post(new CircutBreakerEvent(eventType, invocation,
+        window.getTotalRequests(now),
+        window.getErrorCount(now),
+        settings.getRequestVolumeThreshold(),
+        settings.getSleepWindowInMilliseconds(),
+        settings.getErrorThresholdPercentage()));
+  }
+
+  public boolean tryAcquire(CircuitBreakerSettings settings) {
+    return tryAcquire(concurrentRequests, settings.getIsolationMaxConcurrentRequests());
+  }
+
+  public void release() {
+    concurrentRequests.decrementAndGet();
+  }
+
+  public boolean tryAcquireFallback(CircuitBreakerSettings settings) {
+    return tryAcquire(concurrentFallbacks, settings.getFallbackMaxConcurrentRequests());
+  }
+
+  public void releaseFallback() {
+    concurrentFallbacks.decrementAndGet();
+  }
+
+  private static boolean tryAcquire(AtomicInteger counter, int max) {
+    if (counter.incrementAndGet() > max) {
+      counter.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.bizkeeper;
+
+/**
+ * immutable snapshot of bizkeeper configurations of an operation, used by {@link NativeBizkeeperEngine}<br>
+ * read from {@link Configuration} once and rebuilt periodically, so that invocations not need to build keys and
+ * lookup/parse properties every time
+ */
+public final class CircuitBreakerSettings {
+  private final long createTime;
+
+  private final boolean circuitBreakerEnabled;
+
+  private final boolean circuitBreakerForceOpen;
+
+  private final boolean circuitBreakerForceClosed;
+
+  private final int sleepWindowInMilliseconds;
+
+  private final int requestVolumeThreshold;
+
+  private final int errorThresholdPercentage;
+
+  private final int isolationMaxConcurrentRequests;
+
+  private final boolean isolationTimeoutEnabled;
+
+  private final int isolationTimeoutInMilliseconds;
+
+  private final boolean fallbackEnabled;
+
+  private final boolean fallbackForce;
+
+  private final int fallbackMaxConcurrentRequests;
+
+  public CircuitBreakerSettings(String type, String microserviceName, String qualifiedOperationName,
+      long createTime) {
+    Configuration configuration = Configuration.INSTANCE;
+    this.createTime = createTime;
+    this.circuitBreakerEnabled = configuration
+        .isCircuitBreakerEnabled(type, microserviceName, qualifiedOperationName);
+    this.circuitBreakerForceOpen = configuration
+        .isCircuitBreakerForceOpen(type, microserviceName, qualifiedOperationName);
+    this.circuitBreakerForceClosed = configuration
+        .isCircuitBreakerForceClosed(type, microserviceName, qualifiedOperationName);
+    this.sleepWindowInMilliseconds = configuration
+        .getCircuitBreakerSleepWindowInMilliseconds(type, microserviceName, qualifiedOperationName);
+    this.requestVolumeThreshold = configuration
+        .getCircuitBreakerRequestVolumeThreshold(type, microserviceName, qualifiedOperationName);
+    this.errorThresholdPercentage = configuration
+        .getCircuitBreakerErrorThresholdPercentage(type, microserviceName, qualifiedOperationName);
+    this.isolationMaxConcurrentRequests = configuration
+        .getIsolationMaxConcurrentRequests(type, microserviceName, qualifiedOperationName);
+    this.isolationTimeoutEnabled = configuration
+        .getIsolationTimeoutEnabled(type, microserviceName, qualifiedOperationName);
+    this.isolationTimeoutInMilliseconds = configuration
+        .getIsolationTimeoutInMilliseconds(type, microserviceName, qualifiedOperationName);
+    this.fallbackEnabled = configuration.isFallbackEnabled(type, microserviceName, qualifiedOperationName);
+    this.fallbackForce = configuration.isFallbackForce(type, microserviceName, qualifiedOperationName);
+    this.fallbackMaxConcurrentRequests = configuration
+        .getFallbackMaxConcurrentRequests(type, microserviceName, qualifiedOperationName);
+  }
+
+  public long getCreateTime() {
+    return createTime;
+  }
+
+  public boolean isCircuitBreakerEnabled() {
+    return circuitBreakerEnabled;
+  }
+
+  public boolean isCircuitBreakerForceOpen() {
+    return circuitBreakerForceOpen;
+  }
+
+  public boolean isCircuitBreakerForceClosed() {
+    return circuitBreakerForceClosed;
+  }
+
+  public int getSleepWindowInMilliseconds() {
+    return sleepWindowInMilliseconds;
+  }
+
+  public int getRequestVolumeThreshold() {
+    return requestVolumeThreshold;
+  }
+
+  public int getErrorThresholdPercentage() {
+    return errorThresholdPercentage;
+  }
+
+  public int getIsolationMaxConcurrentRequests() {
+    return isolationMaxConcurrentRequests;
+  }
+
+  public boolean isIsolationTimeoutEnabled() {
+    return isolationTimeoutEnabled;
+  }
+
+  public int getIsolationTimeoutInMilliseconds() {
+    return isolationTimeoutInMilliseconds;
+  }
+
+  public boolean isFallbackEnabled() {
+    return fallbackEnabled;
+  }
+
+  public boolean isFallbackForce() {
+    return fallbackForce;
+  }
+
+  public int getFallbackMaxConcurrentRequests() {
+    return fallbackMaxConcurrentRequests;
+  }
+}
@@ -66,6 +66,15 @@ public final class Configuration {
 
   public static final String FALLBACKPOLICY_POLICY_RETURN = "returnnull";
 
+  // engine
+  private static final String BIZKEEPER = "servicecomb.bizkeeper.";
+
+  private static final String BIZKEEPER_ENGINE = "engine";
+
+  public static final String BIZKEEPER_ENGINE_HYSTRIX = "hystrix";
+
+  public static final String BIZKEEPER_ENGINE_NATIVE = "native";
+
   private static final int DEFAULT_ISOLATION_TIMEOUT = 30000;
 
   private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 1000;
@@ -231,6 +240,14 @@ public final class Configuration {
         FALLBACKPOLICY + type + "." + FALLBACKPOLICY_POLICY);
   }
 
+  public String getEngineKey(String type) {
+    return BIZKEEPER + type + "." + BIZKEEPER_ENGINE;
+  }
+
+  public String getDefaultEngineKey() {
+    return BIZKEEPER + BIZKEEPER_ENGINE;
+  }
+
   private String getProperty(String defaultValue, String... keys) {
     String property = null;
     for (String key : keys) {
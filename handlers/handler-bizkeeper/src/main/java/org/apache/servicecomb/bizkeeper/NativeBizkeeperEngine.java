@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.bizkeeper;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
+import org.apache.servicecomb.swagger.invocation.AsyncResponse;
+import org.apache.servicecomb.swagger.invocation.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * bizkeeper without hystrix, enabled by servicecomb.bizkeeper.engine=native.<br>
+ * not create command and observable for every invocation, use the same configurations and fallback policies,
+ * circuit breaker and semaphore isolation of every operation are maintained by {@link CircuitBreaker}.
+ */
+public class NativeBizkeeperEngine {
+  private static final Logger LOG = LoggerFactory.getLogger(NativeBizkeeperEngine.class);
+
+  private final BizkeeperHandler handler;
+
+  // key is microservice qualified name of operation
+  private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMapEx<>();
+
+  public NativeBizkeeperEngine(BizkeeperHandler handler) {
+    this.handler = handler;
+  }
+
+  public void handle(Invocation invocation, AsyncResponse asyncResp) {
+    CircuitBreaker circuitBreaker = findCircuitBreaker(invocation);
+    long now = System.currentTimeMillis();
+    CircuitBreakerSettings settings = circuitBreaker.getSettings(now);
+    if (settings.isFallbackForce()) {
+      forceFallback(invocation, asyncResp);
+      return;
+    }
+
+    if (!circuitBreaker.allowRequest(invocation, settings, now)) {
+      fallback(invocation, asyncResp, circuitBreaker, settings,
+          new IllegalStateException("circuit short-circuited and is OPEN."));
+      return;
+    }
+
+    if (!circuitBreaker.tryAcquire(settings)) {
+      circuitBreaker.markFailure(invocation, settings, now);
+      fallback(invocation, asyncResp, circuitBreaker, settings,
+          new IllegalStateException("could not acquire a semaphore for execution."));
+      return;
+    }
+
+    new Execution(invocation, asyncResp, circuitBreaker, settings).execute();
+  }
+
+  CircuitBreaker findCircuitBreaker(Invocation invocation) {
+    return circuitBreakers.computeIfAbsent(invocation.getOperationMeta().getMicroserviceQualifiedName(),
+        name -> new CircuitBreaker(handler.groupname, invocation.getMicroserviceName(), name));
+  }
+
+  protected void forceFallback(Invocation invocation, AsyncResponse asyncResp) {
+    Response response;
+    try {
+      response = FallbackPolicyManager.getFallbackResponse(handler.groupname, null, invocation);
+    } catch (Exception e) {
+      LOG.warn("catch error in bizkeeper:" + e.getMessage());
+      asyncResp.fail(invocation.getInvocationType(), e);
+      return;
+    }
+    asyncResp.complete(response);
+  }
+
+  protected void fallback(Invocation invocation, AsyncResponse asyncResp, CircuitBreaker circuitBreaker,
+      CircuitBreakerSettings settings, Throwable cause) {
+    if (!settings.isFallbackEnabled()) {
+      asyncResp.fail(invocation.getInvocationType(), cause);
+      return;
+    }
+
+    if (!circuitBreaker.tryAcquireFallback(settings)) {
+      LOG.warn("could not acquire a semaphore for fallback, operation={}.", invocation.getInvocationQualifiedName());
+      asyncResp.fail(invocation.getInvocationType(), cause);
+      return;
+    }
+
+    Response response;
+    try {
+      response = FallbackPolicyManager.getFallbackResponse(handler.groupname, cause, invocation);
+    } catch (Exception e) {
+      LOG.warn("fallback failed due to:" + e.getMessage());
+      asyncResp.fail(invocation.getInvocationType(), e);
+      return;
+    } finally {
+      circuitBreaker.releaseFallback();
+    }
+    asyncResp.complete(response);
+  }
+
+  private static class TimeoutScheduler {
+    // only created when timeout is enabled
+    static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setNameFormat("bizkeeper-timeout-%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  private class Execution implements AsyncResponse, Runnable {
+    private final Invocation invocation;
+
+    private final AsyncResponse asyncResp;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final CircuitBreakerSettings settings;
+
+    // response and timeout, only the first one take effect
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private volatile ScheduledFuture<?> timeoutFuture;
+
+    Execution(Invocation invocation, AsyncResponse asyncResp, CircuitBreaker circuitBreaker,
+        CircuitBreakerSettings settings) {
+      this.invocation = invocation;
+      this.asyncResp = asyncResp;
+      this.circuitBreaker = circuitBreaker;
+      this.settings = settings;
+    }
+
+    void execute() {
+      if (settings.isIsolationTimeoutEnabled()) {
+        timeoutFuture = TimeoutScheduler.INSTANCE
+            .schedule(this, settings.getIsolationTimeoutInMilliseconds(), TimeUnit.MILLISECONDS);
+      }
+
+      try {
+        invocation.next(this);
+      } catch (Exception e) {
+        LOG.warn("bizkeeper command {} execute failed due to {}", invocation.getInvocationQualifiedName(),
+            e.getClass().getName());
+        if (finish()) {
+          circuitBreaker.markFailure(invocation, settings, System.currentTimeMillis());
+          fallback(invocation, asyncResp, circuitBreaker, settings, e);
+        }
+      }
+    }
+
+    private boolean finish() {
+      if (!finished.compareAndSet(false, true)) {
+        return false;
+      }
+
+      ScheduledFuture<?> future = timeoutFuture;
+      if (future != null) {
+        future.cancel(false);
+      }
+      circuitBreaker.release();
+      return true;
+    }
+
+    // timeout
+    @Override
+    public void run() {
+      if (!finish()) {
+        return;
+      }
+
+      LOG.warn("bizkeeper command {} timeout after {} ms.", invocation.getInvocationQualifiedName(),
+          settings.getIsolationTimeoutInMilliseconds());
+      circuitBreaker.markFailure(invocation, settings, System.currentTimeMillis());
+      fallback(invocation, asyncResp, circuitBreaker, settings,
+          new TimeoutException("bizkeeper command timeout."));
+    }
+
+    @Override
+    public void handle(Response resp) {
+      if (!finish()) {
+        return;
+      }
+
+      if (handler.isFailedResponse(resp)) {
+        // e should implements toString
+        LOG.warn("bizkeeper command {} failed due to {}", invocation.getInvocationQualifiedName(),
+            resp.getResult());
+        circuitBreaker.markFailure(invocation, settings, System.currentTimeMillis());
+        fallback(invocation, asyncResp, circuitBreaker, settings, resp.getResult());
+        FallbackPolicyManager.record(handler.groupname, invocation, resp, false);
+        return;
+      }
+
+      circuitBreaker.markSuccess(invocation, settings, System.currentTimeMillis());
+      asyncResp.complete(resp);
+      FallbackPolicyManager.record(handler.groupname, invocation, resp, true);
+    }
+  }
+}
@@ -20,7 +20,6 @@ package org.apache.servicecomb.bizkeeper;
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.swagger.invocation.Response;
 import org.apache.servicecomb.swagger.invocation.exception.ExceptionFactory;
-import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
 
 public class ProviderBizkeeperCommand extends BizkeeperCommand {
   protected ProviderBizkeeperCommand(String type, Invocation invocation,
@@ -30,15 +29,6 @@ public class ProviderBizkeeperCommand extends BizkeeperCommand {
 
   @Override
   protected boolean isFailedResponse(Response resp) {
-    if (resp.isFailed()) {
-      if (InvocationException.class.isInstance(resp.getResult())) {
-        InvocationException e = (InvocationException) resp.getResult();
-        return e.getStatusCode() == ExceptionFactory.PRODUCER_INNER_STATUS_CODE;
-      } else {
-        return true;
-      }
-    } else {
-      return false;
-    }
+    return isFailedResponse(resp, ExceptionFactory.PRODUCER_INNER_STATUS_CODE);
   }
 }
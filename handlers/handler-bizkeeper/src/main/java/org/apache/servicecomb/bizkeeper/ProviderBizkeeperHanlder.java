@@ -18,6 +18,8 @@
 package org.apache.servicecomb.bizkeeper;
 
 import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.swagger.invocation.Response;
+import org.apache.servicecomb.swagger.invocation.exception.ExceptionFactory;
 
 import com.netflix.hystrix.HystrixCommandProperties;
 import com.netflix.hystrix.HystrixObservableCommand;
@@ -47,4 +49,9 @@ public class ProviderBizkeeperHanlder extends BizkeeperHandler {
             .andCommandPropertiesDefaults(setter));
     return command;
   }
+
+  @Override
+  protected boolean isFailedResponse(Response resp) {
+    return BizkeeperCommand.isFailedResponse(resp, ExceptionFactory.PRODUCER_INNER_STATUS_CODE);
+  }
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.bizkeeper;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * lock-free sliding window of success and failure counts, buckets are organized as a ring buffer.<br>
+ * when time moves to the next round, the first thread reaching a stale bucket resets it, counts recorded
+ * concurrently with the reset may be lost, that is acceptable for circuit breaker.
+ */
+public class RollingWindow {
+  // every bucket holds 3 values: start time, success count, failure count
+  private static final int BUCKET_FIELDS = 3;
+
+  private static final int FIELD_SUCCESS = 1;
+
+  private static final int FIELD_FAILURE = 2;
+
+  private final int bucketCount;
+
+  private final long bucketSizeInMilliseconds;
+
+  private final long windowInMilliseconds;
+
+  private final AtomicLongArray buckets;
+
+  public RollingWindow(int bucketCount, long bucketSizeInMilliseconds) {
+    this.bucketCount = bucketCount;
+    this.bucketSizeInMilliseconds = bucketSizeInMilliseconds;
+    this.windowInMilliseconds = bucketCount * bucketSizeInMilliseconds;
+    this.buckets = new AtomicLongArray(bucketCount * BUCKET_FIELDS);
+    reset();
+  }
+
+  public void reset() {
+    for (int base = 0; base < buckets.length(); base += BUCKET_FIELDS) {
+      buckets.set(base, Long.MIN_VALUE);
+    }
+  }
+
+  public void markSuccess(long now) {
+    increment(now, FIELD_SUCCESS);
+  }
+
+  public void markFailure(long now) {
+    increment(now, FIELD_FAILURE);
+  }
+
+  private void increment(long now, int field) {
+    long bucketStart = now - now % bucketSizeInMilliseconds;
+    int base = (int) ((now / bucketSizeInMilliseconds) % bucketCount) * BUCKET_FIELDS;
+    long start = buckets.get(base);
+    if (start < bucketStart && buckets.compareAndSet(base, start, bucketStart)) {
+      buckets.set(base + FIELD_SUCCESS, 0);
+      buckets.set(base + FIELD_FAILURE, 0);
+    }
+    buckets.incrementAndGet(base + field);
+  }
+
+  public long getTotalRequests(long now) {
+    return sum(now, FIELD_SUCCESS) + sum(now, FIELD_FAILURE);
+  }
+
+  public long getErrorCount(long now) {
+    return sum(now, FIELD_FAILURE);
+  }
+
+  private long sum(long now, int field) {
+    long windowStart = now - windowInMilliseconds;
+    long count = 0;
+    for (int base = 0; base < buckets.length(); base += BUCKET_FIELDS) {
+      if (buckets.get(base) > windowStart) {
+        count += buckets.get(base + field);
+      }
+    }
+    return count;
+  }
+
+  public boolean isErrorThresholdReached(long now, int requestVolumeThreshold, int errorThresholdPercentage) {
+    long windowStart = now - windowInMilliseconds;
+    long total = 0;
+    long errors = 0;
+    for (int base = 0; base < buckets.length(); base += BUCKET_FIELDS) {
+      if (buckets.get(base) > windowStart) {
+        long failure = buckets.get(base + FIELD_FAILURE);
+        total += buckets.get(base + FIELD_SUCCESS) + failure;
+        errors += failure;
+      }
+    }
+
+    return total > 0 && total >= requestVolumeThreshold && errors * 100 >= total * errorThresholdPercentage;
+  }
+}
@@ -18,6 +18,7 @@ package org.apache.servicecomb.bizkeeper.event;
 
 
 import org.apache.servicecomb.bizkeeper.CustomizeCommandGroupKey;
+import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.foundation.common.event.AlarmEvent;
 
 import com.netflix.hystrix.HystrixCommandKey;
@@ -71,6 +72,21 @@ public class CircutBreakerEvent extends AlarmEvent {
     }
   }
 
+  public CircutBreakerEvent(Type type, Invocation invocation, long currentTotalRequest, long currentErrorCount,
+      int requestVolumeThreshold, int sleepWindowInMilliseconds, int errorThresholdPercentage) {
+    super(type);
+    this.microservice = invocation.getMicroserviceName();
+    this.role = invocation.getInvocationType().name();
+    this.schema = invocation.getSchemaId();
+    this.operation = invocation.getOperationName();
+    this.currentTotalRequest = currentTotalRequest;
+    this.currentErrorCount = currentErrorCount;
+    this.currentErrorPercentage = currentTotalRequest == 0 ? 0 : currentErrorCount * 100 / currentTotalRequest;
+    this.requestVolumeThreshold = requestVolumeThreshold;
+    this.sleepWindowInMilliseconds = sleepWindowInMilliseconds;
+    this.errorThresholdPercentage = errorThresholdPercentage;
+  }
+
   public String getRole() {
     return role;
   }
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.bizkeeper;
+
+import java.util.Set;
+
+import org.apache.servicecomb.bizkeeper.CircuitBreaker.State;
+import org.apache.servicecomb.bizkeeper.event.CircutBreakerEvent;
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.foundation.common.event.AlarmEvent.Type;
+import org.apache.servicecomb.foundation.common.event.EventManager;
+import org.apache.servicecomb.swagger.invocation.InvocationType;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.google.common.eventbus.Subscribe;
+
+import mockit.Deencapsulation;
+
+public class TestCircuitBreaker {
+  private static final String TYPE = "testCircuitBreaker";
+
+  private static final String OPERATION = "ms.schema.op";
+
+  Invocation invocation = Mockito.mock(Invocation.class);
+
+  CircutBreakerEvent event;
+
+  Object listener = new Object() {
+    @Subscribe
+    public void onEvent(CircutBreakerEvent event) {
+      TestCircuitBreaker.this.event = event;
+    }
+  };
+
+  long now = System.currentTimeMillis();
+
+  private static Invocation mockInvocation() {
+    Invocation invocation = Mockito.mock(Invocation.class);
+    Mockito.when(invocation.getMicroserviceName()).thenReturn("ms");
+    Mockito.when(invocation.getInvocationType()).thenReturn(InvocationType.CONSUMER);
+    return invocation;
+  }
+
+  @Before
+  public void setUp() {
+    System.setProperty("servicecomb.circuitBreaker." + TYPE + ".requestVolumeThreshold", "2");
+    System.setProperty("servicecomb.circuitBreaker." + TYPE + ".sleepWindowInMilliseconds", "1000");
+    System.setProperty("servicecomb.isolation." + TYPE + ".maxConcurrentRequests", "1");
+    Mockito.when(invocation.getMicroserviceName()).thenReturn("ms");
+    Mockito.when(invocation.getInvocationType()).thenReturn(InvocationType.CONSUMER);
+    EventManager.register(listener);
+  }
+
+  @After
+  public void tearDown() {
+    System.clearProperty("servicecomb.circuitBreaker." + TYPE + ".requestVolumeThreshold");
+    System.clearProperty("servicecomb.circuitBreaker." + TYPE + ".sleepWindowInMilliseconds");
+    System.clearProperty("servicecomb.isolation." + TYPE + ".maxConcurrentRequests");
+    EventManager.unregister(listener);
+  }
+
+  @Test
+  public void testOpenAndClose() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(TYPE, "ms", OPERATION);
+    CircuitBreakerSettings settings = circuitBreaker.getSettings(now);
+    Assert.assertEquals(2, settings.getRequestVolumeThreshold());
+
+    circuitBreaker.markFailure(invocation, settings, now);
+    Assert.assertEquals(State.CLOSED, circuitBreaker.getState());
+    Assert.assertTrue(circuitBreaker.allowRequest(invocation, settings, now));
+
+    circuitBreaker.markFailure(invocation, settings, now);
+    Assert.assertEquals(State.OPEN, circuitBreaker.getState());
+    Assert.assertEquals(Type.OPEN, event.getType());
+    Assert.assertEquals(2, event.getCurrentTotalRequest());
+    Assert.assertEquals(100, event.getCurrentErrorPercentage());
+    Assert.assertFalse(circuitBreaker.allowRequest(invocation, settings, now + 999));
+
+    // only one test request after sleep window
+    Assert.assertTrue(circuitBreaker.allowRequest(invocation, settings, now + 1000));
+    Assert.assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+    Assert.assertFalse(circuitBreaker.allowRequest(invocation, settings, now + 1000));
+
+    // test request failed
+    circuitBreaker.markFailure(invocation, settings, now + 1001);
+    Assert.assertEquals(State.OPEN, circuitBreaker.getState());
+    Assert.assertFalse(circuitBreaker.allowRequest(invocation, settings, now + 2000));
+
+    // test request succeed
+    Assert.assertTrue(circuitBreaker.allowRequest(invocation, settings, now + 2001));
+    circuitBreaker.markSuccess(invocation, settings, now + 2002);
+    Assert.assertEquals(State.CLOSED, circuitBreaker.getState());
+    Assert.assertEquals(Type.CLOSE, event.getType());
+    Assert.assertEquals(0, circuitBreaker.getWindow().getTotalRequests(now + 2002));
+    Assert.assertTrue(circuitBreaker.allowRequest(invocation, settings, now + 2002));
+  }
+
+  @Test
+  public void testTestRequestNotCompleted() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(TYPE, "ms", OPERATION);
+    CircuitBreakerSettings settings = circuitBreaker.getSettings(now);
+    circuitBreaker.markFailure(invocation, settings, now);
+    circuitBreaker.markFailure(invocation, settings, now);
+
+    Assert.assertTrue(circuitBreaker.allowRequest(invocation, settings, now + 1000));
+    Assert.assertFalse(circuitBreaker.allowRequest(invocation, settings, now + 1999));
+    Assert.assertTrue(circuitBreaker.allowRequest(invocation, settings, now + 2000));
+  }
+
+  @Test
+  public void testConcurrentTestRequests() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(TYPE, "ms", OPERATION);
+    CircuitBreakerSettings settings = circuitBreaker.getSettings(now);
+    circuitBreaker.markFailure(invocation, settings, now);
+    circuitBreaker.markFailure(invocation, settings, now);
+
+    // first test request not completed in sleep window, so another one is allowed
+    Invocation failedTest = mockInvocation();
+    Invocation succeededTest = mockInvocation();
+    Assert.assertTrue(circuitBreaker.allowRequest(failedTest, settings, now + 1000));
+    Assert.assertTrue(circuitBreaker.allowRequest(succeededTest, settings, now + 2000));
+
+    // success must wait for the other test request
+    circuitBreaker.markSuccess(succeededTest, settings, now + 2001);
+    Assert.assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+
+    circuitBreaker.markFailure(failedTest, settings, now + 2002);
+    Assert.assertEquals(State.OPEN, circuitBreaker.getState());
+    Assert.assertFalse(circuitBreaker.allowRequest(invocation, settings, now + 2003));
+  }
+
+  @Test
+  public void testTestRequestFailedAfterClosed() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(TYPE, "ms", OPERATION);
+    CircuitBreakerSettings settings = circuitBreaker.getSettings(now);
+    circuitBreaker.markFailure(invocation, settings, now);
+    circuitBreaker.markFailure(invocation, settings, now);
+
+    Invocation failedTest = mockInvocation();
+    Invocation succeededTest = mockInvocation();
+    Assert.assertTrue(circuitBreaker.allowRequest(succeededTest, settings, now + 1000));
+    circuitBreaker.markSuccess(succeededTest, settings, now + 1001);
+    Assert.assertEquals(State.CLOSED, circuitBreaker.getState());
+
+    // added as test request before closed, but completed after closed
+    Deencapsulation.<Set<Invocation>>getField(circuitBreaker, "testRequests").add(failedTest);
+    circuitBreaker.markFailure(failedTest, settings, now + 1002);
+    Assert.assertEquals(State.OPEN, circuitBreaker.getState());
+    Assert.assertEquals(Type.OPEN, event.getType());
+  }
+
+  @Test
+  public void testSuccessOfRequestAllowedBeforeOpen() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(TYPE, "ms", OPERATION);
+    CircuitBreakerSettings settings = circuitBreaker.getSettings(now);
+    circuitBreaker.markFailure(invocation, settings, now);
+    circuitBreaker.markFailure(invocation, settings, now);
+
+    Assert.assertTrue(circuitBreaker.allowRequest(invocation, settings, now + 1000));
+    circuitBreaker.markSuccess(mockInvocation(), settings, now + 1001);
+    Assert.assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+  }
+
+  @Test
+  public void testRefreshSettings() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(TYPE, "ms", OPERATION);
+    CircuitBreakerSettings settings = circuitBreaker.getSettings(now);
+
+    long createTime = settings.getCreateTime();
+    Assert.assertSame(settings, circuitBreaker.getSettings(createTime + 1));
+    Assert.assertNotSame(settings,
+        circuitBreaker.getSettings(createTime + CircuitBreaker.SETTINGS_REFRESH_INTERVAL_IN_MILLISECONDS));
+  }
+
+  @Test
+  public void testForceOpen() {
+    // dynamic property can not be reset, so use another type
+    String type = TYPE + "ForceOpen";
+    System.setProperty("servicecomb.circuitBreaker." + type + ".forceOpen", "true");
+    CircuitBreaker circuitBreaker = new CircuitBreaker(type, "ms", OPERATION);
+    Assert.assertFalse(circuitBreaker.allowRequest(invocation, circuitBreaker.getSettings(now), now));
+  }
+
+  @Test
+  public void testSemaphore() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(TYPE, "ms", OPERATION);
+    CircuitBreakerSettings settings = circuitBreaker.getSettings(now);
+
+    Assert.assertTrue(circuitBreaker.tryAcquire(settings));
+    Assert.assertFalse(circuitBreaker.tryAcquire(settings));
+    circuitBreaker.release();
+    Assert.assertTrue(circuitBreaker.tryAcquire(settings));
+  }
+}
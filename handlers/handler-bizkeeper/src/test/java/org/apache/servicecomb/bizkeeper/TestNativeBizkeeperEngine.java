@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.bizkeeper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.swagger.invocation.AsyncResponse;
+import org.apache.servicecomb.swagger.invocation.InvocationType;
+import org.apache.servicecomb.swagger.invocation.Response;
+import org.apache.servicecomb.swagger.invocation.exception.ExceptionFactory;
+import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TestNativeBizkeeperEngine {
+  private static final String TYPE = "TestNativeEngine";
+
+  static class NativeBizkeeperHandler extends BizkeeperHandler {
+    NativeBizkeeperHandler() {
+      super(TYPE);
+    }
+
+    @Override
+    protected BizkeeperCommand createBizkeeperCommand(Invocation invocation) {
+      throw new IllegalStateException("should not create command.");
+    }
+
+    @Override
+    protected boolean isFailedResponse(Response resp) {
+      return BizkeeperCommand.isFailedResponse(resp, ExceptionFactory.CONSUMER_INNER_STATUS_CODE);
+    }
+  }
+
+  NativeBizkeeperHandler handler;
+
+  Invocation invocation = Mockito.mock(Invocation.class);
+
+  OperationMeta operationMeta = Mockito.mock(OperationMeta.class);
+
+  // how the mocked invocation respond, null means never respond
+  Response nextResponse;
+
+  int nextCount;
+
+  @BeforeClass
+  public static void classSetup() {
+    System.setProperty("servicecomb.bizkeeper." + TYPE + ".engine", "native");
+    FallbackPolicyManager.addPolicy(new ReturnNullFallbackPolicy());
+  }
+
+  @AfterClass
+  public static void classTeardown() {
+    System.clearProperty("servicecomb.bizkeeper." + TYPE + ".engine");
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    handler = new NativeBizkeeperHandler();
+    Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+    Mockito.when(invocation.getMicroserviceName()).thenReturn("ms");
+    Mockito.when(invocation.getInvocationType()).thenReturn(InvocationType.CONSUMER);
+    Mockito.doAnswer(args -> {
+      nextCount++;
+      if (nextResponse != null) {
+        args.getArgumentAt(0, AsyncResponse.class).handle(nextResponse);
+      }
+      return null;
+    }).when(invocation).next(Mockito.any(AsyncResponse.class));
+  }
+
+  private void mockOperation(String operation) {
+    Mockito.when(operationMeta.getMicroserviceQualifiedName()).thenReturn(operation);
+    Mockito.when(invocation.getInvocationQualifiedName()).thenReturn(operation);
+  }
+
+  private Response invoke() throws Exception {
+    CompletableFuture<Response> future = new CompletableFuture<>();
+    handler.handle(invocation, future::complete);
+    return future.get(3, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testIsNativeEngine() {
+    Assert.assertTrue(handler.isNativeEngine());
+    Assert.assertFalse(new ConsumerBizkeeperHandler().isNativeEngine());
+  }
+
+  @Test
+  public void testSuccess() throws Exception {
+    mockOperation("ms.schema.testSuccess");
+    nextResponse = Response.ok("result");
+
+    Response response = invoke();
+    Assert.assertEquals("result", response.getResult());
+  }
+
+  @Test
+  public void testNotInnerFailure() throws Exception {
+    mockOperation("ms.schema.testNotInnerFailure");
+    nextResponse = Response.consumerFailResp(new InvocationException(Status.BAD_REQUEST, "bad request"));
+
+    Response response = invoke();
+    Assert.assertSame(nextResponse, response);
+    Assert.assertEquals(0, handler.getNativeEngine().findCircuitBreaker(invocation).getWindow()
+        .getErrorCount(System.currentTimeMillis()));
+  }
+
+  @Test
+  public void testFallbackDisabled() throws Exception {
+    mockOperation("ms.schema.testFallbackDisabled");
+    System.setProperty("servicecomb.fallback." + TYPE + ".ms.schema.testFallbackDisabled.enabled", "false");
+    nextResponse = Response.consumerFailResp(new IllegalStateException("failed"));
+
+    Response response = invoke();
+    Assert.assertTrue(response.isFailed());
+    Assert.assertEquals("failed", ((InvocationException) response.getResult()).getCause().getMessage());
+  }
+
+  @Test
+  public void testCircuitOpen() throws Exception {
+    mockOperation("ms.schema.testCircuitOpen");
+    System.setProperty("servicecomb.circuitBreaker." + TYPE + ".ms.schema.testCircuitOpen.requestVolumeThreshold",
+        "2");
+    System.setProperty("servicecomb.fallbackpolicy." + TYPE + ".ms.schema.testCircuitOpen.policy", "returnnull");
+    nextResponse = Response.consumerFailResp(new IllegalStateException("failed"));
+
+    for (int idx = 0; idx < 3; idx++) {
+      Response response = invoke();
+      Assert.assertTrue(response.isSuccessed());
+      Assert.assertNull(response.getResult());
+    }
+    // the third one is short circuited
+    Assert.assertEquals(2, nextCount);
+  }
+
+  @Test
+  public void testForceFallback() throws Exception {
+    mockOperation("ms.schema.testForceFallback");
+    System.setProperty("servicecomb.fallback." + TYPE + ".ms.schema.testForceFallback.force", "true");
+    System.setProperty("servicecomb.fallbackpolicy." + TYPE + ".ms.schema.testForceFallback.policy", "returnnull");
+
+    Response response = invoke();
+    Assert.assertTrue(response.isSuccessed());
+    Assert.assertNull(response.getResult());
+    Assert.assertEquals(0, nextCount);
+  }
+
+  @Test
+  public void testSemaphoreRejected() throws Exception {
+    mockOperation("ms.schema.testSemaphoreRejected");
+    System.setProperty("servicecomb.isolation." + TYPE + ".ms.schema.testSemaphoreRejected.maxConcurrentRequests",
+        "1");
+
+    // first one never respond and hold the semaphore
+    handler.handle(invocation, resp -> Assert.fail("should not respond."));
+
+    Response response = invoke();
+    Assert.assertTrue(response.isFailed());
+    Assert.assertEquals(ExceptionFactory.CONSUMER_INNER_STATUS_CODE,
+        ((InvocationException) response.getResult()).getStatusCode());
+    Assert.assertEquals(1, nextCount);
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    mockOperation("ms.schema.testTimeout");
+    System.setProperty("servicecomb.isolation." + TYPE + ".ms.schema.testTimeout.timeout.enabled", "true");
+    System.setProperty("servicecomb.isolation." + TYPE + ".ms.schema.testTimeout.timeoutInMilliseconds", "10");
+    System.setProperty("servicecomb.fallbackpolicy." + TYPE + ".ms.schema.testTimeout.policy", "returnnull");
+
+    Response response = invoke();
+    Assert.assertTrue(response.isSuccessed());
+    Assert.assertNull(response.getResult());
+
+    // semaphore released
+    CircuitBreaker circuitBreaker = handler.getNativeEngine().findCircuitBreaker(invocation);
+    CircuitBreakerSettings settings = circuitBreaker.getSettings(System.currentTimeMillis());
+    Assert.assertEquals(1, circuitBreaker.getWindow().getErrorCount(System.currentTimeMillis()));
+    for (int idx = 0; idx < settings.getIsolationMaxConcurrentRequests(); idx++) {
+      Assert.assertTrue(circuitBreaker.tryAcquire(settings));
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.bizkeeper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestRollingWindow {
+  RollingWindow window = new RollingWindow(10, 1000);
+
+  long now = 1_000_000;
+
+  @Test
+  public void testCount() {
+    window.markSuccess(now);
+    window.markFailure(now + 100);
+    window.markFailure(now + 1500);
+
+    Assert.assertEquals(3, window.getTotalRequests(now + 1500));
+    Assert.assertEquals(2, window.getErrorCount(now + 1500));
+  }
+
+  @Test
+  public void testSlide() {
+    window.markFailure(now);
+    window.markSuccess(now + 5000);
+
+    Assert.assertEquals(2, window.getTotalRequests(now + 9999));
+    // first bucket slide out of window
+    Assert.assertEquals(1, window.getTotalRequests(now + 10000));
+    Assert.assertEquals(0, window.getErrorCount(now + 10000));
+
+    // same slot of ring buffer, but a new round, must be reset
+    window.markSuccess(now + 10000);
+    Assert.assertEquals(2, window.getTotalRequests(now + 10000));
+    Assert.assertEquals(0, window.getErrorCount(now + 10000));
+  }
+
+  @Test
+  public void testReset() {
+    window.markFailure(now);
+    window.reset();
+
+    Assert.assertEquals(0, window.getTotalRequests(now));
+    window.markSuccess(now);
+    Assert.assertEquals(1, window.getTotalRequests(now));
+  }
+
+  @Test
+  public void testErrorThresholdReached() {
+    Assert.assertFalse(window.isErrorThresholdReached(now, 0, 50));
+
+    window.markSuccess(now);
+    window.markFailure(now);
+    Assert.assertTrue(window.isErrorThresholdReached(now, 2, 50));
+    Assert.assertFalse(window.isErrorThresholdReached(now, 3, 50));
+    Assert.assertFalse(window.isErrorThresholdReached(now, 2, 51));
+  }
+}
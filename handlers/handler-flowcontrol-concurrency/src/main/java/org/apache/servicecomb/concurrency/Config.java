@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.concurrency;
+
+import com.netflix.config.DynamicBooleanProperty;
+import com.netflix.config.DynamicDoubleProperty;
+import com.netflix.config.DynamicIntProperty;
+import com.netflix.config.DynamicPropertyFactory;
+
+/**
+ * Configurations of concurrency limit, all of them are dynamic:
+ * <pre>
+ * servicecomb.flowcontrol.{Consumer|Provider}.concurrency.enabled
+ * servicecomb.flowcontrol.{Consumer|Provider}.concurrency.initialLimit
+ * servicecomb.flowcontrol.{Consumer|Provider}.concurrency.minLimit
+ * servicecomb.flowcontrol.{Consumer|Provider}.concurrency.maxLimit
+ * servicecomb.flowcontrol.{Consumer|Provider}.concurrency.rttTolerance
+ * servicecomb.flowcontrol.{Consumer|Provider}.concurrency.smoothing
+ * servicecomb.flowcontrol.{Consumer|Provider}.concurrency.windowInMilliseconds
+ * </pre>
+ */
+public final class Config {
+  public static final String CONSUMER = "Consumer";
+
+  public static final String PROVIDER = "Provider";
+
+  public static final String KEY_PREFIX = "servicecomb.flowcontrol.%s.concurrency.";
+
+  public static final Config CONSUMER_CONFIG = new Config(CONSUMER);
+
+  public static final Config PROVIDER_CONFIG = new Config(PROVIDER);
+
+  private final DynamicBooleanProperty enabled;
+
+  private final DynamicIntProperty initialLimit;
+
+  private final DynamicIntProperty minLimit;
+
+  private final DynamicIntProperty maxLimit;
+
+  private final DynamicDoubleProperty rttTolerance;
+
+  private final DynamicDoubleProperty smoothing;
+
+  private final DynamicIntProperty windowInMilliseconds;
+
+  public Config(String type) {
+    String prefix = String.format(KEY_PREFIX, type);
+    DynamicPropertyFactory factory = DynamicPropertyFactory.getInstance();
+    enabled = factory.getBooleanProperty(prefix + "enabled", true);
+    initialLimit = factory.getIntProperty(prefix + "initialLimit", 20);
+    minLimit = factory.getIntProperty(prefix + "minLimit", 10);
+    maxLimit = factory.getIntProperty(prefix + "maxLimit", 1000);
+    rttTolerance = factory.getDoubleProperty(prefix + "rttTolerance", 1.5);
+    smoothing = factory.getDoubleProperty(prefix + "smoothing", 0.2);
+    windowInMilliseconds = factory.getIntProperty(prefix + "windowInMilliseconds", 100);
+  }
+
+  public boolean isEnabled() {
+    return enabled.get();
+  }
+
+  public int getInitialLimit() {
+    return initialLimit.get();
+  }
+
+  public int getMinLimit() {
+    return minLimit.get();
+  }
+
+  public int getMaxLimit() {
+    return maxLimit.get();
+  }
+
+  public double getRttTolerance() {
+    return rttTolerance.get();
+  }
+
+  public double getSmoothing() {
+    return smoothing.get();
+  }
+
+  public int getWindowInMilliseconds() {
+    return windowInMilliseconds.get();
+  }
+}
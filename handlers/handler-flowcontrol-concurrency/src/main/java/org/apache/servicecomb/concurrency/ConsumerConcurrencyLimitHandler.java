@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.concurrency;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.servicecomb.core.Handler;
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.swagger.invocation.AsyncResponse;
+import org.apache.servicecomb.swagger.invocation.exception.CommonExceptionData;
+import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
+
+/**
+ * Adaptive concurrency limit of each operation on consumer side.
+ */
+public class ConsumerConcurrencyLimitHandler implements Handler {
+  static final String LIMITER_KEY = "concurrencyLimiter." + Config.CONSUMER;
+
+  @Override
+  public void handle(Invocation invocation, AsyncResponse asyncResp) throws Exception {
+    if (!Config.CONSUMER_CONFIG.isEnabled()) {
+      invocation.next(asyncResp);
+      return;
+    }
+
+    GradientLimiter limiter = getOrCreateLimiter(invocation.getOperationMeta());
+    if (!limiter.tryAcquire()) {
+      CommonExceptionData errorData = new CommonExceptionData("rejected by concurrency limit");
+      asyncResp.consumerFail(new InvocationException(Status.SERVICE_UNAVAILABLE, errorData));
+      return;
+    }
+
+    // next may throw after the response is already handled, permit must be released only once
+    AtomicBoolean released = new AtomicBoolean();
+    long start = System.nanoTime();
+    try {
+      invocation.next(response -> {
+        if (released.compareAndSet(false, true)) {
+          limiter.release(System.nanoTime() - start);
+        }
+        asyncResp.handle(response);
+      });
+    } catch (Throwable e) {
+      if (released.compareAndSet(false, true)) {
+        // failed before send, it's not a rtt sample
+        limiter.release(0);
+      }
+      throw e;
+    }
+  }
+
+  static GradientLimiter getOrCreateLimiter(OperationMeta operationMeta) {
+    return (GradientLimiter) operationMeta.getExtData().computeIfAbsent(LIMITER_KEY,
+        key -> new GradientLimiter(operationMeta.getMicroserviceQualifiedName(), Config.CONSUMER_CONFIG));
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adaptive concurrency limit based on the gradient between long term and short term round trip time.
+ * <p>
+ * When short term rtt grows beyond long term rtt * rttTolerance, the limit decreases;
+ * otherwise the limit grows by sqrt(limit), which is treated as the allowed queue size.
+ * </p>
+ * <p>
+ * Samples are aggregated by a lock free window, only the thread which closes the window
+ * recalculates the limit, so the hot path of acquire/release is only a few atomic operations.
+ * </p>
+ */
+public class GradientLimiter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(GradientLimiter.class);
+
+  // long term rtt is an exponential moving average of about 600 windows
+  static final double LONG_RTT_FACTOR = 2.0 / (600 + 1);
+
+  static final double MIN_GRADIENT = 0.5;
+
+  static final double MAX_GRADIENT = 1.0;
+
+  private final Config config;
+
+  private final String name;
+
+  private final AtomicInteger inflight = new AtomicInteger();
+
+  private final LongAdder rttSum = new LongAdder();
+
+  private final LongAdder sampleCount = new LongAdder();
+
+  private final LongAccumulator maxInflight = new LongAccumulator(Math::max, 0);
+
+  private final AtomicLong windowStart;
+
+  private volatile int limit;
+
+  // only accessed in updateLimit
+  private double estimatedLimit;
+
+  private double longRtt;
+
+  public GradientLimiter(String name, Config config) {
+    this(name, config, System.nanoTime());
+  }
+
+  GradientLimiter(String name, Config config, long now) {
+    this.name = name;
+    this.config = config;
+    this.estimatedLimit = config.getInitialLimit();
+    this.limit = config.getInitialLimit();
+    this.windowStart = new AtomicLong(now);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getInflight() {
+    return inflight.get();
+  }
+
+  double getLongRtt() {
+    return longRtt;
+  }
+
+  /**
+   * @return false if the limit is reached, and the request should be rejected
+   */
+  public boolean tryAcquire() {
+    int current = inflight.incrementAndGet();
+    if (current > limit) {
+      inflight.decrementAndGet();
+      return false;
+    }
+
+    maxInflight.accumulate(current);
+    return true;
+  }
+
+  public void release(long rttNanos) {
+    release(rttNanos, System.nanoTime());
+  }
+
+  void release(long rttNanos, long now) {
+    inflight.decrementAndGet();
+    if (rttNanos > 0) {
+      rttSum.add(rttNanos);
+      sampleCount.increment();
+    }
+
+    long start = windowStart.get();
+    if (now - start >= TimeUnit.MILLISECONDS.toNanos(config.getWindowInMilliseconds())
+        && windowStart.compareAndSet(start, now)) {
+      updateLimit();
+    }
+  }
+
+  synchronized void updateLimit() {
+    long count = sampleCount.sumThenReset();
+    long sum = rttSum.sumThenReset();
+    long maxInflightInWindow = maxInflight.getThenReset();
+    if (count == 0) {
+      return;
+    }
+
+    double shortRtt = (double) sum / count;
+    if (longRtt == 0) {
+      longRtt = shortRtt;
+    } else {
+      longRtt += (shortRtt - longRtt) * LONG_RTT_FACTOR;
+    }
+    // long term rtt is far above current rtt, make it recover quickly after a period of overload
+    if (longRtt / shortRtt > 2) {
+      longRtt *= 0.95;
+    }
+
+    // not enough requests to reveal the real capacity, keep limit unchanged
+    if (maxInflightInWindow < estimatedLimit / 2) {
+      return;
+    }
+
+    double gradient = Math.max(MIN_GRADIENT, Math.min(MAX_GRADIENT, config.getRttTolerance() * longRtt / shortRtt));
+    double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    double smoothing = config.getSmoothing();
+    newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+    newLimit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), newLimit));
+
+    if ((int) newLimit != limit) {
+      LOGGER.debug("concurrency limit of {} changed from {} to {}, shortRtt={}ns, longRtt={}ns.",
+          name, limit, (int) newLimit, (long) shortRtt, (long) longRtt);
+    }
+    estimatedLimit = newLimit;
+    limit = (int) newLimit;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.concurrency;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.servicecomb.core.Handler;
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.swagger.invocation.AsyncResponse;
+import org.apache.servicecomb.swagger.invocation.exception.CommonExceptionData;
+import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
+
+/**
+ * Adaptive concurrency limit of each operation on provider side.
+ * <p>
+ * Like ProviderQpsFlowControlHandler, it's executed by transports before the invocation
+ * is scheduled to executor, and the permit is released when the invocation finished.
+ * </p>
+ */
+public class ProviderConcurrencyLimitHandler implements Handler {
+  static final String LIMITER_KEY = "concurrencyLimiter." + Config.PROVIDER;
+
+  /**
+   * invoked by {@link ConcurrencyLimitInvocationListener} when the invocation finished
+   */
+  static void release(Invocation invocation) {
+    GradientLimiter limiter = (GradientLimiter) invocation.getHandlerContext().remove(LIMITER_KEY);
+    if (limiter != null) {
+      long nanoFinish = invocation.getInvocationStageTrace().getFinish();
+      limiter.release(nanoFinish - invocation.getInvocationStageTrace().getStart(), nanoFinish);
+    }
+  }
+
+  @Override
+  public void handle(Invocation invocation, AsyncResponse asyncResp) throws Exception {
+    if (invocation.getHandlerIndex() > 0) {
+      // handlerIndex > 0, which means this handler is executed in handler chain.
+      // As this logic has been executed in advance, this time it should be ignored.
+      invocation.next(asyncResp);
+      return;
+    }
+
+    // The real executing position of this handler is no longer in handler chain, but in transports.
+    // Therefore, the Invocation#next() method should not be called below.
+    if (!Config.PROVIDER_CONFIG.isEnabled()) {
+      return;
+    }
+
+    GradientLimiter limiter = getOrCreateLimiter(invocation.getOperationMeta());
+    if (!limiter.tryAcquire()) {
+      CommonExceptionData errorData = new CommonExceptionData("rejected by concurrency limit");
+      asyncResp.producerFail(new InvocationException(Status.SERVICE_UNAVAILABLE, errorData));
+      return;
+    }
+
+    invocation.getHandlerContext().put(LIMITER_KEY, limiter);
+  }
+
+  static GradientLimiter getOrCreateLimiter(OperationMeta operationMeta) {
+    return (GradientLimiter) operationMeta.getExtData().computeIfAbsent(LIMITER_KEY,
+        key -> new GradientLimiter(operationMeta.getMicroserviceQualifiedName(), Config.PROVIDER_CONFIG));
+  }
+}
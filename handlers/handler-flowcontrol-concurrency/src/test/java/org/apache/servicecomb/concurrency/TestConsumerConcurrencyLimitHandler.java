@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.concurrency;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.apache.servicecomb.swagger.invocation.AsyncResponse;
+import org.apache.servicecomb.swagger.invocation.Response;
+import org.apache.servicecomb.swagger.invocation.exception.CommonExceptionData;
+import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+public class TestConsumerConcurrencyLimitHandler {
+  ConsumerConcurrencyLimitHandler handler = new ConsumerConcurrencyLimitHandler();
+
+  Invocation invocation = Mockito.mock(Invocation.class);
+
+  AsyncResponse asyncResp = Mockito.mock(AsyncResponse.class);
+
+  OperationMeta operationMeta = Mockito.mock(OperationMeta.class);
+
+  @Before
+  public void setUp() {
+    Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+    Mockito.when(operationMeta.getExtData()).thenReturn(new ConcurrentHashMapEx<>());
+    Mockito.when(operationMeta.getMicroserviceQualifiedName()).thenReturn("svc.schema.op");
+  }
+
+  @After
+  public void tearDown() {
+    ArchaiusUtils.updateProperty("servicecomb.flowcontrol.Consumer.concurrency.enabled", null);
+  }
+
+  @Test
+  public void handleAndRelease() throws Exception {
+    Response response = Response.ok(null);
+    Mockito.doAnswer(invocationOnMock -> {
+      AsyncResponse resp = invocationOnMock.getArgumentAt(0, AsyncResponse.class);
+      Assert.assertEquals(1, ConsumerConcurrencyLimitHandler.getOrCreateLimiter(operationMeta).getInflight());
+      resp.handle(response);
+      return null;
+    }).when(invocation).next(Mockito.any());
+
+    handler.handle(invocation, asyncResp);
+
+    Mockito.verify(asyncResp).handle(response);
+    Assert.assertEquals(0, ConsumerConcurrencyLimitHandler.getOrCreateLimiter(operationMeta).getInflight());
+  }
+
+  @Test
+  public void releaseWhenNextThrow() throws Exception {
+    Mockito.doThrow(new IllegalStateException("failed")).when(invocation).next(Mockito.any());
+
+    try {
+      handler.handle(invocation, asyncResp);
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("failed", e.getMessage());
+    }
+    Assert.assertEquals(0, ConsumerConcurrencyLimitHandler.getOrCreateLimiter(operationMeta).getInflight());
+  }
+
+  @Test
+  public void releaseOnceWhenNextThrowAfterResponse() throws Exception {
+    Mockito.doAnswer(invocationOnMock -> {
+      AsyncResponse resp = invocationOnMock.getArgumentAt(0, AsyncResponse.class);
+      resp.handle(Response.ok(null));
+      throw new IllegalStateException("failed");
+    }).when(invocation).next(Mockito.any());
+
+    GradientLimiter limiter = ConsumerConcurrencyLimitHandler.getOrCreateLimiter(operationMeta);
+    // another invocation in flight, must not be released by this one
+    Assert.assertTrue(limiter.tryAcquire());
+    try {
+      handler.handle(invocation, asyncResp);
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("failed", e.getMessage());
+    }
+    Assert.assertEquals(1, limiter.getInflight());
+  }
+
+  @Test
+  public void reject() throws Exception {
+    GradientLimiter limiter = ConsumerConcurrencyLimitHandler.getOrCreateLimiter(operationMeta);
+    while (limiter.tryAcquire()) {
+      // fill up the limiter
+    }
+
+    handler.handle(invocation, asyncResp);
+
+    ArgumentCaptor<InvocationException> captor = ArgumentCaptor.forClass(InvocationException.class);
+    Mockito.verify(asyncResp).consumerFail(captor.capture());
+    Mockito.verify(invocation, Mockito.never()).next(Mockito.any());
+    Assert.assertEquals(Status.SERVICE_UNAVAILABLE.getStatusCode(), captor.getValue().getStatusCode());
+    Assert.assertEquals("rejected by concurrency limit",
+        ((CommonExceptionData) captor.getValue().getErrorData()).getMessage());
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    ArchaiusUtils.updateProperty("servicecomb.flowcontrol.Consumer.concurrency.enabled", false);
+
+    handler.handle(invocation, asyncResp);
+
+    Mockito.verify(invocation).next(asyncResp);
+    Mockito.verify(operationMeta, Mockito.never()).getExtData();
+  }
+}
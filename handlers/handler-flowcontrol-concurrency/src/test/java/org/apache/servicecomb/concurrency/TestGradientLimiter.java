@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.concurrency;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestGradientLimiter {
+  static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+  static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+  Config config = new Config("TestGradientLimiter");
+
+  long now = 0;
+
+  GradientLimiter limiter = new GradientLimiter("test", config, now);
+
+  private void runWindow(int concurrency, long rtt) {
+    for (int idx = 0; idx < concurrency; idx++) {
+      Assert.assertTrue(limiter.tryAcquire());
+    }
+    for (int idx = 0; idx < concurrency - 1; idx++) {
+      limiter.release(rtt, now);
+    }
+    now += WINDOW;
+    limiter.release(rtt, now);
+  }
+
+  @Test
+  public void tryAcquire() {
+    for (int idx = 0; idx < config.getInitialLimit(); idx++) {
+      Assert.assertTrue(limiter.tryAcquire());
+    }
+    Assert.assertFalse(limiter.tryAcquire());
+    Assert.assertEquals(config.getInitialLimit(), limiter.getInflight());
+
+    limiter.release(RTT, now);
+    Assert.assertEquals(config.getInitialLimit() - 1, limiter.getInflight());
+    Assert.assertTrue(limiter.tryAcquire());
+  }
+
+  @Test
+  public void growWhenRttStable() {
+    for (int idx = 0; idx < 10; idx++) {
+      runWindow(limiter.getLimit(), RTT);
+    }
+
+    Assert.assertEquals(RTT, limiter.getLongRtt(), 1);
+    Assert.assertTrue(limiter.getLimit() > config.getInitialLimit());
+    Assert.assertEquals(0, limiter.getInflight());
+  }
+
+  @Test
+  public void shrinkWhenRttIncreased() {
+    runWindow(limiter.getLimit(), RTT);
+    int limit = limiter.getLimit();
+
+    runWindow(limiter.getLimit(), RTT * 4);
+    Assert.assertTrue(limiter.getLimit() < limit);
+
+    for (int idx = 0; idx < 100; idx++) {
+      runWindow(limiter.getLimit(), RTT * 4 * (idx + 2));
+    }
+    Assert.assertEquals(config.getMinLimit(), limiter.getLimit());
+  }
+
+  @Test
+  public void keepWhenAppLimited() {
+    for (int idx = 0; idx < 10; idx++) {
+      runWindow(1, RTT * (idx + 1));
+    }
+
+    Assert.assertEquals(config.getInitialLimit(), limiter.getLimit());
+  }
+
+  @Test
+  public void noUpdateInsideWindow() {
+    Assert.assertTrue(limiter.tryAcquire());
+    limiter.release(RTT, now + WINDOW - 1);
+
+    Assert.assertEquals(0, limiter.getLongRtt(), 0);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.concurrency;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.core.invocation.InvocationStageTrace;
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.apache.servicecomb.swagger.invocation.AsyncResponse;
+import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+public class TestProviderConcurrencyLimitHandler {
+  ProviderConcurrencyLimitHandler handler = new ProviderConcurrencyLimitHandler();
+
+  Invocation invocation = Mockito.mock(Invocation.class);
+
+  AsyncResponse asyncResp = Mockito.mock(AsyncResponse.class);
+
+  OperationMeta operationMeta = Mockito.mock(OperationMeta.class);
+
+  ConcurrentHashMapEx<String, Object> handlerContext = new ConcurrentHashMapEx<>();
+
+  @Before
+  public void setUp() {
+    Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+    Mockito.when(invocation.getHandlerContext()).thenReturn(handlerContext);
+    Mockito.when(invocation.getInvocationStageTrace()).thenReturn(new InvocationStageTrace(invocation));
+    Mockito.when(operationMeta.getExtData()).thenReturn(new ConcurrentHashMapEx<>());
+    Mockito.when(operationMeta.getMicroserviceQualifiedName()).thenReturn("svc.schema.op");
+  }
+
+  @After
+  public void tearDown() {
+    ArchaiusUtils.updateProperty("servicecomb.flowcontrol.Provider.concurrency.enabled", null);
+  }
+
+  @Test
+  public void inHandlerChain() throws Exception {
+    Mockito.when(invocation.getHandlerIndex()).thenReturn(1);
+
+    handler.handle(invocation, asyncResp);
+
+    Mockito.verify(invocation).next(asyncResp);
+    Assert.assertTrue(handlerContext.isEmpty());
+  }
+
+  @Test
+  public void acquireAndReleaseOnFinish() throws Exception {
+    handler.handle(invocation, asyncResp);
+
+    GradientLimiter limiter = ProviderConcurrencyLimitHandler.getOrCreateLimiter(operationMeta);
+    Assert.assertSame(limiter, handlerContext.get(ProviderConcurrencyLimitHandler.LIMITER_KEY));
+    Assert.assertEquals(1, limiter.getInflight());
+    Mockito.verify(invocation, Mockito.never()).next(Mockito.any());
+    Mockito.verify(asyncResp, Mockito.never()).handle(Mockito.any());
+
+    ProviderConcurrencyLimitHandler.release(invocation);
+    Assert.assertEquals(0, limiter.getInflight());
+    Assert.assertTrue(handlerContext.isEmpty());
+
+    // finish event of invocations not limited by this handler
+    ProviderConcurrencyLimitHandler.release(invocation);
+    Assert.assertEquals(0, limiter.getInflight());
+  }
+
+  @Test
+  public void reject() throws Exception {
+    GradientLimiter limiter = ProviderConcurrencyLimitHandler.getOrCreateLimiter(operationMeta);
+    while (limiter.tryAcquire()) {
+      // fill up the limiter
+    }
+
+    handler.handle(invocation, asyncResp);
+
+    ArgumentCaptor<InvocationException> captor = ArgumentCaptor.forClass(InvocationException.class);
+    Mockito.verify(asyncResp).producerFail(captor.capture());
+    Assert.assertEquals(Status.SERVICE_UNAVAILABLE.getStatusCode(), captor.getValue().getStatusCode());
+    Assert.assertTrue(handlerContext.isEmpty());
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    ArchaiusUtils.updateProperty("servicecomb.flowcontrol.Provider.concurrency.enabled", false);
+
+    handler.handle(invocation, asyncResp);
+
+    Mockito.verify(invocation, Mockito.never()).next(Mockito.any());
+    Mockito.verify(asyncResp, Mockito.never()).producerFail(Mockito.any());
+    Assert.assertTrue(handlerContext.isEmpty());
+  }
+}
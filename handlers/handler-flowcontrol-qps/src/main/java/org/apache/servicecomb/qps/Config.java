@@ -33,6 +33,20 @@ public final class Config {
   public static final String PROVIDER_LIMIT_KEY_GLOBAL =
       "servicecomb.flowcontrol.Provider.qps.global.limit";
 
+  public static final String CONSUMER_STRATEGY_KEY_PREFIX = "servicecomb.flowcontrol.Consumer.qps.strategy.";
+
+  public static final String PROVIDER_STRATEGY_KEY_PREFIX = "servicecomb.flowcontrol.Provider.qps.strategy.";
+
+  public static final String PROVIDER_STRATEGY_KEY_GLOBAL =
+      "servicecomb.flowcontrol.Provider.qps.global.strategy";
+
+  public static final String CONSUMER_BUCKET_KEY_PREFIX = "servicecomb.flowcontrol.Consumer.qps.bucket.";
+
+  public static final String PROVIDER_BUCKET_KEY_PREFIX = "servicecomb.flowcontrol.Provider.qps.bucket.";
+
+  public static final String PROVIDER_BUCKET_KEY_GLOBAL =
+      "servicecomb.flowcontrol.Provider.qps.global.bucket";
+
   public static final String CONSUMER_ENABLED = "servicecomb.flowcontrol.Consumer.qps.enabled";
 
   public static final String PROVIDER_ENABLED = "servicecomb.flowcontrol.Provider.qps.enabled";
@@ -29,7 +29,9 @@ import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
  */
 public class ConsumerQpsFlowControlHandler implements Handler {
   static final QpsControllerManager qpsControllerMgr = new QpsControllerManager()
-      .setConfigKeyPrefix(Config.CONSUMER_LIMIT_KEY_PREFIX);
+      .setConfigKeyPrefix(Config.CONSUMER_LIMIT_KEY_PREFIX)
+      .setStrategyKeyPrefix(Config.CONSUMER_STRATEGY_KEY_PREFIX)
+      .setBucketKeyPrefix(Config.CONSUMER_BUCKET_KEY_PREFIX);
 
   @Override
   public void handle(Invocation invocation, AsyncResponse asyncResp) throws Exception {
@@ -28,7 +28,10 @@ import org.springframework.util.StringUtils;
 public class ProviderQpsFlowControlHandler implements Handler {
   static final QpsControllerManager qpsControllerMgr = new QpsControllerManager()
       .setConfigKeyPrefix(Config.PROVIDER_LIMIT_KEY_PREFIX)
-      .setGlobalQpsController(Config.PROVIDER_LIMIT_KEY_GLOBAL);
+      .setStrategyKeyPrefix(Config.PROVIDER_STRATEGY_KEY_PREFIX)
+      .setBucketKeyPrefix(Config.PROVIDER_BUCKET_KEY_PREFIX)
+      .setGlobalQpsController(Config.PROVIDER_LIMIT_KEY_GLOBAL, Config.PROVIDER_STRATEGY_KEY_GLOBAL,
+          Config.PROVIDER_BUCKET_KEY_GLOBAL);
 
   @Override
   public void handle(Invocation invocation, AsyncResponse asyncResp) throws Exception {
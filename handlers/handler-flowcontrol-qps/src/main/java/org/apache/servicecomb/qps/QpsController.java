@@ -17,28 +17,24 @@
 
 package org.apache.servicecomb.qps;
 
-import java.util.concurrent.atomic.AtomicLong;
+import org.apache.servicecomb.qps.strategy.QpsStrategy;
+import org.apache.servicecomb.qps.strategy.QpsStrategyType;
 
 public class QpsController {
   private String key;
 
   private Integer qpsLimit;
 
-  // Interval begin time
-  private volatile long msCycleBegin;
+  // max requests allowed in a burst, only used by token bucket, default to qpsLimit
+  private Integer bucketLimit;
 
-  // Request count between Interval begin and now in one interval
-  private AtomicLong requestCount = new AtomicLong();
+  private QpsStrategyType strategyType = QpsStrategyType.FixedWindow;
 
-  // request count  before an interval
-  private volatile long lastRequestCount = 1;
-
-  private static final int CYCLE_LENGTH = 1000;
+  private volatile QpsStrategy strategy = strategyType.createStrategy();
 
   public QpsController(String key, Integer qpsLimit) {
     this.key = key;
     this.qpsLimit = qpsLimit;
-    this.msCycleBegin = System.currentTimeMillis();
   }
 
   public String getKey() {
@@ -53,20 +49,39 @@ public class QpsController {
     this.qpsLimit = qpsLimit;
   }
 
-  // return true means new request need to be rejected
-  public boolean isLimitNewRequest() {
-    long newCount = requestCount.incrementAndGet();
-    long msNow = System.currentTimeMillis();
-    //Time jump cause the new request injected
-    if (msNow - msCycleBegin > CYCLE_LENGTH || msNow < msCycleBegin) {
-      //no need worry about concurrency problem
-      lastRequestCount = newCount;
-      msCycleBegin = msNow;
+  public Integer getBucketLimit() {
+    return bucketLimit;
+  }
+
+  public void setBucketLimit(Integer bucketLimit) {
+    this.bucketLimit = bucketLimit;
+  }
+
+  public QpsStrategyType getStrategyType() {
+    return strategyType;
+  }
+
+  /**
+   * @param strategyType null means default strategy
+   */
+  public synchronized void setStrategyType(QpsStrategyType strategyType) {
+    QpsStrategyType newType = strategyType == null ? QpsStrategyType.FixedWindow : strategyType;
+    if (newType == this.strategyType) {
+      return;
     }
 
+    this.strategyType = newType;
+    this.strategy = newType.createStrategy();
+  }
+
+  // return true means new request need to be rejected
+  public boolean isLimitNewRequest() {
     // Configuration update and use is at the situation of multi-threaded concurrency
     // It is possible that operation level updated to null,but schema level or microservice level does not updated
+    Integer qpsLimit = this.qpsLimit;
     int limitValue = (qpsLimit == null) ? Integer.MAX_VALUE : qpsLimit;
-    return newCount - lastRequestCount >= limitValue;
+    Integer bucketLimit = this.bucketLimit;
+    int bucketValue = (bucketLimit == null) ? limitValue : bucketLimit;
+    return strategy.isLimitNewRequest(limitValue, bucketValue);
   }
 }
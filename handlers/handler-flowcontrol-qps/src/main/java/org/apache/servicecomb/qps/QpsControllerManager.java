@@ -22,6 +22,7 @@ import java.util.Map.Entry;
 
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
+import org.apache.servicecomb.qps.strategy.QpsStrategyType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +47,10 @@ public class QpsControllerManager {
 
   private String configKeyPrefix;
 
+  private String strategyKeyPrefix;
+
+  private String bucketKeyPrefix;
+
   public QpsController getOrCreate(String microserviceName, Invocation invocation) {
     return qualifiedNameControllerMap
         .computeIfAbsent(microserviceName + SEPARATOR + invocation.getOperationMeta().getSchemaQualifiedName(), key -> {
@@ -126,6 +131,9 @@ public class QpsControllerManager {
     DynamicProperty property = getDynamicProperty(configKey);
     QpsController qpsController = new QpsController(configKey, property.getInteger());
 
+    watchStrategy(qpsController, strategyKeyPrefix == null ? null : strategyKeyPrefix + configKey,
+        bucketKeyPrefix == null ? null : bucketKeyPrefix + configKey);
+
     configQpsControllerMap.put(configKey, qpsController);
 
     property.addCallback(() -> {
@@ -151,7 +159,59 @@ public class QpsControllerManager {
     return this;
   }
 
+  /**
+   * strategy and bucket of a qpsController can be configured by the same key of qps limit.
+   * if not configured, use the default strategy.
+   */
+  private void watchStrategy(QpsController qpsController, String strategyKey, String bucketKey) {
+    if (strategyKey != null) {
+      DynamicProperty strategyProperty = DynamicProperty.getInstance(strategyKey);
+      qpsController.setStrategyType(parseStrategyType(strategyKey, strategyProperty.getString()));
+      strategyProperty.addCallback(() -> {
+        qpsController.setStrategyType(parseStrategyType(strategyKey, strategyProperty.getString()));
+        LOGGER.info("Qps strategy updated, configKey = [{}], value = [{}]", strategyKey,
+            qpsController.getStrategyType());
+      });
+    }
+
+    if (bucketKey != null) {
+      DynamicProperty bucketProperty = DynamicProperty.getInstance(bucketKey);
+      qpsController.setBucketLimit(bucketProperty.getInteger());
+      bucketProperty.addCallback(() -> {
+        qpsController.setBucketLimit(bucketProperty.getInteger());
+        LOGGER.info("Qps bucket updated, configKey = [{}], value = [{}]", bucketKey, bucketProperty.getString());
+      });
+    }
+  }
+
+  private QpsStrategyType parseStrategyType(String strategyKey, String value) {
+    if (value == null) {
+      return null;
+    }
+
+    QpsStrategyType strategyType = QpsStrategyType.parse(value);
+    if (strategyType == null) {
+      LOGGER.warn("Invalid qps strategy, use default strategy, configKey = [{}], value = [{}]", strategyKey, value);
+    }
+    return strategyType;
+  }
+
+  public QpsControllerManager setStrategyKeyPrefix(String strategyKeyPrefix) {
+    this.strategyKeyPrefix = strategyKeyPrefix;
+    return this;
+  }
+
+  public QpsControllerManager setBucketKeyPrefix(String bucketKeyPrefix) {
+    this.bucketKeyPrefix = bucketKeyPrefix;
+    return this;
+  }
+
   public QpsControllerManager setGlobalQpsController(String globalConfigKey) {
+    return setGlobalQpsController(globalConfigKey, null, null);
+  }
+
+  public QpsControllerManager setGlobalQpsController(String globalConfigKey, String globalStrategyKey,
+      String globalBucketKey) {
     DynamicProperty globalQpsProperty = DynamicProperty.getInstance(globalConfigKey);
     QpsController qpsController = new QpsController(globalConfigKey, globalQpsProperty.getInteger());
 
@@ -159,6 +219,7 @@ public class QpsControllerManager {
       qpsController.setQpsLimit(globalQpsProperty.getInteger());
       LOGGER.info("Global qps limit update, value = [{}]", globalQpsProperty.getInteger());
     });
+    watchStrategy(qpsController, globalStrategyKey, globalBucketKey);
 
     this.globalQpsController = qpsController;
     return this;
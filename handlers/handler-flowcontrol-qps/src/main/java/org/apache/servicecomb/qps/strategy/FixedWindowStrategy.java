@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.qps.strategy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * count requests in fixed 1 second windows, simple but allows 2x bursts at window boundaries.
+ */
+public class FixedWindowStrategy implements QpsStrategy {
+  // Interval begin time
+  private volatile long msCycleBegin;
+
+  // Request count between Interval begin and now in one interval
+  private AtomicLong requestCount = new AtomicLong();
+
+  // request count  before an interval
+  private volatile long lastRequestCount = 1;
+
+  private static final int CYCLE_LENGTH = 1000;
+
+  public FixedWindowStrategy() {
+    this.msCycleBegin = System.currentTimeMillis();
+  }
+
+  @Override
+  public boolean isLimitNewRequest(int qpsLimit, int bucketLimit) {
+    long newCount = requestCount.incrementAndGet();
+    long msNow = System.currentTimeMillis();
+    //Time jump cause the new request injected
+    if (msNow - msCycleBegin > CYCLE_LENGTH || msNow < msCycleBegin) {
+      //no need worry about concurrency problem
+      lastRequestCount = newCount;
+      msCycleBegin = msNow;
+    }
+
+    return newCount - lastRequestCount >= qpsLimit;
+  }
+}
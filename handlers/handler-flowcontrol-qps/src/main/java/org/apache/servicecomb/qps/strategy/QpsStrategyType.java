@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.qps.strategy;
+
+import java.util.function.Supplier;
+
+public enum QpsStrategyType {
+  FixedWindow(FixedWindowStrategy::new),
+  SlidingWindow(SlidingWindowStrategy::new),
+  TokenBucket(TokenBucketStrategy::new);
+
+  private final Supplier<QpsStrategy> creator;
+
+  QpsStrategyType(Supplier<QpsStrategy> creator) {
+    this.creator = creator;
+  }
+
+  public QpsStrategy createStrategy() {
+    return creator.get();
+  }
+
+  /**
+   * @return null if name is not a valid type
+   */
+  public static QpsStrategyType parse(String name) {
+    for (QpsStrategyType type : values()) {
+      if (type.name().equalsIgnoreCase(name)) {
+        return type;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.qps.strategy;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * count accepted requests in the latest 1 second, which is divided into buckets organized as a ring buffer.<br>
+ * every bucket is a {@link LongAdder}, so concurrent requests not contend on a single counter.<br>
+ * the window is an immutable snapshot swapped by CAS when moving to a new bucket, the new bucket is a new counter
+ * and sum of other buckets is calculated together, so a request never reads a half moved window.<br>
+ * a request increments the current bucket before compare, and undo it if rejected, so concurrent requests can not
+ * exceed the limit, but may be rejected by increments of rejected requests not undone yet.
+ */
+public class SlidingWindowStrategy implements QpsStrategy {
+  static final int BUCKET_COUNT = 10;
+
+  static final long BUCKET_SIZE_IN_MILLISECONDS = 1000 / BUCKET_COUNT;
+
+  static final class Window {
+    // start time of buckets
+    final long[] starts;
+
+    final LongAdder[] buckets;
+
+    // start time of current bucket
+    final long start;
+
+    final LongAdder current;
+
+    // sum of other buckets in the window when current bucket begins
+    final long previousCount;
+
+    Window() {
+      starts = new long[BUCKET_COUNT];
+      buckets = new LongAdder[BUCKET_COUNT];
+      for (int idx = 0; idx < BUCKET_COUNT; idx++) {
+        starts[idx] = Long.MIN_VALUE;
+        buckets[idx] = new LongAdder();
+      }
+      start = Long.MIN_VALUE;
+      current = buckets[0];
+      previousCount = 0;
+    }
+
+    Window(Window prev, long bucketStart) {
+      int idx = (int) ((bucketStart / BUCKET_SIZE_IN_MILLISECONDS) % BUCKET_COUNT);
+      starts = prev.starts.clone();
+      buckets = prev.buckets.clone();
+      starts[idx] = bucketStart;
+      buckets[idx] = new LongAdder();
+
+      long windowStart = bucketStart - BUCKET_SIZE_IN_MILLISECONDS * (BUCKET_COUNT - 1);
+      long count = 0;
+      for (int other = 0; other < BUCKET_COUNT; other++) {
+        if (other != idx && starts[other] >= windowStart && starts[other] < bucketStart) {
+          count += buckets[other].sum();
+        }
+      }
+
+      start = bucketStart;
+      current = buckets[idx];
+      previousCount = count;
+    }
+  }
+
+  private final AtomicReference<Window> window = new AtomicReference<>(new Window());
+
+  @Override
+  public boolean isLimitNewRequest(int qpsLimit, int bucketLimit) {
+    return isLimitNewRequest(System.currentTimeMillis(), qpsLimit);
+  }
+
+  boolean isLimitNewRequest(long now, int qpsLimit) {
+    Window current = moveTo(now - now % BUCKET_SIZE_IN_MILLISECONDS);
+    LongAdder bucket = current.current;
+    bucket.increment();
+    if (bucket.sum() + current.previousCount > qpsLimit) {
+      bucket.decrement();
+      return true;
+    }
+    return false;
+  }
+
+  private Window moveTo(long bucketStart) {
+    for (; ; ) {
+      Window current = window.get();
+      // time jumped back is counted in current bucket
+      if (current.start >= bucketStart) {
+        return current;
+      }
+
+      Window next = new Window(current, bucketStart);
+      if (window.compareAndSet(current, next)) {
+        return next;
+      }
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.qps.strategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * tokens are added at the rate of qpsLimit, and at most bucketLimit tokens can be saved for bursts.<br>
+ * implemented as GCRA: instead of counting tokens, record the theoretical arrival time of next request,
+ * so that no background thread to add tokens.<br>
+ * all requests share one atomic arrival time, that is the price of an exact limit, striping it splits the limit
+ * between stripes. to reduce the contention: rejected requests only read it; when busy, the arrival time only
+ * grows, accepted requests reserve by one atomic add that never retries, and undo it if exceeded; CAS is only
+ * used to restart from idle. see QpsStrategyBenchmark of benchmarks module.
+ */
+public class TokenBucketStrategy implements QpsStrategy {
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  // theoretical arrival time of next request if requests come at the rate of qpsLimit
+  private final AtomicLong theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+
+  @Override
+  public boolean isLimitNewRequest(int qpsLimit, int bucketLimit) {
+    return isLimitNewRequest(System.nanoTime(), qpsLimit, bucketLimit);
+  }
+
+  boolean isLimitNewRequest(long now, int qpsLimit, int bucketLimit) {
+    if (qpsLimit <= 0 || bucketLimit <= 0) {
+      return true;
+    }
+
+    long interval = NANOS_PER_SECOND / qpsLimit;
+    long tolerance = interval * bucketLimit;
+    for (; ; ) {
+      long tat = theoreticalArrivalTime.get();
+      if (tat == Long.MIN_VALUE || tat - now < 0) {
+        // idle, restart from now
+        if (theoreticalArrivalTime.compareAndSet(tat, now + interval)) {
+          return false;
+        }
+        continue;
+      }
+
+      if (tat + interval - now > tolerance) {
+        return true;
+      }
+      if (theoreticalArrivalTime.addAndGet(interval) - now > tolerance) {
+        theoreticalArrivalTime.addAndGet(-interval);
+        return true;
+      }
+      return false;
+    }
+  }
+}
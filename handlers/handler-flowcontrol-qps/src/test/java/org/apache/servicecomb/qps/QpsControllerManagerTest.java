@@ -23,6 +23,7 @@ import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.definition.OperationMeta;
 import org.apache.servicecomb.core.definition.SchemaMeta;
 import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.apache.servicecomb.qps.strategy.QpsStrategyType;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -399,6 +400,46 @@ public class QpsControllerManagerTest {
         getMockOperationMeta(microserviceName, schemaId, operationId));
   }
 
+  @Test
+  public void testStrategy() {
+    QpsControllerManager qpsControllerManager = new QpsControllerManager()
+        .setConfigKeyPrefix(Config.CONSUMER_LIMIT_KEY_PREFIX)
+        .setStrategyKeyPrefix(Config.CONSUMER_STRATEGY_KEY_PREFIX)
+        .setBucketKeyPrefix(Config.CONSUMER_BUCKET_KEY_PREFIX);
+    Invocation invocation = getMockInvocation(getMockOperationMeta("pojo", "server", "test"));
+    Mockito.when(invocation.getSchemaId()).thenReturn("server");
+
+    setConfigWithDefaultPrefix("pojo", 100);
+    ArchaiusUtils.setProperty(Config.CONSUMER_STRATEGY_KEY_PREFIX + "pojo", "TokenBucket");
+    ArchaiusUtils.setProperty(Config.CONSUMER_BUCKET_KEY_PREFIX + "pojo", 200);
+    QpsController qpsController = qpsControllerManager.getOrCreate("pojo", invocation);
+    Assert.assertEquals("pojo", qpsController.getKey());
+    Assert.assertEquals(QpsStrategyType.TokenBucket, qpsController.getStrategyType());
+    Assert.assertEquals(200, (int) qpsController.getBucketLimit());
+
+    ArchaiusUtils.setProperty(Config.CONSUMER_STRATEGY_KEY_PREFIX + "pojo", "slidingWindow");
+    Assert.assertEquals(QpsStrategyType.SlidingWindow, qpsController.getStrategyType());
+
+    ArchaiusUtils.setProperty(Config.CONSUMER_STRATEGY_KEY_PREFIX + "pojo", "unknown");
+    Assert.assertEquals(QpsStrategyType.FixedWindow, qpsController.getStrategyType());
+
+    // schema level not configured
+    Assert.assertEquals(QpsStrategyType.FixedWindow,
+        Deencapsulation.<Map<String, QpsController>>getField(qpsControllerManager, "configQpsControllerMap")
+            .get("pojo.server").getStrategyType());
+  }
+
+  @Test
+  public void testGlobalStrategy() {
+    ArchaiusUtils.setProperty(Config.PROVIDER_STRATEGY_KEY_GLOBAL, "SlidingWindow");
+    QpsControllerManager qpsControllerManager = new QpsControllerManager()
+        .setGlobalQpsController(Config.PROVIDER_LIMIT_KEY_GLOBAL, Config.PROVIDER_STRATEGY_KEY_GLOBAL,
+            Config.PROVIDER_BUCKET_KEY_GLOBAL);
+    Assert.assertEquals(QpsStrategyType.SlidingWindow,
+        qpsControllerManager.getGlobalQpsController().getStrategyType());
+    Assert.assertNull(qpsControllerManager.getGlobalQpsController().getBucketLimit());
+  }
+
   private static Invocation getMockInvocation(OperationMeta mockOperationMeta) {
     Invocation invocation = Mockito.mock(Invocation.class);
     Mockito.when(invocation.getOperationMeta()).thenReturn(mockOperationMeta);
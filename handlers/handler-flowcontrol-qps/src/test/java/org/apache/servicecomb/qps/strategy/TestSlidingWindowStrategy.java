@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.qps.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestSlidingWindowStrategy {
+  SlidingWindowStrategy strategy = new SlidingWindowStrategy();
+
+  long now = 1_000_000;
+
+  @Test
+  public void testLimit() {
+    for (int idx = 0; idx < 10; idx++) {
+      Assert.assertFalse(strategy.isLimitNewRequest(now, 10));
+    }
+    Assert.assertTrue(strategy.isLimitNewRequest(now, 10));
+    // rejected requests are not counted
+    Assert.assertTrue(strategy.isLimitNewRequest(now + 999, 10));
+    Assert.assertFalse(strategy.isLimitNewRequest(now + 1000, 10));
+  }
+
+  @Test
+  public void testNoBurstAtBoundary() {
+    // requests at the end of a second
+    for (int idx = 0; idx < 10; idx++) {
+      Assert.assertFalse(strategy.isLimitNewRequest(now + 900, 10));
+    }
+    // fixed window allows 10 more requests here, but sliding window not
+    Assert.assertTrue(strategy.isLimitNewRequest(now + 1000, 10));
+    Assert.assertTrue(strategy.isLimitNewRequest(now + 1899, 10));
+    Assert.assertFalse(strategy.isLimitNewRequest(now + 1900, 10));
+  }
+
+  @Test
+  public void testSlide() {
+    for (int idx = 0; idx < 5; idx++) {
+      Assert.assertFalse(strategy.isLimitNewRequest(now + idx * 100, 5));
+    }
+    Assert.assertTrue(strategy.isLimitNewRequest(now + 900, 5));
+    // the first bucket slides out
+    Assert.assertFalse(strategy.isLimitNewRequest(now + 1000, 5));
+    Assert.assertTrue(strategy.isLimitNewRequest(now + 1000, 5));
+
+    // all buckets slide out, and ring buffer reused
+    for (int idx = 0; idx < 5; idx++) {
+      Assert.assertFalse(strategy.isLimitNewRequest(now + 5000, 5));
+    }
+    Assert.assertTrue(strategy.isLimitNewRequest(now + 5000, 5));
+  }
+
+  @Test
+  public void testLimitZero() {
+    Assert.assertTrue(strategy.isLimitNewRequest(now, 0));
+  }
+
+  @Test
+  public void testConcurrentNotExceed() throws InterruptedException {
+    int threadCount = 8;
+    AtomicInteger accepted = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int threadIdx = 0; threadIdx < threadCount; threadIdx++) {
+      Thread thread = new Thread(() -> {
+        try {
+          latch.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        // half of requests move to the next bucket concurrently
+        for (int idx = 0; idx < 1000; idx++) {
+          if (!strategy.isLimitNewRequest(now + (idx % 2) * 100, 1000)) {
+            accepted.incrementAndGet();
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    latch.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertTrue(accepted.get() <= 1000);
+    Assert.assertTrue(strategy.isLimitNewRequest(now + 100, 1000));
+  }
+}
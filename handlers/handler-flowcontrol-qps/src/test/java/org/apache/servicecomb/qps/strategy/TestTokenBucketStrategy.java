@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.qps.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestTokenBucketStrategy {
+  TokenBucketStrategy strategy = new TokenBucketStrategy();
+
+  long now = TimeUnit.SECONDS.toNanos(1000);
+
+  @Test
+  public void testBurst() {
+    // bucket is full at the beginning
+    for (int idx = 0; idx < 20; idx++) {
+      Assert.assertFalse(strategy.isLimitNewRequest(now, 10, 20));
+    }
+    Assert.assertTrue(strategy.isLimitNewRequest(now, 10, 20));
+
+    // a token is added every 100ms
+    Assert.assertTrue(strategy.isLimitNewRequest(now + TimeUnit.MILLISECONDS.toNanos(99), 10, 20));
+    Assert.assertFalse(strategy.isLimitNewRequest(now + TimeUnit.MILLISECONDS.toNanos(100), 10, 20));
+    Assert.assertTrue(strategy.isLimitNewRequest(now + TimeUnit.MILLISECONDS.toNanos(100), 10, 20));
+  }
+
+  @Test
+  public void testRefill() {
+    for (int idx = 0; idx < 10; idx++) {
+      Assert.assertFalse(strategy.isLimitNewRequest(now, 10, 10));
+    }
+    Assert.assertTrue(strategy.isLimitNewRequest(now, 10, 10));
+
+    // tokens not exceed bucket limit after a long time
+    long later = now + TimeUnit.SECONDS.toNanos(100);
+    for (int idx = 0; idx < 10; idx++) {
+      Assert.assertFalse(strategy.isLimitNewRequest(later, 10, 10));
+    }
+    Assert.assertTrue(strategy.isLimitNewRequest(later, 10, 10));
+  }
+
+  @Test
+  public void testInvalidLimit() {
+    Assert.assertTrue(strategy.isLimitNewRequest(now, 0, 10));
+    Assert.assertTrue(strategy.isLimitNewRequest(now, 10, 0));
+  }
+
+  @Test
+  public void testUnlimited() {
+    for (int idx = 0; idx < 1000; idx++) {
+      Assert.assertFalse(strategy.isLimitNewRequest(now, Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+  }
+
+  @Test
+  public void testConcurrentNotExceed() throws InterruptedException {
+    AtomicInteger accepted = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int threadIdx = 0; threadIdx < 8; threadIdx++) {
+      Thread thread = new Thread(() -> {
+        for (int idx = 0; idx < 1000; idx++) {
+          if (!strategy.isLimitNewRequest(now, 10, 100)) {
+            accepted.incrementAndGet();
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    Assert.assertEquals(100, accepted.get());
+  }
+}
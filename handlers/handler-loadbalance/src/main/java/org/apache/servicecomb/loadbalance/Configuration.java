@@ -19,6 +19,9 @@ package org.apache.servicecomb.loadbalance;
 
 import java.util.Map;
 
+import org.apache.commons.configuration.AbstractConfiguration;
+import org.apache.commons.configuration.event.ConfigurationEvent;
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
 import org.apache.servicecomb.serviceregistry.config.ConfigurePropertyUtils;
 
 import com.netflix.config.DynamicPropertyFactory;
@@ -75,9 +78,63 @@ public final class Configuration {
 
   public static final Configuration INSTANCE = new Configuration();
 
+  // key is microservice name
+  // replaced but not cleared when configurations changed, so that snapshots built from old values by concurrent
+  // invocations will not be saved into the new map
+  private volatile Map<String, MicroserviceLoadbalanceConfig> microserviceConfigs = new ConcurrentHashMapEx<>();
+
+  // the configuration source which microserviceConfigs listened to
+  // if the source is replaced(eg: in unit test), must listen to the new source and discard all old snapshots
+  private volatile Object listenedConfigSource;
+
   private Configuration() {
   }
 
+  /**
+   * get snapshot of the microservice, not need to build keys and lookup properties in invocation
+   */
+  public MicroserviceLoadbalanceConfig getMicroserviceConfig(String microservice) {
+    // microservice name maybe null in some unit test, can not be key of ConcurrentHashMap
+    if (microservice == null || !ensureListenConfigSource()) {
+      return new MicroserviceLoadbalanceConfig(this, microservice);
+    }
+
+    return microserviceConfigs.computeIfAbsent(microservice, ms -> new MicroserviceLoadbalanceConfig(this, ms));
+  }
+
+  // false if can not listen to changes, then can not use snapshots
+  private boolean ensureListenConfigSource() {
+    DynamicPropertyFactory.getInstance();
+    Object configSource = DynamicPropertyFactory.getBackingConfigurationSource();
+    if (configSource == listenedConfigSource) {
+      return true;
+    }
+
+    if (!(configSource instanceof AbstractConfiguration)) {
+      return false;
+    }
+
+    synchronized (this) {
+      if (configSource != listenedConfigSource) {
+        ((AbstractConfiguration) configSource).addConfigurationListener(this::onConfigurationChanged);
+        microserviceConfigs = new ConcurrentHashMapEx<>();
+        listenedConfigSource = configSource;
+      }
+    }
+    return true;
+  }
+
+  private void onConfigurationChanged(ConfigurationEvent event) {
+    if (event.isBeforeUpdate()) {
+      return;
+    }
+
+    // property name is null when clear all properties
+    if (event.getPropertyName() == null || event.getPropertyName().startsWith(PROP_ROOT)) {
+      microserviceConfigs = new ConcurrentHashMapEx<>();
+    }
+  }
+
   public String getRuleStrategyName(String microservice) {
     return getStringProperty(null,
         PROP_ROOT + microservice + "." + PROP_RULE_STRATEGY_NAME,
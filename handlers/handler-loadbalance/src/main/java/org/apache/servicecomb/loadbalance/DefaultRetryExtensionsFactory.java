@@ -64,9 +64,10 @@ public class DefaultRetryExtensionsFactory implements ExtensionsFactory {
   }
 
   public RetryHandler createRetryHandler(String retryName, String microservice) {
+    MicroserviceLoadbalanceConfig config = Configuration.INSTANCE.getMicroserviceConfig(microservice);
     return new DefaultLoadBalancerRetryHandler(
-        Configuration.INSTANCE.getRetryOnSame(microservice),
-        Configuration.INSTANCE.getRetryOnNext(microservice), true) {
+        config.getRetryOnSame(),
+        config.getRetryOnNext(), true) {
 
       @Override
       public boolean isRetriableException(Throwable e, boolean sameServer) {
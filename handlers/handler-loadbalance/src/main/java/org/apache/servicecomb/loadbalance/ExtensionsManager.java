@@ -36,11 +36,10 @@ public class ExtensionsManager {
   public static RuleExt createLoadBalancerRule(String microservice) {
     RuleExt rule = null;
 
+    String ruleStrategyName = Configuration.INSTANCE.getMicroserviceConfig(microservice).getRuleStrategyName();
     for (ExtensionsFactory factory : extentionFactories) {
-      if (factory.isSupport(Configuration.PROP_RULE_STRATEGY_NAME,
-          Configuration.INSTANCE.getRuleStrategyName(microservice))) {
-        rule = factory.createLoadBalancerRule(
-            Configuration.INSTANCE.getRuleStrategyName(microservice));
+      if (factory.isSupport(Configuration.PROP_RULE_STRATEGY_NAME, ruleStrategyName)) {
+        rule = factory.createLoadBalancerRule(ruleStrategyName);
         break;
       }
     }
@@ -55,9 +54,10 @@ public class ExtensionsManager {
 
   public static RetryHandler createRetryHandler(String microservice) {
     RetryHandler handler = null;
+    String retryHandler = Configuration.INSTANCE.getMicroserviceConfig(microservice).getRetryHandler();
     for (ExtensionsFactory factory : extentionFactories) {
-      if (factory.isSupport(Configuration.PROP_RETRY_HANDLER, Configuration.INSTANCE.getRetryHandler(microservice))) {
-        handler = factory.createRetryHandler(Configuration.INSTANCE.getRetryHandler(microservice), microservice);
+      if (factory.isSupport(Configuration.PROP_RETRY_HANDLER, retryHandler)) {
+        handler = factory.createRetryHandler(retryHandler, microservice);
         break;
       }
     }
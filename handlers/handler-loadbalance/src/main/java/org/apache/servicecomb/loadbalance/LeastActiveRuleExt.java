@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.servicecomb.core.Invocation;
+
+/**
+ * Choose the server with least active requests, choose randomly between servers with the same active requests.
+ */
+public class LeastActiveRuleExt implements RuleExt {
+  @Override
+  public ServiceCombServer choose(List<ServiceCombServer> servers, Invocation invocation) {
+    ServiceCombServer chosen = null;
+    int leastActive = Integer.MAX_VALUE;
+    int leastCount = 0;
+    for (int idx = 0; idx < servers.size(); idx++) {
+      ServiceCombServer server = servers.get(idx);
+      int active = server.getActiveRequests();
+      if (active < leastActive) {
+        chosen = server;
+        leastActive = active;
+        leastCount = 1;
+        continue;
+      }
+
+      // reservoir sampling, every server with least active requests has the same chance
+      if (active == leastActive && ThreadLocalRandom.current().nextInt(++leastCount) == 0) {
+        chosen = server;
+      }
+    }
+    return chosen;
+  }
+}
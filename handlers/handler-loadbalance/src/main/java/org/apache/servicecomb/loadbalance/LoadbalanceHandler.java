@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import javax.ws.rs.core.Response.Status;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.servicecomb.core.Const;
 import org.apache.servicecomb.core.Endpoint;
 import org.apache.servicecomb.core.Handler;
 import org.apache.servicecomb.core.Invocation;
@@ -190,7 +191,9 @@ public class LoadbalanceHandler implements Handler {
       }
     }
 
-    String strategy = Configuration.INSTANCE.getRuleStrategyName(invocation.getMicroserviceName());
+    MicroserviceLoadbalanceConfig config = Configuration.INSTANCE
+        .getMicroserviceConfig(invocation.getMicroserviceName());
+    String strategy = config.getRuleStrategyName();
     if (!Objects.equals(strategy, this.strategy)) {
       //配置变化，需要重新生成所有的lb实例
       synchronized (lock) {
@@ -201,13 +204,17 @@ public class LoadbalanceHandler implements Handler {
 
     LoadBalancer loadBalancer = getOrCreateLoadBalancer(invocation);
 
-    if (!Configuration.INSTANCE.isRetryEnabled(invocation.getMicroserviceName())) {
+    if (!config.isRetryEnabled() || isRetryDisabled(invocation)) {
       send(invocation, asyncResp, loadBalancer);
     } else {
       sendWithRetry(invocation, asyncResp, loadBalancer);
     }
   }
 
+  private boolean isRetryDisabled(Invocation invocation) {
+    return Boolean.TRUE.equals(invocation.getHandlerContext().get(Const.RETRY_DISABLED));
+  }
+
   private boolean defineEndpointAndHandle(Invocation invocation, AsyncResponse asyncResp) throws Exception {
     String endpointUri = invocation.getLocalContext(SERVICECOMB_SERVER_ENDPOINT);
     if (endpointUri == null) {
@@ -241,18 +248,26 @@ public class LoadbalanceHandler implements Handler {
     }
     chosenLB.getLoadBalancerStats().incrementNumRequests(server);
     invocation.setEndpoint(server.getEndpoint());
-    invocation.next(resp -> {
-      // this stats is for WeightedResponseTimeRule
-      chosenLB.getLoadBalancerStats().noteResponseTime(server, (System.currentTimeMillis() - time));
-      if (isFailedResponse(resp)) {
-        chosenLB.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(server);
-        ServiceCombLoadBalancerStats.INSTANCE.markFailure(server);
-      } else {
-        chosenLB.getLoadBalancerStats().incrementActiveRequestsCount(server);
-        ServiceCombLoadBalancerStats.INSTANCE.markSuccess(server);
-      }
-      asyncResp.handle(resp);
-    });
+    ServiceCombServerStats serverStats = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server);
+    serverStats.incrementActiveRequests();
+    try {
+      invocation.next(resp -> {
+        serverStats.decrementActiveRequests();
+        // this stats is for WeightedResponseTimeRule
+        chosenLB.getLoadBalancerStats().noteResponseTime(server, (System.currentTimeMillis() - time));
+        if (isFailedResponse(resp)) {
+          chosenLB.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(server);
+          ServiceCombLoadBalancerStats.INSTANCE.markFailure(server);
+        } else {
+          chosenLB.getLoadBalancerStats().incrementActiveRequestsCount(server);
+          ServiceCombLoadBalancerStats.INSTANCE.markSuccess(server);
+        }
+        asyncResp.handle(resp);
+      });
+    } catch (Exception e) {
+      serverStats.decrementActiveRequests();
+      throw e;
+    }
   }
 
   private void sendWithRetry(Invocation invocation, AsyncResponse asyncResp,
@@ -365,24 +380,33 @@ public class LoadbalanceHandler implements Handler {
             chosenLB.getLoadBalancerStats().incrementNumRequests(s);
             invocation.setHandlerIndex(currentHandler); // for retry
             invocation.setEndpoint(server.getEndpoint());
-            invocation.next(resp -> {
-              if (isFailedResponse(resp)) {
-                LOGGER.error("service {}, call error, msg is {}, server is {} ",
-                    invocation.getInvocationQualifiedName(),
-                    ExceptionUtils.getExceptionMessageWithoutTrace((Throwable) resp.getResult()),
-                    s);
-                chosenLB.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(s);
-                ServiceCombLoadBalancerStats.INSTANCE.markFailure(server);
-                f.onError(resp.getResult());
-              } else {
-                chosenLB.getLoadBalancerStats().incrementActiveRequestsCount(s);
-                chosenLB.getLoadBalancerStats().noteResponseTime(s,
-                    (System.currentTimeMillis() - time));
-                ServiceCombLoadBalancerStats.INSTANCE.markSuccess(server);
-                f.onNext(resp);
-                f.onCompleted();
-              }
-            });
+            ServiceCombServerStats serverStats = ServiceCombLoadBalancerStats.INSTANCE
+                .getServiceCombServerStats(server);
+            serverStats.incrementActiveRequests();
+            try {
+              invocation.next(resp -> {
+                serverStats.decrementActiveRequests();
+                if (isFailedResponse(resp)) {
+                  LOGGER.error("service {}, call error, msg is {}, server is {} ",
+                      invocation.getInvocationQualifiedName(),
+                      ExceptionUtils.getExceptionMessageWithoutTrace((Throwable) resp.getResult()),
+                      s);
+                  chosenLB.getLoadBalancerStats().incrementSuccessiveConnectionFailureCount(s);
+                  ServiceCombLoadBalancerStats.INSTANCE.markFailure(server);
+                  f.onError(resp.getResult());
+                } else {
+                  chosenLB.getLoadBalancerStats().incrementActiveRequestsCount(s);
+                  chosenLB.getLoadBalancerStats().noteResponseTime(s,
+                      (System.currentTimeMillis() - time));
+                  ServiceCombLoadBalancerStats.INSTANCE.markSuccess(server);
+                  f.onNext(resp);
+                  f.onCompleted();
+                }
+              });
+            } catch (Exception e) {
+              serverStats.decrementActiveRequests();
+              throw e;
+            }
           } catch (Exception e) {
             LOGGER.error("execution error, msg is {}", ExceptionUtils.getExceptionMessageWithoutTrace(e));
             f.onError(e);
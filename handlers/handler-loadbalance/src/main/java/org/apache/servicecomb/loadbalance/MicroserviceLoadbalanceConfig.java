@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.loadbalance;
+
+/**
+ * immutable snapshot of loadbalance configurations of a microservice<br>
+ * read from {@link Configuration} once, and rebuilt after any loadbalance configuration changed, so that
+ * invocations not need to build keys and lookup/parse properties every time
+ */
+public final class MicroserviceLoadbalanceConfig {
+  private final String microserviceName;
+
+  private final String ruleStrategyName;
+
+  private final int sessionTimeoutInSeconds;
+
+  private final int successiveFailedTimes;
+
+  private final String retryHandler;
+
+  private final boolean retryEnabled;
+
+  private final int retryOnNext;
+
+  private final int retryOnSame;
+
+  private final boolean isolationFilterOpen;
+
+  private final int errorThresholdPercentage;
+
+  private final int enableRequestThreshold;
+
+  private final int singleTestTime;
+
+  private final int minIsolationTime;
+
+  private final int continuousFailureThreshold;
+
+  public MicroserviceLoadbalanceConfig(Configuration configuration, String microserviceName) {
+    this.microserviceName = microserviceName;
+    this.ruleStrategyName = configuration.getRuleStrategyName(microserviceName);
+    this.sessionTimeoutInSeconds = configuration.getSessionTimeoutInSeconds(microserviceName);
+    this.successiveFailedTimes = configuration.getSuccessiveFailedTimes(microserviceName);
+    this.retryHandler = configuration.getRetryHandler(microserviceName);
+    this.retryEnabled = configuration.isRetryEnabled(microserviceName);
+    this.retryOnNext = configuration.getRetryOnNext(microserviceName);
+    this.retryOnSame = configuration.getRetryOnSame(microserviceName);
+    this.isolationFilterOpen = configuration.isIsolationFilterOpen(microserviceName);
+    this.errorThresholdPercentage = configuration.getErrorThresholdPercentage(microserviceName);
+    this.enableRequestThreshold = configuration.getEnableRequestThreshold(microserviceName);
+    this.singleTestTime = configuration.getSingleTestTime(microserviceName);
+    this.minIsolationTime = configuration.getMinIsolationTime(microserviceName);
+    this.continuousFailureThreshold = configuration.getContinuousFailureThreshold(microserviceName);
+  }
+
+  public String getMicroserviceName() {
+    return microserviceName;
+  }
+
+  public String getRuleStrategyName() {
+    return ruleStrategyName;
+  }
+
+  public int getSessionTimeoutInSeconds() {
+    return sessionTimeoutInSeconds;
+  }
+
+  public int getSuccessiveFailedTimes() {
+    return successiveFailedTimes;
+  }
+
+  public String getRetryHandler() {
+    return retryHandler;
+  }
+
+  public boolean isRetryEnabled() {
+    return retryEnabled;
+  }
+
+  public int getRetryOnNext() {
+    return retryOnNext;
+  }
+
+  public int getRetryOnSame() {
+    return retryOnSame;
+  }
+
+  public boolean isIsolationFilterOpen() {
+    return isolationFilterOpen;
+  }
+
+  public int getErrorThresholdPercentage() {
+    return errorThresholdPercentage;
+  }
+
+  public int getEnableRequestThreshold() {
+    return enableRequestThreshold;
+  }
+
+  public int getSingleTestTime() {
+    return singleTestTime;
+  }
+
+  public int getMinIsolationTime() {
+    return minIsolationTime;
+  }
+
+  public int getContinuousFailureThreshold() {
+    return continuousFailureThreshold;
+  }
+}
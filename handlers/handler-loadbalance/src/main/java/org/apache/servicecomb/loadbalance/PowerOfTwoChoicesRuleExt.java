@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.servicecomb.core.Invocation;
+
+/**
+ * Pick two servers randomly, and choose the one with less active requests.<br>
+ * almost as good as least active, but not need to check all servers.
+ */
+public class PowerOfTwoChoicesRuleExt implements RuleExt {
+  @Override
+  public ServiceCombServer choose(List<ServiceCombServer> servers, Invocation invocation) {
+    int size = servers.size();
+    if (size == 0) {
+      return null;
+    }
+    if (size == 1) {
+      return servers.get(0);
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(size);
+    // make sure second is different from first
+    int second = (first + 1 + random.nextInt(size - 1)) % size;
+
+    ServiceCombServer firstServer = servers.get(first);
+    ServiceCombServer secondServer = servers.get(second);
+    return secondServer.getActiveRequests() < firstServer.getActiveRequests() ? secondServer : firstServer;
+  }
+}
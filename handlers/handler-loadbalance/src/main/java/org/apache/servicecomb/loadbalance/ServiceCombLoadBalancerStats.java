@@ -103,6 +103,14 @@ public class ServiceCombLoadBalancerStats {
     }
   }
 
+  /**
+   * not create stats for server never used, so that they are not pinged
+   */
+  public int getActiveRequests(ServiceCombServer server) {
+    ServiceCombServerStats stats = serverStatsCache.getIfPresent(server);
+    return stats == null ? 0 : stats.getActiveRequests();
+  }
+
   public ServiceCombServer getServiceCombServer(MicroserviceInstance instance) {
     for (ServiceCombServer server : serverStatsCache.asMap().keySet()) {
       if (server.getInstance().equals(instance)) {
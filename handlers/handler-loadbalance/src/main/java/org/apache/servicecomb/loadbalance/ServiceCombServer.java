@@ -74,6 +74,11 @@ public class ServiceCombServer extends Server {
     return instance;
   }
 
+  // server object is created for every invocation, active requests are kept by instance in stats
+  public int getActiveRequests() {
+    return ServiceCombLoadBalancerStats.INSTANCE.getActiveRequests(this);
+  }
+
   public String toString() {
     return endpoint.getEndpoint();
   }
@@ -17,6 +17,7 @@
 
 package org.apache.servicecomb.loadbalance;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -45,6 +46,9 @@ public class ServiceCombServerStats {
 
   private boolean isolated = false;
 
+  // requests sent to this server but not finished yet, used by rules aware of load
+  private final AtomicInteger activeRequests = new AtomicInteger();
+
   public void markIsolated(boolean isolated) {
     this.isolated = isolated;
   }
@@ -126,6 +130,18 @@ public class ServiceCombServerStats {
     return (int) (failedRequests.get() * 100 / totalRequests.get());
   }
 
+  public int getActiveRequests() {
+    return activeRequests.get();
+  }
+
+  public void incrementActiveRequests() {
+    activeRequests.incrementAndGet();
+  }
+
+  public void decrementActiveRequests() {
+    activeRequests.decrementAndGet();
+  }
+
   public boolean isIsolated() {
     return isolated;
   }
@@ -95,10 +95,11 @@ public class SessionStickinessRule implements RuleExt {
   }
 
   private boolean isTimeOut() {
-    return Configuration.INSTANCE.getSessionTimeoutInSeconds(microserviceName) > 0
+    int sessionTimeoutInSeconds = Configuration.INSTANCE.getMicroserviceConfig(microserviceName)
+        .getSessionTimeoutInSeconds();
+    return sessionTimeoutInSeconds > 0
         && System.currentTimeMillis()
-        - this.lastAccessedTime > ((long) Configuration.INSTANCE.getSessionTimeoutInSeconds(microserviceName)
-        * MILLI_COUNT_IN_SECOND);
+        - this.lastAccessedTime > ((long) sessionTimeoutInSeconds * MILLI_COUNT_IN_SECOND);
   }
 
   private boolean isErrorThresholdMet() {
@@ -107,8 +108,9 @@ public class SessionStickinessRule implements RuleExt {
     if (stats != null && stats.getServerStats() != null && stats.getServerStats().size() > 0) {
       ServerStats serverStats = stats.getSingleServerStat(lastServer);
       int successiveFaildCount = serverStats.getSuccessiveConnectionFailureCount();
-      if (Configuration.INSTANCE.getSuccessiveFailedTimes(microserviceName) > 0
-          && successiveFaildCount >= Configuration.INSTANCE.getSuccessiveFailedTimes(microserviceName)) {
+      int successiveFailedTimes = Configuration.INSTANCE.getMicroserviceConfig(microserviceName)
+          .getSuccessiveFailedTimes();
+      if (successiveFailedTimes > 0 && successiveFaildCount >= successiveFailedTimes) {
         serverStats.clearSuccessiveConnectionFailureCount();
         return true;
       }
@@ -17,28 +17,32 @@
 
 package org.apache.servicecomb.loadbalance;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.servicecomb.core.Invocation;
 
-import com.netflix.loadbalancer.ServerStats;
+import com.netflix.loadbalancer.LoadBalancerStats;
 
 /**
- * Rule based on response time.
+ * Rule based on response time.<br>
+ * weights are calculated from stats periodically, and saved in an immutable alias table, so that choose a server
+ * is O(1) and not allocate any memory.
  */
 public class WeightedResponseTimeRuleExt extends RoundRobinRuleExt {
   // 10ms
   private static final double MIN_GAP = 10d;
 
-  private static final int RANDOM_PERCENT = 10;
-
-  private Random random = new Random();
+  // recalculate weights from stats in this interval
+  private static final long REFRESH_INTERVAL_MS = 1000;
 
   private LoadBalancer loadBalancer;
 
-  private double totalWeightsCache = 0d;
+  private volatile WeightTable weightTable;
+
+  private final AtomicBoolean refreshing = new AtomicBoolean();
 
   @Override
   public void setLoadBalancer(LoadBalancer loadBalancer) {
@@ -47,57 +51,131 @@ public class WeightedResponseTimeRuleExt extends RoundRobinRuleExt {
 
   @Override
   public ServiceCombServer choose(List<ServiceCombServer> servers, Invocation invocation) {
-    List<Double> stats = calculateTotalWeights(servers);
-
-    if (stats.size() > 0) {
-      double finalTotal = stats.get(stats.size() - 1);
-      List<Double> weights = new ArrayList<>(servers.size());
-      for (int i = 0; i < stats.size() - 1; i++) {
-        weights.add(finalTotal - stats.get(i));
+    WeightTable table = findWeightTable(servers);
+    if (table != null) {
+      ServiceCombServer server = table.choose(servers, ThreadLocalRandom.current());
+      if (server != null) {
+        return server;
       }
-      double ran = random.nextDouble() * finalTotal * (servers.size() - 1);
-      for (int i = 0; i < weights.size(); i++) {
-        ran -= weights.get(i);
-        if (ran < 0) {
-          return servers.get(i);
-        }
+
+      // servers changed, recalculate in next choose
+      if (weightTable == table) {
+        weightTable = null;
       }
-      return servers.get(servers.size() - 1);
     }
     return super.choose(servers, invocation);
   }
 
-  private List<Double> calculateTotalWeights(List<ServiceCombServer> servers) {
-    if (totalWeightsCache > MIN_GAP * servers.size()) {
-      return doCalculateTotalWeights(servers);
-    }
-    // 10% possibilities to use weighed response rule when the normal access is very fast.
-    if (random.nextInt(RANDOM_PERCENT) == 0) {
-      return doCalculateTotalWeights(servers);
-    } else {
-      return new ArrayList<>();
+  // null if not need to choose by weights
+  private WeightTable findWeightTable(List<ServiceCombServer> servers) {
+    WeightTable table = weightTable;
+    long now = System.currentTimeMillis();
+    if ((table == null || table.isExpired(now, servers.size())) && refreshing.compareAndSet(false, true)) {
+      try {
+        table = new WeightTable(servers, loadBalancer.getLoadBalancerStats(), now);
+        weightTable = table;
+      } finally {
+        refreshing.set(false);
+      }
     }
+
+    return table != null && table.weighted ? table : null;
   }
 
-  private List<Double> doCalculateTotalWeights(List<ServiceCombServer> servers) {
-    List<Double> stats = new ArrayList<>(servers.size() + 1);
-    double totalWeights = 0;
-    boolean needRandom = false;
-    for (ServiceCombServer server : servers) {
-      ServerStats serverStats = loadBalancer.getLoadBalancerStats().getSingleServerStat(server);
-      double avgTime = serverStats.getResponseTimeAvg();
-      if (!needRandom && avgTime > MIN_GAP) {
-        needRandom = true;
+  static class WeightTable {
+    private final long createTime;
+
+    private final ServiceCombServer[] servers;
+
+    // false when all servers are fast enough, then use round robin
+    private final boolean weighted;
+
+    // alias method, see https://en.wikipedia.org/wiki/Alias_method
+    private final double[] probabilities;
+
+    private final int[] aliases;
+
+    WeightTable(List<ServiceCombServer> serverList, LoadBalancerStats stats, long createTime) {
+      this.createTime = createTime;
+      this.servers = serverList.toArray(new ServiceCombServer[serverList.size()]);
+
+      int count = servers.length;
+      double[] avgTimes = new double[count];
+      double totalTime = 0;
+      boolean slow = false;
+      for (int idx = 0; idx < count; idx++) {
+        double avgTime = stats.getSingleServerStat(servers[idx]).getResponseTimeAvg();
+        slow = slow || avgTime > MIN_GAP;
+        totalTime += avgTime;
+        avgTimes[idx] = avgTime;
+      }
+
+      this.weighted = slow && count > 1;
+      this.probabilities = new double[count];
+      this.aliases = new int[count];
+      if (weighted) {
+        initAliasTable(avgTimes, totalTime);
+      }
+    }
+
+    // weight of a server is (totalTime - avgTime), the faster the more
+    private void initAliasTable(double[] avgTimes, double totalTime) {
+      int count = avgTimes.length;
+      double totalWeight = totalTime * (count - 1);
+      int[] small = new int[count];
+      int[] large = new int[count];
+      int smallSize = 0;
+      int largeSize = 0;
+      for (int idx = 0; idx < count; idx++) {
+        probabilities[idx] = (totalTime - avgTimes[idx]) * count / totalWeight;
+        if (probabilities[idx] < 1) {
+          small[smallSize++] = idx;
+        } else {
+          large[largeSize++] = idx;
+        }
+      }
+
+      while (smallSize > 0 && largeSize > 0) {
+        int less = small[--smallSize];
+        int more = large[--largeSize];
+        aliases[less] = more;
+        probabilities[more] = probabilities[more] + probabilities[less] - 1;
+        if (probabilities[more] < 1) {
+          small[smallSize++] = more;
+        } else {
+          large[largeSize++] = more;
+        }
+      }
+
+      // left ones are 1 in theory, but maybe not because of precision
+      while (largeSize > 0) {
+        probabilities[large[--largeSize]] = 1;
+      }
+      while (smallSize > 0) {
+        probabilities[small[--smallSize]] = 1;
       }
-      totalWeights += avgTime;
-      stats.add(avgTime);
     }
-    stats.add(totalWeights);
-    totalWeightsCache = totalWeights;
-    if (needRandom) {
-      return stats;
-    } else {
-      return new ArrayList<>();
+
+    boolean isExpired(long now, int serverCount) {
+      return now - createTime >= REFRESH_INTERVAL_MS || serverCount != servers.length;
+    }
+
+    // null if servers not match this table
+    ServiceCombServer choose(List<ServiceCombServer> serverList, Random random) {
+      if (serverList.size() != servers.length) {
+        return null;
+      }
+
+      int idx = random.nextInt(servers.length);
+      if (random.nextDouble() >= probabilities[idx]) {
+        idx = aliases[idx];
+      }
+
+      ServiceCombServer server = serverList.get(idx);
+      if (server == servers[idx] || server.equals(servers[idx])) {
+        return server;
+      }
+      return null;
     }
   }
 }
@@ -24,6 +24,7 @@ import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.foundation.common.event.AlarmEvent.Type;
 import org.apache.servicecomb.foundation.common.event.EventManager;
 import org.apache.servicecomb.loadbalance.Configuration;
+import org.apache.servicecomb.loadbalance.MicroserviceLoadbalanceConfig;
 import org.apache.servicecomb.loadbalance.ServiceCombLoadBalancerStats;
 import org.apache.servicecomb.loadbalance.ServiceCombServer;
 import org.apache.servicecomb.loadbalance.ServiceCombServerStats;
@@ -92,14 +93,17 @@ public class IsolationDiscoveryFilter implements DiscoveryFilter {
   public DiscoveryTreeNode discovery(DiscoveryContext context, DiscoveryTreeNode parent) {
     Map<String, MicroserviceInstance> instances = parent.data();
     Invocation invocation = context.getInputParameters();
-    if (!Configuration.INSTANCE.isIsolationFilterOpen(invocation.getMicroserviceName())) {
+    MicroserviceLoadbalanceConfig config = Configuration.INSTANCE
+        .getMicroserviceConfig(invocation.getMicroserviceName());
+    if (!config.isIsolationFilterOpen()) {
       return parent;
     }
 
+    Settings settings = createSettings(config);
     Map<String, MicroserviceInstance> filteredServers = new HashMap<>();
     for (String key : instances.keySet()) {
       MicroserviceInstance instance = instances.get(key);
-      if (allowVisit(invocation, instance)) {
+      if (allowVisit(invocation, instance, settings)) {
         filteredServers.put(key, instance);
       }
     }
@@ -117,28 +121,23 @@ public class IsolationDiscoveryFilter implements DiscoveryFilter {
     return child;
   }
 
-  private Settings createSettings(Invocation invocation) {
+  private Settings createSettings(MicroserviceLoadbalanceConfig config) {
     Settings settings = new Settings();
-    settings.errorThresholdPercentage = Configuration.INSTANCE
-        .getErrorThresholdPercentage(invocation.getMicroserviceName());
-    settings.singleTestTime = Configuration.INSTANCE.getSingleTestTime(invocation.getMicroserviceName());
-    settings.enableRequestThreshold = Configuration.INSTANCE
-        .getEnableRequestThreshold(invocation.getMicroserviceName());
-    settings.continuousFailureThreshold = Configuration.INSTANCE
-        .getContinuousFailureThreshold(invocation.getMicroserviceName());
-    settings.minIsolationTime = Configuration.INSTANCE
-        .getMinIsolationTime(invocation.getMicroserviceName());
+    settings.errorThresholdPercentage = config.getErrorThresholdPercentage();
+    settings.singleTestTime = config.getSingleTestTime();
+    settings.enableRequestThreshold = config.getEnableRequestThreshold();
+    settings.continuousFailureThreshold = config.getContinuousFailureThreshold();
+    settings.minIsolationTime = config.getMinIsolationTime();
     return settings;
   }
 
-  private boolean allowVisit(Invocation invocation, MicroserviceInstance instance) {
+  private boolean allowVisit(Invocation invocation, MicroserviceInstance instance, Settings settings) {
     ServiceCombServer server = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServer(instance);
     if (server == null) {
       // first time accessed.
       return true;
     }
     ServiceCombServerStats serverStats = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server);
-    Settings settings = createSettings(invocation);
     if (!checkThresholdAllowed(settings, serverStats)) {
       if (serverStats.isIsolated()
           && (System.currentTimeMillis() - serverStats.getLastVisitTime()) > settings.singleTestTime) {
@@ -18,8 +18,13 @@
 package org.apache.servicecomb.loadbalance;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.junit.Test;
 
 import mockit.Mock;
@@ -150,4 +155,32 @@ public class TestConfiguration {
   public void testGetSessionTimeoutInSeconds() {
     assertNotNull(Configuration.INSTANCE.getSessionTimeoutInSeconds("test"));
   }
+
+  @Test
+  public void testGetMicroserviceConfig() {
+    try {
+      MicroserviceLoadbalanceConfig config = Configuration.INSTANCE.getMicroserviceConfig("ms");
+      assertEquals("ms", config.getMicroserviceName());
+      assertFalse(config.isRetryEnabled());
+      assertEquals(5, config.getEnableRequestThreshold());
+      assertSame(config, Configuration.INSTANCE.getMicroserviceConfig("ms"));
+
+      // rebuild after changed
+      ArchaiusUtils.setProperty("servicecomb.loadbalance.ms.retryEnabled", true);
+      MicroserviceLoadbalanceConfig newConfig = Configuration.INSTANCE.getMicroserviceConfig("ms");
+      assertNotSame(config, newConfig);
+      assertTrue(newConfig.isRetryEnabled());
+      assertSame(newConfig, Configuration.INSTANCE.getMicroserviceConfig("ms"));
+
+      // not related configuration
+      ArchaiusUtils.setProperty("servicecomb.other", true);
+      assertSame(newConfig, Configuration.INSTANCE.getMicroserviceConfig("ms"));
+
+      // configuration source replaced
+      ArchaiusUtils.resetConfig();
+      assertFalse(Configuration.INSTANCE.getMicroserviceConfig("ms").isRetryEnabled());
+    } finally {
+      ArchaiusUtils.resetConfig();
+    }
+  }
 }
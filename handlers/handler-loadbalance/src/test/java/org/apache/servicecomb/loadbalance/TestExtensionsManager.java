@@ -54,6 +54,8 @@ public class TestExtensionsManager {
     System.setProperty("servicecomb.loadbalance.mytest2.strategy.name", "Random");
     System.setProperty("servicecomb.loadbalance.mytest3.strategy.name", "WeightedResponse");
     System.setProperty("servicecomb.loadbalance.mytest4.strategy.name", "SessionStickiness");
+    System.setProperty("servicecomb.loadbalance.mytest5.strategy.name", "LeastActive");
+    System.setProperty("servicecomb.loadbalance.mytest6.strategy.name", "PowerOfTwoChoices");
 
     BeansHolder holder = new BeansHolder();
     List<ExtensionsFactory> extensionsFactories = new ArrayList<>();
@@ -70,11 +72,17 @@ public class TestExtensionsManager {
         ExtensionsManager.createLoadBalancerRule("mytest3").getClass().getName());
     Assert.assertEquals(SessionStickinessRule.class.getName(),
         ExtensionsManager.createLoadBalancerRule("mytest4").getClass().getName());
+    Assert.assertEquals(LeastActiveRuleExt.class.getName(),
+        ExtensionsManager.createLoadBalancerRule("mytest5").getClass().getName());
+    Assert.assertEquals(PowerOfTwoChoicesRuleExt.class.getName(),
+        ExtensionsManager.createLoadBalancerRule("mytest6").getClass().getName());
 
     System.getProperties().remove("servicecomb.loadbalance.mytest1.strategy.name");
     System.getProperties().remove("servicecomb.loadbalance.mytest2.strategy.name");
     System.getProperties().remove("servicecomb.loadbalance.mytest3.strategy.name");
     System.getProperties().remove("servicecomb.loadbalance.mytest4.strategy.name");
+    System.getProperties().remove("servicecomb.loadbalance.mytest5.strategy.name");
+    System.getProperties().remove("servicecomb.loadbalance.mytest6.strategy.name");
   }
 
 
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.servicecomb.core.Invocation;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TestLeastActiveRuleExt {
+  LeastActiveRuleExt rule = new LeastActiveRuleExt();
+
+  Invocation invocation = Mockito.mock(Invocation.class);
+
+  private ServiceCombServer mockServer(int activeRequests) {
+    ServiceCombServer server = Mockito.mock(ServiceCombServer.class);
+    Mockito.when(server.getActiveRequests()).thenReturn(activeRequests);
+    return server;
+  }
+
+  @Test
+  public void testEmpty() {
+    Assert.assertNull(rule.choose(Collections.emptyList(), invocation));
+  }
+
+  @Test
+  public void testLeastActive() {
+    List<ServiceCombServer> servers = new ArrayList<>();
+    servers.add(mockServer(3));
+    servers.add(mockServer(1));
+    servers.add(mockServer(2));
+
+    for (int i = 0; i < 100; i++) {
+      Assert.assertSame(servers.get(1), rule.choose(servers, invocation));
+    }
+  }
+
+  @Test
+  public void testSameActive() {
+    List<ServiceCombServer> servers = new ArrayList<>();
+    servers.add(mockServer(1));
+    servers.add(mockServer(2));
+    servers.add(mockServer(1));
+    servers.add(mockServer(1));
+
+    Set<ServiceCombServer> chosen = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      chosen.add(rule.choose(servers, invocation));
+    }
+    Assert.assertEquals(3, chosen.size());
+    Assert.assertFalse(chosen.contains(servers.get(1)));
+  }
+}
@@ -19,13 +19,17 @@ package org.apache.servicecomb.loadbalance;
 
 import static org.mockito.Mockito.when;
 
+import java.net.ConnectException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.servicecomb.core.Const;
 import org.apache.servicecomb.core.CseContext;
+import org.apache.servicecomb.core.Handler;
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.NonSwaggerInvocation;
 import org.apache.servicecomb.core.SCBEngine;
@@ -48,6 +52,7 @@ import org.apache.servicecomb.serviceregistry.cache.InstanceCacheManager;
 import org.apache.servicecomb.serviceregistry.discovery.DiscoveryTree;
 import org.apache.servicecomb.serviceregistry.discovery.DiscoveryTreeNode;
 import org.apache.servicecomb.swagger.invocation.AsyncResponse;
+import org.apache.servicecomb.swagger.invocation.Response;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -55,6 +60,8 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import mockit.Deencapsulation;
+
 /**
  *
  *
@@ -720,4 +727,125 @@ public class TestLoadBalanceHandler2 {
       Assert.assertTrue(e.getMessage().contains("the endpoint's transport is not found."));
     }
   }
+
+  @Test
+  public void testLeastActiveAvoidBusyInstance() throws Exception {
+    ArchaiusUtils.setProperty("servicecomb.loadbalance.strategy.name", "LeastActive");
+    ArchaiusUtils.setProperty("servicecomb.loadbalance.filter.operation.enabled", "false");
+
+    // first request is held, others finished immediately
+    List<AsyncResponse> heldResponses = new ArrayList<>();
+    List<String> endpoints = new ArrayList<>();
+    Handler targetHandler = (invocation, asyncResp) -> {
+      endpoints.add(invocation.getEndpoint().getEndpoint());
+      if (heldResponses.isEmpty() && endpoints.size() == 1) {
+        heldResponses.add(asyncResp);
+        return;
+      }
+      asyncResp.handle(Response.ok(null));
+    };
+
+    ReferenceConfig referenceConfig = Mockito.mock(ReferenceConfig.class);
+    OperationMeta operationMeta = mockTwoInstances(referenceConfig, targetHandler);
+
+    RuleNameExtentionsFactory ruleFactory = new RuleNameExtentionsFactory();
+    List<ExtensionsFactory> factories = Deencapsulation.getField(ExtensionsManager.class, "extentionFactories");
+    factories.add(0, ruleFactory);
+    LoadbalanceHandler handler = new LoadbalanceHandler();
+    List<Response> responses = new ArrayList<>();
+    try {
+      for (int idx = 0; idx < 10; idx++) {
+        handler.handle(new Invocation(referenceConfig, operationMeta, new Object[0]), responses::add);
+      }
+    } finally {
+      factories.remove(ruleFactory);
+    }
+
+    // servers are created for every invocation, but the busy one must be known
+    String busy = endpoints.get(0);
+    for (int idx = 1; idx < endpoints.size(); idx++) {
+      Assert.assertNotEquals(busy, endpoints.get(idx));
+    }
+    Assert.assertEquals(9, responses.size());
+
+    heldResponses.get(0).handle(Response.ok(null));
+    Assert.assertEquals(10, responses.size());
+    for (ServiceCombServerStats stats : ServiceCombLoadBalancerStats.INSTANCE.getPingView().values()) {
+      Assert.assertEquals(0, stats.getActiveRequests());
+    }
+  }
+
+  // two instances of testMicroserviceName, consumer handler chain only contains targetHandler
+  private OperationMeta mockTwoInstances(ReferenceConfig referenceConfig, Handler targetHandler) {
+    OperationMeta operationMeta = Mockito.mock(OperationMeta.class);
+    SchemaMeta schemaMeta = Mockito.mock(SchemaMeta.class);
+    when(operationMeta.getSchemaMeta()).thenReturn(schemaMeta);
+    MicroserviceMeta microserviceMeta = Mockito.mock(MicroserviceMeta.class);
+    when(schemaMeta.getMicroserviceMeta()).thenReturn(microserviceMeta);
+    when(schemaMeta.getMicroserviceName()).thenReturn("testMicroserviceName");
+    when(schemaMeta.getConsumerHandlerChain()).thenReturn(Arrays.asList(targetHandler));
+    when(microserviceMeta.getAppId()).thenReturn("testApp");
+    when(referenceConfig.getVersionRule()).thenReturn("0.0.0+");
+    when(referenceConfig.getTransport()).thenReturn("rest");
+
+    InstanceCacheManager instanceCacheManager = Mockito.mock(InstanceCacheManager.class);
+    ServiceRegistry serviceRegistry = Mockito.mock(ServiceRegistry.class);
+    TransportManager transportManager = Mockito.mock(TransportManager.class);
+    Transport transport = Mockito.mock(Transport.class);
+
+    Map<String, MicroserviceInstance> data = new HashMap<>();
+    for (int idx = 0; idx < 2; idx++) {
+      MicroserviceInstance instance = new MicroserviceInstance();
+      instance.setInstanceId("instance" + idx);
+      instance.setEndpoints(Arrays.asList("rest://localhost:" + (9090 + idx)));
+      data.put(instance.getInstanceId(), instance);
+    }
+    DiscoveryTreeNode parent = new DiscoveryTreeNode().name("parent").data(data);
+    parent.cacheVersion(1);
+    CseContext.getInstance().setTransportManager(transportManager);
+    RegistryUtils.setServiceRegistry(serviceRegistry);
+    when(serviceRegistry.getMicroserviceInstance()).thenReturn(new MicroserviceInstance());
+    when(serviceRegistry.getInstanceCacheManager()).thenReturn(instanceCacheManager);
+    when(instanceCacheManager.getOrCreateVersionedCache("testApp", "testMicroserviceName", "0.0.0+"))
+        .thenReturn(parent);
+    when(transportManager.findTransport("rest")).thenReturn(transport);
+    return operationMeta;
+  }
+
+  @Test
+  public void testRetryDisabledByHandlerContext() throws Exception {
+    ArchaiusUtils.setProperty("servicecomb.loadbalance.retryEnabled", "true");
+    ArchaiusUtils.setProperty("servicecomb.loadbalance.retryOnNext", "1");
+    ArchaiusUtils.setProperty("servicecomb.loadbalance.filter.operation.enabled", "false");
+
+    List<String> endpoints = new ArrayList<>();
+    Handler targetHandler = (invocation, asyncResp) -> {
+      endpoints.add(invocation.getEndpoint().getEndpoint());
+      asyncResp.consumerFail(new ConnectException("failed"));
+    };
+    ReferenceConfig referenceConfig = Mockito.mock(ReferenceConfig.class);
+    OperationMeta operationMeta = mockTwoInstances(referenceConfig, targetHandler);
+
+    DefaultRetryExtensionsFactory retryFactory = new DefaultRetryExtensionsFactory();
+    List<ExtensionsFactory> factories = Deencapsulation.getField(ExtensionsManager.class, "extentionFactories");
+    factories.add(0, retryFactory);
+    LoadbalanceHandler handler = new LoadbalanceHandler();
+    List<Response> responses = new ArrayList<>();
+    try {
+      handler.handle(new Invocation(referenceConfig, operationMeta, new Object[0]), responses::add);
+      Assert.assertEquals(2, endpoints.size());
+
+      // body of the request can only be sent once
+      endpoints.clear();
+      Invocation invocation = new Invocation(referenceConfig, operationMeta, new Object[0]);
+      invocation.getHandlerContext().put(Const.RETRY_DISABLED, true);
+      handler.handle(invocation, responses::add);
+      Assert.assertEquals(1, endpoints.size());
+    } finally {
+      factories.remove(retryFactory);
+    }
+
+    Assert.assertEquals(2, responses.size());
+    Assert.assertTrue(responses.get(1).isFailed());
+  }
 }
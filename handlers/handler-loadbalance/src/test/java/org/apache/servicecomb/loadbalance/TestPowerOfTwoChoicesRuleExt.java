@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.servicecomb.loadbalance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.servicecomb.core.Invocation;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TestPowerOfTwoChoicesRuleExt {
+  PowerOfTwoChoicesRuleExt rule = new PowerOfTwoChoicesRuleExt();
+
+  Invocation invocation = Mockito.mock(Invocation.class);
+
+  private ServiceCombServer mockServer(int activeRequests) {
+    ServiceCombServer server = Mockito.mock(ServiceCombServer.class);
+    Mockito.when(server.getActiveRequests()).thenReturn(activeRequests);
+    return server;
+  }
+
+  @Test
+  public void testEmptyAndSingle() {
+    Assert.assertNull(rule.choose(Collections.emptyList(), invocation));
+
+    ServiceCombServer server = mockServer(10);
+    Assert.assertSame(server, rule.choose(Collections.singletonList(server), invocation));
+  }
+
+  @Test
+  public void testTwoServers() {
+    List<ServiceCombServer> servers = new ArrayList<>();
+    servers.add(mockServer(5));
+    servers.add(mockServer(1));
+
+    // two choices from two servers always compare both of them
+    for (int i = 0; i < 100; i++) {
+      Assert.assertSame(servers.get(1), rule.choose(servers, invocation));
+    }
+  }
+
+  @Test
+  public void testBusiestNeverChosen() {
+    List<ServiceCombServer> servers = new ArrayList<>();
+    servers.add(mockServer(1));
+    servers.add(mockServer(2));
+    servers.add(mockServer(100));
+
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertNotSame(servers.get(2), rule.choose(servers, invocation));
+    }
+  }
+}
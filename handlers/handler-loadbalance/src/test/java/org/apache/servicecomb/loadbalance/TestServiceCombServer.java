@@ -87,4 +87,23 @@ public class TestServiceCombServer {
     cs.hashCode();
     assertNotNull(cs.hashCode());
   }
+
+  @Test
+  public void testActiveRequests() {
+    MicroserviceInstance instance = new MicroserviceInstance();
+    instance.setInstanceId("testActiveRequests");
+    ServiceCombServer server = new ServiceCombServer(transport, new CacheEndpoint("abcd", instance));
+    Assert.assertEquals(0, server.getActiveRequests());
+
+    ServiceCombServerStats stats = ServiceCombLoadBalancerStats.INSTANCE.getServiceCombServerStats(server);
+    stats.incrementActiveRequests();
+    stats.incrementActiveRequests();
+
+    // server is created for every invocation, count must be shared by the same instance
+    ServiceCombServer other = new ServiceCombServer(transport, new CacheEndpoint("abcd", instance));
+    Assert.assertEquals(2, other.getActiveRequests());
+    stats.decrementActiveRequests();
+    Assert.assertEquals(1, server.getActiveRequests());
+    stats.decrementActiveRequests();
+  }
 }
@@ -123,4 +123,52 @@ public class TestWeightedResponseTimeRuleExt {
     System.out.println("taken " + taken);
     Assert.assertEquals("actually taken: " + taken, taken < 200 * 5, true); // 5 * times make slow machine happy
   }
+
+  @Test
+  public void testWeighedByAliasTable() {
+    WeightedResponseTimeRuleExt rule = new WeightedResponseTimeRuleExt();
+    LoadBalancer loadBalancer = new LoadBalancer(rule, "testService");
+    List<ServiceCombServer> servers = new ArrayList<>();
+    Invocation invocation = Mockito.mock(Invocation.class);
+    // weights: 200 - 20, 200 - 40, 200 - 140
+    double[] avgTimes = {20, 40, 140};
+    for (double avgTime : avgTimes) {
+      ServiceCombServer server = Mockito.mock(ServiceCombServer.class);
+      servers.add(server);
+      loadBalancer.getLoadBalancerStats().noteResponseTime(server, avgTime);
+    }
+
+    int[] counts = new int[servers.size()];
+    int total = 20000;
+    for (int i = 0; i < total; i++) {
+      counts[servers.indexOf(rule.choose(servers, invocation))]++;
+    }
+    Assert.assertEquals(0.45, (double) counts[0] / total, 0.03);
+    Assert.assertEquals(0.40, (double) counts[1] / total, 0.03);
+    Assert.assertEquals(0.15, (double) counts[2] / total, 0.03);
+  }
+
+  @Test
+  public void testServersChanged() {
+    WeightedResponseTimeRuleExt rule = new WeightedResponseTimeRuleExt();
+    LoadBalancer loadBalancer = new LoadBalancer(rule, "testService");
+    Invocation invocation = Mockito.mock(Invocation.class);
+    List<ServiceCombServer> oldServers = new ArrayList<>();
+    List<ServiceCombServer> newServers = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      ServiceCombServer server = Mockito.mock(ServiceCombServer.class);
+      oldServers.add(server);
+      loadBalancer.getLoadBalancerStats().noteResponseTime(server, 100 * (i + 1));
+
+      server = Mockito.mock(ServiceCombServer.class);
+      newServers.add(server);
+      loadBalancer.getLoadBalancerStats().noteResponseTime(server, 100 * (i + 1));
+    }
+
+    Assert.assertTrue(oldServers.contains(rule.choose(oldServers, invocation)));
+    for (int i = 0; i < 100; i++) {
+      Assert.assertTrue(newServers.contains(rule.choose(newServers, invocation)));
+    }
+    Assert.assertTrue(newServers.subList(0, 1).contains(rule.choose(newServers.subList(0, 1), invocation)));
+  }
 }
@@ -17,8 +17,8 @@
 package org.apache.servicecomb.metrics.core;
 
 import org.apache.servicecomb.core.Invocation;
-import org.apache.servicecomb.core.event.InvocationFinishEvent;
-import org.apache.servicecomb.core.event.InvocationStartEvent;
+import org.apache.servicecomb.core.SCBEngine;
+import org.apache.servicecomb.core.event.InvocationListener;
 import org.apache.servicecomb.foundation.metrics.MetricsBootstrapConfig;
 import org.apache.servicecomb.foundation.metrics.MetricsInitializer;
 import org.apache.servicecomb.foundation.metrics.registry.GlobalRegistry;
@@ -26,13 +26,25 @@ import org.apache.servicecomb.metrics.core.meter.ConsumerMeters;
 import org.apache.servicecomb.metrics.core.meter.EdgeMeters;
 import org.apache.servicecomb.metrics.core.meter.ProducerMeters;
 import org.apache.servicecomb.metrics.core.meter.invocation.AbstractInvocationMeters;
+import org.apache.servicecomb.swagger.invocation.Response;
 
-import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
 import com.netflix.spectator.api.Registry;
 
 public class InvocationMetersInitializer implements MetricsInitializer {
+  // not implement InvocationListener by this class, both interfaces declare getOrder
+  private final InvocationListener invocationListener = new InvocationListener() {
+    @Override
+    public void onInvocationStart(Invocation invocation) {
+      InvocationMetersInitializer.this.onInvocationStart(invocation);
+    }
+
+    @Override
+    public void onInvocationFinish(Invocation invocation, Response response) {
+      InvocationMetersInitializer.this.onInvocationFinish(invocation, response);
+    }
+  };
+
   private ConsumerMeters consumerMeters;
 
   private ProducerMeters producerMeters;
@@ -47,7 +59,12 @@ public class InvocationMetersInitializer implements MetricsInitializer {
     producerMeters = new ProducerMeters(registry);
     edgeMeters = new EdgeMeters(registry);
 
-    eventBus.register(this);
+    SCBEngine.getInstance().addInvocationListener(invocationListener);
+  }
+
+  @Override
+  public void destroy() {
+    SCBEngine.getInstance().removeInvocationListener(invocationListener);
   }
 
   protected AbstractInvocationMeters findInvocationMeters(Invocation invocation) {
@@ -61,17 +78,13 @@ public class InvocationMetersInitializer implements MetricsInitializer {
     return producerMeters.getInvocationMeters();
   }
 
-  @Subscribe
-  @AllowConcurrentEvents
-  public void onInvocationStart(InvocationStartEvent event) {
-    AbstractInvocationMeters invocationMeters = findInvocationMeters(event.getInvocation());
-    invocationMeters.onInvocationStart(event);
+  public void onInvocationStart(Invocation invocation) {
+    AbstractInvocationMeters invocationMeters = findInvocationMeters(invocation);
+    invocationMeters.onInvocationStart(invocation);
   }
 
-  @Subscribe
-  @AllowConcurrentEvents
-  public void onInvocationFinish(InvocationFinishEvent event) {
-    AbstractInvocationMeters invocationMeters = findInvocationMeters(event.getInvocation());
-    invocationMeters.onInvocationFinish(event);
+  public void onInvocationFinish(Invocation invocation, Response response) {
+    AbstractInvocationMeters invocationMeters = findInvocationMeters(invocation);
+    invocationMeters.onInvocationFinish(invocation, response);
   }
 }
@@ -19,11 +19,14 @@ package org.apache.servicecomb.metrics.core.meter.invocation;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.servicecomb.core.event.InvocationFinishEvent;
+import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.invocation.InvocationStageTrace;
 import org.apache.servicecomb.foundation.metrics.meter.AbstractPeriodMeter;
 import org.apache.servicecomb.foundation.metrics.meter.LatencyDistributionMeter;
+import org.apache.servicecomb.foundation.metrics.meter.PercentileConfig;
+import org.apache.servicecomb.foundation.metrics.meter.PercentileTimer;
 import org.apache.servicecomb.foundation.metrics.meter.SimpleTimer;
+import org.apache.servicecomb.swagger.invocation.Response;
 
 import com.netflix.config.DynamicPropertyFactory;
 import com.netflix.spectator.api.Id;
@@ -48,12 +51,16 @@ public abstract class AbstractInvocationMeter extends AbstractPeriodMeter {
   // latency distribution
   private LatencyDistributionMeter latencyDistributionMeter;
 
+  // percentiles of every stage
+  private PercentileConfig percentileConfig;
+
   private long lastUpdated;
 
   public AbstractInvocationMeter(Registry registry, Id id) {
     this.registry = registry;
     this.id = id;
     latencyDistributionMeter = createLatencyDistribution(MeterInvocationConst.TAG_LATENCY_DISTRIBUTION);
+    percentileConfig = createPercentileConfig();
     totalTimer = createStageTimer(MeterInvocationConst.STAGE_TOTAL);
     prepareTimer = createStageTimer(MeterInvocationConst.STAGE_PREPARE);
     handlersRequestTimer = createStageTimer(MeterInvocationConst.STAGE_HANDLERS_REQUEST);
@@ -67,6 +74,13 @@ public abstract class AbstractInvocationMeter extends AbstractPeriodMeter {
     return new LatencyDistributionMeter(id.withTag(MeterInvocationConst.TAG_TYPE, tagValue), config);
   }
 
+  protected PercentileConfig createPercentileConfig() {
+    String config = DynamicPropertyFactory.getInstance()
+        .getStringProperty(MeterInvocationConst.CONFIG_PERCENTILES, MeterInvocationConst.DEFAULT_PERCENTILES)
+        .get();
+    return new PercentileConfig(config);
+  }
+
   protected SimpleTimer createStageTimer(String stageValue) {
     return createTimer(id.withTag(MeterInvocationConst.TAG_TYPE, MeterInvocationConst.TAG_STAGE)
         .withTag(MeterInvocationConst.TAG_STAGE, stageValue));
@@ -77,13 +91,16 @@ public abstract class AbstractInvocationMeter extends AbstractPeriodMeter {
   }
 
   protected SimpleTimer createTimer(Id timerId) {
+    if (percentileConfig.isEnabled()) {
+      return new PercentileTimer(timerId, percentileConfig);
+    }
     return new SimpleTimer(timerId);
   }
 
-  public void onInvocationFinish(InvocationFinishEvent event) {
+  public void onInvocationFinish(Invocation invocation, Response response) {
     lastUpdated = registry.clock().wallTime();
 
-    InvocationStageTrace stageTrace = event.getInvocation().getInvocationStageTrace();
+    InvocationStageTrace stageTrace = invocation.getInvocationStageTrace();
     latencyDistributionMeter.record((long) stageTrace.calcTotalTime());
     totalTimer.record((long) stageTrace.calcTotalTime());
     handlersRequestTimer.record((long) stageTrace.calcHandlersRequestTime());
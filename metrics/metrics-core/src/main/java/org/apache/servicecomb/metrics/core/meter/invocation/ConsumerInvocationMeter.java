@@ -18,9 +18,10 @@ package org.apache.servicecomb.metrics.core.meter.invocation;
 
 import java.util.List;
 
-import org.apache.servicecomb.core.event.InvocationFinishEvent;
+import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.invocation.InvocationStageTrace;
 import org.apache.servicecomb.foundation.metrics.meter.SimpleTimer;
+import org.apache.servicecomb.swagger.invocation.Response;
 
 import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Measurement;
@@ -53,10 +54,10 @@ public class ConsumerInvocationMeter extends AbstractInvocationMeter {
   }
 
   @Override
-  public void onInvocationFinish(InvocationFinishEvent event) {
-    super.onInvocationFinish(event);
+  public void onInvocationFinish(Invocation invocation, Response response) {
+    super.onInvocationFinish(invocation, response);
 
-    InvocationStageTrace invocationStageTrace = event.getInvocation().getInvocationStageTrace();
+    InvocationStageTrace invocationStageTrace = invocation.getInvocationStageTrace();
     clientFiltersRequestTimer.record((long) invocationStageTrace.calcClientFiltersRequestTime());
     consumerSendRequestTimer.record((long) invocationStageTrace.calcSendRequestTime());
     consumerGetConnectionTimer.record((long) invocationStageTrace.calcGetConnectionTime());
@@ -19,9 +19,10 @@ package org.apache.servicecomb.metrics.core.meter.invocation;
 
 import java.util.List;
 
-import org.apache.servicecomb.core.event.InvocationFinishEvent;
+import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.invocation.InvocationStageTrace;
 import org.apache.servicecomb.foundation.metrics.meter.SimpleTimer;
+import org.apache.servicecomb.swagger.invocation.Response;
 
 import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Measurement;
@@ -45,9 +46,9 @@ public class EdgeInvocationMeter extends ConsumerInvocationMeter {
   }
 
   @Override
-  public void onInvocationFinish(InvocationFinishEvent event) {
-    super.onInvocationFinish(event);
-    InvocationStageTrace invocationStageTrace = event.getInvocation().getInvocationStageTrace();
+  public void onInvocationFinish(Invocation invocation, Response response) {
+    super.onInvocationFinish(invocation, response);
+    InvocationStageTrace invocationStageTrace = invocation.getInvocationStageTrace();
 
     executorQueueTimer.record((long) invocationStageTrace.calcThreadPoolQueueTime());
     serverFiltersRequestTimer.record((long) invocationStageTrace.calcServerFiltersRequestTime());
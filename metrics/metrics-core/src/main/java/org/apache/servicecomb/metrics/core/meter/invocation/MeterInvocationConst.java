@@ -23,6 +23,10 @@ public interface MeterInvocationConst {
 
   String CONFIG_LATENCY_DISTRIBUTION = "servicecomb.metrics.invocation.latencyDistribution";
 
+  String CONFIG_PERCENTILES = "servicecomb.metrics.invocation.percentiles";
+
+  String DEFAULT_PERCENTILES = "50,90,99,99.9";
+
   String CONFIG_LATENCY_DISTRIBUTION_MIN_SCOPE_LEN = "servicecomb.metrics.publisher.defaultLog.invocation.latencyDistribution.minScopeLength";
 
   // consumer or producer
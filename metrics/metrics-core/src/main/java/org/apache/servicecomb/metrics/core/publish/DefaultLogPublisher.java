@@ -28,6 +28,7 @@ import org.apache.servicecomb.foundation.metrics.MetricsInitializer;
 import org.apache.servicecomb.foundation.metrics.PolledEvent;
 import org.apache.servicecomb.foundation.metrics.meter.LatencyDistributionConfig;
 import org.apache.servicecomb.foundation.metrics.meter.LatencyScopeConfig;
+import org.apache.servicecomb.foundation.metrics.meter.PercentileConfig;
 import org.apache.servicecomb.foundation.metrics.publish.spectator.MeasurementNode;
 import org.apache.servicecomb.foundation.metrics.publish.spectator.MeasurementTree;
 import org.apache.servicecomb.foundation.metrics.registry.GlobalRegistry;
@@ -61,9 +62,9 @@ public class DefaultLogPublisher implements MetricsInitializer {
   // for a client, maybe will connect to too many endpoints, so default not print detail, just print summary
   public static final String ENDPOINTS_CLIENT_DETAIL_ENABLED = "servicecomb.metrics.publisher.defaultLog.endpoints.client.detail.enabled";
 
-  private static final String FIRST_LINE_SIMPLE_FORMAT = "  %-11s %-8.1f %-18s %s%s\n";
+  private static final String FIRST_LINE_SIMPLE_FORMAT = "  %-11s %-8.1f %-18s %s%s%s\n";
 
-  private static final String SIMPLE_FORMAT = "              %-8.1f %-18s %s%s\n";
+  private static final String SIMPLE_FORMAT = "              %-8.1f %-18s %s%s%s\n";
 
   //details
   private static final String PRODUCER_DETAILS_FORMAT = ""
@@ -95,6 +96,16 @@ public class DefaultLogPublisher implements MetricsInitializer {
    */
   private String latencyDistributionFormat = "";
 
+  private String[] percentiles = new String[0];
+
+  /**
+   * if config is 50,99 then header will be:<br>
+   *   p50/p99
+   */
+  private String percentilesHeader = "";
+
+  private String percentilesFormat = "";
+
   @Override
   public void init(GlobalRegistry globalRegistry, EventBus eventBus, MetricsBootstrapConfig config) {
     if (!DynamicPropertyFactory.getInstance()
@@ -104,10 +115,28 @@ public class DefaultLogPublisher implements MetricsInitializer {
     }
 
     initLatencyDistribution();
+    initPercentiles();
 
     eventBus.register(this);
   }
 
+  private void initPercentiles() {
+    String config = DynamicPropertyFactory.getInstance()
+        .getStringProperty(MeterInvocationConst.CONFIG_PERCENTILES, MeterInvocationConst.DEFAULT_PERCENTILES)
+        .get();
+    PercentileConfig percentileConfig = new PercentileConfig(config);
+    if (!percentileConfig.isEnabled()) {
+      return;
+    }
+
+    percentiles = percentileConfig.getTagValues();
+    String header = "p" + String.join("/p", percentiles) + " ";
+    // every value is formatted as "%.3f", mostly less than 9 characters
+    int width = Math.max(header.length(), percentiles.length * 9);
+    percentilesHeader = Strings.padEnd(header, width, ' ');
+    percentilesFormat = "%-" + (width - 1) + "s ";
+  }
+
   private void initLatencyDistribution() {
     // default length is 7 which include a space, one minute 999999 requests, TPS is 16666, mostly it's enough
     int leastLatencyScopeStrLength = DynamicPropertyFactory.getInstance()
@@ -244,6 +273,7 @@ public class DefaultLogPublisher implements MetricsInitializer {
         + "edge:\n"
         + " simple:\n"
         + "  status      tps      latency            ")
+        .append(percentilesHeader)
         .append(latencyDistributionHeader)
         .append("operation\n");
     StringBuilder detailsBuilder = new StringBuilder();
@@ -268,6 +298,7 @@ public class DefaultLogPublisher implements MetricsInitializer {
         + "consumer:\n"
         + " simple:\n"
         + "  status      tps      latency            ")
+        .append(percentilesHeader)
         .append(latencyDistributionHeader)
         .append("operation\n");
     StringBuilder detailsBuilder = new StringBuilder();
@@ -292,6 +323,7 @@ public class DefaultLogPublisher implements MetricsInitializer {
         + "producer:\n"
         + " simple:\n"
         + "  status      tps      latency            ")
+        .append(percentilesHeader)
         .append(latencyDistributionHeader)
         .append("operation\n");
     // use detailsBuilder, we can traverse the map only once
@@ -320,11 +352,13 @@ public class DefaultLogPublisher implements MetricsInitializer {
         sb.append(String.format(FIRST_LINE_SIMPLE_FORMAT, status,
             stageTotal.getTps(),
             getDetailsFromPerf(stageTotal),
+            formatPercentiles(stageTotal),
             formatLatencyDistribution(operationPerf),
             operationPerf.getOperation()));
       } else {
         sb.append(String.format(SIMPLE_FORMAT, stageTotal.getTps(),
             getDetailsFromPerf(stageTotal),
+            formatPercentiles(stageTotal),
             formatLatencyDistribution(operationPerf),
             operationPerf.getOperation()));
       }
@@ -334,11 +368,27 @@ public class DefaultLogPublisher implements MetricsInitializer {
     //print summary
     sb.append(String.format(SIMPLE_FORMAT, stageSummaryTotal.getTps(),
         getDetailsFromPerf(stageSummaryTotal),
+        formatPercentiles(stageSummaryTotal),
         formatLatencyDistribution(summaryOperation),
         "(summary)"));
     return sb;
   }
 
+  private String formatPercentiles(PerfInfo perfInfo) {
+    if (percentiles.length == 0) {
+      return "";
+    }
+
+    StringBuilder sb = new StringBuilder();
+    for (String percentile : percentiles) {
+      if (sb.length() != 0) {
+        sb.append('/');
+      }
+      sb.append(String.format("%.3f", perfInfo.getMsPercentiles().getOrDefault(percentile, 0.0)));
+    }
+    return String.format(percentilesFormat, sb);
+  }
+
   private String formatLatencyDistribution(OperationPerf operationPerf) {
     return String.format(latencyDistributionFormat, (Object[]) operationPerf.getLatencyDistribution());
   }
@@ -19,6 +19,7 @@ package org.apache.servicecomb.metrics.core.publish;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.servicecomb.foundation.metrics.meter.PercentileTimer;
 import org.apache.servicecomb.foundation.metrics.publish.spectator.MeasurementNode;
 import org.apache.servicecomb.metrics.core.meter.invocation.MeterInvocationConst;
 import org.apache.servicecomb.metrics.core.publish.model.invocation.OperationPerf;
@@ -26,7 +27,9 @@ import org.apache.servicecomb.metrics.core.publish.model.invocation.OperationPer
 import org.apache.servicecomb.metrics.core.publish.model.invocation.OperationPerfGroups;
 import org.apache.servicecomb.metrics.core.publish.model.invocation.PerfInfo;
 
+import com.netflix.spectator.api.Measurement;
 import com.netflix.spectator.api.Statistic;
+import com.netflix.spectator.api.Tag;
 
 public final class PublishUtils {
   private PublishUtils() {
@@ -41,9 +44,27 @@ public final class PublishUtils {
     if (maxNode != null) {
       perfInfo.setMsMaxLatency(maxNode.summary() * 1000);
     }
+    MeasurementNode percentileNode = stageNode.findChild(Statistic.percentile.name());
+    if (percentileNode != null) {
+      for (Measurement measurement : percentileNode.getMeasurements()) {
+        String percentile = findTagValue(measurement, PercentileTimer.TAG_PERCENTILE);
+        if (percentile != null) {
+          perfInfo.getMsPercentiles().put(percentile, measurement.value() * 1000);
+        }
+      }
+    }
     return perfInfo;
   }
 
+  private static String findTagValue(Measurement measurement, String key) {
+    for (Tag tag : measurement.id().tags()) {
+      if (tag.key().equals(key)) {
+        return tag.value();
+      }
+    }
+    return null;
+  }
+
   public static OperationPerf createOperationPerf(String operation, MeasurementNode statusNode) {
     OperationPerf operationPerf = new OperationPerf();
 
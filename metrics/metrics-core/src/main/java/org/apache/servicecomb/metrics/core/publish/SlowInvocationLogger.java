@@ -24,27 +24,22 @@ import org.apache.servicecomb.core.Endpoint;
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.SCBEngine;
 import org.apache.servicecomb.core.definition.OperationConfig;
-import org.apache.servicecomb.core.event.InvocationFinishEvent;
+import org.apache.servicecomb.core.event.InvocationListener;
 import org.apache.servicecomb.core.invocation.InvocationStageTrace;
 import org.apache.servicecomb.foundation.vertx.http.HttpServletRequestEx;
 import org.apache.servicecomb.swagger.invocation.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.eventbus.AllowConcurrentEvents;
-import com.google.common.eventbus.Subscribe;
-
-public class SlowInvocationLogger {
+public class SlowInvocationLogger implements InvocationListener {
   private static final Logger LOGGER = LoggerFactory.getLogger(SlowInvocationLogger.class);
 
   public SlowInvocationLogger(SCBEngine scbEngine) {
-    scbEngine.getEventBus().register(this);
+    scbEngine.addInvocationListener(this);
   }
 
-  @Subscribe
-  @AllowConcurrentEvents
-  public void onInvocationFinish(InvocationFinishEvent event) {
-    Invocation invocation = event.getInvocation();
+  @Override
+  public void onInvocationFinish(Invocation invocation, Response response) {
     OperationConfig operationConfig = invocation.getOperationMeta().getConfig();
     if (!operationConfig.isSlowInvocationEnabled() ||
         invocation.getInvocationStageTrace().calcTotalTime() < operationConfig.getNanoSlowInvocation()) {
@@ -52,16 +47,16 @@ public class SlowInvocationLogger {
     }
 
     if (!invocation.isConsumer()) {
-      logSlowProducer(invocation, event.getResponse(), operationConfig);
+      logSlowProducer(invocation, response, operationConfig);
       return;
     }
 
     if (invocation.isEdge()) {
-      logSlowEdge(invocation, event.getResponse(), operationConfig);
+      logSlowEdge(invocation, response, operationConfig);
       return;
     }
 
-    logSlowConsumer(invocation, event.getResponse(), operationConfig);
+    logSlowConsumer(invocation, response, operationConfig);
   }
 
   private String collectClientAddress(Invocation invocation) {
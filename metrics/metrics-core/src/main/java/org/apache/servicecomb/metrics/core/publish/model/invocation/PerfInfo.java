@@ -16,6 +16,12 @@
  */
 package org.apache.servicecomb.metrics.core.publish.model.invocation;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
 public class PerfInfo {
   private double tps;
 
@@ -23,6 +29,9 @@ public class PerfInfo {
 
   private double msMaxLatency;
 
+  // key is percentile, eg: 99.9
+  private Map<String, Double> msPercentiles = new LinkedHashMap<>();
+
   public double getTps() {
     return tps;
   }
@@ -47,12 +56,23 @@ public class PerfInfo {
     this.msMaxLatency = msMaxLatency;
   }
 
+  @JsonInclude(Include.NON_EMPTY)
+  public Map<String, Double> getMsPercentiles() {
+    return msPercentiles;
+  }
+
+  public void setMsPercentiles(Map<String, Double> msPercentiles) {
+    this.msPercentiles = msPercentiles;
+  }
+
   public void add(PerfInfo other) {
     tps += other.tps;
     msTotalTime += other.msTotalTime;
     if (msMaxLatency < other.msMaxLatency) {
       msMaxLatency = other.msMaxLatency;
     }
+    // percentiles can not be merged, just use the max one as an upper bound
+    other.msPercentiles.forEach((key, value) -> msPercentiles.merge(key, value, Math::max));
   }
 
   public double calcMsLatency() {
@@ -18,15 +18,21 @@ package org.apache.servicecomb.metrics.core;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.concurrent.TimeUnit;
+
 import org.apache.servicecomb.core.Const;
 import org.apache.servicecomb.core.Invocation;
-import org.apache.servicecomb.core.event.InvocationFinishEvent;
+import org.apache.servicecomb.foundation.metrics.meter.PercentileTimer;
+import org.apache.servicecomb.foundation.metrics.publish.spectator.DefaultTagFinder;
 import org.apache.servicecomb.foundation.metrics.publish.spectator.MeasurementGroupConfig;
+import org.apache.servicecomb.foundation.metrics.publish.spectator.MeasurementNode;
 import org.apache.servicecomb.foundation.metrics.publish.spectator.MeasurementTree;
 import org.apache.servicecomb.foundation.metrics.registry.GlobalRegistry;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.apache.servicecomb.metrics.core.meter.invocation.MeterInvocationConst;
 import org.apache.servicecomb.swagger.invocation.InvocationType;
 import org.apache.servicecomb.swagger.invocation.Response;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -34,6 +40,7 @@ import com.google.common.eventbus.EventBus;
 import com.netflix.spectator.api.DefaultRegistry;
 import com.netflix.spectator.api.ManualClock;
 import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Statistic;
 
 import mockit.Expectations;
 import mockit.Mocked;
@@ -55,12 +62,56 @@ public class TestInvocationMetersInitializer {
 
   @Before
   public void setup() {
+    // percentiles are verified in percentiles test case
+    ArchaiusUtils.setProperty(MeterInvocationConst.CONFIG_PERCENTILES, "");
     globalRegistry.add(registry);
     invocationMetersInitializer.init(globalRegistry, eventBus, null);
   }
 
+  @After
+  public void teardown() {
+    invocationMetersInitializer.destroy();
+    ArchaiusUtils.resetConfig();
+  }
+
+  @Test
+  public void percentiles() {
+    ArchaiusUtils.resetConfig();
+    ArchaiusUtils.setProperty(MeterInvocationConst.CONFIG_PERCENTILES, "50,99");
+    new Expectations() {
+      {
+        invocation.getInvocationType();
+        result = InvocationType.PRODUCER;
+        invocation.getRealTransportName();
+        result = Const.RESTFUL;
+        invocation.getMicroserviceQualifiedName();
+        result = "m.s.o";
+        invocation.getInvocationStageTrace().calcTotalTime();
+        result = (double) TimeUnit.MILLISECONDS.toNanos(10);
+      }
+    };
+
+    invocationMetersInitializer.onInvocationFinish(invocation, response);
+    invocationMetersInitializer.onInvocationFinish(invocation, response);
+
+    globalRegistry.poll(1);
+
+    MeasurementTree tree = new MeasurementTree();
+    tree.from(registry.iterator(), new MeasurementGroupConfig(MeterInvocationConst.INVOCATION_NAME,
+        MeterInvocationConst.TAG_TYPE, new DefaultTagFinder(MeterInvocationConst.TAG_STAGE, true),
+        MeterInvocationConst.TAG_STATISTIC, new DefaultTagFinder(PercentileTimer.TAG_PERCENTILE, true)));
+    MeasurementNode percentileNode = tree.findChild(MeterInvocationConst.INVOCATION_NAME,
+        MeterInvocationConst.TAG_STAGE, MeterInvocationConst.STAGE_TOTAL, Statistic.percentile.name());
+    assertEquals(0.01, percentileNode.findChild("50").summary(), 0.01 / 64);
+    assertEquals(0.01, percentileNode.findChild("99").summary(), 0.01 / 64);
+    // all stages have percentiles
+    MeasurementNode executionNode = tree.findChild(MeterInvocationConst.INVOCATION_NAME,
+        MeterInvocationConst.TAG_STAGE, MeterInvocationConst.STAGE_EXECUTION, Statistic.percentile.name());
+    assertEquals(2, executionNode.getChildren().size());
+  }
+
   @Test
-  public void consumerInvocation(@Mocked InvocationFinishEvent event) {
+  public void consumerInvocation() {
     new Expectations() {
       {
         invocation.isConsumer();
@@ -94,13 +145,11 @@ public class TestInvocationMetersInitializer {
         invocation.getInvocationStageTrace().calcHandlersResponseTime();
         result = 9;
 
-        event.getInvocation();
-        result = invocation;
       }
     };
 
-    eventBus.post(event);
-    eventBus.post(event);
+    invocationMetersInitializer.onInvocationFinish(invocation, response);
+    invocationMetersInitializer.onInvocationFinish(invocation, response);
 
     globalRegistry.poll(1);
 
@@ -144,7 +193,7 @@ public class TestInvocationMetersInitializer {
   }
 
   @Test
-  public void edgeInvocation(@Mocked InvocationFinishEvent event) {
+  public void edgeInvocation() {
     new Expectations() {
       {
         invocation.isConsumer();
@@ -185,13 +234,11 @@ public class TestInvocationMetersInitializer {
         result = 9;
         invocation.getInvocationStageTrace().calcServerFiltersResponseTime();
         result = 9;
-        event.getInvocation();
-        result = invocation;
       }
     };
 
-    eventBus.post(event);
-    eventBus.post(event);
+    invocationMetersInitializer.onInvocationFinish(invocation, response);
+    invocationMetersInitializer.onInvocationFinish(invocation, response);
 
     globalRegistry.poll(1);
 
@@ -247,7 +294,7 @@ public class TestInvocationMetersInitializer {
   }
 
   @Test
-  public void producerInvocation(@Mocked InvocationFinishEvent event) {
+  public void producerInvocation() {
     new Expectations() {
       {
         invocation.isConsumer();
@@ -276,13 +323,11 @@ public class TestInvocationMetersInitializer {
         result = 9;
         invocation.getInvocationStageTrace().calcSendResponseTime();
         result = 9;
-        event.getInvocation();
-        result = invocation;
       }
     };
 
-    eventBus.post(event);
-    eventBus.post(event);
+    invocationMetersInitializer.onInvocationFinish(invocation, response);
+    invocationMetersInitializer.onInvocationFinish(invocation, response);
 
     globalRegistry.poll(1);
 
@@ -152,6 +152,10 @@ public class TestDefaultLogPublisher {
     perfTotal.setTps(10_0000);
     perfTotal.setMsTotalTime(30000L * 1_0000);
     perfTotal.setMsMaxLatency(30000);
+    perfTotal.getMsPercentiles().put("50", 1.0);
+    perfTotal.getMsPercentiles().put("90", 2.0);
+    perfTotal.getMsPercentiles().put("99", 3.0);
+    perfTotal.getMsPercentiles().put("99.9", 4.0);
     OperationPerf operationPerf = new OperationPerf();
     operationPerf.setOperation("op");
     operationPerf.setLatencyDistribution(new Integer[] {12, 120, 1200});
@@ -253,9 +257,9 @@ public class TestDefaultLogPublisher {
             + "  0        0          0        0           0         0.0       0.0          test\n"
             + "consumer:\n"
             + " simple:\n"
-            + "  status      tps      latency            [0,1)  [1,100) [100,) operation\n"
-            + "  rest.OK     100000.0 3000.000/30000.000 12     120     1200   op\n"
-            + "              100000.0 3000.000/30000.000 12     120     1200   (summary)\n"
+            + "  status      tps      latency            p50/p90/p99/p99.9                   [0,1)  [1,100) [100,) operation\n"
+            + "  rest.OK     100000.0 3000.000/30000.000 1.000/2.000/3.000/4.000             12     120     1200   op\n"
+            + "              100000.0 3000.000/30000.000 1.000/2.000/3.000/4.000             12     120     1200   (summary)\n"
             + " details:\n"
             + "    rest.OK:\n"
             + "      op:\n"
@@ -264,9 +268,9 @@ public class TestDefaultLogPublisher {
             + "        cFiltersResp: 3000.000/30000.000 handlersResp: 3000.000/30000.000\n"
             + "producer:\n"
             + " simple:\n"
-            + "  status      tps      latency            [0,1)  [1,100) [100,) operation\n"
-            + "  rest.OK     100000.0 3000.000/30000.000 12     120     1200   op\n"
-            + "              100000.0 3000.000/30000.000 12     120     1200   (summary)\n"
+            + "  status      tps      latency            p50/p90/p99/p99.9                   [0,1)  [1,100) [100,) operation\n"
+            + "  rest.OK     100000.0 3000.000/30000.000 1.000/2.000/3.000/4.000             12     120     1200   op\n"
+            + "              100000.0 3000.000/30000.000 1.000/2.000/3.000/4.000             12     120     1200   (summary)\n"
             + " details:\n"
             + "    rest.OK:\n"
             + "      op:\n"
@@ -274,9 +278,9 @@ public class TestDefaultLogPublisher {
             + "        execute: 3000.000/30000.000 handlersResp: 3000.000/30000.000 filtersResp: 3000.000/30000.000 sendResp   : 3000.000/30000.000\n"
             + "edge:\n"
             + " simple:\n"
-            + "  status      tps      latency            [0,1)  [1,100) [100,) operation\n"
-            + "  rest.OK     100000.0 3000.000/30000.000 12     120     1200   op\n"
-            + "              100000.0 3000.000/30000.000 12     120     1200   (summary)\n"
+            + "  status      tps      latency            p50/p90/p99/p99.9                   [0,1)  [1,100) [100,) operation\n"
+            + "  rest.OK     100000.0 3000.000/30000.000 1.000/2.000/3.000/4.000             12     120     1200   op\n"
+            + "              100000.0 3000.000/30000.000 1.000/2.000/3.000/4.000             12     120     1200   (summary)\n"
             + " details:\n"
             + "    rest.OK:\n"
             + "      op:\n"
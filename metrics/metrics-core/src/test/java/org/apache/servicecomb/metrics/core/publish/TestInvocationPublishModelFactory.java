@@ -18,14 +18,15 @@ package org.apache.servicecomb.metrics.core.publish;
 
 import org.apache.servicecomb.core.Const;
 import org.apache.servicecomb.core.Invocation;
-import org.apache.servicecomb.core.event.InvocationFinishEvent;
 import org.apache.servicecomb.core.invocation.InvocationStageTrace;
 import org.apache.servicecomb.foundation.metrics.registry.GlobalRegistry;
 import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.apache.servicecomb.metrics.core.InvocationMetersInitializer;
+import org.apache.servicecomb.metrics.core.meter.invocation.MeterInvocationConst;
 import org.apache.servicecomb.metrics.core.publish.model.DefaultPublishModel;
 import org.apache.servicecomb.swagger.invocation.InvocationType;
 import org.apache.servicecomb.swagger.invocation.Response;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -61,9 +62,17 @@ public class TestInvocationPublishModelFactory {
 
   InvocationType invocationType;
 
+  @After
+  public void teardown() {
+    invocationMetersInitializer.destroy();
+    ArchaiusUtils.resetConfig();
+  }
+
   @Test
   public void createDefaultPublishModel() {
     ArchaiusUtils.setProperty("servicecomb.metrics.invocation.latencyDistribution", "0,1,100");
+    // percentiles are verified in TestInvocationMetersInitializer
+    ArchaiusUtils.setProperty(MeterInvocationConst.CONFIG_PERCENTILES, "");
     globalRegistry.add(registry);
     invocationMetersInitializer.init(globalRegistry, eventBus, null);
     prepareInvocation();
@@ -382,10 +391,9 @@ public class TestInvocationPublishModelFactory {
         result = 200;
       }
     };
-    InvocationFinishEvent finishEvent = new InvocationFinishEvent(invocation, response);
-    eventBus.post(finishEvent);
+    invocationMetersInitializer.onInvocationFinish(invocation, response);
 
     invocationType = InvocationType.PRODUCER;
-    eventBus.post(finishEvent);
+    invocationMetersInitializer.onInvocationFinish(invocation, response);
   }
 }
@@ -22,6 +22,7 @@ import java.util.Map;
 import javax.ws.rs.core.Response.Status;
 
 import org.apache.servicecomb.core.Const;
+import org.apache.servicecomb.foundation.metrics.meter.PercentileTimer;
 import org.apache.servicecomb.foundation.metrics.publish.spectator.MeasurementNode;
 import org.apache.servicecomb.foundation.metrics.publish.spectator.MeasurementTree;
 import org.apache.servicecomb.metrics.core.meter.invocation.MeterInvocationConst;
@@ -34,6 +35,10 @@ import org.apache.servicecomb.metrics.core.publish.model.invocation.Utils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Measurement;
+import com.netflix.spectator.api.Statistic;
 import com.netflix.spectator.api.patterns.ThreadPoolMonitorPublishModelFactory;
 
 public class TestPublishUtils {
@@ -50,6 +55,22 @@ public class TestPublishUtils {
     Assert.assertEquals(100000, perf.getMsMaxLatency(), 0);
   }
 
+  @Test
+  public void createPerfInfo_percentiles() {
+    MeasurementNode stageNode = Utils.createStageNode(MeterInvocationConst.STAGE_TOTAL, 10, 10, 100);
+    Id id = new DefaultRegistry().createId("id").withTag(Statistic.percentile);
+    stageNode.addChild(Statistic.percentile.name(),
+        new Measurement(id.withTag(PercentileTimer.TAG_PERCENTILE, "50"), 0, 0.001));
+    stageNode.addChild(Statistic.percentile.name(),
+        new Measurement(id.withTag(PercentileTimer.TAG_PERCENTILE, "99.9"), 0, 0.002));
+
+    PerfInfo perf = PublishUtils.createPerfInfo(stageNode);
+
+    Assert.assertEquals(2, perf.getMsPercentiles().size());
+    Assert.assertEquals(1, perf.getMsPercentiles().get("50"), 0);
+    Assert.assertEquals(2, perf.getMsPercentiles().get("99.9"), 0);
+  }
+
   @Test
   public void createOperationPerf() {
     OperationPerf opPerf = Utils.createOperationPerf(op);
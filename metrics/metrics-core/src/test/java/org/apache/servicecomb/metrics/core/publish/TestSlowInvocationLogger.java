@@ -23,7 +23,6 @@ import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.SCBEngine;
 import org.apache.servicecomb.core.definition.OperationConfig;
 import org.apache.servicecomb.core.definition.OperationMeta;
-import org.apache.servicecomb.core.event.InvocationFinishEvent;
 import org.apache.servicecomb.core.invocation.InvocationStageTrace;
 import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.apache.servicecomb.foundation.test.scaffolding.log.LogCollector;
@@ -59,8 +58,6 @@ public class TestSlowInvocationLogger {
   @Mocked
   InvocationStageTrace stageTrace;
 
-  InvocationFinishEvent event;
-
   SlowInvocationLogger logger;
 
   LogCollector logCollector;
@@ -68,7 +65,6 @@ public class TestSlowInvocationLogger {
   @Before
   public void setup() {
     logger = new SlowInvocationLogger(scbEngine);
-    event = new InvocationFinishEvent(invocation, response);
     ArchaiusUtils.resetConfig();
     logCollector = new LogCollector();
   }
@@ -81,7 +77,7 @@ public class TestSlowInvocationLogger {
 
   @Test
   public void disable() {
-    logger.onInvocationFinish(event);
+    logger.onInvocationFinish(invocation, response);
 
     Assert.assertTrue(logCollector.getEvents().isEmpty());
   }
@@ -98,7 +94,7 @@ public class TestSlowInvocationLogger {
         result = 1;
       }
     };
-    logger.onInvocationFinish(event);
+    logger.onInvocationFinish(invocation, response);
 
     Assert.assertTrue(logCollector.getEvents().isEmpty());
   }
@@ -123,7 +119,7 @@ public class TestSlowInvocationLogger {
         result = 1;
       }
     };
-    logger.onInvocationFinish(event);
+    logger.onInvocationFinish(invocation, response);
 
     Assert.assertEquals(""
             + "slow(0 ms) invocation, null:\n"
@@ -167,7 +163,7 @@ public class TestSlowInvocationLogger {
         result = 1;
       }
     };
-    logger.onInvocationFinish(event);
+    logger.onInvocationFinish(invocation, response);
 
     Assert.assertEquals(""
             + "slow(0 ms) invocation, null:\n"
@@ -215,7 +211,7 @@ public class TestSlowInvocationLogger {
         result = 1;
       }
     };
-    logger.onInvocationFinish(event);
+    logger.onInvocationFinish(invocation, response);
 
     Assert.assertEquals(""
             + "slow(0 ms) invocation, null:\n"
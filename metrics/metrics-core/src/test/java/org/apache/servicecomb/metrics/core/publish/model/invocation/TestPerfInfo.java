@@ -73,6 +73,24 @@ public class TestPerfInfo {
     Assert.assertEquals(100, sum.getMsMaxLatency(), 0);
   }
 
+  @Test
+  public void add_mergePercentiles() {
+    PerfInfo sum = new PerfInfo();
+
+    PerfInfo other = new PerfInfo();
+    other.getMsPercentiles().put("50", 1.0);
+    other.getMsPercentiles().put("99", 10.0);
+    sum.add(other);
+
+    other = new PerfInfo();
+    other.getMsPercentiles().put("50", 2.0);
+    other.getMsPercentiles().put("99", 5.0);
+    sum.add(other);
+
+    Assert.assertEquals(2.0, sum.getMsPercentiles().get("50"), 0);
+    Assert.assertEquals(10.0, sum.getMsPercentiles().get("99"), 0);
+  }
+
   @Test
   public void testToString() {
     PerfInfo perf = new PerfInfo();
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.metrics.prometheus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * prometheus text exposition of one poll period
+ * <p>
+ * buffers are immutable and shared by all scrapes, gzip content is created by the first scrape that accept it.
+ * </p>
+ */
+public class PrometheusExposition {
+  public static final PrometheusExposition EMPTY = new PrometheusExposition("");
+
+  private final Buffer text;
+
+  private volatile Buffer gzip;
+
+  public PrometheusExposition(String text) {
+    this.text = Buffer.buffer(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public Buffer getText() {
+    return text;
+  }
+
+  public Buffer getGzip() {
+    Buffer result = gzip;
+    if (result == null) {
+      // concurrent scrapes maybe compress more than once, but the results are the same
+      result = compress(text.getBytes());
+      gzip = result;
+    }
+    return result;
+  }
+
+  private static Buffer compress(byte[] bytes) {
+    ByteArrayOutputStream os = new ByteArrayOutputStream(bytes.length / 4 + 64);
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(os)) {
+      gzipOutputStream.write(bytes);
+    } catch (IOException e) {
+      // ByteArrayOutputStream never throw IOException
+      throw new IllegalStateException(e);
+    }
+    return Buffer.buffer(os.toByteArray());
+  }
+}
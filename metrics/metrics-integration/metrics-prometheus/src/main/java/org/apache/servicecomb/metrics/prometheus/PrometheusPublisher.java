@@ -17,18 +17,25 @@
 
 package org.apache.servicecomb.metrics.prometheus;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.servicecomb.foundation.common.exceptions.ServiceCombException;
 import org.apache.servicecomb.foundation.metrics.MetricsBootstrapConfig;
 import org.apache.servicecomb.foundation.metrics.MetricsInitializer;
+import org.apache.servicecomb.foundation.metrics.PolledEvent;
+import org.apache.servicecomb.foundation.metrics.meter.PercentileTimer;
 import org.apache.servicecomb.foundation.metrics.registry.GlobalRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
 import com.netflix.config.DynamicPropertyFactory;
 import com.netflix.spectator.api.Measurement;
 import com.netflix.spectator.api.Meter;
@@ -39,20 +46,45 @@ import io.prometheus.client.Collector;
 import io.prometheus.client.Collector.MetricFamilySamples.Sample;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.HTTPServer;
+import io.prometheus.client.exporter.common.TextFormat;
 
 public class PrometheusPublisher extends Collector implements Collector.Describable, MetricsInitializer {
   private static final Logger LOGGER = LoggerFactory.getLogger(PrometheusPublisher.class);
 
   static final String METRICS_PROMETHEUS_ADDRESS = "servicecomb.metrics.prometheus.address";
 
+  // serve by rest transport, not start a standalone http server
+  static final String METRICS_PROMETHEUS_REST_ENABLED = "servicecomb.metrics.prometheus.rest.enabled";
+
+  // prometheus use quantile label for percentiles, eg: quantile="0.99"
+  static final String LABEL_QUANTILE = "quantile";
+
   private HTTPServer httpServer;
 
   private GlobalRegistry globalRegistry;
 
+  // rendered once every poll period, scrapes only send it
+  private volatile PrometheusExposition exposition = PrometheusExposition.EMPTY;
+
+  static boolean isRestEnabled() {
+    return DynamicPropertyFactory.getInstance().getBooleanProperty(METRICS_PROMETHEUS_REST_ENABLED, false).get();
+  }
+
+  public PrometheusExposition getExposition() {
+    return exposition;
+  }
+
   @Override
   public void init(GlobalRegistry globalRegistry, EventBus eventBus, MetricsBootstrapConfig config) {
     this.globalRegistry = globalRegistry;
 
+    if (isRestEnabled()) {
+      register();
+      eventBus.register(this);
+      LOGGER.info("Prometheus metrics are served by rest transport.");
+      return;
+    }
+
     //prometheus default port allocation is here : https://github.com/prometheus/prometheus/wiki/Default-port-allocations
     String address =
         DynamicPropertyFactory.getInstance().getStringProperty(METRICS_PROMETHEUS_ADDRESS, "0.0.0.0:9696").get();
@@ -93,11 +125,32 @@ public class PrometheusPublisher extends Collector implements Collector.Describa
       }
     }
 
-    familySamples.add(new MetricFamilySamples("ServiceComb_Metrics", Type.UNTYPED, "ServiceComb Metrics", samples));
+    familySamples.add(createFamilySamples(samples));
 
     return familySamples;
   }
 
+  private MetricFamilySamples createFamilySamples(List<Sample> samples) {
+    return new MetricFamilySamples("ServiceComb_Metrics", Type.UNTYPED, "ServiceComb Metrics", samples);
+  }
+
+  @Subscribe
+  public void onPolledEvent(PolledEvent polledEvent) {
+    List<Sample> samples = new ArrayList<>(polledEvent.getMeasurements().size());
+    for (Measurement measurement : polledEvent.getMeasurements()) {
+      samples.add(convertMeasurementToSample(measurement));
+    }
+
+    StringWriter writer = new StringWriter();
+    try {
+      TextFormat.write004(writer, Collections.enumeration(Collections.singletonList(createFamilySamples(samples))));
+    } catch (IOException e) {
+      // StringWriter never throw IOException
+      throw new IllegalStateException(e);
+    }
+    exposition = new PrometheusExposition(writer.toString());
+  }
+
   protected Sample convertMeasurementToSample(Measurement measurement) {
     String prometheusName = measurement.id().name().replace(".", "_");
     List<String> labelNames = new ArrayList<>();
@@ -106,6 +159,11 @@ public class PrometheusPublisher extends Collector implements Collector.Describa
     for (Tag tag : measurement.id().tags()) {
       labelNames.add(tag.key());
       labelValues.add(tag.value());
+
+      if (PercentileTimer.TAG_PERCENTILE.equals(tag.key())) {
+        labelNames.add(LABEL_QUANTILE);
+        labelValues.add(new BigDecimal(tag.value()).movePointLeft(2).stripTrailingZeros().toPlainString());
+      }
     }
 
     return new Sample(prometheusName, labelNames, labelValues, measurement.value());
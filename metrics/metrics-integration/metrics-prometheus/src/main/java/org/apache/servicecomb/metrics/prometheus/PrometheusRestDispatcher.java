@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.metrics.prometheus;
+
+import javax.ws.rs.core.HttpHeaders;
+
+import org.apache.servicecomb.foundation.common.utils.SPIServiceUtils;
+import org.apache.servicecomb.foundation.metrics.MetricsInitializer;
+import org.apache.servicecomb.transport.rest.vertx.VertxHttpDispatcher;
+
+import com.netflix.config.DynamicBooleanProperty;
+import com.netflix.config.DynamicPropertyFactory;
+
+import io.prometheus.client.exporter.common.TextFormat;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * serve prometheus exposition on the port of rest transport, content is pre-rendered by {@link PrometheusPublisher}
+ */
+public class PrometheusRestDispatcher implements VertxHttpDispatcher {
+  static final String KEY_PATH = "servicecomb.metrics.prometheus.rest.path";
+
+  static final String KEY_GZIP = "servicecomb.metrics.prometheus.rest.gzip";
+
+  private static final String GZIP = "gzip";
+
+  private static final String ANY_ENCODING = "*";
+
+  private PrometheusPublisher publisher;
+
+  private DynamicBooleanProperty gzipProperty;
+
+  @Override
+  public int getOrder() {
+    // before all dispatchers that maybe match any path
+    return 0;
+  }
+
+  @Override
+  public boolean enabled() {
+    return PrometheusPublisher.isRestEnabled();
+  }
+
+  @Override
+  public void init(Router router) {
+    publisher = SPIServiceUtils.getTargetService(MetricsInitializer.class, PrometheusPublisher.class);
+
+    // not use /metrics by default, that is used by MetricsRestPublisher
+    String path = DynamicPropertyFactory.getInstance().getStringProperty(KEY_PATH, "/prometheus/metrics").get();
+    gzipProperty = DynamicPropertyFactory.getInstance().getBooleanProperty(KEY_GZIP, true);
+    router.get(path).handler(this::onRequest);
+  }
+
+  protected void onRequest(RoutingContext context) {
+    PrometheusExposition exposition = publisher.getExposition();
+
+    HttpServerResponse response = context.response();
+    response.putHeader(HttpHeaders.CONTENT_TYPE, TextFormat.CONTENT_TYPE_004);
+    // content depends on Accept-Encoding, caches between scraper and server must not mix them
+    response.putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzipProperty.get() && isGzipAccepted(context.request().getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+      response.putHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+      response.end(exposition.getGzip());
+      return;
+    }
+
+    response.end(exposition.getText());
+  }
+
+  /**
+   * gzip is accepted if its q-value is not 0, or not listed but "*" is accepted, eg:<br>
+   * "gzip, deflate" and "*" accept gzip, "gzip;q=0" and "identity" not
+   */
+  static boolean isGzipAccepted(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    Float gzipQuality = null;
+    Float anyQuality = null;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] params = coding.split(";");
+      String name = params[0].trim();
+      if (GZIP.equalsIgnoreCase(name)) {
+        gzipQuality = parseQuality(params);
+      } else if (ANY_ENCODING.equals(name)) {
+        anyQuality = parseQuality(params);
+      }
+    }
+
+    if (gzipQuality != null) {
+      return gzipQuality > 0;
+    }
+    return anyQuality != null && anyQuality > 0;
+  }
+
+  private static float parseQuality(String[] params) {
+    for (int idx = 1; idx < params.length; idx++) {
+      String param = params[idx].trim();
+      if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+        try {
+          return Float.parseFloat(param.substring(2).trim());
+        } catch (NumberFormatException e) {
+          // invalid value, treat as not acceptable
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
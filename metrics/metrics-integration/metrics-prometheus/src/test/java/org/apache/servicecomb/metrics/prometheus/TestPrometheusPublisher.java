@@ -17,14 +17,18 @@
 
 package org.apache.servicecomb.metrics.prometheus;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.servicecomb.foundation.common.exceptions.ServiceCombException;
+import org.apache.servicecomb.foundation.metrics.meter.PercentileTimer;
 import org.apache.servicecomb.foundation.metrics.registry.GlobalRegistry;
 import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.junit.AfterClass;
@@ -33,12 +37,18 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.google.common.eventbus.EventBus;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.DefaultRegistry;
+import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.ManualClock;
+import com.netflix.spectator.api.Measurement;
 import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.Statistic;
 import com.sun.net.httpserver.HttpServer;
 
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.HTTPServer;
 
 @SuppressWarnings("restriction")
@@ -103,4 +113,48 @@ public class TestPrometheusPublisher {
 
     publisher.destroy();
   }
+
+  @Test
+  public void collectByRest() throws IOException, IllegalAccessException {
+    ArchaiusUtils.setProperty(PrometheusPublisher.METRICS_PROMETHEUS_REST_ENABLED, true);
+    EventBus eventBus = new EventBus();
+    publisher.init(globalRegistry, eventBus, null);
+    Assert.assertNull(FieldUtils.readField(publisher, "httpServer", true));
+    Assert.assertSame(PrometheusExposition.EMPTY, publisher.getExposition());
+
+    Registry registry = new DefaultRegistry(new ManualClock());
+    globalRegistry.add(registry);
+
+    Counter counter = registry.counter("count.name", "tag1", "tag1v", "tag2", "tag2v");
+    counter.increment();
+    eventBus.post(globalRegistry.poll(1));
+
+    String expect = "# HELP ServiceComb_Metrics ServiceComb Metrics\n" +
+        "# TYPE ServiceComb_Metrics untyped\n" +
+        "count_name{tag1=\"tag1v\",tag2=\"tag2v\",} 1.0\n";
+    PrometheusExposition exposition = publisher.getExposition();
+    Assert.assertEquals(expect, exposition.getText().toString());
+    Assert.assertSame(exposition.getGzip(), exposition.getGzip());
+    try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(exposition.getGzip().getBytes()))) {
+      Assert.assertEquals(expect, IOUtils.toString(is));
+    }
+
+    publisher.destroy();
+    CollectorRegistry.defaultRegistry.unregister(publisher);
+    ArchaiusUtils.resetConfig();
+  }
+
+  @Test
+  public void convertPercentileMeasurement() {
+    Registry registry = new DefaultRegistry(new ManualClock());
+    Id id = registry.createId("timer.name").withTag(Statistic.percentile)
+        .withTag(PercentileTimer.TAG_PERCENTILE, "99.9");
+
+    Sample sample = publisher.convertMeasurementToSample(new Measurement(id, 0, 1.5));
+
+    Assert.assertEquals("timer_name", sample.name);
+    Assert.assertEquals(Arrays.asList("percentile", "quantile", "statistic"), sample.labelNames);
+    Assert.assertEquals(Arrays.asList("99.9", "0.999", "percentile"), sample.labelValues);
+    Assert.assertEquals(1.5, sample.value, 0);
+  }
 }
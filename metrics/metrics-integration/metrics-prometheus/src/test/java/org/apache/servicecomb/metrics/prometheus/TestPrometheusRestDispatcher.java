@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.metrics.prometheus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.ws.rs.core.HttpHeaders;
+
+import org.apache.servicecomb.foundation.common.utils.SPIServiceUtils;
+import org.apache.servicecomb.foundation.metrics.MetricsInitializer;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.prometheus.client.exporter.common.TextFormat;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+
+public class TestPrometheusRestDispatcher {
+  PrometheusRestDispatcher dispatcher = new PrometheusRestDispatcher();
+
+  PrometheusPublisher publisher = new PrometheusPublisher() {
+    @Override
+    public PrometheusExposition getExposition() {
+      return exposition;
+    }
+  };
+
+  PrometheusExposition exposition = new PrometheusExposition("text");
+
+  Map<String, String> headers = new HashMap<>();
+
+  Buffer body;
+
+  @Mocked
+  RoutingContext context;
+
+  @Mocked
+  HttpServerRequest request;
+
+  @Before
+  public void setup() {
+    new MockUp<SPIServiceUtils>() {
+      @SuppressWarnings("unchecked")
+      @Mock
+      <T, IMPL> IMPL getTargetService(Class<T> serviceType, Class<IMPL> implType) {
+        Assert.assertEquals(MetricsInitializer.class, serviceType);
+        return (IMPL) publisher;
+      }
+    };
+
+    HttpServerResponse response = new MockUp<HttpServerResponse>() {
+      @Mock
+      HttpServerResponse putHeader(String name, String value) {
+        headers.put(name, value);
+        return null;
+      }
+
+      @Mock
+      void end(Buffer chunk) {
+        body = chunk;
+      }
+    }.getMockInstance();
+
+    new Expectations() {
+      {
+        context.response();
+        result = response;
+        minTimes = 0;
+        context.request();
+        result = request;
+        minTimes = 0;
+      }
+    };
+  }
+
+  @After
+  public void teardown() {
+    ArchaiusUtils.resetConfig();
+  }
+
+  @Test
+  public void enabled() {
+    Assert.assertFalse(dispatcher.enabled());
+
+    ArchaiusUtils.setProperty(PrometheusPublisher.METRICS_PROMETHEUS_REST_ENABLED, true);
+    Assert.assertTrue(dispatcher.enabled());
+  }
+
+  @Test
+  public void init(@Mocked Router router, @Mocked Route route) {
+    ArchaiusUtils.setProperty(PrometheusRestDispatcher.KEY_PATH, "/scrape");
+    new Expectations() {
+      {
+        router.get("/scrape");
+        result = route;
+      }
+    };
+
+    dispatcher.init(router);
+  }
+
+  @Test
+  public void onRequestPlain(@Mocked Router router) {
+    dispatcher.init(router);
+    dispatcher.onRequest(context);
+
+    Assert.assertEquals(TextFormat.CONTENT_TYPE_004, headers.get(HttpHeaders.CONTENT_TYPE));
+    Assert.assertEquals(HttpHeaders.ACCEPT_ENCODING, headers.get(HttpHeaders.VARY));
+    Assert.assertNull(headers.get(HttpHeaders.CONTENT_ENCODING));
+    Assert.assertSame(exposition.getText(), body);
+  }
+
+  @Test
+  public void onRequestGzip(@Mocked Router router) {
+    new Expectations() {
+      {
+        request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        result = "gzip, deflate";
+      }
+    };
+
+    dispatcher.init(router);
+    dispatcher.onRequest(context);
+
+    Assert.assertEquals("gzip", headers.get(HttpHeaders.CONTENT_ENCODING));
+    Assert.assertEquals(HttpHeaders.ACCEPT_ENCODING, headers.get(HttpHeaders.VARY));
+    Assert.assertSame(exposition.getGzip(), body);
+  }
+
+  @Test
+  public void isGzipAccepted() {
+    Assert.assertFalse(PrometheusRestDispatcher.isGzipAccepted(null));
+    Assert.assertFalse(PrometheusRestDispatcher.isGzipAccepted("identity"));
+    Assert.assertFalse(PrometheusRestDispatcher.isGzipAccepted("x-gzip2"));
+    Assert.assertTrue(PrometheusRestDispatcher.isGzipAccepted("gzip"));
+    Assert.assertTrue(PrometheusRestDispatcher.isGzipAccepted("deflate, GZIP;q=0.5"));
+    Assert.assertFalse(PrometheusRestDispatcher.isGzipAccepted("gzip;q=0"));
+    Assert.assertFalse(PrometheusRestDispatcher.isGzipAccepted("gzip; q=0.0, identity"));
+    Assert.assertFalse(PrometheusRestDispatcher.isGzipAccepted("gzip;q=abc"));
+    Assert.assertTrue(PrometheusRestDispatcher.isGzipAccepted("*"));
+    Assert.assertFalse(PrometheusRestDispatcher.isGzipAccepted("*;q=0"));
+    Assert.assertFalse(PrometheusRestDispatcher.isGzipAccepted("gzip;q=0, *"));
+  }
+
+  @Test
+  public void onRequestGzipDisabled(@Mocked Router router) {
+    ArchaiusUtils.setProperty(PrometheusRestDispatcher.KEY_GZIP, false);
+    new Expectations() {
+      {
+        // not need to read header when disabled
+        request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        result = "gzip";
+        minTimes = 0;
+      }
+    };
+
+    dispatcher.init(router);
+    dispatcher.onRequest(context);
+
+    Assert.assertNull(headers.get(HttpHeaders.CONTENT_ENCODING));
+    Assert.assertSame(exposition.getText(), body);
+  }
+}
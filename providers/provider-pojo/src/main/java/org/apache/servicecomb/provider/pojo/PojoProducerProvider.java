@@ -17,6 +17,9 @@
 
 package org.apache.servicecomb.provider.pojo;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.inject.Inject;
 
 import org.apache.servicecomb.core.definition.schema.ProducerSchemaFactory;
@@ -51,19 +54,13 @@ public class PojoProducerProvider extends AbstractProducerProvider {
 
   @Override
   public void init() throws Exception {
-    for (PojoProducerMeta pojoProducerMeta : pojoProducers.getProducers()) {
+    // instances are created by spring or reflection, keep them in boot thread
+    List<PojoProducerMeta> producerMetas = new ArrayList<>(pojoProducers.getProducers());
+    for (PojoProducerMeta pojoProducerMeta : producerMetas) {
       initPojoProducerMeta(pojoProducerMeta);
-
-      try {
-        producerSchemaFactory.getOrCreateProducerSchema(
-            pojoProducerMeta.getSchemaId(),
-            pojoProducerMeta.getInstanceClass(),
-            pojoProducerMeta.getInstance());
-      } catch (Throwable e) {
-        throw new IllegalArgumentException(
-            "create producer schema failed, class=" + pojoProducerMeta.getInstanceClass().getName(), e);
-      }
     }
+
+    producerSchemaFactory.getOrCreateProducerSchemas(producerMetas);
   }
 
   @Override
@@ -22,7 +22,6 @@ import javax.inject.Inject;
 import org.apache.servicecomb.common.rest.RestConst;
 import org.apache.servicecomb.core.definition.schema.ProducerSchemaFactory;
 import org.apache.servicecomb.core.provider.producer.AbstractProducerProvider;
-import org.apache.servicecomb.core.provider.producer.ProducerMeta;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -41,11 +40,6 @@ public class RestProducerProvider extends AbstractProducerProvider {
 
   @Override
   public void init() throws Exception {
-    for (ProducerMeta producerMeta : restProducers.getProducerMetaList()) {
-      producerSchemaFactory.getOrCreateProducerSchema(
-          producerMeta.getSchemaId(),
-          producerMeta.getInstanceClass(),
-          producerMeta.getInstance());
-    }
+    producerSchemaFactory.getOrCreateProducerSchemas(restProducers.getProducerMetaList());
   }
 }
@@ -69,7 +69,7 @@ public class MicroserviceManager {
     // otherwise, remove will block the thread forever
     if (versionsByName.containsKey(microserviceName)) {
       MicroserviceVersions microserviceVersions = versionsByName.remove(microserviceName);
-      appManager.getEventBus().unregister(microserviceVersions);
+      microserviceVersions.destroy();
       LOGGER.info("remove microservice, appId={}, microserviceName={}.", appId, microserviceName);
     }
   }
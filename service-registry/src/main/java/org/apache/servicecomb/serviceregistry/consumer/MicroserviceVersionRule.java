@@ -48,6 +48,9 @@ public class MicroserviceVersionRule {
   // wrap variable data to make them atomic
   private MicroserviceVersionRuleData data;
 
+  // owner MicroserviceVersions is removed, will not be refreshed any more
+  private volatile boolean destroyed;
+
   public MicroserviceVersionRule(String appId, String microserviceName, String strVersionRule) {
     this.appId = appId;
     this.microserviceName = microserviceName;
@@ -68,6 +71,17 @@ public class MicroserviceVersionRule {
     return versionRule;
   }
 
+  /**
+   * who cached this rule should get a new one by AppManager if it's destroyed
+   */
+  public boolean isDestroyed() {
+    return destroyed;
+  }
+
+  public void destroy() {
+    this.destroyed = true;
+  }
+
   public <T extends MicroserviceVersion> T getLatestMicroserviceVersion() {
     return data.getLatestMicroserviceVersion();
   }
@@ -91,6 +91,13 @@ public class MicroserviceVersions {
     return validated;
   }
 
+  public void destroy() {
+    appManager.getEventBus().unregister(this);
+    for (MicroserviceVersionRule microserviceVersionRule : versionRules.values()) {
+      microserviceVersionRule.destroy();
+    }
+  }
+
   public AppManager getAppManager() {
     return appManager;
   }
@@ -259,6 +259,16 @@ public class TestMicroserviceVersions {
     Assert.assertSame(microserviceVersionRule, microserviceVersions.getOrCreateMicroserviceVersionRule("1.0.0"));
   }
 
+  @Test
+  public void destroy() {
+    MicroserviceVersionRule microserviceVersionRule = microserviceVersions.getOrCreateMicroserviceVersionRule("1.0.0");
+    Assert.assertFalse(microserviceVersionRule.isDestroyed());
+
+    microserviceVersions.destroy();
+
+    Assert.assertTrue(microserviceVersionRule.isDestroyed());
+  }
+
   @Test
   public void createAndInitMicroserviceVersionRule() {
     String microserviceId = "1";
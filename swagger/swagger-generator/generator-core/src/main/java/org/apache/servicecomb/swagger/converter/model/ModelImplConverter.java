@@ -85,6 +85,14 @@ public class ModelImplConverter extends AbstractModelConverter {
 
   private CtClass getOrCreateCtClass(SwaggerToClassGenerator swaggerToClassGenerator, Map<String, Property> properties,
       String clsName) {
+    // same lock with JavassistUtils, check and create must be atomic
+    synchronized (swaggerToClassGenerator.getClassPool()) {
+      return doGetOrCreateCtClass(swaggerToClassGenerator, properties, clsName);
+    }
+  }
+
+  private CtClass doGetOrCreateCtClass(SwaggerToClassGenerator swaggerToClassGenerator,
+      Map<String, Property> properties, String clsName) {
     CtClass ctClass = swaggerToClassGenerator.getClassPool().getOrNull(clsName);
     if (ctClass != null) {
       return ctClass;
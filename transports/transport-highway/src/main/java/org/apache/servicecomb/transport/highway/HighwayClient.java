@@ -95,7 +95,7 @@ public class HighwayClient {
     invocation.getInvocationStageTrace().finishGetConnection(System.nanoTime());
 
     HighwayClientPackage clientPackage = new HighwayClientPackage(invocation, operationProtobuf,
-        operationMeta.getConfig().getMsRequestTimeout());
+        operationMeta.getConfig().getMsRequestTimeout(), tcpClient);
 
     LOGGER.debug("Sending request by highway, qualifiedName={}, endpoint={}.",
         invocation.getMicroserviceQualifiedName(),
@@ -118,7 +118,8 @@ public class HighwayClient {
           Response response =
               HighwayCodec.decodeResponse(invocation,
                   operationProtobuf,
-                  ar.result());
+                  ar.result(),
+                  tcpClient);
           invocation.getInvocationStageTrace().finishClientFiltersResponse();
           asyncResp.complete(response);
         } catch (Throwable e) {
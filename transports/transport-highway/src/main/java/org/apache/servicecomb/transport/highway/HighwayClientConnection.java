@@ -16,7 +16,11 @@
  */
 package org.apache.servicecomb.transport.highway;
 
+import java.util.Map;
+
 import org.apache.servicecomb.core.Const;
+import org.apache.servicecomb.core.definition.OperationMeta;
+import org.apache.servicecomb.foundation.common.concurrent.ConcurrentHashMapEx;
 import org.apache.servicecomb.foundation.vertx.client.tcp.AbstractTcpClientPackage;
 import org.apache.servicecomb.foundation.vertx.client.tcp.NetClientWrapper;
 import org.apache.servicecomb.foundation.vertx.client.tcp.TcpClientConnection;
@@ -33,6 +37,12 @@ import io.vertx.core.buffer.Buffer;
 public class HighwayClientConnection extends TcpClientConnection {
   private static final Logger LOGGER = LoggerFactory.getLogger(HighwayClientConnection.class);
 
+  // negotiated by login
+  private volatile boolean operationIdEnabled;
+
+  // assigned by provider, only valid for current socket
+  private final Map<OperationMeta, Integer> operationIds = new ConcurrentHashMapEx<>();
+
   public HighwayClientConnection(Context context, NetClientWrapper netClientWrapper, String endpoint) {
     super(context, netClientWrapper, endpoint);
     setLocalSupportLogin(true);
@@ -46,6 +56,12 @@ public class HighwayClientConnection extends TcpClientConnection {
 
       LoginRequest login = new LoginRequest();
       login.setProtocol(Const.HIGHWAY);
+      login.setZipName(HighwayConfig.getClientCompression());
+      login.setUseOperationId(HighwayConfig.isOperationIdEnabled());
+
+      // login again after reconnected, ids assigned by the old socket are invalid
+      operationIdEnabled = false;
+      operationIds.clear();
 
       HighwayOutputStream os = new HighwayOutputStream(AbstractTcpClientPackage.getAndIncRequestId());
       os.write(header, LoginRequest.getLoginRequestSchema(), login);
@@ -59,10 +75,27 @@ public class HighwayClientConnection extends TcpClientConnection {
   protected boolean onLoginResponse(Buffer bodyBuffer) {
     try {
       LoginResponse response = LoginResponse.readObject(bodyBuffer);
+      // old version provider always response null, so will not compress
+      setZipName(response.getZipName());
+      operationIdEnabled = response.isUseOperationId();
       return true;
     } catch (Throwable e) {
       LOGGER.error("decode login response failed.", e);
       return false;
     }
   }
+
+  /**
+   * @return 0 if provider not assigned id for the operation yet
+   */
+  public int findOperationId(OperationMeta operationMeta) {
+    Integer operationId = operationIds.get(operationMeta);
+    return operationId == null ? 0 : operationId;
+  }
+
+  public void registerOperationId(OperationMeta operationMeta, int operationId) {
+    if (operationIdEnabled && operationId > 0) {
+      operationIds.putIfAbsent(operationMeta, operationId);
+    }
+  }
 }
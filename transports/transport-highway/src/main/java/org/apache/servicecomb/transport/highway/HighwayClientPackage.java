@@ -26,16 +26,30 @@ public class HighwayClientPackage extends AbstractTcpClientPackage {
 
   private OperationProtobuf operationProtobuf;
 
+  // compressor and operation id are negotiated by login, so read them when create stream
+  private HighwayClientConnection connection;
+
   public HighwayClientPackage(Invocation invocation, OperationProtobuf operationProtobuf, long msRequestTimeout) {
+    this(invocation, operationProtobuf, msRequestTimeout, null);
+  }
+
+  public HighwayClientPackage(Invocation invocation, OperationProtobuf operationProtobuf, long msRequestTimeout,
+      HighwayClientConnection connection) {
     this.invocation = invocation;
     this.operationProtobuf = operationProtobuf;
+    this.connection = connection;
     this.setMsRequestTimeout(msRequestTimeout);
   }
 
   @Override
   public TcpOutputStream createStream() {
     try {
-      return HighwayCodec.encodeRequest(msgId, invocation, operationProtobuf);
+      if (connection == null) {
+        return HighwayCodec.encodeRequest(msgId, invocation, operationProtobuf);
+      }
+
+      return HighwayCodec.encodeRequest(msgId, invocation, operationProtobuf, connection.getCompressor(),
+          connection.findOperationId(invocation.getOperationMeta()));
     } catch (Exception e) {
       String msg = String.format("encode request failed. appid=%s, qualifiedName=%s",
           invocation.getAppId(),
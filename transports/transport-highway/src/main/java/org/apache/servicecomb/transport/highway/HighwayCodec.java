@@ -17,41 +17,235 @@
 
 package org.apache.servicecomb.transport.highway;
 
+import org.apache.servicecomb.codec.protobuf.definition.OperationProtoMapper;
+import org.apache.servicecomb.codec.protobuf.definition.OperationProtoMapper.ResponseMapper;
 import org.apache.servicecomb.codec.protobuf.definition.OperationProtobuf;
+import org.apache.servicecomb.codec.protobuf.definition.ProtobufManager;
 import org.apache.servicecomb.codec.protobuf.utils.WrapSchema;
 import org.apache.servicecomb.core.Invocation;
+import org.apache.servicecomb.core.definition.OperationMeta;
 import org.apache.servicecomb.foundation.vertx.client.tcp.TcpData;
+import org.apache.servicecomb.foundation.vertx.stream.BufferSizeHint;
+import org.apache.servicecomb.foundation.vertx.tcp.TcpCompressor;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpOutputStream;
 import org.apache.servicecomb.swagger.invocation.Response;
+import org.apache.servicecomb.transport.highway.HighwayOutputStream.EncodedBody;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
 import org.apache.servicecomb.transport.highway.message.ResponseHeader;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtobufOutput;
+import io.protostuff.ProtobufOutputEx;
 import io.vertx.core.buffer.Buffer;
 
 public final class HighwayCodec {
+  /**
+   * set in flags of RequestHeader/ResponseHeader<br>
+   * body is encoded by ProtoMapper, the proto is generated from swagger, otherwise by protostuff runtime
+   */
+  public static final int FLAG_PROTO_MAPPER = 0x1;
+
+  /**
+   * set in flags of RequestHeader/ResponseHeader<br>
+   * body is compressed by the compressor negotiated by login
+   */
+  public static final int FLAG_COMPRESSED = 0x2;
+
+  private static final String EXT_ID_REQUEST_SIZE_HINT = "highwayRequestSizeHint";
+
+  private static final String EXT_ID_RESPONSE_SIZE_HINT = "highwayResponseSizeHint";
+
   private HighwayCodec() {
   }
 
+  public static boolean isProtoMapper(int flags) {
+    return (flags & FLAG_PROTO_MAPPER) != 0;
+  }
+
+  public static boolean isCompressed(int flags) {
+    return (flags & FLAG_COMPRESSED) != 0;
+  }
+
   public static TcpOutputStream encodeRequest(long msgId, Invocation invocation,
       OperationProtobuf operationProtobuf) throws Exception {
+    return encodeRequest(msgId, invocation, operationProtobuf, null, 0);
+  }
+
+  /**
+   * @param compressor negotiated by login, null means not compress
+   * @param operationId assigned by provider, 0 means not assigned
+   */
+  public static TcpOutputStream encodeRequest(long msgId, Invocation invocation,
+      OperationProtobuf operationProtobuf, TcpCompressor compressor, int operationId) throws Exception {
     // 写header
     RequestHeader header = new RequestHeader();
     header.setMsgType(MsgType.REQUEST);
     header.setFlags(0);
-    header.setDestMicroservice(invocation.getMicroserviceName());
-    header.setSchemaId(invocation.getSchemaId());
-    header.setOperationName(invocation.getOperationName());
+    if (operationId > 0) {
+      header.setOperationId(operationId);
+    } else {
+      header.setDestMicroservice(invocation.getMicroserviceName());
+      header.setSchemaId(invocation.getSchemaId());
+      header.setOperationName(invocation.getOperationName());
+    }
     header.setContext(invocation.getContext());
 
-    HighwayOutputStream os = new HighwayOutputStream(msgId);
-    os.write(header, operationProtobuf.getRequestSchema(), invocation.getArgs());
+    BufferSizeHint sizeHint = findSizeHint(invocation.getOperationMeta(), EXT_ID_REQUEST_SIZE_HINT);
+    HighwayOutputStream os = createOutputStream(msgId, sizeHint);
+    try {
+      OperationProtoMapper operationProtoMapper = findOperationProtoMapper(invocation);
+      ProtobufOutputEx bodyOutput = null;
+      if (operationProtoMapper != null) {
+        header.setFlags(FLAG_PROTO_MAPPER);
+        bodyOutput = new ProtobufOutputEx();
+        operationProtoMapper.encodeRequest(bodyOutput, invocation.getArgs());
+      }
+
+      EncodedBody body = encodeBodyForCompress(findCompressor(compressor, invocation.getOperationMeta()),
+          bodyOutput, operationProtobuf.getRequestSchema(), invocation.getArgs());
+      if (body != null) {
+        TcpCompressor bodyCompressor = chooseCompressor(compressor, body);
+        if (bodyCompressor != null) {
+          header.setFlags(header.getFlags() | FLAG_COMPRESSED);
+        }
+        os.write(RequestHeader.getRequestHeaderSchema(), header, body, bodyCompressor);
+      } else if (bodyOutput != null) {
+        os.write(header, bodyOutput);
+      } else {
+        os.write(header, operationProtobuf.getRequestSchema(), invocation.getArgs());
+      }
+    } catch (Throwable e) {
+      os.close();
+      throw e;
+    }
+
+    recordSize(sizeHint, os);
     return os;
   }
 
+  // null means compression is not negotiated, or disabled for this operation
+  private static TcpCompressor findCompressor(TcpCompressor compressor, OperationMeta operationMeta) {
+    if (compressor == null || !operationMeta.getConfig().isHighwayCompressionEnabled()) {
+      return null;
+    }
+    return compressor;
+  }
+
+  // too small body not compress
+  private static TcpCompressor chooseCompressor(TcpCompressor compressor, EncodedBody body) {
+    return body.getSize() >= HighwayConfig.getCompressionMinSize() ? compressor : null;
+  }
+
+  // size of body is unknown before encoded, so encode it before header, small body is written without copy
+  // null means not compress, write body to the output stream directly
+  private static EncodedBody encodeBodyForCompress(TcpCompressor compressor, ProtobufOutputEx bodyOutput,
+      WrapSchema bodySchema, Object body) throws Exception {
+    if (compressor == null) {
+      return null;
+    }
+
+    if (bodyOutput != null) {
+      return new EncodedBody(bodyOutput.getSize(), bodyOutput::toOutputStream);
+    }
+
+    // void时bodySchema为null
+    if (bodySchema == null) {
+      return new EncodedBody(0, os -> {
+      });
+    }
+
+    LinkedBuffer linkedBuffer = LinkedBuffer.allocate();
+    ProtobufOutput output = new ProtobufOutput(linkedBuffer);
+    bodySchema.writeObject(output, body);
+    return new EncodedBody(output.getSize(), os -> LinkedBuffer.writeTo(os, linkedBuffer));
+  }
+
+  // not compressed body is returned directly
+  static Buffer decompressBody(int flags, TcpCompressor compressor, Buffer bodyBuffer) throws Exception {
+    if (!isCompressed(flags)) {
+      return bodyBuffer;
+    }
+    if (compressor == null) {
+      throw new IllegalStateException("body is compressed, but compression is not negotiated.");
+    }
+
+    ByteBuf input = bodyBuffer.getByteBuf();
+    int length = input.readInt();
+    // length is sent by peer, check it before allocate
+    int maxSize = HighwayConfig.getDecompressionMaxSize();
+    if (length < 0 || length > maxSize) {
+      throw new IllegalStateException(String.format("invalid compressed body, length %d is out of range [0, %d].",
+          length, maxSize));
+    }
+    ByteBuf output = Unpooled.buffer(length, length);
+    compressor.decompress(input, output);
+    if (output.readableBytes() != length) {
+      throw new IllegalStateException(String.format("invalid compressed body, expect %d bytes, but got %d bytes.",
+          length, output.readableBytes()));
+    }
+    return Buffer.buffer(output);
+  }
+
+  // null means pooled buffer is not enabled
+  private static BufferSizeHint findSizeHint(OperationMeta operationMeta, String key) {
+    if (!HighwayConfig.isPooledBufferEnabled()) {
+      return null;
+    }
+
+    return (BufferSizeHint) operationMeta.getExtData().computeIfAbsent(key, k -> new BufferSizeHint());
+  }
+
+  private static HighwayOutputStream createOutputStream(long msgId, BufferSizeHint sizeHint) {
+    if (sizeHint == null) {
+      return new HighwayOutputStream(msgId);
+    }
+
+    return new HighwayOutputStream(msgId, PooledByteBufAllocator.DEFAULT, sizeHint.getSizeHint());
+  }
+
+  private static void recordSize(BufferSizeHint sizeHint, HighwayOutputStream os) {
+    if (sizeHint != null) {
+      sizeHint.record(os.length());
+    }
+  }
+
+  // null means consumer not enabled ProtoMapper, or the operation is not supported by ProtoMapper
+  private static OperationProtoMapper findOperationProtoMapper(Invocation invocation) {
+    if (!HighwayConfig.isProtoMapperEnabled(invocation.getMicroserviceName())) {
+      return null;
+    }
+
+    return ProtobufManager.findOperationProtoMapper(invocation.getOperationMeta());
+  }
+
+  private static OperationProtoMapper ensureFindOperationProtoMapper(OperationMeta operationMeta) {
+    OperationProtoMapper operationProtoMapper = ProtobufManager.findOperationProtoMapper(operationMeta);
+    if (operationProtoMapper == null) {
+      throw new IllegalStateException(
+          "ProtoMapper is not supported, operation=" + operationMeta.getMicroserviceQualifiedName());
+    }
+    return operationProtoMapper;
+  }
+
   public static void decodeRequest(Invocation invocation, RequestHeader header, OperationProtobuf operationProtobuf,
       Buffer bodyBuffer) throws Exception {
-    WrapSchema schema = operationProtobuf.getRequestSchema();
-    Object[] args = schema.readObject(bodyBuffer);
+    decodeRequest(invocation, header, operationProtobuf, bodyBuffer, null);
+  }
+
+  public static void decodeRequest(Invocation invocation, RequestHeader header, OperationProtobuf operationProtobuf,
+      Buffer bodyBuffer, TcpCompressor compressor) throws Exception {
+    bodyBuffer = decompressBody(header.getFlags(), compressor, bodyBuffer);
+    Object[] args;
+    if (isProtoMapper(header.getFlags())) {
+      OperationProtoMapper operationProtoMapper = ensureFindOperationProtoMapper(invocation.getOperationMeta());
+      args = decodeBody(bodyBuffer, operationProtoMapper::decodeRequest);
+    } else {
+      WrapSchema schema = operationProtobuf.getRequestSchema();
+      args = schema.readObject(bodyBuffer);
+    }
 
     invocation.setSwaggerArguments(args);
     invocation.mergeContext(header.getContext());
@@ -69,19 +263,129 @@ public final class HighwayCodec {
     }
   }
 
+  /**
+   * encode by ProtoMapper if request is encoded by ProtoMapper and the status is supported, otherwise by protostuff
+   * runtime<br>
+   * ownership of the result is transferred to the caller, it maybe allocated from pool, must be released
+   */
+  public static ByteBuf encodeResponse(long msgId, RequestHeader requestHeader, OperationProtobuf operationProtobuf,
+      ResponseHeader header, Object body) throws Exception {
+    return encodeResponse(msgId, requestHeader, operationProtobuf, header, body, null);
+  }
+
+  /**
+   * @param compressor negotiated by login, null means not compress
+   */
+  public static ByteBuf encodeResponse(long msgId, RequestHeader requestHeader, OperationProtobuf operationProtobuf,
+      ResponseHeader header, Object body, TcpCompressor compressor) throws Exception {
+    OperationMeta operationMeta = operationProtobuf.getOperationMeta();
+    ProtobufOutputEx bodyOutput = encodeResponseBodyByProtoMapper(requestHeader, operationMeta, header, body);
+
+    BufferSizeHint sizeHint = findSizeHint(operationMeta, EXT_ID_RESPONSE_SIZE_HINT);
+    try (HighwayOutputStream os = createOutputStream(msgId, sizeHint)) {
+      WrapSchema bodySchema = bodyOutput != null ? null : operationProtobuf.findResponseSchema(header.getStatusCode());
+      EncodedBody encodedBody = encodeBodyForCompress(findCompressor(compressor, operationMeta), bodyOutput,
+          bodySchema, body);
+      if (encodedBody != null) {
+        TcpCompressor bodyCompressor = chooseCompressor(compressor, encodedBody);
+        if (bodyCompressor != null) {
+          header.setFlags(header.getFlags() | FLAG_COMPRESSED);
+        }
+        os.write(ResponseHeader.getResponseHeaderSchema(), header, encodedBody, bodyCompressor);
+      } else if (bodyOutput != null) {
+        os.write(header, bodyOutput);
+      } else {
+        os.write(header, bodySchema, body);
+      }
+
+      recordSize(sizeHint, os);
+      return os.transferByteBuf();
+    }
+  }
+
+  // null if not encoded by ProtoMapper
+  private static ProtobufOutputEx encodeResponseBodyByProtoMapper(RequestHeader requestHeader,
+      OperationMeta operationMeta, ResponseHeader header, Object body) throws Exception {
+    if (!isProtoMapper(requestHeader.getFlags())) {
+      return null;
+    }
+
+    ResponseMapper responseMapper = ensureFindOperationProtoMapper(operationMeta)
+        .findResponseMapper(header.getStatusCode());
+    if (responseMapper == null) {
+      return null;
+    }
+
+    header.setFlags(FLAG_PROTO_MAPPER);
+    ProtobufOutputEx bodyOutput = new ProtobufOutputEx();
+    responseMapper.encode(bodyOutput, body);
+    return bodyOutput;
+  }
+
   public static Response decodeResponse(Invocation invocation, OperationProtobuf operationProtobuf, TcpData tcpData)
       throws Exception {
+    return decodeResponse(invocation, operationProtobuf, tcpData, (TcpCompressor) null);
+  }
+
+  public static Response decodeResponse(Invocation invocation, OperationProtobuf operationProtobuf, TcpData tcpData,
+      TcpCompressor compressor) throws Exception {
     ResponseHeader header = ResponseHeader.readObject(tcpData.getHeaderBuffer());
+    return decodeResponse(invocation, operationProtobuf, header, tcpData.getBodyBuffer(), compressor);
+  }
+
+  /**
+   * decode by compressor of the connection, and save operation id assigned by provider to the connection
+   */
+  public static Response decodeResponse(Invocation invocation, OperationProtobuf operationProtobuf, TcpData tcpData,
+      HighwayClientConnection connection) throws Exception {
+    ResponseHeader header = ResponseHeader.readObject(tcpData.getHeaderBuffer());
+    connection.registerOperationId(invocation.getOperationMeta(), header.getOperationId());
+    return decodeResponse(invocation, operationProtobuf, header, tcpData.getBodyBuffer(), connection.getCompressor());
+  }
+
+  private static Response decodeResponse(Invocation invocation, OperationProtobuf operationProtobuf,
+      ResponseHeader header, Buffer bodyBuffer, TcpCompressor compressor) throws Exception {
+    bodyBuffer = decompressBody(header.getFlags(), compressor, bodyBuffer);
     if (header.getContext() != null) {
       invocation.getContext().putAll(header.getContext());
     }
 
-    WrapSchema bodySchema = operationProtobuf.findResponseSchema(header.getStatusCode());
-    Object body = bodySchema.readObject(tcpData.getBodyBuffer());
+    Object body;
+    if (isProtoMapper(header.getFlags())) {
+      ResponseMapper responseMapper = ensureFindOperationProtoMapper(invocation.getOperationMeta())
+          .findResponseMapper(header.getStatusCode());
+      if (responseMapper == null) {
+        throw new IllegalStateException(String.format("ProtoMapper is not supported, operation=%s, status=%d.",
+            invocation.getOperationMeta().getMicroserviceQualifiedName(), header.getStatusCode()));
+      }
+      body = decodeBody(bodyBuffer, responseMapper::decode);
+    } else {
+      WrapSchema bodySchema = operationProtobuf.findResponseSchema(header.getStatusCode());
+      body = bodySchema.readObject(bodyBuffer);
+    }
 
     Response response = Response.create(header.getStatusCode(), header.getReasonPhrase(), body);
     response.setHeaders(header.getHeaders());
 
     return response;
   }
+
+  interface BodyDecoder<T> {
+    T decode(byte[] bytes, int offset, int length) throws Exception;
+  }
+
+  // avoid copy when the buffer is backed by an array
+  private static <T> T decodeBody(Buffer bodyBuffer, BodyDecoder<T> decoder) throws Exception {
+    if (bodyBuffer == null) {
+      return decoder.decode(new byte[0], 0, 0);
+    }
+
+    ByteBuf byteBuf = bodyBuffer.getByteBuf();
+    if (byteBuf.hasArray()) {
+      return decoder.decode(byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(), byteBuf.readableBytes());
+    }
+
+    byte[] bytes = bodyBuffer.getBytes();
+    return decoder.decode(bytes, 0, bytes.length);
+  }
 }
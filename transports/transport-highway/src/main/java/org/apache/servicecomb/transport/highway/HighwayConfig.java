@@ -17,15 +17,68 @@
 
 package org.apache.servicecomb.transport.highway;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.servicecomb.transport.common.TransportConfigUtils;
 
+import com.netflix.config.DynamicBooleanProperty;
+import com.netflix.config.DynamicIntProperty;
 import com.netflix.config.DynamicPropertyFactory;
 import com.netflix.config.DynamicStringProperty;
 
 public final class HighwayConfig {
+  public static final String KEY_PROTO_MAPPER_ENABLED = "servicecomb.highway.client.protoMapper.enabled";
+
+  public static final String KEY_PROTO_MAPPER_MICROSERVICE_ENABLED_FMT =
+      "servicecomb.highway.client.protoMapper.%s.enabled";
+
+  public static final String KEY_POOLED_BUFFER_ENABLED = "servicecomb.highway.pooledBuffer.enabled";
+
+  public static final String KEY_CLIENT_COMPRESSION = "servicecomb.highway.client.compression";
+
+  public static final String KEY_SERVER_COMPRESSION_ENABLED = "servicecomb.highway.server.compression.enabled";
+
+  public static final String KEY_COMPRESSION_MIN_SIZE = "servicecomb.highway.compression.minSize";
+
+  public static final int DEFAULT_COMPRESSION_MIN_SIZE = 1024;
+
+  public static final String KEY_DECOMPRESSION_MAX_SIZE = "servicecomb.highway.compression.maxDecompressedSize";
+
+  public static final int DEFAULT_DECOMPRESSION_MAX_SIZE = 64 * 1024 * 1024;
+
+  public static final String KEY_OPERATION_ID_ENABLED = "servicecomb.highway.operationId.enabled";
+
+  private static DynamicBooleanProperty protoMapperEnabledProperty;
+
+  // key is microserviceName, avoid format key and lookup property for every request
+  private static final Map<String, DynamicStringProperty> microserviceProtoMapperEnabledProperties =
+      new ConcurrentHashMap<>();
+
+  private static DynamicBooleanProperty pooledBufferEnabledProperty;
+
+  private static DynamicIntProperty decompressionMaxSizeProperty;
+
+  static {
+    initProperties();
+  }
+
   private HighwayConfig() {
   }
 
+  /**
+   * properties are bound to the configuration when created, tests must init them again after reset configuration
+   */
+  static void initProperties() {
+    protoMapperEnabledProperty = DynamicPropertyFactory.getInstance()
+        .getBooleanProperty(KEY_PROTO_MAPPER_ENABLED, false);
+    microserviceProtoMapperEnabledProperties.clear();
+    pooledBufferEnabledProperty = DynamicPropertyFactory.getInstance()
+        .getBooleanProperty(KEY_POOLED_BUFFER_ENABLED, false);
+    decompressionMaxSizeProperty = DynamicPropertyFactory.getInstance()
+        .getIntProperty(KEY_DECOMPRESSION_MAX_SIZE, DEFAULT_DECOMPRESSION_MAX_SIZE);
+  }
+
   public static String getAddress() {
     DynamicStringProperty address =
         DynamicPropertyFactory.getInstance().getStringProperty("servicecomb.highway.address", null);
@@ -43,4 +96,70 @@ public final class HighwayConfig {
         "servicecomb.highway.client.verticle-count",
         "servicecomb.highway.client.thread-count");
   }
+
+  /**
+   * whether consumer encode request to the target microservice by ProtoMapper<br>
+   * provider always decode request by the flags in request header, and encode response in the same way
+   */
+  public static boolean isProtoMapperEnabled(String microserviceName) {
+    if (microserviceName != null) {
+      String value = microserviceProtoMapperEnabledProperties
+          .computeIfAbsent(microserviceName, name -> DynamicPropertyFactory.getInstance()
+              .getStringProperty(String.format(KEY_PROTO_MAPPER_MICROSERVICE_ENABLED_FMT, name), null))
+          .get();
+      if (value != null) {
+        return Boolean.parseBoolean(value);
+      }
+    }
+
+    return protoMapperEnabledProperty.get();
+  }
+
+  /**
+   * encode request/response to direct buffers allocated from netty pool, initial size is learned from previous
+   * messages of the same operation
+   */
+  public static boolean isPooledBufferEnabled() {
+    return pooledBufferEnabledProperty.get();
+  }
+
+  /**
+   * whether use connection scoped operation id instead of schemaId/operationName in request header<br>
+   * only used when both consumer and provider enabled it
+   */
+  public static boolean isOperationIdEnabled() {
+    return DynamicPropertyFactory.getInstance().getBooleanProperty(KEY_OPERATION_ID_ENABLED, true).get();
+  }
+
+  /**
+   * compress algorithms supported by consumer, separated by ",", ordered by preference, eg: snappy,deflate<br>
+   * sent to provider by login, provider choose the first one it supported<br>
+   * empty means not compress
+   */
+  public static String getClientCompression() {
+    return DynamicPropertyFactory.getInstance().getStringProperty(KEY_CLIENT_COMPRESSION, null).get();
+  }
+
+  /**
+   * whether provider accept compression requested by consumer
+   */
+  public static boolean isServerCompressionEnabled() {
+    return DynamicPropertyFactory.getInstance().getBooleanProperty(KEY_SERVER_COMPRESSION_ENABLED, true).get();
+  }
+
+  /**
+   * only compress body which size is not less than this value, small body can not save much bandwidth
+   */
+  public static int getCompressionMinSize() {
+    return DynamicPropertyFactory.getInstance()
+        .getIntProperty(KEY_COMPRESSION_MIN_SIZE, DEFAULT_COMPRESSION_MIN_SIZE)
+        .get();
+  }
+
+  /**
+   * max size of a decompressed body, the uncompressed length is sent by peer, must not trust it
+   */
+  public static int getDecompressionMaxSize() {
+    return decompressionMaxSizeProperty.get();
+  }
 }
@@ -16,19 +16,32 @@
  */
 package org.apache.servicecomb.transport.highway;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import org.apache.servicecomb.codec.protobuf.utils.WrapSchema;
+import org.apache.servicecomb.foundation.vertx.stream.BufferOutputStream;
+import org.apache.servicecomb.foundation.vertx.tcp.TcpCompressor;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpOutputStream;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
 import org.apache.servicecomb.transport.highway.message.ResponseHeader;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.protostuff.LinkedBuffer;
 import io.protostuff.ProtobufOutput;
+import io.protostuff.ProtobufOutputEx;
 
 public class HighwayOutputStream extends TcpOutputStream {
   public HighwayOutputStream(long msgId) {
     super(msgId);
   }
 
+  public HighwayOutputStream(long msgId, ByteBufAllocator allocator, int initialCapacity) {
+    super(msgId, allocator, initialCapacity);
+  }
+
   public void write(RequestHeader header, WrapSchema bodySchema, Object body) throws Exception {
     write(RequestHeader.getRequestHeaderSchema(), header, bodySchema, body);
   }
@@ -37,6 +50,66 @@ public class HighwayOutputStream extends TcpOutputStream {
     write(ResponseHeader.getResponseHeaderSchema(), header, bodySchema, body);
   }
 
+  public void write(RequestHeader header, ProtobufOutputEx bodyOutput) throws Exception {
+    write(RequestHeader.getRequestHeaderSchema(), header, bodyOutput);
+  }
+
+  public void write(ResponseHeader header, ProtobufOutputEx bodyOutput) throws Exception {
+    write(ResponseHeader.getResponseHeaderSchema(), header, bodyOutput);
+  }
+
+  /**
+   * body already encoded by ProtoMapper, write it directly, not copy to a temporary byte array
+   */
+  public void write(WrapSchema headerSchema, Object header, ProtobufOutputEx bodyOutput) throws Exception {
+    LinkedBuffer linkedBuffer = LinkedBuffer.allocate();
+    ProtobufOutput output = new ProtobufOutput(linkedBuffer);
+
+    headerSchema.writeObject(output, header);
+    int headerSize = output.getSize();
+
+    writeLength(headerSize + bodyOutput.getSize(), headerSize);
+    LinkedBuffer.writeTo(this, linkedBuffer);
+    bodyOutput.toOutputStream(this);
+  }
+
+  /**
+   * body already encoded, if compressor is not null, body will be compressed as:<br>
+   * uncompressed length(int) + compressed data
+   */
+  public void write(WrapSchema headerSchema, Object header, EncodedBody body, TcpCompressor compressor)
+      throws Exception {
+    LinkedBuffer linkedBuffer = LinkedBuffer.allocate();
+    ProtobufOutput output = new ProtobufOutput(linkedBuffer);
+
+    headerSchema.writeObject(output, header);
+    int headerSize = output.getSize();
+
+    if (compressor == null) {
+      writeLength(headerSize + body.getSize(), headerSize);
+      LinkedBuffer.writeTo(this, linkedBuffer);
+      body.writeTo(this);
+      return;
+    }
+
+    // total length is unknown before compressed, update it later
+    int lengthIdx = writerIndex();
+    writeLength(0, headerSize);
+    LinkedBuffer.writeTo(this, linkedBuffer);
+
+    int bodyIdx = writerIndex();
+    writeInt(body.getSize());
+    // compressor need continuous input, size is known, so borrow exactly sized buffer from pool
+    ByteBuf input = PooledByteBufAllocator.DEFAULT.heapBuffer(body.getSize(), body.getSize());
+    try {
+      body.writeTo(new BufferOutputStream(input));
+      compressor.compress(input, byteBuf);
+    } finally {
+      input.release();
+    }
+    writeInt(lengthIdx, headerSize + writerIndex() - bodyIdx);
+  }
+
   public void write(WrapSchema headerSchema, Object header, WrapSchema bodySchema, Object body) throws Exception {
     // 写protobuf数据
     LinkedBuffer linkedBuffer = LinkedBuffer.allocate();
@@ -57,4 +130,30 @@ public class HighwayOutputStream extends TcpOutputStream {
     writeLength(output.getSize(), headerSize);
     LinkedBuffer.writeTo(this, linkedBuffer);
   }
+
+  interface BodyWriter {
+    void writeTo(OutputStream os) throws IOException;
+  }
+
+  /**
+   * body encoded before header, size of it decides whether to compress it
+   */
+  static final class EncodedBody {
+    private final int size;
+
+    private final BodyWriter writer;
+
+    EncodedBody(int size, BodyWriter writer) {
+      this.size = size;
+      this.writer = writer;
+    }
+
+    int getSize() {
+      return size;
+    }
+
+    void writeTo(OutputStream os) throws IOException {
+      writer.writeTo(os);
+    }
+  }
 }
@@ -16,12 +16,19 @@
  */
 package org.apache.servicecomb.transport.highway;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import javax.ws.rs.core.Response.Status;
 
 import org.apache.servicecomb.core.Endpoint;
+import org.apache.servicecomb.core.definition.OperationMeta;
 import org.apache.servicecomb.foundation.vertx.server.TcpBufferHandler;
 import org.apache.servicecomb.foundation.vertx.server.TcpParser;
 import org.apache.servicecomb.foundation.vertx.server.TcpServerConnection;
+import org.apache.servicecomb.foundation.vertx.tcp.TcpCompressors;
 import org.apache.servicecomb.transport.highway.message.LoginRequest;
 import org.apache.servicecomb.transport.highway.message.LoginResponse;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
@@ -37,6 +44,14 @@ public class HighwayServerConnection extends TcpServerConnection implements TcpB
 
   private Endpoint endpoint;
 
+  private boolean operationIdEnabled;
+
+  // operation id is index + 1
+  // requests are decoded in eventloop thread of this connection one by one, so not need to be thread safe
+  private final List<OperationMeta> operationMetas = new ArrayList<>();
+
+  private final Map<OperationMeta, Integer> operationIds = new HashMap<>();
+
   public HighwayServerConnection(Endpoint endpoint) {
     this.endpoint = endpoint;
   }
@@ -97,7 +112,8 @@ public class HighwayServerConnection extends TcpServerConnection implements TcpB
 
     if (request != null) {
       this.setProtocol(request.getProtocol());
-      this.setZipName(request.getZipName());
+      this.setZipName(negotiateZipName(request.getZipName()));
+      this.operationIdEnabled = request.isUseOperationId() && HighwayConfig.isOperationIdEnabled();
     }
 
     try (HighwayOutputStream os = new HighwayOutputStream(msgId)) {
@@ -105,6 +121,8 @@ public class HighwayServerConnection extends TcpServerConnection implements TcpB
       responseHeader.setStatusCode(Status.OK.getStatusCode());
 
       LoginResponse response = new LoginResponse();
+      response.setZipName(zipName);
+      response.setUseOperationId(operationIdEnabled);
 
       os.write(ResponseHeader.getResponseHeaderSchema(),
           responseHeader,
@@ -116,6 +134,36 @@ public class HighwayServerConnection extends TcpServerConnection implements TcpB
     }
   }
 
+  // zipName from consumer is candidates separated by ","
+  protected String negotiateZipName(String candidates) {
+    if (!HighwayConfig.isServerCompressionEnabled()) {
+      return null;
+    }
+
+    return TcpCompressors.negotiate(candidates);
+  }
+
+  public OperationMeta findOperationMeta(int operationId) {
+    if (operationId > operationMetas.size()) {
+      throw new IllegalStateException("unknown operation id " + operationId);
+    }
+    return operationMetas.get(operationId - 1);
+  }
+
+  /**
+   * @return 0 if operation id is not enabled
+   */
+  public int registerOperation(OperationMeta operationMeta) {
+    if (!operationIdEnabled) {
+      return 0;
+    }
+
+    return operationIds.computeIfAbsent(operationMeta, key -> {
+      operationMetas.add(key);
+      return operationMetas.size();
+    });
+  }
+
   protected void onRequest(long msgId, RequestHeader header, Buffer bodyBuffer) {
     HighwayServerInvoke invoke = new HighwayServerInvoke(endpoint);
     if (invoke.init(this, msgId, header, bodyBuffer)) {
@@ -25,7 +25,6 @@ import javax.xml.ws.Holder;
 
 import org.apache.servicecomb.codec.protobuf.definition.OperationProtobuf;
 import org.apache.servicecomb.codec.protobuf.definition.ProtobufManager;
-import org.apache.servicecomb.codec.protobuf.utils.WrapSchema;
 import org.apache.servicecomb.core.Const;
 import org.apache.servicecomb.core.Endpoint;
 import org.apache.servicecomb.core.Handler;
@@ -43,6 +42,7 @@ import org.apache.servicecomb.transport.highway.message.ResponseHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.buffer.Buffer;
 
 public class HighwayServerInvoke {
@@ -58,6 +58,9 @@ public class HighwayServerInvoke {
 
   private long msgId;
 
+  // assigned for the operation of this request, return to consumer by response header
+  private int operationId;
+
   private Buffer bodyBuffer;
 
   private Endpoint endpoint;
@@ -94,14 +97,27 @@ public class HighwayServerInvoke {
     this.msgId = msgId;
     this.header = header;
 
-    MicroserviceMeta microserviceMeta = SCBEngine.getInstance().getProducerMicroserviceMeta();
-    SchemaMeta schemaMeta = microserviceMeta.ensureFindSchemaMeta(header.getSchemaId());
-    this.operationMeta = schemaMeta.ensureFindOperation(header.getOperationName());
+    this.operationMeta = findOperationMeta(connection, header);
     this.operationProtobuf = ProtobufManager.getOrCreateOperation(operationMeta);
 
     this.bodyBuffer = bodyBuffer;
   }
 
+  private OperationMeta findOperationMeta(TcpConnection connection, RequestHeader header) {
+    // only HighwayServerConnection accept operation id in login
+    if (header.getOperationId() > 0) {
+      return ((HighwayServerConnection) connection).findOperationMeta(header.getOperationId());
+    }
+
+    MicroserviceMeta microserviceMeta = SCBEngine.getInstance().getProducerMicroserviceMeta();
+    SchemaMeta schemaMeta = microserviceMeta.ensureFindSchemaMeta(header.getSchemaId());
+    OperationMeta operationMeta = schemaMeta.ensureFindOperation(header.getOperationName());
+    if (connection instanceof HighwayServerConnection) {
+      operationId = ((HighwayServerConnection) connection).registerOperation(operationMeta);
+    }
+    return operationMeta;
+  }
+
   private void runInExecutor() {
     try {
       if (isInQueueTimeout()) {
@@ -127,7 +143,7 @@ public class HighwayServerInvoke {
     invocation.onExecuteStart();
 
     invocation.getInvocationStageTrace().startServerFiltersRequest();
-    HighwayCodec.decodeRequest(invocation, header, operationProtobuf, bodyBuffer);
+    HighwayCodec.decodeRequest(invocation, header, operationProtobuf, bodyBuffer, connection.getCompressor());
     invocation.getHandlerContext().put(Const.REMOTE_ADDRESS, this.connection.getNetSocket().remoteAddress());
 
     invocation.getInvocationStageTrace().startHandlersRequest();
@@ -142,17 +158,18 @@ public class HighwayServerInvoke {
     header.setReasonPhrase(response.getReasonPhrase());
     header.setContext(context);
     header.setHeaders(response.getHeaders());
+    header.setOperationId(operationId);
 
-    WrapSchema bodySchema = operationProtobuf.findResponseSchema(response.getStatusCode());
     Object body = response.getResult();
     if (response.isFailed()) {
       body = ((InvocationException) body).getErrorData();
     }
 
     try {
-      Buffer respBuffer = HighwayCodec.encodeResponse(msgId, header, bodySchema, body);
+      ByteBuf respBuffer = HighwayCodec
+          .encodeResponse(msgId, this.header, operationProtobuf, header, body, connection.getCompressor());
       invocation.getInvocationStageTrace().finishServerFiltersResponse();
-      connection.write(respBuffer.getByteBuf());
+      connection.write(respBuffer);
     } catch (Exception e) {
       // 没招了，直接打日志
       String msg = String.format("encode response failed, %s, msgId=%d",
@@ -181,8 +198,7 @@ public class HighwayServerInvoke {
       // for temporary qps enhance purpose, we'll remove it when handler mechanism is refactored
       invocation.mergeContext(header.getContext());
 
-      Holder<Boolean> qpsFlowControlReject = checkQpsFlowControl(operationMeta);
-      if (qpsFlowControlReject.value) {
+      if (checkQpsFlowControl(operationMeta).value || checkConcurrencyLimit(operationMeta).value) {
         return;
       }
 
@@ -196,21 +212,31 @@ public class HighwayServerInvoke {
   }
 
   private Holder<Boolean> checkQpsFlowControl(OperationMeta operationMeta) {
-    Holder<Boolean> qpsFlowControlReject = new Holder<>(false);
     @SuppressWarnings("deprecation")
     Handler providerQpsFlowControlHandler = operationMeta.getProviderQpsFlowControlHandler();
-    if (null != providerQpsFlowControlHandler) {
+    return checkFlowControl(providerQpsFlowControlHandler);
+  }
+
+  private Holder<Boolean> checkConcurrencyLimit(OperationMeta operationMeta) {
+    @SuppressWarnings("deprecation")
+    Handler providerConcurrencyLimitHandler = operationMeta.getProviderConcurrencyLimitHandler();
+    return checkFlowControl(providerConcurrencyLimitHandler);
+  }
+
+  private Holder<Boolean> checkFlowControl(Handler flowControlHandler) {
+    Holder<Boolean> flowControlReject = new Holder<>(false);
+    if (null != flowControlHandler) {
       try {
-        providerQpsFlowControlHandler.handle(invocation, response -> {
-          qpsFlowControlReject.value = true;
+        flowControlHandler.handle(invocation, response -> {
+          flowControlReject.value = true;
           sendResponse(header.getContext(), response);
         });
       } catch (Exception e) {
-        LOGGER.error("failed to execute ProviderQpsFlowControlHandler", e);
-        qpsFlowControlReject.value = true;
+        LOGGER.error("failed to execute {}", flowControlHandler.getClass().getSimpleName(), e);
+        flowControlReject.value = true;
         sendResponse(header.getContext(), Response.providerFailResp(e));
       }
     }
-    return qpsFlowControlReject;
+    return flowControlReject;
   }
 }
@@ -49,6 +49,10 @@ public class LoginRequest {
   //@Tag(3)
   //private boolean useProtobufMapCodec;
 
+  // whether use operation id instead of schemaId/operationName in RequestHeader
+  @Tag(4)
+  private boolean useOperationId;
+
   public String getProtocol() {
     return protocol;
   }
@@ -65,6 +69,14 @@ public class LoginRequest {
     this.zipName = zipName;
   }
 
+  public boolean isUseOperationId() {
+    return useOperationId;
+  }
+
+  public void setUseOperationId(boolean useOperationId) {
+    this.useOperationId = useOperationId;
+  }
+
   public void writeObject(ProtobufOutput output) throws Exception {
     loginRequestSchema.writeObject(output, this);
   }
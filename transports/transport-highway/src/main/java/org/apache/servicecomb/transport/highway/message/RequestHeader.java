@@ -63,6 +63,11 @@ public class RequestHeader {
   @Tag(7)
   private Map<String, String> context;
 
+  // assigned by provider after login, connection scoped
+  // if not 0, destMicroservice/schemaId/operationName are not sent
+  @Tag(8)
+  private int operationId;
+
   //CHECKSTYLE:ON
   public byte getMsgType() {
     return msgType;
@@ -112,6 +117,14 @@ public class RequestHeader {
     this.context = context;
   }
 
+  public int getOperationId() {
+    return operationId;
+  }
+
+  public void setOperationId(int operationId) {
+    this.operationId = operationId;
+  }
+
   public void writeObject(ProtobufOutput output) throws Exception {
     requestHeaderSchema.writeObject(output, this);
   }
@@ -57,7 +57,27 @@ public class ResponseHeader {
   @Tag(4)
   private Headers headers = new Headers();
 
+  // id assigned by provider for the operation of the request, consumer use it in the following requests
+  @Tag(6)
+  private int operationId;
+
   //CHECKSTYLE:ON: magicnumber
+  public int getFlags() {
+    return flags;
+  }
+
+  public void setFlags(int flags) {
+    this.flags = flags;
+  }
+
+  public int getOperationId() {
+    return operationId;
+  }
+
+  public void setOperationId(int operationId) {
+    this.operationId = operationId;
+  }
+
   public int getStatusCode() {
     return statusCode;
   }
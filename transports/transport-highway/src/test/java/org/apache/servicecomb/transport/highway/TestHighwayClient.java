@@ -38,10 +38,12 @@ import org.apache.servicecomb.foundation.vertx.client.tcp.TcpClientConfig;
 import org.apache.servicecomb.foundation.vertx.client.tcp.TcpData;
 import org.apache.servicecomb.foundation.vertx.client.tcp.TcpResponseCallback;
 import org.apache.servicecomb.foundation.vertx.server.TcpParser;
+import org.apache.servicecomb.foundation.vertx.stream.BufferOutputStream;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpOutputStream;
 import org.apache.servicecomb.swagger.invocation.Response;
 import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
 import org.apache.servicecomb.transport.highway.message.LoginRequest;
+import org.apache.servicecomb.transport.highway.message.LoginResponse;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -50,6 +52,8 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import io.netty.buffer.ByteBuf;
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtobufOutput;
 import io.protostuff.runtime.ProtobufCompatibleUtils;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.DeploymentOptions;
@@ -158,8 +162,8 @@ public class TestHighwayClient {
       }
 
       @Mock
-      Response decodeResponse(Invocation invocation, OperationProtobuf operationProtobuf, TcpData tcpData)
-          throws Throwable {
+      Response decodeResponse(Invocation invocation, OperationProtobuf operationProtobuf, TcpData tcpData,
+          HighwayClientConnection connection) throws Throwable {
         if (decodedResponse instanceof Response) {
           return (Response) decodedResponse;
         }
@@ -280,5 +284,38 @@ public class TestHighwayClient {
 
     LoginRequest login = LoginRequest.readObject(bodyBuffer);
     Assert.assertEquals(Const.HIGHWAY, login.getProtocol());
+    Assert.assertTrue(login.isUseOperationId());
+  }
+
+  @Test
+  public void testOperationId(@Mocked NetClientWrapper netClientWrapper, @Mocked OperationMeta operationMeta)
+      throws Exception {
+    ProtobufCompatibleUtils.init();
+
+    HighwayClientConnection connection =
+        new HighwayClientConnection(null, netClientWrapper, "highway://127.0.0.1:7890");
+    connection.createLogin();
+
+    // provider not support
+    connection.registerOperationId(operationMeta, 1);
+    Assert.assertEquals(0, connection.findOperationId(operationMeta));
+
+    LoginResponse response = new LoginResponse();
+    response.setUseOperationId(true);
+    BufferOutputStream os = new BufferOutputStream();
+    LinkedBuffer linkedBuffer = LinkedBuffer.allocate();
+    ProtobufOutput output = new ProtobufOutput(linkedBuffer);
+    response.writeObject(output);
+    LinkedBuffer.writeTo(os, linkedBuffer);
+    Assert.assertTrue(connection.onLoginResponse(os.getBuffer()));
+
+    connection.registerOperationId(operationMeta, 0);
+    Assert.assertEquals(0, connection.findOperationId(operationMeta));
+    connection.registerOperationId(operationMeta, 1);
+    Assert.assertEquals(1, connection.findOperationId(operationMeta));
+
+    // login again after reconnected
+    connection.createLogin();
+    Assert.assertEquals(0, connection.findOperationId(operationMeta));
   }
 }
@@ -24,19 +24,26 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.servicecomb.codec.protobuf.definition.OperationProtobuf;
+import org.apache.servicecomb.codec.protobuf.definition.ProtobufManager;
 import org.apache.servicecomb.codec.protobuf.utils.WrapSchema;
 import org.apache.servicecomb.codec.protobuf.utils.schema.NotWrapSchema;
 import org.apache.servicecomb.core.Endpoint;
 import org.apache.servicecomb.core.Invocation;
 import org.apache.servicecomb.core.definition.OperationMeta;
 import org.apache.servicecomb.core.definition.SchemaMeta;
+import org.apache.servicecomb.core.unittest.UnitTestMeta;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.apache.servicecomb.foundation.vertx.client.tcp.TcpData;
 import org.apache.servicecomb.foundation.vertx.server.TcpParser;
+import org.apache.servicecomb.foundation.vertx.stream.BufferSizeHint;
+import org.apache.servicecomb.foundation.vertx.tcp.SnappyTcpCompressor;
+import org.apache.servicecomb.foundation.vertx.tcp.TcpCompressor;
 import org.apache.servicecomb.foundation.vertx.tcp.TcpOutputStream;
 import org.apache.servicecomb.serviceregistry.RegistryUtils;
 import org.apache.servicecomb.serviceregistry.ServiceRegistry;
 import org.apache.servicecomb.serviceregistry.registry.ServiceRegistryFactory;
 import org.apache.servicecomb.swagger.invocation.Response;
+import org.apache.servicecomb.transport.highway.message.LoginRequest;
 import org.apache.servicecomb.transport.highway.message.RequestHeader;
 import org.apache.servicecomb.transport.highway.message.ResponseHeader;
 import org.junit.After;
@@ -55,6 +62,11 @@ import mockit.MockUp;
 import mockit.Mocked;
 
 public class TestHighwayCodec {
+  class ProtoMapperImpl {
+    public LoginRequest echo(LoginRequest request) {
+      return request;
+    }
+  }
 
   private RequestHeader header = null;
 
@@ -212,6 +224,227 @@ public class TestHighwayCodec {
     Assert.assertTrue(status);
   }
 
+  @Test
+  public void testProtoMapper(@Mocked Endpoint endpoint) throws Exception {
+    new MockUp<HighwayConfig>() {
+      @Mock
+      boolean isProtoMapperEnabled(String microserviceName) {
+        return true;
+      }
+    };
+    try {
+      OperationMeta operationMeta = new UnitTestMeta().getOrCreateSchemaMeta(ProtoMapperImpl.class)
+          .ensureFindOperation("echo");
+      OperationProtobuf operationProtobuf = ProtobufManager.getOrCreateOperation(operationMeta);
+      LoginRequest model = new LoginRequest();
+      model.setProtocol("n");
+
+      Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+      Mockito.when(invocation.getMicroserviceName()).thenReturn("ms");
+      Mockito.when(invocation.getArgs()).thenReturn(new Object[] {model});
+      Mockito.when(invocation.getContext()).thenReturn(new HashMap<>());
+
+      // request
+      Buffer requestBuffer = HighwayCodec.encodeRequest(0, invocation, operationProtobuf).getBuffer();
+      int headerLen = requestBuffer.getInt(19);
+      RequestHeader requestHeader = RequestHeader.readObject(requestBuffer.slice(23, 23 + headerLen));
+      Assert.assertTrue(HighwayCodec.isProtoMapper(requestHeader.getFlags()));
+
+      Invocation providerInvocation = new Invocation(endpoint, operationMeta, null);
+      HighwayCodec.decodeRequest(providerInvocation, requestHeader, operationProtobuf,
+          requestBuffer.slice(23 + headerLen, requestBuffer.length()));
+      Assert.assertEquals("n", ((LoginRequest) providerInvocation.getSwaggerArgument(0)).getProtocol());
+
+      // response
+      ResponseHeader responseHeader = new ResponseHeader();
+      responseHeader.setStatusCode(200);
+      Buffer responseBuffer = Buffer.buffer(HighwayCodec
+          .encodeResponse(0, requestHeader, operationProtobuf, responseHeader, model));
+      Assert.assertTrue(HighwayCodec.isProtoMapper(responseHeader.getFlags()));
+
+      headerLen = responseBuffer.getInt(19);
+      TcpData tcpData = new TcpData(responseBuffer.slice(23, 23 + headerLen),
+          responseBuffer.slice(23 + headerLen, responseBuffer.length()));
+      Response response = HighwayCodec.decodeResponse(invocation, operationProtobuf, tcpData);
+      Assert.assertEquals("n", ((LoginRequest) response.getResult()).getProtocol());
+
+      // request not encoded by ProtoMapper
+      requestHeader.setFlags(0);
+      responseHeader = new ResponseHeader();
+      responseHeader.setStatusCode(200);
+      HighwayCodec.encodeResponse(0, requestHeader, operationProtobuf, responseHeader, model);
+      Assert.assertFalse(HighwayCodec.isProtoMapper(responseHeader.getFlags()));
+    } finally {
+      ArchaiusUtils.resetConfig();
+    }
+  }
+
+  @Test
+  public void testCompress(@Mocked Endpoint endpoint) throws Exception {
+    OperationMeta operationMeta = new UnitTestMeta().getOrCreateSchemaMeta(ProtoMapperImpl.class)
+        .ensureFindOperation("echo");
+    OperationProtobuf operationProtobuf = ProtobufManager.getOrCreateOperation(operationMeta);
+    TcpCompressor compressor = new SnappyTcpCompressor();
+    LoginRequest model = new LoginRequest();
+    model.setProtocol(String.join("", Collections.nCopies(1000, "highway")));
+
+    Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+    Mockito.when(invocation.getArgs()).thenReturn(new Object[] {model});
+    Mockito.when(invocation.getContext()).thenReturn(new HashMap<>());
+
+    // request
+    Buffer requestBuffer = HighwayCodec.encodeRequest(0, invocation, operationProtobuf, compressor, 0).getBuffer();
+    Assert.assertTrue(requestBuffer.length() < 1000);
+    int headerLen = requestBuffer.getInt(19);
+    RequestHeader requestHeader = RequestHeader.readObject(requestBuffer.slice(23, 23 + headerLen));
+    Assert.assertTrue(HighwayCodec.isCompressed(requestHeader.getFlags()));
+
+    Invocation providerInvocation = new Invocation(endpoint, operationMeta, null);
+    HighwayCodec.decodeRequest(providerInvocation, requestHeader, operationProtobuf,
+        requestBuffer.slice(23 + headerLen, requestBuffer.length()), compressor);
+    Assert.assertEquals(model.getProtocol(), ((LoginRequest) providerInvocation.getSwaggerArgument(0)).getProtocol());
+
+    // response
+    ResponseHeader responseHeader = new ResponseHeader();
+    responseHeader.setStatusCode(200);
+    Buffer responseBuffer = Buffer.buffer(HighwayCodec
+        .encodeResponse(0, requestHeader, operationProtobuf, responseHeader, model, compressor));
+    Assert.assertTrue(HighwayCodec.isCompressed(responseHeader.getFlags()));
+
+    headerLen = responseBuffer.getInt(19);
+    TcpData tcpData = new TcpData(responseBuffer.slice(23, 23 + headerLen),
+        responseBuffer.slice(23 + headerLen, responseBuffer.length()));
+    Response response = HighwayCodec.decodeResponse(invocation, operationProtobuf, tcpData, compressor);
+    Assert.assertEquals(model.getProtocol(), ((LoginRequest) response.getResult()).getProtocol());
+
+    // compressed, but not negotiated
+    try {
+      HighwayCodec.decodeResponse(invocation, operationProtobuf, tcpData);
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("body is compressed, but compression is not negotiated.", e.getMessage());
+    }
+
+    // small body
+    model.setProtocol("n");
+    requestBuffer = HighwayCodec.encodeRequest(0, invocation, operationProtobuf, compressor, 0).getBuffer();
+    headerLen = requestBuffer.getInt(19);
+    requestHeader = RequestHeader.readObject(requestBuffer.slice(23, 23 + headerLen));
+    Assert.assertFalse(HighwayCodec.isCompressed(requestHeader.getFlags()));
+    HighwayCodec.decodeRequest(providerInvocation, requestHeader, operationProtobuf,
+        requestBuffer.slice(23 + headerLen, requestBuffer.length()), compressor);
+    Assert.assertEquals("n", ((LoginRequest) providerInvocation.getSwaggerArgument(0)).getProtocol());
+
+    // disabled for the operation
+    model.setProtocol(String.join("", Collections.nCopies(1000, "highway")));
+    operationMeta.getConfig().setHighwayCompressionEnabled(false);
+    requestBuffer = HighwayCodec.encodeRequest(0, invocation, operationProtobuf, compressor, 0).getBuffer();
+    headerLen = requestBuffer.getInt(19);
+    requestHeader = RequestHeader.readObject(requestBuffer.slice(23, 23 + headerLen));
+    Assert.assertFalse(HighwayCodec.isCompressed(requestHeader.getFlags()));
+  }
+
+  @Test
+  public void decompressBody_invalidLength() throws Exception {
+    TcpCompressor compressor = new SnappyTcpCompressor();
+    ByteBuf compressed = Buffer.buffer().getByteBuf();
+    compressed.writeInt(10);
+    compressor.compress(Buffer.buffer("abc").getByteBuf(), compressed);
+    checkDecompressFailed(compressor, Buffer.buffer(compressed),
+        "invalid compressed body, expect 10 bytes, but got 3 bytes.");
+
+    checkDecompressFailed(compressor, Buffer.buffer().appendInt(-1),
+        "invalid compressed body, length -1 is out of range [0, 67108864].");
+
+    checkDecompressFailed(compressor, Buffer.buffer().appendInt(Integer.MAX_VALUE),
+        "invalid compressed body, length 2147483647 is out of range [0, 67108864].");
+  }
+
+  private void checkDecompressFailed(TcpCompressor compressor, Buffer bodyBuffer, String message) throws Exception {
+    try {
+      HighwayCodec.decompressBody(HighwayCodec.FLAG_COMPRESSED, compressor, bodyBuffer);
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals(message, e.getMessage());
+    }
+  }
+
+  @Test
+  public void testEncodeRequestByOperationId() throws Exception {
+    OperationMeta operationMeta = new UnitTestMeta().getOrCreateSchemaMeta(ProtoMapperImpl.class)
+        .ensureFindOperation("echo");
+    OperationProtobuf operationProtobuf = ProtobufManager.getOrCreateOperation(operationMeta);
+
+    Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+    Mockito.when(invocation.getSchemaId()).thenReturn("schema");
+    Mockito.when(invocation.getOperationName()).thenReturn("echo");
+    Mockito.when(invocation.getArgs()).thenReturn(new Object[] {new LoginRequest()});
+
+    Buffer requestBuffer = HighwayCodec.encodeRequest(0, invocation, operationProtobuf, null, 0).getBuffer();
+    RequestHeader requestHeader = RequestHeader.readObject(requestBuffer.slice(23, 23 + requestBuffer.getInt(19)));
+    Assert.assertEquals(0, requestHeader.getOperationId());
+    Assert.assertEquals("schema", requestHeader.getSchemaId());
+    Assert.assertEquals("echo", requestHeader.getOperationName());
+
+    requestBuffer = HighwayCodec.encodeRequest(0, invocation, operationProtobuf, null, 3).getBuffer();
+    requestHeader = RequestHeader.readObject(requestBuffer.slice(23, 23 + requestBuffer.getInt(19)));
+    Assert.assertEquals(3, requestHeader.getOperationId());
+    Assert.assertNull(requestHeader.getSchemaId());
+    Assert.assertNull(requestHeader.getOperationName());
+  }
+
+  @Test
+  public void testPooledBuffer() throws Exception {
+    new MockUp<HighwayConfig>() {
+      @Mock
+      boolean isPooledBufferEnabled() {
+        return true;
+      }
+    };
+    try {
+      OperationMeta operationMeta = new UnitTestMeta().getOrCreateSchemaMeta(ProtoMapperImpl.class)
+          .ensureFindOperation("echo");
+      OperationProtobuf operationProtobuf = ProtobufManager.getOrCreateOperation(operationMeta);
+      LoginRequest model = new LoginRequest();
+      model.setProtocol("n");
+
+      Mockito.when(invocation.getOperationMeta()).thenReturn(operationMeta);
+      Mockito.when(invocation.getArgs()).thenReturn(new Object[] {model});
+      Mockito.when(invocation.getContext()).thenReturn(new HashMap<>());
+
+      // request
+      ByteBuf requestBuf;
+      try (TcpOutputStream os = HighwayCodec.encodeRequest(0, invocation, operationProtobuf)) {
+        requestBuf = os.transferByteBuf();
+      }
+      Assert.assertTrue(requestBuf.isDirect());
+      Assert.assertEquals(1, requestBuf.refCnt());
+      // learned from the small request, shrink from the default size
+      Assert.assertTrue(((BufferSizeHint) operationMeta.getExtData("highwayRequestSizeHint")).getSizeHint()
+          < BufferSizeHint.DEFAULT_SIZE);
+      requestBuf.release();
+
+      // response
+      ResponseHeader responseHeader = new ResponseHeader();
+      responseHeader.setStatusCode(200);
+      ByteBuf responseBuf = HighwayCodec.encodeResponse(0, new RequestHeader(), operationProtobuf, responseHeader,
+          model);
+      Assert.assertTrue(responseBuf.isDirect());
+      Assert.assertNotNull(operationMeta.getExtData("highwayResponseSizeHint"));
+
+      Buffer responseBuffer = Buffer.buffer(responseBuf);
+      int headerLen = responseBuffer.getInt(19);
+      TcpData tcpData = new TcpData(responseBuffer.slice(23, 23 + headerLen),
+          responseBuffer.slice(23 + headerLen, responseBuffer.length()));
+      Response response = HighwayCodec.decodeResponse(invocation, operationProtobuf, tcpData);
+      Assert.assertEquals("n", ((LoginRequest) response.getResult()).getProtocol());
+      responseBuf.release();
+      Assert.assertEquals(0, responseBuf.refCnt());
+    } finally {
+      ArchaiusUtils.resetConfig();
+    }
+  }
+
   @Test
   public void testReadRequestHeader() {
     boolean status = true;
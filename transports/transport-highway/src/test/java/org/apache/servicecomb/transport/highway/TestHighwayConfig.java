@@ -20,18 +20,20 @@ package org.apache.servicecomb.transport.highway;
 import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.junit.AfterClass;
 import org.junit.Assert;
-import org.junit.BeforeClass;
+import org.junit.Before;
 import org.junit.Test;
 
 public class TestHighwayConfig {
-  @BeforeClass
-  public static void setup() {
+  @Before
+  public void setup() {
     ArchaiusUtils.resetConfig();
+    HighwayConfig.initProperties();
   }
 
   @AfterClass
   public static void tearDown() {
     ArchaiusUtils.resetConfig();
+    HighwayConfig.initProperties();
   }
 
   @Test
@@ -46,6 +48,26 @@ public class TestHighwayConfig {
     Assert.assertEquals(HighwayConfig.getClientThreadCount(), 1);
   }
 
+  @Test
+  public void isProtoMapperEnabled() {
+    Assert.assertFalse(HighwayConfig.isProtoMapperEnabled(null));
+    Assert.assertFalse(HighwayConfig.isProtoMapperEnabled("ms1"));
+
+    ArchaiusUtils.setProperty(HighwayConfig.KEY_PROTO_MAPPER_ENABLED, true);
+    ArchaiusUtils.setProperty(String.format(HighwayConfig.KEY_PROTO_MAPPER_MICROSERVICE_ENABLED_FMT, "ms1"), false);
+    Assert.assertTrue(HighwayConfig.isProtoMapperEnabled(null));
+    Assert.assertFalse(HighwayConfig.isProtoMapperEnabled("ms1"));
+    Assert.assertTrue(HighwayConfig.isProtoMapperEnabled("ms2"));
+  }
+
+  @Test
+  public void isPooledBufferEnabled() {
+    Assert.assertFalse(HighwayConfig.isPooledBufferEnabled());
+
+    ArchaiusUtils.setProperty(HighwayConfig.KEY_POOLED_BUFFER_ENABLED, true);
+    Assert.assertTrue(HighwayConfig.isPooledBufferEnabled());
+  }
+
   @Test
   public void getAddress() {
     Assert.assertEquals(HighwayConfig.getAddress(), null);
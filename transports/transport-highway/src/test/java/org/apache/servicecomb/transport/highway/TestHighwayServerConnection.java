@@ -116,7 +116,53 @@ public class TestHighwayServerConnection {
     connection.handle(0, headerBuffer, bodyBuffer);
 
     Assert.assertEquals("p", connection.getProtocol());
-    Assert.assertEquals("z", connection.getZipName());
+    // not supported compressor
+    Assert.assertEquals(null, connection.getZipName());
+  }
+
+  @Test
+  public void testOperationId(@Mocked OperationMeta operationMeta1, @Mocked OperationMeta operationMeta2)
+      throws Exception {
+    // not login
+    Assert.assertEquals(0, connection.registerOperation(operationMeta1));
+
+    header.setMsgType(MsgType.LOGIN);
+    Buffer headerBuffer = createBuffer(requestHeaderSchema, header);
+
+    LoginRequest body = new LoginRequest();
+    body.setUseOperationId(true);
+    Buffer bodyBuffer = createBuffer(setParameterRequestSchema, body);
+
+    connection.handle(0, headerBuffer, bodyBuffer);
+
+    Assert.assertEquals(1, connection.registerOperation(operationMeta1));
+    Assert.assertEquals(2, connection.registerOperation(operationMeta2));
+    Assert.assertEquals(1, connection.registerOperation(operationMeta1));
+    Assert.assertSame(operationMeta1, connection.findOperationMeta(1));
+    Assert.assertSame(operationMeta2, connection.findOperationMeta(2));
+
+    try {
+      connection.findOperationMeta(3);
+      Assert.fail("must throw exception");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("unknown operation id 3", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testSetParameterNegotiateZipName() throws Exception {
+    header.setMsgType(MsgType.LOGIN);
+    Buffer headerBuffer = createBuffer(requestHeaderSchema, header);
+
+    LoginRequest body = new LoginRequest();
+    body.setProtocol("p");
+    body.setZipName("z, deflate,snappy");
+    Buffer bodyBuffer = createBuffer(setParameterRequestSchema, body);
+
+    connection.handle(0, headerBuffer, bodyBuffer);
+
+    Assert.assertEquals("deflate", connection.getZipName());
+    Assert.assertEquals("deflate", connection.getCompressor().getName());
   }
 
   @Test
@@ -100,14 +100,7 @@ public class RestTransportClient {
   }
 
   public void send(Invocation invocation, AsyncResponse asyncResp) {
-    URIEndpointObject endpoint = (URIEndpointObject) invocation.getEndpoint().getAddress();
-
-    ClientPoolManager<HttpClientWithContext> currentClientMgr = clientMgr;
-    if (endpoint.isHttp2Enabled()) {
-      currentClientMgr = clientMgrHttp2;
-    }
-
-    HttpClientWithContext httpClientWithContext = findHttpClientPool(currentClientMgr, invocation);
+    HttpClientWithContext httpClientWithContext = findHttpClientPool(findClientMgr(invocation), invocation);
     RestClientInvocation restClientInvocation = new RestClientInvocation(httpClientWithContext, httpClientFilters);
 
     try {
@@ -118,6 +111,14 @@ public class RestTransportClient {
     }
   }
 
+  protected ClientPoolManager<HttpClientWithContext> findClientMgr(Invocation invocation) {
+    URIEndpointObject endpoint = (URIEndpointObject) invocation.getEndpoint().getAddress();
+    if (endpoint.isHttp2Enabled()) {
+      return clientMgrHttp2;
+    }
+    return clientMgr;
+  }
+
   protected HttpClientWithContext findHttpClientPool(ClientPoolManager<HttpClientWithContext> currentClientMgr,
       Invocation invocation) {
     return currentClientMgr.findClientPool(invocation.isSync());
@@ -98,4 +98,10 @@ public final class TransportClientConfig {
         .getIntProperty("servicecomb.rest.client.maxHeaderSize", HttpClientOptions.DEFAULT_MAX_HEADER_SIZE)
         .get();
   }
+
+  public static boolean isCompactContextEnabled() {
+    return DynamicPropertyFactory.getInstance()
+        .getBooleanProperty("servicecomb.rest.client.context.compact.enabled", true)
+        .get();
+  }
 }
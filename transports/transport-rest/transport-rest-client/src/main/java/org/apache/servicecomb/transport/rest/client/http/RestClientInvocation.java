@@ -18,10 +18,12 @@
 package org.apache.servicecomb.transport.rest.client.http;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.http.Part;
 
 import org.apache.servicecomb.common.rest.RestConst;
+import org.apache.servicecomb.common.rest.codec.CompactContextCodec;
 import org.apache.servicecomb.common.rest.codec.param.RestClientRequestImpl;
 import org.apache.servicecomb.common.rest.definition.RestOperationMeta;
 import org.apache.servicecomb.common.rest.filter.HttpClientFilter;
@@ -42,10 +44,14 @@ import org.apache.servicecomb.foundation.vertx.metrics.metric.DefaultHttpSocketM
 import org.apache.servicecomb.serviceregistry.api.Const;
 import org.apache.servicecomb.swagger.invocation.AsyncResponse;
 import org.apache.servicecomb.swagger.invocation.Response;
+import org.apache.servicecomb.transport.rest.client.TransportClientConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
@@ -58,6 +64,13 @@ import io.vertx.core.net.impl.ConnectionBase;
 public class RestClientInvocation {
   private static final Logger LOGGER = LoggerFactory.getLogger(RestClientInvocation.class);
 
+  // endpoints whose latest response declared that compact invocation context is supported
+  // endpoints of instances that went away are not accessed any more, so they expire
+  private static final Cache<String, Boolean> COMPACT_CONTEXT_ENDPOINTS = CacheBuilder.newBuilder()
+      .maximumSize(10000)
+      .expireAfterAccess(30, TimeUnit.MINUTES)
+      .build();
+
   private HttpClientWithContext httpClientWithContext;
 
   private Invocation invocation;
@@ -169,6 +182,7 @@ public class RestClientInvocation {
 
   protected void handleResponse(HttpClientResponse httpClientResponse) {
     this.clientResponse = httpClientResponse;
+    updateCompactContextSupport();
 
     if (HttpStatus.isSuccess(clientResponse.statusCode())
         && Part.class.equals(invocation.getOperationMeta().getMethod().getReturnType())) {
@@ -257,7 +271,45 @@ public class RestClientInvocation {
     }
   }
 
+  protected void updateCompactContextSupport() {
+    String endpoint = invocation.getEndpoint().getEndpoint();
+    if (endpoint == null) {
+      return;
+    }
+
+    // provider maybe restarted by an old version, so always follow the latest response
+    // only write when changed, the state is stable in most time
+    String accept = clientResponse.getHeader(org.apache.servicecomb.core.Const.CSE_CONTEXT_ACCEPT);
+    boolean supported = org.apache.servicecomb.core.Const.CSE_CONTEXT_ACCEPT_COMPACT.equals(accept);
+    if (supported == isCompactContextEndpoint(endpoint)) {
+      return;
+    }
+
+    if (supported) {
+      COMPACT_CONTEXT_ENDPOINTS.put(endpoint, Boolean.TRUE);
+      return;
+    }
+    COMPACT_CONTEXT_ENDPOINTS.invalidate(endpoint);
+  }
+
+  private static boolean isCompactContextEndpoint(String endpoint) {
+    return COMPACT_CONTEXT_ENDPOINTS.getIfPresent(endpoint) != null;
+  }
+
+  protected boolean isCompactContextSupported() {
+    String endpoint = invocation.getEndpoint().getEndpoint();
+    return endpoint != null
+        && TransportClientConfig.isCompactContextEnabled()
+        && isCompactContextEndpoint(endpoint);
+  }
+
   protected void setCseContext() {
+    if (isCompactContextSupported()) {
+      clientRequest.putHeader(org.apache.servicecomb.core.Const.CSE_CONTEXT_COMPACT,
+          CompactContextCodec.encode(invocation.getContext()));
+      return;
+    }
+
     try {
       String cseContext = JsonUtils.writeValueAsString(invocation.getContext());
       clientRequest.putHeader(org.apache.servicecomb.core.Const.CSE_CONTEXT, cseContext);
@@ -237,6 +237,29 @@ public class TestRestClientInvocation {
     logCollector.teardown();
   }
 
+  @Test
+  public void testSetCseContext_compact() {
+    Map<String, String> contextMap = Collections.singletonMap("k", "v");
+    when(invocation.getContext()).thenReturn(contextMap);
+    when(endpoint.getEndpoint()).thenReturn("rest://127.0.0.1:8080");
+    HttpClientResponse httpClientResponse = mock(HttpClientResponse.class);
+    Deencapsulation.setField(restClientInvocation, "clientResponse", httpClientResponse);
+
+    // provider declared support
+    when(httpClientResponse.getHeader(org.apache.servicecomb.core.Const.CSE_CONTEXT_ACCEPT))
+        .thenReturn(org.apache.servicecomb.core.Const.CSE_CONTEXT_ACCEPT_COMPACT);
+    restClientInvocation.updateCompactContextSupport();
+    restClientInvocation.setCseContext();
+    Assert.assertEquals("{x-cse-ctx-compact=k=v}", headers.toString());
+
+    // provider replaced by an old version
+    headers.clear();
+    when(httpClientResponse.getHeader(org.apache.servicecomb.core.Const.CSE_CONTEXT_ACCEPT)).thenReturn(null);
+    restClientInvocation.updateCompactContextSupport();
+    restClientInvocation.setCseContext();
+    Assert.assertEquals("{x-cse-context={\"k\":\"v\"}}", headers.toString());
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   public void handleResponse() {
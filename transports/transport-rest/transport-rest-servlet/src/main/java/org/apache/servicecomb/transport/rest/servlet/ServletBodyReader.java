@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.transport.rest.servlet;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.servicecomb.common.rest.RestConst;
+import org.apache.servicecomb.foundation.vertx.http.StandardHttpServletRequestEx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Read the whole body by servlet 3.1 non-blocking io on container thread, and then start the invocation,
+ * so that slow clients not occupy threads of business executors.
+ * <p>
+ * multipart request is not supported, because parts are parsed by container from the raw input stream.
+ * </p>
+ */
+public class ServletBodyReader implements ReadListener {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServletBodyReader.class);
+
+  // avoid allocate too much by a fake content-length, buffer will grow if needed
+  private static final int MAX_INITIAL_CAPACITY = 1024 * 1024;
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 4 * 1024;
+
+  // only used inside one callback, so can be shared by all requests of a container thread
+  private static final ThreadLocal<byte[]> READ_CHUNK = ThreadLocal.withInitial(() -> new byte[8 * 1024]);
+
+  private final AsyncContext asyncContext;
+
+  private final StandardHttpServletRequestEx requestEx;
+
+  private final ServletInputStream inputStream;
+
+  private final Runnable invoker;
+
+  private final Buffer body;
+
+  private final long maxBodySize;
+
+  private boolean rejected;
+
+  public ServletBodyReader(AsyncContext asyncContext, StandardHttpServletRequestEx requestEx, Runnable invoker)
+      throws IOException {
+    this.asyncContext = asyncContext;
+    this.requestEx = requestEx;
+    this.inputStream = requestEx.getRequest().getInputStream();
+    this.invoker = invoker;
+
+    this.maxBodySize = ServletConfig.getNonBlockingReadMaxBodySize();
+
+    long contentLength = requestEx.getContentLengthLong();
+    this.body = Buffer.buffer(contentLength > 0 ?
+        (int) Math.min(contentLength, MAX_INITIAL_CAPACITY) : DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public static boolean isSupported(HttpServletRequest request) {
+    if (request.getContentLengthLong() == 0
+        || (request.getContentLengthLong() < 0 && request.getHeader("Transfer-Encoding") == null)) {
+      // no body
+      return false;
+    }
+
+    return !StringUtils.startsWithIgnoreCase(request.getContentType(), MediaType.MULTIPART_FORM_DATA);
+  }
+
+  public void start() {
+    inputStream.setReadListener(this);
+  }
+
+  @Override
+  public void onDataAvailable() throws IOException {
+    if (rejected) {
+      return;
+    }
+
+    byte[] chunk = READ_CHUNK.get();
+    int len;
+    while (inputStream.isReady() && (len = inputStream.read(chunk)) != -1) {
+      if (maxBodySize != -1 && body.length() + len > maxBodySize) {
+        rejected = true;
+        LOGGER.error("Rest request body is too large, method {}, path {}, max size {}.",
+            requestEx.getMethod(), requestEx.getRequestURI(), maxBodySize);
+        complete(Status.REQUEST_ENTITY_TOO_LARGE);
+        return;
+      }
+      body.appendBytes(chunk, 0, len);
+    }
+  }
+
+  @Override
+  public void onAllDataRead() {
+    if (rejected) {
+      return;
+    }
+
+    if (requestEx.getAttribute(RestConst.REST_REQUEST) != requestEx) {
+      // already timeout, request maybe recycled by web container
+      LOGGER.error("Rest request already timeout when body is read, abandon it.");
+      return;
+    }
+
+    requestEx.setPreloadedBody(body);
+    invoker.run();
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    LOGGER.error("Failed to read rest request body, method {}, path {}.",
+        requestEx.getMethod(), requestEx.getRequestURI(), t);
+    complete(Status.BAD_REQUEST);
+  }
+
+  private void complete(Status status) {
+    try {
+      if (!asyncContext.getResponse().isCommitted()) {
+        ((HttpServletResponse) asyncContext.getResponse()).setStatus(status.getStatusCode());
+      }
+      asyncContext.complete();
+    } catch (Throwable e) {
+      LOGGER.error("Failed to complete rest request after read body failed.", e);
+    }
+  }
+}
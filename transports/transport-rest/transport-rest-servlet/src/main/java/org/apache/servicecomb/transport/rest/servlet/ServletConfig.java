@@ -17,6 +17,7 @@
 
 package org.apache.servicecomb.transport.rest.servlet;
 
+import com.netflix.config.DynamicBooleanProperty;
 import com.netflix.config.DynamicLongProperty;
 import com.netflix.config.DynamicPropertyFactory;
 import com.netflix.config.DynamicStringProperty;
@@ -32,10 +33,24 @@ public final class ServletConfig {
 
   public static final String DEFAULT_URL_PATTERN = "/*";
 
+  public static final String KEY_SERVLET_NON_BLOCKING_READ = "servicecomb.rest.servlet.nonBlockingRead.enabled";
+
+  public static final String KEY_SERVLET_NON_BLOCKING_READ_MAX_BODY_SIZE =
+      "servicecomb.rest.servlet.nonBlockingRead.maxBodySize";
+
+  public static final long DEFAULT_NON_BLOCKING_READ_MAX_BODY_SIZE = 10 * 1024 * 1024;
+
   private static final DynamicLongProperty asyncServletTimeoutProperty =
       DynamicPropertyFactory.getInstance().getLongProperty(KEY_SERVICECOMB_ASYC_SERVLET_TIMEOUT,
           DEFAULT_ASYN_SERVLET_TIMEOUT);
 
+  private static final DynamicBooleanProperty nonBlockingReadProperty =
+      DynamicPropertyFactory.getInstance().getBooleanProperty(KEY_SERVLET_NON_BLOCKING_READ, false);
+
+  private static final DynamicLongProperty nonBlockingReadMaxBodySizeProperty =
+      DynamicPropertyFactory.getInstance().getLongProperty(KEY_SERVLET_NON_BLOCKING_READ_MAX_BODY_SIZE,
+          DEFAULT_NON_BLOCKING_READ_MAX_BODY_SIZE);
+
   private ServletConfig() {
   }
 
@@ -43,6 +58,21 @@ public final class ServletConfig {
     return asyncServletTimeoutProperty.get();
   }
 
+  /**
+   * read body by servlet 3.1 non-blocking io before schedule the invocation to executor
+   */
+  public static boolean isNonBlockingReadEnabled() {
+    return nonBlockingReadProperty.get();
+  }
+
+  /**
+   * max body size read by non-blocking io, the whole body is held in memory before invocation<br>
+   * -1 means no limit
+   */
+  public static long getNonBlockingReadMaxBodySize() {
+    return nonBlockingReadMaxBodySizeProperty.get();
+  }
+
   public static String getLocalServerAddress() {
     DynamicStringProperty address =
         DynamicPropertyFactory.getInstance().getStringProperty(SERVICECOMB_REST_ADDRESS, null);
@@ -17,12 +17,14 @@
 
 package org.apache.servicecomb.transport.rest.servlet;
 
+import java.io.IOException;
 import java.util.List;
 
 import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.servicecomb.common.rest.RestConst;
 import org.apache.servicecomb.common.rest.filter.HttpServerFilter;
 import org.apache.servicecomb.core.Const;
 import org.apache.servicecomb.core.CseContext;
@@ -32,8 +34,12 @@ import org.apache.servicecomb.foundation.vertx.http.HttpServletRequestEx;
 import org.apache.servicecomb.foundation.vertx.http.HttpServletResponseEx;
 import org.apache.servicecomb.foundation.vertx.http.StandardHttpServletRequestEx;
 import org.apache.servicecomb.foundation.vertx.http.StandardHttpServletResponseEx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ServletRestDispatcher {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServletRestDispatcher.class);
+
   private RestAsyncListener restAsyncListener = new RestAsyncListener();
 
   private Transport transport;
@@ -50,9 +56,30 @@ public class ServletRestDispatcher {
     asyncCtx.addListener(restAsyncListener);
     asyncCtx.setTimeout(ServletConfig.getAsyncServletTimeout());
 
-    HttpServletRequestEx requestEx = new StandardHttpServletRequestEx(request);
+    StandardHttpServletRequestEx requestEx = new StandardHttpServletRequestEx(request);
     HttpServletResponseEx responseEx = new StandardHttpServletResponseEx(response);
 
+    if (ServletConfig.isNonBlockingReadEnabled() && ServletBodyReader.isSupported(request)) {
+      readBodyAndInvoke(asyncCtx, requestEx, responseEx);
+      return;
+    }
+
+    invoke(requestEx, responseEx);
+  }
+
+  protected void readBodyAndInvoke(AsyncContext asyncCtx, StandardHttpServletRequestEx requestEx,
+      HttpServletResponseEx responseEx) {
+    // make RestAsyncListener work when timeout before body is read
+    requestEx.setAttribute(RestConst.REST_REQUEST, requestEx);
+    try {
+      new ServletBodyReader(asyncCtx, requestEx, () -> invoke(requestEx, responseEx)).start();
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Failed to read body by non-blocking io, read it in executor, cause: {}.", e.getMessage());
+      invoke(requestEx, responseEx);
+    }
+  }
+
+  protected void invoke(HttpServletRequestEx requestEx, HttpServletResponseEx responseEx) {
     RestServletProducerInvocation restProducerInvocation = new RestServletProducerInvocation();
     restProducerInvocation.invoke(transport, requestEx, responseEx, httpServerFilters);
   }
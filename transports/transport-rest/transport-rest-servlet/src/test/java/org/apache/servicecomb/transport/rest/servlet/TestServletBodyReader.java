@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.transport.rest.servlet;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import javax.xml.ws.Holder;
+
+import org.apache.servicecomb.common.rest.RestConst;
+import org.apache.servicecomb.foundation.vertx.http.StandardHttpServletRequestEx;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+
+public class TestServletBodyReader {
+  @Mocked
+  HttpServletRequest request;
+
+  @Mocked
+  AsyncContext asyncContext;
+
+  StandardHttpServletRequestEx requestEx;
+
+  Holder<Boolean> invoked = new Holder<>(false);
+
+  byte[] content = "abcdefghij".getBytes();
+
+  // simulate data arrive in 2 parts
+  int[] readable = {4, 6};
+
+  int pos;
+
+  int part;
+
+  boolean partReady = true;
+
+  ServletInputStream inputStream = new ServletInputStream() {
+    @Override
+    public boolean isFinished() {
+      return pos == content.length;
+    }
+
+    @Override
+    public boolean isReady() {
+      return partReady;
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+    }
+
+    @Override
+    public int read() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int read(byte[] b) {
+      if (pos == content.length) {
+        return -1;
+      }
+      int len = readable[part++];
+      System.arraycopy(content, pos, b, 0, len);
+      pos += len;
+      partReady = false;
+      return len;
+    }
+  };
+
+  @Before
+  public void setup() throws IOException {
+    new Expectations() {
+      {
+        request.getInputStream();
+        result = inputStream;
+        minTimes = 0;
+        request.getContentLengthLong();
+        result = content.length;
+        minTimes = 0;
+      }
+    };
+    requestEx = new StandardHttpServletRequestEx(request);
+  }
+
+  @Test
+  public void isSupported() {
+    new Expectations() {
+      {
+        request.getContentLengthLong();
+        returns(0L, -1L, -1L, 10L, 10L);
+        request.getHeader("Transfer-Encoding");
+        returns(null, "chunked");
+        request.getContentType();
+        returns(MediaType.APPLICATION_JSON, MediaType.MULTIPART_FORM_DATA + ";boundary=x");
+      }
+    };
+
+    Assert.assertFalse(ServletBodyReader.isSupported(request));
+    Assert.assertFalse(ServletBodyReader.isSupported(request));
+    Assert.assertTrue(ServletBodyReader.isSupported(request));
+    Assert.assertFalse(ServletBodyReader.isSupported(request));
+  }
+
+  @Test
+  public void readAll() throws IOException {
+    new Expectations() {
+      {
+        request.getAttribute(RestConst.REST_REQUEST);
+        result = requestEx;
+      }
+    };
+    ServletBodyReader reader = new ServletBodyReader(asyncContext, requestEx, () -> invoked.value = true);
+
+    // first part, then not ready
+    reader.onDataAvailable();
+    Assert.assertEquals(4, pos);
+    partReady = true;
+    reader.onDataAvailable();
+    Assert.assertEquals(10, pos);
+    Assert.assertFalse(invoked.value);
+
+    reader.onAllDataRead();
+    Assert.assertTrue(invoked.value);
+    Assert.assertTrue(requestEx.isBodyPreloaded());
+    Assert.assertEquals("abcdefghij", requestEx.getBodyBuffer().toString());
+  }
+
+  @Test
+  public void onDataAvailable_tooLarge() throws IOException {
+    new MockUp<ServletConfig>() {
+      @Mock
+      long getNonBlockingReadMaxBodySize() {
+        return 8;
+      }
+    };
+    AsyncContext asyncContext = Mockito.mock(AsyncContext.class);
+    HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+    Mockito.when(asyncContext.getResponse()).thenReturn(response);
+    ServletBodyReader reader = new ServletBodyReader(asyncContext, requestEx, () -> invoked.value = true);
+
+    reader.onDataAvailable();
+    partReady = true;
+    reader.onDataAvailable();
+    // rejected, not read any more
+    partReady = true;
+    reader.onDataAvailable();
+    Assert.assertEquals(10, pos);
+    reader.onAllDataRead();
+
+    Assert.assertFalse(invoked.value);
+    Mockito.verify(response).setStatus(413);
+    Mockito.verify(asyncContext).complete();
+  }
+
+  @Test
+  public void onAllDataRead_timeout() throws IOException {
+    ServletBodyReader reader = new ServletBodyReader(asyncContext, requestEx, () -> invoked.value = true);
+
+    reader.onAllDataRead();
+
+    Assert.assertFalse(invoked.value);
+  }
+
+  @Test
+  public void onError() throws IOException {
+    AsyncContext asyncContext = Mockito.mock(AsyncContext.class);
+    HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+    Mockito.when(asyncContext.getResponse()).thenReturn(response);
+    ServletBodyReader reader = new ServletBodyReader(asyncContext, requestEx, () -> invoked.value = true);
+
+    reader.onError(new IOException("connection reset"));
+
+    Assert.assertFalse(invoked.value);
+    Mockito.verify(response).setStatus(400);
+    Mockito.verify(asyncContext).complete();
+  }
+}
@@ -47,6 +47,13 @@ public class TestServletConfig {
     Assert.assertEquals(ServletConfig.DEFAULT_ASYN_SERVLET_TIMEOUT, ServletConfig.getAsyncServletTimeout());
   }
 
+  @Test
+  public void testNonBlockingRead() {
+    Assert.assertFalse(ServletConfig.isNonBlockingReadEnabled());
+    Assert.assertEquals(ServletConfig.DEFAULT_NON_BLOCKING_READ_MAX_BODY_SIZE,
+        ServletConfig.getNonBlockingReadMaxBodySize());
+  }
+
   @Test
   public void testGetServletUrlPattern() {
     DynamicPropertyFactory.getInstance();
@@ -17,8 +17,10 @@
 
 package org.apache.servicecomb.transport.rest.servlet;
 
+import java.io.IOException;
 import java.util.List;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.xml.ws.Holder;
@@ -27,16 +29,20 @@ import org.apache.servicecomb.common.rest.filter.HttpServerFilter;
 import org.apache.servicecomb.core.CseContext;
 import org.apache.servicecomb.core.Transport;
 import org.apache.servicecomb.core.transport.TransportManager;
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.apache.servicecomb.foundation.vertx.http.HttpServletRequestEx;
 import org.apache.servicecomb.foundation.vertx.http.HttpServletResponseEx;
+import org.apache.servicecomb.foundation.vertx.http.StandardHttpServletRequestEx;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import mockit.Expectations;
 import mockit.Mock;
 import mockit.MockUp;
 import mockit.Mocked;
+import mockit.Verifications;
 
 public class TestServletRestDispatcher {
   ServletRestDispatcher dispatcher = new ServletRestDispatcher();
@@ -58,6 +64,7 @@ public class TestServletRestDispatcher {
   @After
   public void teardown() {
     CseContext.getInstance().setTransportManager(null);
+    ArchaiusUtils.resetConfig();
   }
 
   @Test
@@ -76,4 +83,41 @@ public class TestServletRestDispatcher {
 
     Assert.assertTrue(handled.value);
   }
+
+  @Test
+  public void service_nonBlockingRead(@Mocked ServletBodyReader bodyReader) throws IOException {
+    new MockUp<ServletConfig>() {
+      @Mock
+      boolean isNonBlockingReadEnabled() {
+        return true;
+      }
+    };
+    Holder<Boolean> handled = new Holder<>(false);
+    new MockUp<RestServletProducerInvocation>() {
+      @Mock
+      void invoke(Transport transport, HttpServletRequestEx requestEx, HttpServletResponseEx responseEx,
+          List<HttpServerFilter> httpServerFilters) {
+        handled.value = true;
+      }
+    };
+    new Expectations() {
+      {
+        ServletBodyReader.isSupported(request);
+        result = true;
+      }
+    };
+
+    dispatcher.service(request, response);
+
+    // invoke after body is read
+    Assert.assertFalse(handled.value);
+    new Verifications() {
+      {
+        new ServletBodyReader((AsyncContext) any, (StandardHttpServletRequestEx) any, (Runnable) any);
+        times = 1;
+        bodyReader.start();
+        times = 1;
+      }
+    };
+  }
 }
@@ -39,6 +39,7 @@ import org.apache.servicecomb.swagger.invocation.exception.CommonExceptionData;
 import org.apache.servicecomb.swagger.invocation.exception.InvocationException;
 import org.apache.servicecomb.transport.rest.vertx.accesslog.AccessLogConfiguration;
 import org.apache.servicecomb.transport.rest.vertx.accesslog.impl.AccessLogHandler;
+import org.apache.servicecomb.transport.rest.vertx.accesslog.impl.AsyncAccessLogWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -161,10 +162,12 @@ public class RestServerVerticle extends AbstractVerticle {
   private void mountAccessLogHandler(Router mainRouter) {
     if (AccessLogConfiguration.INSTANCE.getAccessLogEnabled()) {
       String pattern = AccessLogConfiguration.INSTANCE.getAccesslogPattern();
-      LOGGER.info("access log enabled, pattern = {}", pattern);
+      boolean async = AccessLogConfiguration.INSTANCE.getAccessLogAsyncEnabled();
+      LOGGER.info("access log enabled, pattern = {}, async = {}", pattern, async);
       mainRouter.route()
           .handler(new AccessLogHandler(
-              pattern
+              pattern,
+              async ? AsyncAccessLogWriter.getInstance() : null
           ));
     }
   }
@@ -187,7 +187,7 @@ public class VertxRestDispatcher extends AbstractVertxHttpDispatcher {
       transport = CseContext.getInstance().getTransportManager().findTransport(Const.RESTFUL);
     }
     HttpServletRequestEx requestEx = new VertxServerRequestToHttpServletRequest(context);
-    HttpServletResponseEx responseEx = new VertxServerResponseToHttpServletResponse(context.response());
+    HttpServletResponseEx responseEx = new VertxServerResponseToHttpServletResponse(context.request());
 
     VertxRestInvocation vertxRestInvocation = new VertxRestInvocation();
     context.put(RestConst.REST_PRODUCER_INVOCATION, vertxRestInvocation);
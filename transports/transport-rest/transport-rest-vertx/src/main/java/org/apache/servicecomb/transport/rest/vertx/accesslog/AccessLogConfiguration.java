@@ -17,9 +17,13 @@
 
 package org.apache.servicecomb.transport.rest.vertx.accesslog;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.netflix.config.DynamicPropertyFactory;
 
 public final class AccessLogConfiguration {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AccessLogConfiguration.class);
 
   private static final String BASE = "servicecomb.accesslog.";
 
@@ -27,6 +31,23 @@ public final class AccessLogConfiguration {
 
   private static final String ACCESSLOG_PATTERN = BASE + "pattern";
 
+  private static final String ACCESSLOG_ASYNC_ENABLED = BASE + "async.enabled";
+
+  private static final String ACCESSLOG_ASYNC_BUFFER_SIZE = BASE + "async.bufferSize";
+
+  private static final String ACCESSLOG_ASYNC_FULL_POLICY = BASE + "async.fullPolicy";
+
+  public static final int DEFAULT_ASYNC_BUFFER_SIZE = 64 * 1024;
+
+  // every slot costs a reference and a long, even if not used
+  public static final int MAX_ASYNC_BUFFER_SIZE = 16 * 1024 * 1024;
+
+  // discard the line when buffer is full
+  public static final String FULL_POLICY_DROP = "drop";
+
+  // write the line in the event loop when buffer is full
+  public static final String FULL_POLICY_SYNC = "sync";
+
   public static final AccessLogConfiguration INSTANCE = new AccessLogConfiguration();
 
   public static final String DEFAULT_PATTERN = "%h - - %t %r %s %B %D";
@@ -43,6 +64,26 @@ public final class AccessLogConfiguration {
     return getProperty(DEFAULT_PATTERN, ACCESSLOG_PATTERN);
   }
 
+  public boolean getAccessLogAsyncEnabled() {
+    return getBooleanProperty(false, ACCESSLOG_ASYNC_ENABLED);
+  }
+
+  public int getAccessLogAsyncBufferSize() {
+    int bufferSize = DynamicPropertyFactory.getInstance()
+        .getIntProperty(ACCESSLOG_ASYNC_BUFFER_SIZE, DEFAULT_ASYNC_BUFFER_SIZE)
+        .get();
+    if (bufferSize <= 0 || bufferSize > MAX_ASYNC_BUFFER_SIZE) {
+      LOGGER.warn("{} is {}, not in range [1, {}], use default value {}.",
+          ACCESSLOG_ASYNC_BUFFER_SIZE, bufferSize, MAX_ASYNC_BUFFER_SIZE, DEFAULT_ASYNC_BUFFER_SIZE);
+      return DEFAULT_ASYNC_BUFFER_SIZE;
+    }
+    return bufferSize;
+  }
+
+  public String getAccessLogAsyncFullPolicy() {
+    return getProperty(FULL_POLICY_DROP, ACCESSLOG_ASYNC_FULL_POLICY);
+  }
+
   private String getProperty(String defaultValue, String key) {
     return DynamicPropertyFactory.getInstance().getStringProperty(key, defaultValue).get();
   }
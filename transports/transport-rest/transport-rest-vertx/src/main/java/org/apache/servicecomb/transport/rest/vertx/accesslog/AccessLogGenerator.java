@@ -58,6 +58,39 @@ public class AccessLogGenerator {
     return log.toString();
   }
 
+  /*
+   * invoked on the event loop, only evaluate items that read the context data.
+   */
+  public AccessLogRecord capture(AccessLogParam<RoutingContext> accessLogParam) {
+    accessLogParam.setEndMillisecond(System.currentTimeMillis());
+
+    AccessLogItem<RoutingContext>[] accessLogItems = getAccessLogItems();
+    String[] capturedItems = new String[accessLogItems.length];
+    for (int i = 0; i < accessLogItems.length; ++i) {
+      if (accessLogItems[i].isContextDataRequired()) {
+        capturedItems[i] = accessLogItems[i].getFormattedItem(accessLogParam);
+      }
+    }
+
+    AccessLogParam<RoutingContext> snapshot = new AccessLogParam<>();
+    snapshot.setStartMillisecond(accessLogParam.getStartMillisecond())
+        .setEndMillisecond(accessLogParam.getEndMillisecond())
+        .setLocalAddress(accessLogParam.getLocalAddress());
+    return new AccessLogRecord(this, snapshot, capturedItems);
+  }
+
+  /*
+   * invoked by the access log writer, append the whole line to the builder.
+   */
+  public void appendLog(AccessLogRecord record, StringBuilder log) {
+    AccessLogItem<RoutingContext>[] accessLogItems = getAccessLogItems();
+    for (int i = 0; i < accessLogItems.length; ++i) {
+      String item = accessLogItems[i].isContextDataRequired() ?
+          record.getCapturedItem(i) : accessLogItems[i].getFormattedItem(record.getAccessLogParam());
+      log.append(item);
+    }
+  }
+
   private AccessLogItem<RoutingContext>[] getAccessLogItems() {
     return accessLogItems;
   }
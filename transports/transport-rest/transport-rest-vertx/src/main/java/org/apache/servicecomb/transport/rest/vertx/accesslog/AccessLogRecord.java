@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.transport.rest.vertx.accesslog;
+
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * immutable snapshot of a request for access log, captured on the event loop and formatted on another thread.
+ * <p>
+ * items that read the context data are evaluated when capture,
+ * the others are evaluated when format, and the context data is not referenced any more.
+ * </p>
+ */
+public final class AccessLogRecord {
+  private final AccessLogGenerator generator;
+
+  // contextData is null
+  private final AccessLogParam<RoutingContext> accessLogParam;
+
+  // index is the same to items of generator, null for items not evaluated when capture
+  private final String[] capturedItems;
+
+  AccessLogRecord(AccessLogGenerator generator, AccessLogParam<RoutingContext> accessLogParam,
+      String[] capturedItems) {
+    this.generator = generator;
+    this.accessLogParam = accessLogParam;
+    this.capturedItems = capturedItems;
+  }
+
+  public AccessLogGenerator getGenerator() {
+    return generator;
+  }
+
+  AccessLogParam<RoutingContext> getAccessLogParam() {
+    return accessLogParam;
+  }
+
+  String getCapturedItem(int idx) {
+    return capturedItems[idx];
+  }
+}
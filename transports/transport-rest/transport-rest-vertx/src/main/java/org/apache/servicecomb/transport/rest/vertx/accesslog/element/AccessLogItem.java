@@ -28,4 +28,12 @@ public interface AccessLogItem<T> {
    * find out specified content from {@link AccessLogParam}, format the content and return it.
    */
   String getFormattedItem(AccessLogParam<T> accessLogParam);
+
+  /*
+   * whether this item reads the context data, eg: request or response.
+   * items not read it only depend on times and local address, so can be formatted out of the event loop.
+   */
+  default boolean isContextDataRequired() {
+    return true;
+  }
 }
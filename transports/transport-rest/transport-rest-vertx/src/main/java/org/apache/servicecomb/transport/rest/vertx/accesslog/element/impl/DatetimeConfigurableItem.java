@@ -89,6 +89,11 @@ public class DatetimeConfigurableItem implements AccessLogItem<RoutingContext> {
     return dateFormat.format(new Date(accessLogParam.getStartMillisecond()));
   }
 
+  @Override
+  public boolean isContextDataRequired() {
+    return false;
+  }
+
   private SimpleDateFormat getDatetimeFormat() {
     SimpleDateFormat dateFormat = datetimeFormatHolder.get();
     if (null == dateFormat) {
@@ -27,4 +27,9 @@ public class DurationMillisecondItem implements AccessLogItem<RoutingContext> {
   public String getFormattedItem(AccessLogParam<RoutingContext> accessLogParam) {
     return String.valueOf(accessLogParam.getEndMillisecond() - accessLogParam.getStartMillisecond());
   }
+
+  @Override
+  public boolean isContextDataRequired() {
+    return false;
+  }
 }
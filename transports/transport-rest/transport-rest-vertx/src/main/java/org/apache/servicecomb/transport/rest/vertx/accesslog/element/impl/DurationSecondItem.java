@@ -27,4 +27,9 @@ public class DurationSecondItem implements AccessLogItem<RoutingContext> {
   public String getFormattedItem(AccessLogParam<RoutingContext> accessLogParam) {
     return String.valueOf((accessLogParam.getEndMillisecond() - accessLogParam.getStartMillisecond()) / 1000);
   }
+
+  @Override
+  public boolean isContextDataRequired() {
+    return false;
+  }
 }
@@ -34,6 +34,11 @@ public class LocalHostItem implements AccessLogItem<RoutingContext> {
     return accessLogParam.getLocalAddress();
   }
 
+  @Override
+  public boolean isContextDataRequired() {
+    return false;
+  }
+
   public static String getLocalAddress(AccessLogParam<RoutingContext> accessLogParam) {
     HttpServerRequest request = accessLogParam.getContextData().request();
     if (null == request) {
@@ -36,4 +36,9 @@ public class PlainTextItem implements AccessLogItem<RoutingContext> {
   public String getFormattedItem(AccessLogParam<RoutingContext> accessLogParam) {
     return content;
   }
+
+  @Override
+  public boolean isContextDataRequired() {
+    return false;
+  }
 }
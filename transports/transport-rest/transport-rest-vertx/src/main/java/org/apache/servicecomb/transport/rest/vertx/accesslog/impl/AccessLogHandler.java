@@ -31,15 +31,27 @@ public class AccessLogHandler implements Handler<RoutingContext> {
 
   private AccessLogGenerator accessLogGenerator;
 
+  // null means write synchronously in event loop
+  private AsyncAccessLogWriter asyncWriter;
+
   public AccessLogHandler(String rawPattern) {
+    this(rawPattern, null);
+  }
+
+  public AccessLogHandler(String rawPattern, AsyncAccessLogWriter asyncWriter) {
     accessLogGenerator = new AccessLogGenerator(rawPattern);
+    this.asyncWriter = asyncWriter;
   }
 
   @Override
   public void handle(RoutingContext context) {
     AccessLogParam<RoutingContext> accessLogParam = getRoutingContextAccessLogParam(context);
 
-    context.response().endHandler(event -> LOGGER.info(accessLogGenerator.generateLog(accessLogParam)));
+    if (asyncWriter != null) {
+      context.response().endHandler(event -> asyncWriter.write(accessLogGenerator.capture(accessLogParam)));
+    } else {
+      context.response().endHandler(event -> LOGGER.info(accessLogGenerator.generateLog(accessLogParam)));
+    }
 
     context.next();
   }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.transport.rest.vertx.accesslog.impl;
+
+import org.apache.servicecomb.foundation.metrics.MetricsBootstrapConfig;
+import org.apache.servicecomb.foundation.metrics.MetricsInitializer;
+import org.apache.servicecomb.foundation.metrics.registry.GlobalRegistry;
+import org.apache.servicecomb.transport.rest.vertx.accesslog.AccessLogConfiguration;
+
+import com.google.common.eventbus.EventBus;
+import com.netflix.spectator.api.Registry;
+import com.netflix.spectator.api.patterns.PolledMeter;
+
+/**
+ * lines dropped by async access log writer because the buffer is full
+ */
+public class AccessLogMetersInitializer implements MetricsInitializer {
+  public static final String ACCESS_LOG_DROPPED = "servicecomb.accesslog.dropped";
+
+  @Override
+  public void init(GlobalRegistry globalRegistry, EventBus eventBus, MetricsBootstrapConfig config) {
+    if (!AccessLogConfiguration.INSTANCE.getAccessLogEnabled()
+        || !AccessLogConfiguration.INSTANCE.getAccessLogAsyncEnabled()) {
+      return;
+    }
+
+    Registry registry = globalRegistry.getDefaultRegistry();
+    PolledMeter.using(registry)
+        .withId(registry.createId(ACCESS_LOG_DROPPED))
+        .monitorValue(AsyncAccessLogWriter.getInstance().getDroppedCount());
+  }
+}
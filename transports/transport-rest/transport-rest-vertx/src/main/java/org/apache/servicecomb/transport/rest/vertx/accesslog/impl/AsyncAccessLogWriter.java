@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.transport.rest.vertx.accesslog.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.servicecomb.foundation.common.concurrent.MpscRingBuffer;
+import org.apache.servicecomb.transport.rest.vertx.accesslog.AccessLogConfiguration;
+import org.apache.servicecomb.transport.rest.vertx.accesslog.AccessLogRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * format and write access log lines on a dedicated thread.
+ * <p>
+ * event loops only put records into a bounded lock-free ring buffer, never block and never touch the appender.<br>
+ * the writer thread takes records in batches, formats them by a reused StringBuilder, and parks when idle until
+ * the next write unparks it.<br>
+ * when the buffer is full, the line is dropped and counted, or written by the caller, depend on the full policy.
+ * </p>
+ */
+public class AsyncAccessLogWriter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncAccessLogWriter.class);
+
+  private static final Logger ACCESS_LOGGER = LoggerFactory.getLogger("accesslog");
+
+  private static final int BATCH_SIZE = 256;
+
+  // yield some rounds before park, so that a busy server not unpark the writer for every line
+  private static final int IDLE_SPINS = 64;
+
+  private static volatile AsyncAccessLogWriter instance;
+
+  private final MpscRingBuffer<AccessLogRecord> buffer;
+
+  private final boolean dropWhenFull;
+
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  private final StringBuilder log = new StringBuilder(256);
+
+  private volatile boolean running = true;
+
+  // set by the writer thread before park, writers only unpark it when it is set
+  private volatile boolean parked;
+
+  private final Thread thread;
+
+  public AsyncAccessLogWriter(int bufferSize, boolean dropWhenFull) {
+    this.buffer = new MpscRingBuffer<>(bufferSize);
+    this.dropWhenFull = dropWhenFull;
+    this.thread = new Thread(this::run, "access-log-writer");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * shared by all rest server verticles, created and started when first used
+   */
+  public static AsyncAccessLogWriter getInstance() {
+    if (instance == null) {
+      synchronized (AsyncAccessLogWriter.class) {
+        if (instance == null) {
+          AsyncAccessLogWriter writer = new AsyncAccessLogWriter(
+              AccessLogConfiguration.INSTANCE.getAccessLogAsyncBufferSize(),
+              !AccessLogConfiguration.FULL_POLICY_SYNC
+                  .equals(AccessLogConfiguration.INSTANCE.getAccessLogAsyncFullPolicy()));
+          writer.start();
+          Runtime.getRuntime().addShutdownHook(new Thread(writer::shutdown, "access-log-writer-shutdown"));
+          instance = writer;
+        }
+      }
+    }
+    return instance;
+  }
+
+  public AtomicLong getDroppedCount() {
+    return droppedCount;
+  }
+
+  public void start() {
+    thread.start();
+  }
+
+  public void write(AccessLogRecord record) {
+    if (buffer.offer(record)) {
+      if (parked) {
+        LockSupport.unpark(thread);
+      }
+      return;
+    }
+
+    if (dropWhenFull) {
+      droppedCount.incrementAndGet();
+      return;
+    }
+
+    // back pressure, cost of the appender goes back to the caller
+    StringBuilder callerLog = new StringBuilder(128);
+    record.getGenerator().appendLog(record, callerLog);
+    ACCESS_LOGGER.info(callerLog.toString());
+  }
+
+  /**
+   * stop the writer thread, and write all lines in the buffer
+   */
+  public void shutdown() {
+    running = false;
+    LockSupport.unpark(thread);
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    int idleCount = 0;
+    while (running) {
+      if (writeBatch() != 0) {
+        idleCount = 0;
+        continue;
+      }
+
+      if (++idleCount < IDLE_SPINS) {
+        Thread.yield();
+        continue;
+      }
+
+      // set flag before check the buffer again,
+      // so a concurrent write either is seen by the check, or sees the flag and unparks this thread
+      parked = true;
+      if (writeBatch() == 0 && running) {
+        LockSupport.park(this);
+      }
+      parked = false;
+      idleCount = 0;
+    }
+
+    while (writeBatch() != 0) {
+      // drain lines in the buffer
+    }
+  }
+
+  int writeBatch() {
+    int count = 0;
+    for (; count < BATCH_SIZE; count++) {
+      AccessLogRecord record = buffer.poll();
+      if (record == null) {
+        break;
+      }
+
+      try {
+        log.setLength(0);
+        record.getGenerator().appendLog(record, log);
+        ACCESS_LOGGER.info(log.toString());
+      } catch (Throwable e) {
+        LOGGER.error("failed to write access log.", e);
+      }
+    }
+    return count;
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.servicecomb.transport.rest.vertx.accesslog;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
+import org.apache.servicecomb.foundation.test.scaffolding.config.ArchaiusUtils;
 import org.junit.Test;
 
 public class AccessLogConfigurationTest {
@@ -35,4 +36,26 @@ public class AccessLogConfigurationTest {
     String result = AccessLogConfiguration.INSTANCE.getAccesslogPattern();
     assertEquals("%h - - %t %r %s %B %D", result);
   }
+
+  @Test
+  public void getAccessLogAsyncBufferSize() {
+    ArchaiusUtils.resetConfig();
+    try {
+      assertEquals(AccessLogConfiguration.DEFAULT_ASYNC_BUFFER_SIZE,
+          AccessLogConfiguration.INSTANCE.getAccessLogAsyncBufferSize());
+
+      ArchaiusUtils.setProperty("servicecomb.accesslog.async.bufferSize", 1024);
+      assertEquals(1024, AccessLogConfiguration.INSTANCE.getAccessLogAsyncBufferSize());
+
+      ArchaiusUtils.setProperty("servicecomb.accesslog.async.bufferSize", 0);
+      assertEquals(AccessLogConfiguration.DEFAULT_ASYNC_BUFFER_SIZE,
+          AccessLogConfiguration.INSTANCE.getAccessLogAsyncBufferSize());
+
+      ArchaiusUtils.setProperty("servicecomb.accesslog.async.bufferSize", Integer.MAX_VALUE);
+      assertEquals(AccessLogConfiguration.DEFAULT_ASYNC_BUFFER_SIZE,
+          AccessLogConfiguration.INSTANCE.getAccessLogAsyncBufferSize());
+    } finally {
+      ArchaiusUtils.resetConfig();
+    }
+  }
 }
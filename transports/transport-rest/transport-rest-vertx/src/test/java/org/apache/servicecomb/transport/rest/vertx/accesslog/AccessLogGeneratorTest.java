@@ -66,4 +66,31 @@ public class AccessLogGeneratorTest {
 
     Assert.assertEquals("DELETE" + " - " + simpleDateFormat.format(startMillisecond), log);
   }
+
+  @Test
+  public void testCaptureAndAppendLog() {
+    RoutingContext context = Mockito.mock(RoutingContext.class);
+    HttpServerRequest request = Mockito.mock(HttpServerRequest.class);
+    long startMillisecond = 1416863450581L;
+    AccessLogParam<RoutingContext> accessLogParam = new AccessLogParam<>();
+    accessLogParam.setStartMillisecond(startMillisecond).setContextData(context);
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(DatetimeConfigurableItem.DEFAULT_DATETIME_PATTERN,
+        DatetimeConfigurableItem.DEFAULT_LOCALE);
+    simpleDateFormat.setTimeZone(TimeZone.getDefault());
+
+    Mockito.when(context.request()).thenReturn(request);
+    Mockito.when(request.method()).thenReturn(HttpMethod.DELETE);
+
+    AccessLogRecord record = ACCESS_LOG_GENERATOR.capture(accessLogParam);
+    // context is not referenced by the record
+    Mockito.reset(context);
+    Assert.assertNull(record.getAccessLogParam().getContextData());
+    Assert.assertSame(ACCESS_LOG_GENERATOR, record.getGenerator());
+
+    StringBuilder log = new StringBuilder("dirty");
+    log.setLength(0);
+    ACCESS_LOG_GENERATOR.appendLog(record, log);
+
+    Assert.assertEquals("DELETE" + " - " + simpleDateFormat.format(startMillisecond), log.toString());
+  }
 }
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.servicecomb.transport.rest.vertx.accesslog.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.apache.servicecomb.foundation.test.scaffolding.log.LogCollector;
+import org.apache.servicecomb.transport.rest.vertx.accesslog.AccessLogGenerator;
+import org.apache.servicecomb.transport.rest.vertx.accesslog.AccessLogParam;
+import org.apache.servicecomb.transport.rest.vertx.accesslog.AccessLogRecord;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.ext.web.RoutingContext;
+import mockit.Deencapsulation;
+
+public class AsyncAccessLogWriterTest {
+  private static final AccessLogGenerator ACCESS_LOG_GENERATOR = new AccessLogGenerator("%D");
+
+  private LogCollector logCollector;
+
+  @Before
+  public void setup() {
+    logCollector = new LogCollector();
+  }
+
+  @After
+  public void teardown() {
+    logCollector.teardown();
+  }
+
+  private AccessLogRecord createRecord() {
+    AccessLogParam<RoutingContext> accessLogParam = new AccessLogParam<>();
+    accessLogParam.setStartMillisecond(System.currentTimeMillis());
+    return ACCESS_LOG_GENERATOR.capture(accessLogParam);
+  }
+
+  @Test
+  public void dropWhenFull() {
+    AsyncAccessLogWriter writer = new AsyncAccessLogWriter(2, true);
+
+    writer.write(createRecord());
+    writer.write(createRecord());
+    writer.write(createRecord());
+
+    Assert.assertEquals(1, writer.getDroppedCount().get());
+    Assert.assertTrue(logCollector.getEvents().isEmpty());
+
+    Assert.assertEquals(2, writer.writeBatch());
+    Assert.assertEquals(2, logCollector.getEvents().size());
+    Assert.assertEquals(0, writer.writeBatch());
+  }
+
+  @Test
+  public void syncWhenFull() {
+    AsyncAccessLogWriter writer = new AsyncAccessLogWriter(2, false);
+
+    writer.write(createRecord());
+    writer.write(createRecord());
+    writer.write(createRecord());
+
+    Assert.assertEquals(0, writer.getDroppedCount().get());
+    Assert.assertEquals(1, logCollector.getEvents().size());
+  }
+
+  @Test
+  public void writeByThread() {
+    AsyncAccessLogWriter writer = new AsyncAccessLogWriter(16, true);
+    writer.start();
+    for (int idx = 0; idx < 10; idx++) {
+      writer.write(createRecord());
+    }
+    writer.shutdown();
+
+    Assert.assertThat(logCollector.getEvents().stream()
+            .map(event -> event.getLoggerName())
+            .collect(Collectors.toList()),
+        Matchers.everyItem(Matchers.is("accesslog")));
+    Assert.assertEquals(10, logCollector.getEvents().size());
+  }
+
+  @Test
+  public void unparkWhenWrite() throws InterruptedException {
+    AsyncAccessLogWriter writer = new AsyncAccessLogWriter(16, true);
+    Thread thread = Deencapsulation.getField(writer, "thread");
+    writer.start();
+    try {
+      // idle writer parks without timeout
+      waitUntil(() -> thread.getState() == Thread.State.WAITING);
+      Assert.assertEquals(Thread.State.WAITING, thread.getState());
+
+      writer.write(createRecord());
+
+      waitUntil(() -> logCollector.getEvents().size() == 1);
+      Assert.assertEquals(1, logCollector.getEvents().size());
+    } finally {
+      writer.shutdown();
+    }
+  }
+
+  private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+  }
+}